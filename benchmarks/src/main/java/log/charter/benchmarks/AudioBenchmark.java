@@ -0,0 +1,66 @@
+package log.charter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import log.charter.sound.MusicData;
+import log.charter.sound.TimeStretcher;
+import log.charter.sound.WaveformPyramid;
+
+/**
+ * Music created from generated samples, so it doesn't need any files. Slowed down music is made the same way as when
+ * changing the playback speed in the program.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AudioBenchmark {
+	@Param({ "60", "600" })
+	public int seconds;
+
+	private int[][] samples;
+	private MusicData music;
+
+	@Setup
+	public void setup() {
+		final int frames = seconds * MusicData.DEF_RATE;
+		samples = new int[2][frames];
+		for (int i = 0; i < frames; i++) {
+			samples[0][i] = (int) (Math.sin(i * 0.05) * 16000);
+			samples[1][i] = (int) (Math.sin(i * 0.031) * 16000);
+		}
+
+		music = new MusicData(samples);
+	}
+
+	@Benchmark
+	public MusicData createMusicData() {
+		return new MusicData(samples);
+	}
+
+	@Benchmark
+	public WaveformPyramid createWaveform() {
+		return new MusicData(samples).getWaveform();
+	}
+
+	@Benchmark
+	public MusicData slowDown() {
+		final MusicData slowed = new TimeStretcher(music, 50).start();
+		slowed.waitUntilDecoded();
+		return slowed;
+	}
+}
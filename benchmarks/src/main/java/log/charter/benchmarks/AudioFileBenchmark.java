@@ -0,0 +1,71 @@
+package log.charter.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import log.charter.sound.MusicData;
+import log.charter.sound.mp3.Mp3Loader;
+import log.charter.sound.ogg.OggLoader;
+
+/**
+ * Loading of real files, they can't be generated here, so paths have to be given when running:
+ * {@code -p mp3File=song.mp3 -p oggFile=song.ogg}. Benchmarks with a missing file fail in setup and the rest still run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AudioFileBenchmark {
+	private static void checkFile(final String path, final String parameter) {
+		if (!new File(path).isFile()) {
+			throw new IllegalStateException("File not found, give it with -p " + parameter + "=<path>");
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Mp3File {
+		@Param({ "" })
+		public String mp3File;
+
+		@Setup
+		public void setup() {
+			checkFile(mp3File, "mp3File");
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class OggFile {
+		@Param({ "" })
+		public String oggFile;
+
+		@Setup
+		public void setup() {
+			checkFile(oggFile, "oggFile");
+		}
+	}
+
+	@Benchmark
+	public MusicData loadMp3(final Mp3File file) {
+		return Mp3Loader.load(file.mp3File);
+	}
+
+	@Benchmark
+	public MusicData loadOgg(final OggFile file) {
+		final MusicData music = OggLoader.load(file.oggFile);
+		music.waitUntilDecoded();
+		return music;
+	}
+}
@@ -0,0 +1,56 @@
+package log.charter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import log.charter.song.ArrangementChart;
+import log.charter.song.ChordTemplate;
+import log.charter.song.SongChart;
+import log.charter.song.configs.Tuning;
+import log.charter.util.chordRecognition.ChordNameSuggester;
+
+/**
+ * Suggests names for every chord of the chart, like when going through all chords of an arrangement
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChordNameSuggesterBenchmark {
+	@Param({ "1000", "10000", "100000" })
+	public int sounds;
+
+	private final Tuning tuning = new Tuning();
+	private ChordTemplate[] chordTemplates;
+
+	@Setup
+	public void setup() {
+		final SongChart songChart = SyntheticCharts.createSongChart(sounds);
+		final ArrangementChart arrangement = songChart.arrangements.get(0);
+		chordTemplates = arrangement.levels.get(0).chordsAndNotes.stream()//
+				.filter(sound -> sound.isChord())//
+				.map(sound -> arrangement.chordTemplates.get(sound.chord.templateId()))//
+				.toArray(ChordTemplate[]::new);
+	}
+
+	@Benchmark
+	public void suggestChordNames(final Blackhole blackhole) {
+		for (final ChordTemplate chordTemplate : chordTemplates) {
+			blackhole.consume(ChordNameSuggester.suggestChordNames(tuning, chordTemplate.frets));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package log.charter.benchmarks;
+
+import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.lanesBottom;
+import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.lanesTop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import log.charter.data.ChartData;
+import log.charter.data.managers.HighlightManager;
+import log.charter.data.managers.ModeManager;
+import log.charter.data.managers.PositionWithStringOrNoteId;
+import log.charter.data.managers.selection.SelectionManager;
+import log.charter.data.undoSystem.ChartList;
+import log.charter.data.undoSystem.UndoSystem;
+import log.charter.gui.handlers.MouseButtonPressReleaseHandler;
+import log.charter.song.SongChart;
+import log.charter.song.notes.ChordOrNote;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Operations done on every edit or drag in guitar mode. Needs a display, as the config does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EditorBenchmark {
+	@Param({ "1000", "10000", "100000" })
+	public int sounds;
+
+	private ChartData data;
+	private final HighlightManager highlightManager = new HighlightManager();
+	private final UndoSystem undoSystem = new UndoSystem();
+	private ChartList<ChordOrNote> chordsAndNotes;
+	private int editedSoundId;
+	private int dragStart;
+	private int dragEnd;
+
+	@Setup
+	public void setup() {
+		final SongChart songChart = SyntheticCharts.createSongChart(sounds);
+		final ModeManager modeManager = new ModeManager();
+		data = SyntheticCharts.createChartData(songChart, modeManager);
+
+		final SelectionManager selectionManager = new SelectionManager();
+		selectionManager.init(data, null, modeManager, new MouseButtonPressReleaseHandler());
+		highlightManager.init(data, modeManager, selectionManager);
+		undoSystem.init(data, selectionManager);
+
+		dragStart = SyntheticCharts.songLength(sounds) / 2;
+		dragEnd = dragStart + 10_000;
+
+		chordsAndNotes = songChart.arrangements.get(0).levels.get(0).chordsAndNotes;
+		editedSoundId = chordsAndNotes.size() / 2;
+		undoSystem.addUndo();
+	}
+
+	/**
+	 * Adds undo after changing one note in the middle of the chart, only the changed note is kept for the previous edit
+	 */
+	@Benchmark
+	public int addUndo() {
+		chordsAndNotes.changing(editedSoundId);
+		final ChordOrNote editedSound = chordsAndNotes.get(editedSoundId);
+		editedSound.note.fret = editedSound.note.fret == 1 ? 2 : 1;
+		undoSystem.addUndo();
+		return undoSystem.getLastUndoId();
+	}
+
+	@Benchmark
+	public ArrayList2<PositionWithStringOrNoteId> getPositionsWithStrings() {
+		return highlightManager.getPositionsWithStrings(dragStart, dragEnd, lanesTop, lanesBottom);
+	}
+}
@@ -0,0 +1,97 @@
+package log.charter.benchmarks;
+
+import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.editAreaHeight;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import log.charter.data.ChartData;
+import log.charter.data.config.Zoom;
+import log.charter.data.managers.ModeManager;
+import log.charter.data.managers.selection.SelectionManager;
+import log.charter.gui.ChartPanel;
+import log.charter.gui.chartPanelDrawers.common.AudioDrawer;
+import log.charter.gui.chartPanelDrawers.common.BeatsDrawer;
+import log.charter.gui.chartPanelDrawers.common.LyricLinesDrawer;
+import log.charter.gui.chartPanelDrawers.instruments.guitar.GuitarDrawer;
+import log.charter.gui.handlers.KeyboardHandler;
+import log.charter.gui.handlers.MouseButtonPressReleaseHandler;
+import log.charter.song.SongChart;
+
+/**
+ * Draws the guitar view in the middle of the chart into an offscreen image. Needs a display, as the config does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuitarDrawerBenchmark {
+	private static final int width = 1920;
+
+	@Param({ "1000", "10000", "100000" })
+	public int sounds;
+	@Param({ "0.25", "1", "4" })
+	public double zoom;
+
+	private final GuitarDrawer guitarDrawer = new GuitarDrawer();
+	private int time;
+	private BufferedImage image;
+	private Graphics2D g;
+
+	@Setup
+	public void setup() {
+		final SongChart songChart = SyntheticCharts.createSongChart(sounds);
+		final ModeManager modeManager = new ModeManager();
+		final ChartData data = SyntheticCharts.createChartData(songChart, modeManager);
+		time = SyntheticCharts.songLength(sounds) / 2;
+		data.time = time;
+
+		final ChartPanel chartPanel = new ChartPanel();
+		chartPanel.setSize(width, editAreaHeight);
+
+		final MouseButtonPressReleaseHandler mouseButtonPressReleaseHandler = new MouseButtonPressReleaseHandler();
+		final SelectionManager selectionManager = new SelectionManager();
+		selectionManager.init(data, null, modeManager, mouseButtonPressReleaseHandler);
+
+		final AudioDrawer audioDrawer = new AudioDrawer();
+		audioDrawer.init(data, chartPanel, null);
+		final BeatsDrawer beatsDrawer = new BeatsDrawer();
+		beatsDrawer.init(data, chartPanel, modeManager, mouseButtonPressReleaseHandler, selectionManager);
+		final LyricLinesDrawer lyricLinesDrawer = new LyricLinesDrawer();
+		lyricLinesDrawer.init(data, chartPanel);
+
+		guitarDrawer.init(audioDrawer, beatsDrawer, data, chartPanel, new KeyboardHandler(), lyricLinesDrawer,
+				selectionManager);
+
+		Zoom.zoom = zoom;
+		image = new BufferedImage(width, editAreaHeight, BufferedImage.TYPE_INT_RGB);
+		g = image.createGraphics();
+	}
+
+	@TearDown
+	public void tearDown() {
+		g.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage draw() {
+		guitarDrawer.draw(g, time);
+		return image;
+	}
+}
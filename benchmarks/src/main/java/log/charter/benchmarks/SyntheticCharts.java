@@ -0,0 +1,102 @@
+package log.charter.benchmarks;
+
+import log.charter.data.ChartData;
+import log.charter.data.managers.ModeManager;
+import log.charter.data.managers.modes.EditMode;
+import log.charter.io.rs.xml.song.ArrangementType;
+import log.charter.song.Anchor;
+import log.charter.song.ArrangementChart;
+import log.charter.song.ChordTemplate;
+import log.charter.song.HandShape;
+import log.charter.song.Level;
+import log.charter.song.SongChart;
+import log.charter.song.notes.Chord;
+import log.charter.song.notes.ChordOrNote;
+import log.charter.song.notes.Note;
+import log.charter.sound.MusicData;
+
+/**
+ * Creates charts of given size without any files, so every benchmark works on the same data. Sounds are placed
+ * {@link #soundDistance} ms apart, every 4th is a chord with a hand shape, every 8th note has a sustain and there is an
+ * anchor every 16 sounds.
+ */
+public class SyntheticCharts {
+	public static final int soundDistance = 100;
+	public static final int chartStart = 5000;
+
+	private static final int[][] templateFrets = { //
+			{ 0, 2, 2, 1, 0, 0 }, //
+			{ 3, 2, 0, 0, 0, 3 }, //
+			{ -1, 0, 2, 2, 2, 0 }, //
+			{ 5, 7, 7, 6, 5, 5 } };
+
+	private static ChordTemplate createTemplate(final int[] frets) {
+		final ChordTemplate template = new ChordTemplate();
+		for (int string = 0; string < frets.length; string++) {
+			if (frets[string] >= 0) {
+				template.frets.put(string, frets[string]);
+			}
+		}
+
+		return template;
+	}
+
+	public static int songLength(final int sounds) {
+		return chartStart * 2 + sounds * soundDistance;
+	}
+
+	public static ArrangementChart createArrangement(final SongChart songChart, final int sounds) {
+		final ArrangementChart arrangement = new ArrangementChart(ArrangementType.Lead, songChart.beatsMap.beats);
+		for (final int[] frets : templateFrets) {
+			arrangement.chordTemplates.add(createTemplate(frets));
+		}
+
+		final Level level = arrangement.levels.get(0);
+		for (int i = 0; i < sounds; i++) {
+			final int position = chartStart + i * soundDistance;
+			if (i % 16 == 0) {
+				level.anchors.add(new Anchor(position, 1 + (i / 16) % 12));
+			}
+
+			if (i % 4 == 3) {
+				final int templateId = (i / 4) % templateFrets.length;
+				final Chord chord = new Chord(position, templateId, arrangement.chordTemplates.get(templateId));
+				level.chordsAndNotes.add(new ChordOrNote(chord));
+				level.handShapes.add(new HandShape(chord, soundDistance / 2));
+				continue;
+			}
+
+			final Note note = new Note(position, i % 6, 1 + i % 12);
+			if (i % 8 == 0) {
+				note.length(soundDistance * 3 / 2);
+			}
+			level.chordsAndNotes.add(new ChordOrNote(note));
+		}
+
+		return arrangement;
+	}
+
+	public static SongChart createSongChart(final int sounds) {
+		final SongChart songChart = new SongChart(songLength(sounds), "guitar.ogg");
+		songChart.title = "Benchmark " + sounds;
+		songChart.artistName = "Benchmark";
+		songChart.arrangements.add(createArrangement(songChart, sounds));
+
+		return songChart;
+	}
+
+	/**
+	 * Needs a display, as the config read by {@link ChartData} checks the screens
+	 */
+	public static ChartData createChartData(final SongChart songChart, final ModeManager modeManager) {
+		final ChartData data = new ChartData();
+		data.songChart = songChart;
+		data.music = MusicData.generateSilence(1, MusicData.DEF_RATE);
+		data.isEmpty = false;
+		data.currentArrangement = 0;
+		data.currentLevel = 0;
+		modeManager.editMode = EditMode.GUITAR;
+
+		return data;
+	}
+}
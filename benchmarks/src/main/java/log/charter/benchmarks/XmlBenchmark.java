@@ -0,0 +1,50 @@
+package log.charter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import log.charter.io.rs.xml.song.SongArrangement;
+import log.charter.io.rs.xml.song.SongArrangementXStreamHandler;
+import log.charter.song.SongChart;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlBenchmark {
+	@Param({ "1000", "10000", "100000" })
+	public int sounds;
+
+	private SongArrangement songArrangement;
+	private String xml;
+
+	@Setup
+	public void setup() {
+		final SongChart songChart = SyntheticCharts.createSongChart(sounds);
+		songArrangement = new SongArrangement(songChart, songChart.arrangements.get(0));
+		xml = SongArrangementXStreamHandler.saveSong(songArrangement);
+	}
+
+	@Benchmark
+	public SongArrangement readSong() {
+		return SongArrangementXStreamHandler.readSong(xml);
+	}
+
+	@Benchmark
+	public String saveSong() {
+		return SongArrangementXStreamHandler.saveSong(songArrangement);
+	}
+}
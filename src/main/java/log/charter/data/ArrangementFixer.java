@@ -3,18 +3,16 @@ package log.charter.data;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static log.charter.data.config.Config.minNoteDistance;
-import static log.charter.song.notes.ChordOrNote.findNextSoundOnString;
+import static log.charter.song.notes.ChordOrNote.findNextSoundIdOnString;
 import static log.charter.song.notes.IPosition.findLastIdBeforeEqual;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import log.charter.data.config.Config;
+import log.charter.data.undoSystem.ChartList;
+import log.charter.data.undoSystem.UndoSystem;
 import log.charter.song.Anchor;
 import log.charter.song.ArrangementChart;
 import log.charter.song.ChordTemplate;
@@ -31,20 +29,22 @@ import log.charter.util.CollectionUtils.ArrayList2;
 
 public class ArrangementFixer {
 	private ChartData data;
+	private UndoSystem undoSystem;
 
-	public void init(final ChartData data) {
+	public void init(final ChartData data, final UndoSystem undoSystem) {
 		this.data = data;
+		this.undoSystem = undoSystem;
 	}
 
-	private void removeDuplicates(final List<? extends IPosition> positions) {
-		final List<IPosition> positionsToRemove = new ArrayList<>();
+	private void removeDuplicates(final ArrayList2<? extends IPosition> positions) {
+		final ArrayList2<Integer> idsToRemove = new ArrayList2<>();
 		for (int i = 1; i < positions.size(); i++) {
 			if (positions.get(i).position() == positions.get(i - 1).position()) {
-				positionsToRemove.add(positions.get(i));
+				idsToRemove.add(i);
 			}
 		}
 
-		positions.removeAll(positionsToRemove);
+		positions.removeIds(idsToRemove);
 	}
 
 	private void addMissingHandShapes(final Level level) {
@@ -63,20 +63,21 @@ public class ArrangementFixer {
 		}
 		chordsWithoutHandShapes.addAll(chordsForHandShapes);
 
+		final ArrayList2<HandShape> newHandShapes = new ArrayList2<>(chordsWithoutHandShapes.size());
 		for (final Chord chord : chordsWithoutHandShapes) {
 			final int endPosition = chord.endPosition();
 
 			final int length = max(50, endPosition - chord.position());
-			final HandShape handShape = new HandShape(chord, length);
-			level.handShapes.add(handShape);
+			newHandShapes.add(new HandShape(chord, length));
 		}
 
-		level.handShapes.sort(null);
+		level.handShapes.addSorted(newHandShapes, IPosition::compareTo);
 	}
 
 	private void addMissingAnchors(final ArrangementChart arrangement, final Level level) {
 		final List<EventPoint> sections = arrangement.eventPoints.stream().filter(p -> p.section != null)
 				.collect(Collectors.toList());
+		final ArrayList2<Anchor> newAnchors = new ArrayList2<>();
 
 		for (final EventPoint eventPoint : arrangement.eventPoints) {
 			if (eventPoint.phrase == null) {
@@ -94,33 +95,43 @@ public class ArrangementFixer {
 			}
 
 			final Anchor lastAnchor = level.anchors.get(lastAnchorId);
-			if (lastAnchor.position() != eventPoint.position()) {
-				final Anchor newAnchor = new Anchor(lastAnchor);
-				newAnchor.position(eventPoint.position());
-				level.anchors.add(newAnchor);
-				level.anchors.sort(null);
+			if (lastAnchor.position() == eventPoint.position()
+					|| (!newAnchors.isEmpty() && newAnchors.getLast().position() == eventPoint.position())) {
+				continue;
 			}
+
+			final Anchor newAnchor = new Anchor(lastAnchor);
+			newAnchor.position(eventPoint.position());
+			newAnchors.add(newAnchor);
 		}
+
+		level.anchors.addSorted(newAnchors, IPosition::compareTo);
 	}
 
-	private static void fixLinkedNote(final CommonNote note, final int id, final ArrayList2<ChordOrNote> sounds) {
+	private static void fixLinkedNote(final CommonNote note, final int id, final ChartList<ChordOrNote> sounds) {
 		if (!note.linkNext()) {
 			return;
 		}
 
-		final ChordOrNote nextSound = findNextSoundOnString(note.string(), id + 1, sounds);
-		if (nextSound == null) {
+		final int nextId = findNextSoundIdOnString(note.string(), id + 1, sounds);
+		if (nextId == -1) {
 			return;
 		}
 
-		if (nextSound.isChord()) {
+		final ChordOrNote nextSound = sounds.get(nextId);
+		if (nextSound.isChord() && !nextSound.chord.splitIntoNotes) {
+			sounds.changing(nextId);
 			nextSound.chord.splitIntoNotes = true;
 		}
 
-		note.length(nextSound.position() - note.position() - 1);
+		final int length = nextSound.position() - note.position() - 1;
+		if (note.length() != length) {
+			sounds.changing(id);
+			note.length(length);
+		}
 	}
 
-	public static void fixNoteLength(final CommonNote note, final int id, final ArrayList2<ChordOrNote> sounds) {
+	public static void fixNoteLength(final CommonNote note, final int id, final ChartList<ChordOrNote> sounds) {
 		if (note.linkNext()) {
 			fixLinkedNote(note, id, sounds);
 			return;
@@ -138,10 +149,14 @@ public class ArrangementFixer {
 			endPosition = min(endPosition, next.position() - minNoteDistance);
 		}
 
-		note.endPosition(max(note.position(), endPosition));
+		endPosition = max(note.position(), endPosition);
+		if (note.endPosition() != endPosition) {
+			sounds.changing(id);
+			note.endPosition(endPosition);
+		}
 	}
 
-	public static void fixSoundLength(final int id, final ArrayList2<ChordOrNote> sounds) {
+	public static void fixSoundLength(final int id, final ChartList<ChordOrNote> sounds) {
 		final ChordOrNote sound = sounds.get(id);
 		if (sound.isNote()) {
 			fixNoteLength(CommonNote.create(sound.note), id, sounds);
@@ -152,32 +167,45 @@ public class ArrangementFixer {
 		}
 	}
 
-	public void fixNoteLengths(final ArrayList2<ChordOrNote> sounds) {
+	public void fixNoteLengths(final ChartList<ChordOrNote> sounds) {
 		for (int i = 0; i < sounds.size(); i++) {
 			fixSoundLength(i, sounds);
 		}
 	}
 
-	public void fixLengths(final ArrayList2<? extends IPositionWithLength> positions) {
+	private static void cutEndPosition(final ChartList<? extends IPositionWithLength> positions, final int id,
+			final int maxEndPosition) {
+		final IPositionWithLength position = positions.get(id);
+		if (position.endPosition() > maxEndPosition) {
+			positions.changing(id);
+			position.endPosition(maxEndPosition);
+		}
+	}
+
+	public void fixLengths(final ChartList<? extends IPositionWithLength> positions) {
 		if (positions.isEmpty()) {
 			return;
 		}
 
 		for (int i = 0; i < positions.size() - 1; i++) {
-			final IPositionWithLength position = positions.get(i);
-			final IPositionWithLength nextPosition = positions.get(i + 1);
-			position.endPosition(min(nextPosition.position() - Config.minNoteDistance, position.endPosition()));
+			cutEndPosition(positions, i, positions.get(i + 1).position() - Config.minNoteDistance);
 		}
 
-		final IPositionWithLength lastPosition = positions.getLast();
-		lastPosition.endPosition(min(data.songChart.beatsMap.songLengthMs - 1, lastPosition.endPosition()));
+		cutEndPosition(positions, positions.size() - 1, data.songChart.beatsMap.songLengthMs - 1);
+	}
+
+	private void removeShortTails(final ChartList<ChordOrNote> sounds) {
+		for (int i = 0; i < sounds.size(); i++) {
+			final ChordOrNote sound = sounds.get(i);
+			if (sound.isNote() && sound.note.length() != 0 && sound.note.length() < Config.minTailLength) {
+				sounds.changing(i);
+				sound.note.length(0);
+			}
+		}
 	}
 
 	private void fixLevel(final ArrangementChart arrangement, final Level level) {
-		level.chordsAndNotes//
-				.stream().filter(chordOrNote -> chordOrNote.isNote())//
-				.map(chordOrNote -> chordOrNote.note)//
-				.forEach(note -> note.length(note.length() >= Config.minTailLength ? note.length() : 0));
+		removeShortTails(level.chordsAndNotes);
 
 		level.chordsAndNotes
 				.removeIf(sound -> sound.isChord() && sound.chord.templateId() >= arrangement.chordTemplates.size());
@@ -198,18 +226,22 @@ public class ArrangementFixer {
 			final int replacementId) {
 		arrangementChart.chordTemplates.remove(removedId);
 		for (final Level level : arrangementChart.levels.values()) {
-			for (final ChordOrNote chordOrNote : level.chordsAndNotes) {
+			for (int i = 0; i < level.chordsAndNotes.size(); i++) {
+				final ChordOrNote chordOrNote = level.chordsAndNotes.get(i);
 				if (!chordOrNote.isChord() || chordOrNote.chord.templateId() != removedId) {
 					continue;
 				}
 
+				level.chordsAndNotes.changing(i);
 				chordOrNote.chord.updateTemplate(replacementId, arrangementChart.chordTemplates.get(replacementId));
 			}
-			for (final HandShape handShape : level.handShapes) {
+			for (int i = 0; i < level.handShapes.size(); i++) {
+				final HandShape handShape = level.handShapes.get(i);
 				if (handShape.templateId != removedId) {
 					continue;
 				}
 
+				level.handShapes.changing(i);
 				handShape.templateId = replacementId;
 			}
 		}
@@ -231,64 +263,88 @@ public class ArrangementFixer {
 		}
 	}
 
-	private boolean isTemplateUsed(final ArrangementChart arrangementChart, final int templateId) {
+	private boolean[] findUsedTemplates(final ArrangementChart arrangementChart) {
+		final boolean[] usedTemplates = new boolean[arrangementChart.chordTemplates.size()];
 		for (final Level level : arrangementChart.levels.values()) {
 			for (final ChordOrNote sound : level.chordsAndNotes) {
-				if (sound.isChord() && sound.chord.templateId() == templateId) {
-					return true;
+				if (sound.isChord()) {
+					usedTemplates[sound.chord.templateId()] = true;
 				}
 			}
 
 			for (final HandShape handShape : level.handShapes) {
-				if (handShape.templateId == templateId) {
-					return true;
+				if (handShape.templateId >= 0) {
+					usedTemplates[handShape.templateId] = true;
 				}
 			}
 		}
 
-		return false;
+		return usedTemplates;
 	}
 
 	public void removeUnusedChordTemplates(final ArrangementChart arrangementChart) {
-		final Map<Integer, Integer> templateIdsMap = new HashMap<>();
+		final boolean[] usedTemplates = findUsedTemplates(arrangementChart);
+		final int[] newTemplateIds = new int[usedTemplates.length];
+		final ArrayList2<Integer> unusedTemplateIds = new ArrayList2<>();
 
-		final int templatesAmount = arrangementChart.chordTemplates.size();
 		int usedTemplatesCounter = 0;
-		for (int i = 0; i < templatesAmount; i++) {
-			if (isTemplateUsed(arrangementChart, i)) {
-				templateIdsMap.put(i, usedTemplatesCounter++);
+		for (int i = 0; i < usedTemplates.length; i++) {
+			if (usedTemplates[i]) {
+				newTemplateIds[i] = usedTemplatesCounter++;
 			} else {
-				arrangementChart.chordTemplates.remove(usedTemplatesCounter);
+				unusedTemplateIds.add(i);
 			}
 		}
+		if (unusedTemplateIds.isEmpty()) {
+			return;
+		}
+
+		arrangementChart.chordTemplates.removeIds(unusedTemplateIds);
 
 		for (final Level level : arrangementChart.levels.values()) {
-			for (final ChordOrNote sound : level.chordsAndNotes) {
-				if (sound.isChord()) {
-					final int newTemplateId = templateIdsMap.get(sound.chord.templateId());
-					final ChordTemplate template = arrangementChart.chordTemplates.get(newTemplateId);
-					sound.chord.updateTemplate(newTemplateId, template);
+			for (int i = 0; i < level.chordsAndNotes.size(); i++) {
+				final ChordOrNote sound = level.chordsAndNotes.get(i);
+				if (!sound.isChord() || newTemplateIds[sound.chord.templateId()] == sound.chord.templateId()) {
+					continue;
 				}
+
+				final int newTemplateId = newTemplateIds[sound.chord.templateId()];
+				final ChordTemplate template = arrangementChart.chordTemplates.get(newTemplateId);
+				level.chordsAndNotes.changing(i);
+				sound.chord.updateTemplate(newTemplateId, template);
 			}
 
-			for (final HandShape handShape : level.handShapes) {
-				handShape.templateId = templateIdsMap.get(handShape.templateId);
+			for (int i = 0; i < level.handShapes.size(); i++) {
+				final HandShape handShape = level.handShapes.get(i);
+				if (handShape.templateId < 0 || newTemplateIds[handShape.templateId] == handShape.templateId) {
+					continue;
+				}
+
+				level.handShapes.changing(i);
+				handShape.templateId = newTemplateIds[handShape.templateId];
 			}
 		}
 	}
 
 	private void fixMissingFingersOnChordTemplates(final ArrangementChart arrangementChart) {
-		arrangementChart.chordTemplates.forEach(chordTemplate -> {
-			for (final int string : new HashSet<>(chordTemplate.fingers.keySet())) {
-				if (chordTemplate.fingers.get(string) == null) {
-					chordTemplate.fingers.remove(string);
-				}
+		final ChartList<ChordTemplate> chordTemplates = arrangementChart.chordTemplates;
+		for (int i = 0; i < chordTemplates.size(); i++) {
+			final ChordTemplate chordTemplate = chordTemplates.get(i);
+			if (chordTemplate.fingers.containsValue(null)) {
+				chordTemplates.changing(i);
+				chordTemplate.fingers.values().removeIf(finger -> finger == null);
 			}
-		});
+		}
 	}
 
+	/**
+	 * Fixes are made without undo, so every arrangement they changed is marked to be saved
+	 */
 	public void fixArrangement() {
-		for (final ArrangementChart arrangement : data.songChart.arrangements) {
+		for (int i = 0; i < data.songChart.arrangements.size(); i++) {
+			final ArrangementChart arrangement = data.songChart.arrangements.get(i);
+			final int modificationsBefore = arrangement.getModifications();
+
 			for (final Level level : arrangement.levels.values()) {
 				fixLevel(arrangement, level);
 			}
@@ -296,6 +352,10 @@ public class ArrangementFixer {
 			fixDuplicatedChordTemplates(arrangement);
 			removeUnusedChordTemplates(arrangement);
 			fixMissingFingersOnChordTemplates(arrangement);
+
+			if (arrangement.getModifications() != modificationsBefore) {
+				undoSystem.markArrangementChanged(i);
+			}
 		}
 
 		data.songChart.beatsMap.makeBeatsUntilSongEnd();
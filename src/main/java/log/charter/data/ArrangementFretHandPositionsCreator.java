@@ -6,6 +6,7 @@ import static log.charter.data.config.Config.frets;
 import static log.charter.song.notes.IPosition.findLastIdBeforeEqual;
 
 import log.charter.data.config.Config;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.Anchor;
 import log.charter.song.ChordTemplate;
 import log.charter.song.enums.HOPO;
@@ -61,7 +62,7 @@ public class ArrangementFretHandPositionsCreator {
 		return new FretRange(sound, minFret, maxFret);
 	}
 
-	private static void addFHP(final FretRange fretRange, final int index, final ArrayList2<Anchor> anchors) {
+	private static void addFHP(final FretRange fretRange, final int index, final ChartList<Anchor> anchors) {
 		int baseFret = Math.min(frets - 3, max(1, fretRange.fretRange.min));
 
 		if (baseFret <= 0) {
@@ -90,7 +91,7 @@ public class ArrangementFretHandPositionsCreator {
 		return fret <= anchor.fret + maxWidth;
 	}
 
-	private static void addFHPIfNeeded(final FretRange fretRange, final ArrayList2<Anchor> anchors) {
+	private static void addFHPIfNeeded(final FretRange fretRange, final ChartList<Anchor> anchors) {
 		final int currentAnchorId = findLastIdBeforeEqual(anchors, fretRange);
 		if (currentAnchorId == -1) {
 			addFHP(fretRange, 0, anchors);
@@ -106,6 +107,7 @@ public class ArrangementFretHandPositionsCreator {
 			final int fret = fretRange.fretRange.min;
 			if (fret < current.fret || fret > current.topFret()) {
 				if (fretRange.isTap || (fret > current.fret && canBeExtended(current, fret))) {
+					anchors.changing(currentAnchorId);
 					current.width = fret - current.fret + 1;
 				} else {
 					addFHP(fretRange, currentAnchorId + 1, anchors);
@@ -121,12 +123,13 @@ public class ArrangementFretHandPositionsCreator {
 		}
 
 		if (current.topFret() < fretRange.fretRange.max) {
+			anchors.changing(currentAnchorId);
 			current.width = fretRange.fretRange.max - current.fret + 1;
 		}
 	}
 
 	public static void createFretHandPositions(final ArrayList2<ChordTemplate> chordTemplates,
-			final ArrayList2<ChordOrNote> sounds, final ArrayList2<Anchor> anchors) {
+			final ArrayList2<ChordOrNote> sounds, final ChartList<Anchor> anchors) {
 		for (final ChordOrNote sound : sounds) {
 			final FretRange fretRange = fretRangeFromSound(chordTemplates, sound);
 			addFHPIfNeeded(fretRange, anchors);
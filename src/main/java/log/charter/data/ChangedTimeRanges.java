@@ -0,0 +1,72 @@
+package log.charter.data;
+
+import log.charter.song.notes.IPosition;
+import log.charter.song.notes.IPositionWithLength;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Collects time ranges of the chart changed since they were last taken, so the chart drawn before can be updated only
+ * where it changed. Changed items are reported before they are changed and kept until the ranges are taken, so both
+ * the range they had and the range they ended up in are included.
+ */
+public class ChangedTimeRanges {
+	public interface RangeConsumer {
+		void changed(int from, int to);
+	}
+
+	private static final int maxKeptItems = 10_000;
+
+	private final ArrayList2<Integer> rangeStarts = new ArrayList2<>();
+	private final ArrayList2<Integer> rangeEnds = new ArrayList2<>();
+	private final ArrayList2<IPosition> items = new ArrayList2<>();
+	private boolean everything = false;
+
+	private static int endOf(final IPosition item) {
+		return item instanceof IPositionWithLength ? ((IPositionWithLength) item).endPosition() : item.position();
+	}
+
+	public synchronized void itemChanged(final IPosition item) {
+		if (everything) {
+			return;
+		}
+		if (items.size() >= maxKeptItems) {
+			everythingChanged();
+			return;
+		}
+
+		rangeStarts.add(item.position());
+		rangeEnds.add(endOf(item));
+		items.add(item);
+	}
+
+	/**
+	 * For changes that can't be placed in time, like changes of templates or settings used by the whole chart
+	 */
+	public synchronized void everythingChanged() {
+		everything = true;
+		rangeStarts.clear();
+		rangeEnds.clear();
+		items.clear();
+	}
+
+	/**
+	 * Gives every range changed since the last call to the consumer, everything changed is given as one range from
+	 * {@link Integer#MIN_VALUE} to {@link Integer#MAX_VALUE}
+	 */
+	public synchronized void take(final RangeConsumer consumer) {
+		if (everything) {
+			consumer.changed(Integer.MIN_VALUE, Integer.MAX_VALUE);
+		} else {
+			for (int i = 0; i < items.size(); i++) {
+				consumer.changed(rangeStarts.get(i), rangeEnds.get(i));
+				final IPosition item = items.get(i);
+				consumer.changed(item.position(), endOf(item));
+			}
+		}
+
+		everything = false;
+		rangeStarts.clear();
+		rangeEnds.clear();
+		items.clear();
+	}
+}
@@ -24,7 +24,8 @@ public class ChartData {
 	public int currentArrangement = 0;
 	public int currentLevel = 0;
 	public int time = 0;
-	public int nextTime = 0;
+	public volatile int nextTime = 0;
+	public final ChangedTimeRanges changedTimeRanges = new ChangedTimeRanges();
 
 	private AudioHandler audioHandler;
 	private CharterMenuBar charterMenuBar;
@@ -83,6 +84,14 @@ public class ChartData {
 		undoSystem.undo();
 	}
 
+	public void markCurrentArrangementChanged() {
+		undoSystem.markArrangementChanged(currentArrangement);
+	}
+
+	public void changingCurrentArrangementPhrases() {
+		undoSystem.changingPhrases(getCurrentArrangement());
+	}
+
 	public int currentStrings() {
 		if (modeManager.editMode != EditMode.GUITAR) {
 			return -1;
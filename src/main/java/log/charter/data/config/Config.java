@@ -60,14 +60,13 @@ public class Config {
 	public static String lastPath = "";
 	public static String musicPath = System.getProperty("user.home") + File.separator + "Music";
 	public static String songsPath = System.getProperty("user.home") + File.separator + "Documents";
-	public static String rubberbandPath;
 	public static String oggEncPath;
 
 	public static int minNoteDistance = 50;
 	public static int minTailLength = 50;
-	public static int delay = 25;
+	public static int soundDelay = 0;
+	public static int midiSoundDelay = 0;
 	public static double volume = 1;
-	public static int midiDelay = 200;
 	public static double midiVolume = 1;
 	public static int markerOffset = 300;
 	public static Theme theme = Theme.ROCKSMITH;
@@ -79,6 +78,7 @@ public class Config {
 	public static boolean leftHanded = false;
 	public static boolean showChordIds = false;
 	public static boolean createDefaultStretchesInBackground = true;
+	public static boolean cacheStretchedMusic = false;
 	public static int frets = 24;
 	public static int maxStrings = 6;
 	public static int maxBendValue = 3;
@@ -102,6 +102,7 @@ public class Config {
 	public static boolean debugDrawing = false;
 
 	private static boolean changed = false;
+	private static int version = 0;
 
 	private static final Map<String, ValueAccessor> valueAccessors = new HashMap<>();
 
@@ -115,9 +116,9 @@ public class Config {
 		valueAccessors.put("minNoteDistance",
 				ValueAccessor.forInteger(v -> minNoteDistance = v, () -> minNoteDistance));
 		valueAccessors.put("minTailLength", ValueAccessor.forInteger(v -> minTailLength = v, () -> minTailLength));
-		valueAccessors.put("delay", ValueAccessor.forInteger(v -> delay = v, () -> delay));
+		valueAccessors.put("soundDelay", ValueAccessor.forInteger(v -> soundDelay = v, () -> soundDelay));
+		valueAccessors.put("midiSoundDelay", ValueAccessor.forInteger(v -> midiSoundDelay = v, () -> midiSoundDelay));
 		valueAccessors.put("volume", ValueAccessor.forDouble(v -> volume = v, () -> volume));
-		valueAccessors.put("midiDelay", ValueAccessor.forInteger(v -> midiDelay = v, () -> midiDelay));
 		valueAccessors.put("midiVolume", ValueAccessor.forDouble(v -> midiVolume = v, () -> midiVolume));
 		valueAccessors.put("markerOffset", ValueAccessor.forInteger(v -> markerOffset = v, () -> markerOffset));
 		valueAccessors.put("noteWidth", ValueAccessor.forInteger(v -> noteWidth = v, () -> noteWidth));
@@ -130,6 +131,8 @@ public class Config {
 		valueAccessors.put("showChordIds", ValueAccessor.forBoolean(v -> showChordIds = v, () -> showChordIds));
 		valueAccessors.put("createDefaultStretchesInBackground", ValueAccessor
 				.forBoolean(v -> createDefaultStretchesInBackground = v, () -> createDefaultStretchesInBackground));
+		valueAccessors.put("cacheStretchedMusic",
+				ValueAccessor.forBoolean(v -> cacheStretchedMusic = v, () -> cacheStretchedMusic));
 		valueAccessors.put("frets", ValueAccessor.forInteger(v -> frets = v, () -> frets));
 		valueAccessors.put("maxStrings", ValueAccessor.forInteger(v -> maxStrings = v, () -> maxStrings));
 		valueAccessors.put("FPS", ValueAccessor.forInteger(v -> FPS = v, () -> FPS));
@@ -156,12 +159,6 @@ public class Config {
 
 		valueAccessors.put("debugLogging", ValueAccessor.forBoolean(v -> debugLogging = v, () -> debugLogging));
 
-		final String os = System.getProperty("os.name").toLowerCase();
-		final String osPath = os.startsWith("windows")
-				? "rubberband-3.1.2-gpl-executable-windows" + File.separator + "rubberband.exe" //
-				: os.startsWith("mac") ? "rubberband-3.1.2-gpl-executable-macos" + File.separator + "rubberband"//
-						: "rubberband-3.1.2-gpl-executable-windows" + File.separator + "rubberband.exe";
-		rubberbandPath = new File(RW.getProgramDirectory(), "rubberband" + File.separator + osPath).getAbsolutePath();
 		oggEncPath = new File(RW.getProgramDirectory(), "oggenc" + File.separator + "oggenc2.exe").getAbsolutePath();
 
 		final GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
@@ -210,5 +207,13 @@ public class Config {
 
 	public static void markChanged() {
 		changed = true;
+		version++;
+	}
+
+	/**
+	 * @return number that changes every time config is changed
+	 */
+	public static int getVersion() {
+		return version;
 	}
 }
@@ -182,6 +182,8 @@ public class Localization {
 		FILE_MENU_IMPORT_GP("Guitar Pro file"), //
 		FILE_MENU_SAVE("Save"), //
 		FILE_MENU_SAVE_AS("Save as..."), //
+		FILE_MENU_CONVERT_TO_BINARY("Convert to binary project"), //
+		FILE_MENU_CONVERT_TO_XML("Convert to XML project"), //
 		FILE_MENU_OPTIONS("Options"), //
 		FILE_MENU_GRAPHIC_OPTIONS("Graphic options"), //
 		FILE_MENU_EXIT("Exit"), //
@@ -236,6 +238,8 @@ public class Localization {
 		INFO_MENU("Info"), //
 		INFO_MENU_VERSION("Version"), //
 		INFO_MENU_LANGUAGE("Language"), //
+		INFO_MENU_FRAME_TIMINGS("Show frame timings"), //
+		INFO_MENU_SAVE_FRAME_TIMINGS("Save frame timings"), //
 
 		MUSIC_MENU("Music"), //
 		MUSIC_MENU_25("25% speed"), //
@@ -257,6 +261,7 @@ public class Localization {
 		TOOLBAR_SLOWED_PLAYBACK_SPEED("Slowed speed"), //
 		TOOLBAR_VOLUME("Volume"), //
 		TOOLBAR_MIDI_VOLUME("Midi volume"), //
+		TOOLBAR_STRETCHING("Stretching, %d queued"), //
 
 		SLIDE_PANE("Slide options"), //
 		SLIDE_PANE_FRET("Slide to"), //
@@ -358,6 +363,7 @@ public class Localization {
 
 		CHOOSE_FOLDER_NAME("Choose folder name"), //
 		COULDNT_LOAD_ARRANGEMENT("Couldn't load arrangement"), //
+		COULDNT_LOAD_PROJECT("Couldn't load project"), //
 		COUNT_PHRASE_MISSING(
 				"Count phrase is missing, do you want to move to the beginning of the arrangement to place it?"), //
 		COUNT_PHRASE_MULTIPLE(
@@ -389,6 +395,8 @@ public class Localization {
 		PROJECT_IS_NEWER_VERSION("Project is newer version than program handles"), //
 		ROCKSMITH_CHART_PROJECT("Rocksmith Chart Project"), //
 		RS_ARRANGEMENT_FILE("RS arrangment file (XML)"), //
+		SAVE_FAILED("Couldn't save the project, check the log for details"), //
+		SAVING("Saving %s/%s"), //
 		SELECT_FOLDER("Select"), //
 		TONE_NAME_CANT_BE_EMPTY("Tone name can't be empty"), //
 		TONE_NAME_PAST_LIMIT("There are already 4 tones, can't add another tone"), //
@@ -36,6 +36,7 @@ public class EventPointsCopyData implements ICopyData {
 	public void paste(final ChartData data, final boolean sections, final boolean phrases, final boolean events) {
 		final ArrangementChart arrangement = data.getCurrentArrangement();
 		if (phrases) {
+			data.changingCurrentArrangementPhrases();
 			for (final CopiedArrangementEventsPointPosition arrangementEventsPoint : arrangementEventsPoints) {
 				final String phraseName = arrangementEventsPoint.phrase;
 				if (!arrangement.phrases.containsKey(phraseName)) {
@@ -64,6 +65,7 @@ public class EventPointsCopyData implements ICopyData {
 
 					final EventPoint eventPoint = arrangement
 							.findOrCreateArrangementEventsPoint(value.position());
+					arrangement.eventPoints.changingItem(eventPoint);
 					eventPoint.merge(value);
 				}
 			} catch (final Exception e) {
@@ -12,6 +12,7 @@ import log.charter.song.ArrangementChart;
 import log.charter.song.BeatsMap;
 import log.charter.song.ChordTemplate;
 import log.charter.song.HandShape;
+import log.charter.song.notes.IPosition;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 @XStreamAlias("handShapesCopyData")
@@ -38,6 +39,7 @@ public class HandShapesCopyData implements ICopyData {
 
 		final double basePositionInBeats = beatsMap.getPositionInBeats(data.time);
 		final Map<Integer, Integer> chordIdsMap = new HashMap<>();
+		final ArrayList2<HandShape> pasted = new ArrayList2<>(this.handShapes.size());
 
 		for (final CopiedHandShapePosition copiedPosition : this.handShapes) {
 			try {
@@ -52,12 +54,13 @@ public class HandShapesCopyData implements ICopyData {
 				}
 				handShape.templateId = chordIdsMap.get(templateId);
 
-				handShapes.add(handShape);
+				pasted.add(handShape);
 			} catch (final Exception e) {
 				Logger.error("Couldn't paste hand shape", e);
 			}
 		}
 
-		handShapes.sort(null);
+		pasted.sort(null);
+		handShapes.addSorted(pasted, IPosition::compareTo);
 	}
 }
@@ -11,19 +11,21 @@ public interface ICopyData {
 	static <T extends IPosition, V extends CopiedPosition<T>> void simplePaste(final BeatsMap beatsMap, final int time,
 			final ArrayList2<T> positions, final ArrayList2<V> positionsToPaste) {
 		final double basePositionInBeats = beatsMap.getPositionInBeats(time);
+		final ArrayList2<T> pastedPositions = new ArrayList2<>(positionsToPaste.size());
 
 		for (final V copiedPosition : positionsToPaste) {
 			try {
 				final T value = copiedPosition.getValue(beatsMap, basePositionInBeats);
 				if (value != null) {
-					positions.add(value);
+					pastedPositions.add(value);
 				}
 			} catch (final Exception e) {
 				Logger.error("Couldn't paste position", e);
 			}
 		}
 
-		positions.sort(null);
+		pastedPositions.sort(null);
+		positions.addSorted(pastedPositions, IPosition::compareTo);
 	}
 
 	public boolean isEmpty();
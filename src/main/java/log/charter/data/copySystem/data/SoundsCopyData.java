@@ -12,6 +12,7 @@ import log.charter.song.ArrangementChart;
 import log.charter.song.BeatsMap;
 import log.charter.song.ChordTemplate;
 import log.charter.song.notes.ChordOrNote;
+import log.charter.song.notes.IPosition;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 @XStreamAlias("soundsCopyData")
@@ -38,6 +39,7 @@ public class SoundsCopyData implements ICopyData {
 
 		final double basePositionInBeats = beatsMap.getPositionInBeats(data.time);
 		final Map<Integer, Integer> chordIdsMap = new HashMap<>();
+		final ArrayList2<ChordOrNote> pasted = new ArrayList2<>(this.sounds.size());
 
 		for (final CopiedSoundPosition copiedPosition : this.sounds) {
 			try {
@@ -58,12 +60,13 @@ public class SoundsCopyData implements ICopyData {
 					sound.chord.updateTemplate(newTemplateId, newTemplate);
 				}
 
-				sounds.add(sound);
+				pasted.add(sound);
 			} catch (final Exception e) {
 				Logger.error("Couldn't paste sound", e);
 			}
 		}
 
-		sounds.sort(null);
+		pasted.sort(null);
+		sounds.addSorted(pasted, IPosition::compareTo);
 	}
 }
@@ -16,6 +16,7 @@ import log.charter.data.managers.selection.SelectionAccessor;
 import log.charter.data.managers.selection.SelectionManager;
 import log.charter.data.types.PositionType;
 import log.charter.data.types.PositionWithIdAndType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.data.undoSystem.UndoSystem;
 import log.charter.gui.CharterFrame;
 import log.charter.gui.components.selectionEditor.CurrentSelectionEditor;
@@ -143,7 +144,7 @@ public class GuitarModeHandler extends ModeHandler {
 	}
 
 	private ChordOrNote addSound(final Note note) {
-		final ArrayList2<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
+		final ChartList<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
 		final ChordOrNote sound = new ChordOrNote(note);
 		sounds.add(new ChordOrNote(note));
 		sounds.sort(null);
@@ -174,6 +175,7 @@ public class GuitarModeHandler extends ModeHandler {
 			return -1;
 		}
 
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(id);
 		if (chordOrNote.isChord()) {
 			final ChordTemplate chordTemplate = new ChordTemplate(
 					data.getCurrentArrangement().chordTemplates.get(chordOrNote.chord.templateId()));
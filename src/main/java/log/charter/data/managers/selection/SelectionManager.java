@@ -68,6 +68,14 @@ public class SelectionManager {
 		typeSelectionManagers.put(PositionType.VOCAL, vocalsManager);
 	}
 
+	/**
+	 * Marks selected items as changed so they are drawn again, used before and after the selection changes
+	 */
+	private void markSelectedChanged() {
+		typeSelectionManagers.values().forEach(manager -> manager.getAccessor().getSelectedSet()
+				.forEach(selection -> data.changedTimeRanges.itemChanged(selection.selectable)));
+	}
+
 	private void clearSelectionsExcept(final PositionType typeNotToClear) {
 		typeSelectionManagers.forEach((type, manager) -> {
 			if (type != typeNotToClear) {
@@ -145,6 +153,7 @@ public class SelectionManager {
 			return;
 		}
 
+		markSelectedChanged();
 		if (!clickData.pressHighlight.existingPosition) {
 			if (!ctrl) {
 				clearSelectionsExcept(PositionType.NONE);
@@ -164,10 +173,12 @@ public class SelectionManager {
 
 		manager.addSelection(clickData.pressHighlight, clickData.pressPosition.x, clickData.pressPosition.y, ctrl,
 				shift);
+		markSelectedChanged();
 		frame.selectionChanged(true);
 	}
 
 	public void clear() {
+		markSelectedChanged();
 		clearSelectionsExcept(PositionType.NONE);
 		frame.selectionChanged(true);
 	}
@@ -206,21 +217,25 @@ public class SelectionManager {
 			vocalsManager.addAll();
 		}
 
+		markSelectedChanged();
 		frame.selectionChanged(true);
 	}
 
 	public void addSoundSelection(final int id) {
 		chordsNotesManager.add(id);
+		markSelectedChanged();
 		frame.selectionChanged(true);
 	}
 
 	public void addSoundSelection(final ArrayList2<Integer> ids) {
 		chordsNotesManager.add(ids);
+		markSelectedChanged();
 		frame.selectionChanged(true);
 	}
 
 	public void addSelectionForPositions(final PositionType type, final Set<Integer> positions) {
 		typeSelectionManagers.get(type).addPositions(positions);
+		markSelectedChanged();
 		frame.selectionChanged(type == PositionType.GUITAR_NOTE);
 	}
 
@@ -18,8 +18,8 @@ import log.charter.data.types.positions.NonePositionTypeManager;
 import log.charter.data.types.positions.PositionTypeManager;
 import log.charter.data.types.positions.ToneChangePositionTypeManager;
 import log.charter.data.types.positions.VocalPositionTypeManager;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.notes.IPosition;
-import log.charter.util.CollectionUtils.ArrayList2;
 
 public enum PositionType {
 	ANCHOR(new AnchorPositionTypeManager()), //
@@ -97,7 +97,7 @@ public enum PositionType {
 	}
 
 	@SuppressWarnings("unchecked")
-	public <T extends IPosition> ArrayList2<T> getPositions(final ChartData data) {
-		return (ArrayList2<T>) manager.getPositions(data);
+	public <T extends IPosition> ChartList<T> getPositions(final ChartData data) {
+		return (ChartList<T>) manager.getPositions(data);
 	}
 }
\ No newline at end of file
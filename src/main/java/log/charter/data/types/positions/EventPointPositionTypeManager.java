@@ -2,12 +2,13 @@ package log.charter.data.types.positions;
 
 import log.charter.data.ChartData;
 import log.charter.data.types.PositionWithIdAndType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.EventPoint;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 public class EventPointPositionTypeManager implements PositionTypeManager<EventPoint> {
 	@Override
-	public ArrayList2<EventPoint> getPositions(final ChartData data) {
+	public ChartList<EventPoint> getPositions(final ChartData data) {
 		return data.getCurrentArrangement().eventPoints;
 	}
 
@@ -2,12 +2,13 @@ package log.charter.data.types.positions;
 
 import log.charter.data.ChartData;
 import log.charter.data.types.PositionWithIdAndType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.HandShape;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 public class HandShapePositionTypeManager implements PositionTypeManager<HandShape> {
 	@Override
-	public ArrayList2<HandShape> getPositions(final ChartData data) {
+	public ChartList<HandShape> getPositions(final ChartData data) {
 		return data.getCurrentArrangementLevel().handShapes;
 	}
 
@@ -2,13 +2,14 @@ package log.charter.data.types.positions;
 
 import log.charter.data.ChartData;
 import log.charter.data.types.PositionWithIdAndType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.notes.Position;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 public class NonePositionTypeManager implements PositionTypeManager<Position> {
 	@Override
-	public ArrayList2<Position> getPositions(final ChartData data) {
-		return new ArrayList2<>();
+	public ChartList<Position> getPositions(final ChartData data) {
+		return new ChartList<>();
 	}
 
 	@Override
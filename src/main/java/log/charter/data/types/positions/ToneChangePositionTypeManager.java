@@ -2,12 +2,13 @@ package log.charter.data.types.positions;
 
 import log.charter.data.ChartData;
 import log.charter.data.types.PositionWithIdAndType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.ToneChange;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 public class ToneChangePositionTypeManager implements PositionTypeManager<ToneChange> {
 	@Override
-	public ArrayList2<ToneChange> getPositions(final ChartData data) {
+	public ChartList<ToneChange> getPositions(final ChartData data) {
 		return data.getCurrentArrangement().toneChanges;
 	}
 
@@ -2,12 +2,13 @@ package log.charter.data.types.positions;
 
 import log.charter.data.ChartData;
 import log.charter.data.types.PositionWithIdAndType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.vocals.Vocal;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 public class VocalPositionTypeManager implements PositionTypeManager<Vocal> {
 	@Override
-	public ArrayList2<Vocal> getPositions(final ChartData data) {
+	public ChartList<Vocal> getPositions(final ChartData data) {
 		return data.songChart.vocals.vocals;
 	}
 
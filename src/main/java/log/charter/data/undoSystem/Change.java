@@ -0,0 +1,28 @@
+package log.charter.data.undoSystem;
+
+/**
+ * One change of the chart recorded during an edit, keeping copies of the changed values before and after it
+ */
+abstract class Change {
+	/**
+	 * Copies values after the change, called when the edit is finished
+	 *
+	 * @return number of copied items that weren't counted before
+	 */
+	abstract int seal();
+
+	/**
+	 * @return false if the chart doesn't match what this change expects
+	 */
+	abstract boolean undo();
+
+	/**
+	 * @return false if the chart doesn't match what this change expects
+	 */
+	abstract boolean redo();
+
+	/**
+	 * @return number of copied items kept by this change
+	 */
+	abstract int size();
+}
@@ -0,0 +1,124 @@
+package log.charter.data.undoSystem;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+
+import log.charter.song.ArrangementChart;
+import log.charter.song.Beat;
+import log.charter.song.SongChart;
+import log.charter.song.vocals.Vocals;
+import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.CollectionUtils.HashSet2;
+
+/**
+ * Keeps which arrangements and vocals are the same as in the saved files. Chart lists count their modifications, so
+ * every change made to them is found, also the ones made without undo like adding silence or fixing the arrangement on
+ * save. Values that aren't kept in chart lists, like arrangement settings or phrases, are marked by the edits that
+ * change them. Beats and song data are written in every arrangement file. Anything not known to be saved is treated as
+ * changed.
+ */
+class ChangeTracker {
+	private static class SavedArrangement {
+		public final String fileName;
+		public final int modifications;
+
+		public SavedArrangement(final String fileName, final int modifications) {
+			this.fileName = fileName;
+			this.modifications = modifications;
+		}
+	}
+
+	private SongChart savedSongChart;
+	private String savedProjectPath;
+	private ChartList<Beat> savedBeats;
+	private int savedBeatsModifications;
+	private List<Object> savedSongData;
+	private final IdentityHashMap<ArrangementChart, SavedArrangement> savedArrangements = new IdentityHashMap<>();
+	private Vocals savedVocals;
+	private int savedVocalsModifications;
+
+	private static List<Object> getSongData(final SongChart songChart) {
+		return List.of(Objects.toString(songChart.artistName), Objects.toString(songChart.artistNameSort),
+				Objects.toString(songChart.title), Objects.toString(songChart.albumName),
+				Objects.toString(songChart.albumYear), songChart.beatsMap.songLengthMs);
+	}
+
+	public void clear() {
+		savedSongChart = null;
+		savedProjectPath = null;
+		savedBeats = null;
+		savedSongData = null;
+		savedArrangements.clear();
+		savedVocals = null;
+	}
+
+	public void arrangementChanged(final ArrangementChart arrangement) {
+		savedArrangements.remove(arrangement);
+	}
+
+	public void vocalsChanged() {
+		savedVocals = null;
+	}
+
+	private boolean isSongDataSaved(final SongChart songChart, final String projectPath) {
+		return songChart == savedSongChart//
+				&& projectPath.equals(savedProjectPath)//
+				&& getSongData(songChart).equals(savedSongData)//
+				&& songChart.beatsMap.beats == savedBeats//
+				&& savedBeats.getModifications() == savedBeatsModifications;
+	}
+
+	private boolean isArrangementSaved(final ArrangementChart arrangement, final String fileName) {
+		final SavedArrangement savedArrangement = savedArrangements.get(arrangement);
+		return savedArrangement != null//
+				&& savedArrangement.fileName.equals(fileName)//
+				&& savedArrangement.modifications == arrangement.getModifications();
+	}
+
+	/**
+	 * @param fileNames file names of the arrangements, in order of the song chart arrangements
+	 * @return ids of arrangements that are different from their saved files
+	 */
+	public HashSet2<Integer> getChangedArrangements(final SongChart songChart, final String projectPath,
+			final ArrayList2<String> fileNames) {
+		if (!isSongDataSaved(songChart, projectPath)) {
+			clear();
+		}
+
+		final HashSet2<Integer> changedArrangements = new HashSet2<>();
+		for (int i = 0; i < songChart.arrangements.size(); i++) {
+			if (!isArrangementSaved(songChart.arrangements.get(i), fileNames.get(i))) {
+				changedArrangements.add(i);
+			}
+		}
+
+		return changedArrangements;
+	}
+
+	public boolean areVocalsChanged(final SongChart songChart, final String projectPath) {
+		return !isSongDataSaved(songChart, projectPath)//
+				|| songChart.vocals != savedVocals//
+				|| songChart.vocals.vocals.getModifications() != savedVocalsModifications;
+	}
+
+	/**
+	 * Marks the whole chart as saved in files at given project path
+	 */
+	public void onSave(final SongChart songChart, final String projectPath, final ArrayList2<String> fileNames) {
+		savedSongChart = songChart;
+		savedProjectPath = projectPath;
+		savedBeats = songChart.beatsMap.beats;
+		savedBeatsModifications = savedBeats.getModifications();
+		savedSongData = getSongData(songChart);
+
+		savedArrangements.clear();
+		for (int i = 0; i < songChart.arrangements.size(); i++) {
+			final ArrangementChart arrangement = songChart.arrangements.get(i);
+			savedArrangements.put(arrangement, new SavedArrangement(fileNames.get(i), arrangement.getModifications()));
+		}
+
+		savedVocals = songChart.vocals;
+		savedVocalsModifications = savedVocals.vocals.getModifications();
+	}
+}
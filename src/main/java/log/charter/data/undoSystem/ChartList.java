@@ -0,0 +1,486 @@
+package log.charter.data.undoSystem;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import java.util.function.Function;
+
+import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.PersistentList;
+
+/**
+ * List of chart items that records its changes for undo. Items added, removed or replaced are recorded by the list
+ * itself, items changed in place have to be announced with one of the {@code changing} methods before they are changed.
+ *
+ * Copies of the items can be kept as a persistent list, updated only where the list changed, see {@link #snapshot}.
+ */
+public class ChartList<T> extends ArrayList2<T> {
+	private static final long serialVersionUID = 1L;
+
+	private class SubList extends AbstractList<T> {
+		private final int offset;
+		private int size;
+
+		public SubList(final int offset, final int size) {
+			this.offset = offset;
+			this.size = size;
+		}
+
+		@Override
+		public T get(final int index) {
+			return ChartList.this.get(offset + index);
+		}
+
+		@Override
+		public T set(final int index, final T element) {
+			return ChartList.this.set(offset + index, element);
+		}
+
+		@Override
+		public void add(final int index, final T element) {
+			ChartList.this.add(offset + index, element);
+			size++;
+		}
+
+		@Override
+		public boolean addAll(final int index, final Collection<? extends T> elements) {
+			ChartList.this.addAll(offset + index, elements);
+			size += elements.size();
+			return !elements.isEmpty();
+		}
+
+		@Override
+		public T remove(final int index) {
+			final T removed = ChartList.this.remove(offset + index);
+			size--;
+			return removed;
+		}
+
+		@Override
+		protected void removeRange(final int fromIndex, final int toIndex) {
+			ChartList.this.removeRange(offset + fromIndex, offset + toIndex);
+			size -= toIndex - fromIndex;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	transient ListRecorder<T> recorder;
+	private transient ListVersion<T> version;
+	private transient boolean silent = false;
+	private transient int modifications = 0;
+
+	public ChartList() {
+		super();
+	}
+
+	public ChartList(final int initialCapacity) {
+		super(initialCapacity);
+	}
+
+	public ChartList(final List<T> list) {
+		super(list);
+	}
+
+	private boolean isRecorded() {
+		return recorder != null && !silent && recorder.isRecording();
+	}
+
+	/**
+	 * @return number of changes made to the list, including the ones made without undo and by undo itself, so two
+	 *         different values mean that the list changed in between
+	 */
+	public int getModifications() {
+		return modifications;
+	}
+
+	/**
+	 * Starts keeping copies of the items, all of them are copied on the next update
+	 */
+	void keepVersion(final Function<T, T> copier) {
+		if (version == null) {
+			version = new ListVersion<>(copier);
+		}
+	}
+
+	/**
+	 * Copies items changed since the last update of the kept copies
+	 */
+	void updateVersion() {
+		if (version != null) {
+			version.update(this);
+		}
+	}
+
+	/**
+	 * @return copy of item with given id, shared with the kept copies if it didn't change since they were updated
+	 */
+	T copyItem(final int id, final Function<T, T> copier) {
+		final T copy = version == null ? null : version.getCopy(id);
+		return copy != null ? copy : copier.apply(get(id));
+	}
+
+	/**
+	 * Copies are made with the copier given when the list started keeping them, only items changed since the last
+	 * update are copied. Returned list and its items must not be changed.
+	 *
+	 * @param copier makes a deep copy of an item, used if the list doesn't keep copies yet
+	 * @return copies of all items, sharing unchanged items and structure with earlier snapshots
+	 */
+	public PersistentList<T> snapshot(final Function<T, T> copier) {
+		keepVersion(copier);
+		return version.update(this);
+	}
+
+	private void itemsChanging(final int fromId, final int toId) {
+		if (recorder == null) {
+			return;
+		}
+
+		for (int i = max(0, fromId); i < min(size(), toId); i++) {
+			recorder.itemChanged(get(i));
+		}
+	}
+
+	private void itemsChanging(final Collection<? extends T> items) {
+		if (recorder == null) {
+			return;
+		}
+
+		for (final T item : items) {
+			recorder.itemChanged(item);
+		}
+	}
+
+	private void replacing(final int start, final int removed, final Collection<? extends T> inserted) {
+		if (silent || (removed == 0 && inserted.isEmpty())) {
+			return;
+		}
+
+		modifications++;
+		itemsChanging(start, start + removed);
+		itemsChanging(inserted);
+		if (isRecorded()) {
+			recorder.replacing(this, start, removed, inserted);
+		}
+		if (version != null) {
+			version.replacing(start, removed, inserted.size());
+		}
+	}
+
+	/**
+	 * Records item with given id before it is changed in place
+	 */
+	public void changing(final int id) {
+		changing(id, id + 1);
+	}
+
+	/**
+	 * Records items from fromId to toId (exclusive) before they are changed in place
+	 */
+	public void changing(final int fromId, final int toId) {
+		if (fromId >= toId) {
+			return;
+		}
+
+		modifications++;
+		itemsChanging(fromId, toId);
+		if (isRecorded()) {
+			recorder.changing(this, fromId, toId);
+		}
+		if (version != null) {
+			version.changing(fromId, toId);
+		}
+	}
+
+	/**
+	 * Records items with given ids before they are changed in place
+	 */
+	public void changing(final Collection<Integer> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+
+		modifications++;
+		for (final int id : ids) {
+			itemsChanging(id, id + 1);
+		}
+		if (isRecorded()) {
+			for (final int id : ids) {
+				recorder.changing(this, id, id + 1);
+			}
+		}
+		if (version != null) {
+			for (final int id : ids) {
+				version.changing(id, id + 1);
+			}
+		}
+	}
+
+	/**
+	 * Records given item before it is changed in place, for edits that don't know its id
+	 */
+	public void changingItem(final T item) {
+		for (int i = 0; i < size(); i++) {
+			if (get(i) == item) {
+				changing(i);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Records the whole list before it is changed in place, for edits that change items all over the list
+	 */
+	public void changingAll() {
+		changing(0, size());
+	}
+
+	/**
+	 * Replaces items without recording, used to apply undo and redo
+	 */
+	void replaceRange(final int start, final int removed, final List<T> inserted) {
+		modifications++;
+		itemsChanging(start, start + removed);
+		itemsChanging(inserted);
+		if (version != null) {
+			version.replacing(start, removed, inserted.size());
+		}
+		if (removed == inserted.size()) {
+			for (int i = 0; i < removed; i++) {
+				super.set(start + i, inserted.get(i));
+			}
+			return;
+		}
+
+		super.removeRange(start, start + removed);
+		super.addAll(start, inserted);
+	}
+
+	@Override
+	public boolean add(final T element) {
+		replacing(size(), 0, singletonList(element));
+		return super.add(element);
+	}
+
+	@Override
+	public void add(final int index, final T element) {
+		replacing(index, 0, singletonList(element));
+		super.add(index, element);
+	}
+
+	@Override
+	public boolean addAll(final Collection<? extends T> elements) {
+		replacing(size(), 0, elements);
+		return super.addAll(elements);
+	}
+
+	@Override
+	public boolean addAll(final int index, final Collection<? extends T> elements) {
+		replacing(index, 0, elements);
+		return super.addAll(index, elements);
+	}
+
+	@Override
+	public T set(final int index, final T element) {
+		replacing(index, 1, singletonList(element));
+		return super.set(index, element);
+	}
+
+	@Override
+	public T remove(final int index) {
+		replacing(index, 1, emptyList());
+		return super.remove(index);
+	}
+
+	@Override
+	public boolean remove(final Object element) {
+		final int id = indexOf(element);
+		if (id < 0) {
+			return false;
+		}
+
+		remove(id);
+		return true;
+	}
+
+	@Override
+	protected void removeRange(final int fromIndex, final int toIndex) {
+		replacing(fromIndex, toIndex - fromIndex, emptyList());
+		super.removeRange(fromIndex, toIndex);
+	}
+
+	@Override
+	public void clear() {
+		replacing(0, size(), emptyList());
+		super.clear();
+	}
+
+	@Override
+	public boolean removeIf(final Predicate<? super T> filter) {
+		final ArrayList2<Integer> ids = new ArrayList2<>();
+		for (int i = 0; i < size(); i++) {
+			if (filter.test(get(i))) {
+				ids.add(i);
+			}
+		}
+
+		removeIds(ids);
+		return !ids.isEmpty();
+	}
+
+	@Override
+	public boolean removeAll(final Collection<?> elements) {
+		return removeIf(elements::contains);
+	}
+
+	@Override
+	public boolean retainAll(final Collection<?> elements) {
+		return removeIf(element -> !elements.contains(element));
+	}
+
+	@Override
+	public void replaceAll(final UnaryOperator<T> operator) {
+		for (int i = 0; i < size(); i++) {
+			set(i, operator.apply(get(i)));
+		}
+	}
+
+	/**
+	 * Only the range of items that changed place is recorded, sorting a list that is already sorted records nothing
+	 */
+	@Override
+	public void sort(final Comparator<? super T> comparator) {
+		final ArrayList2<T> sorted = new ArrayList2<>(this);
+		sorted.sort(comparator);
+
+		int from = 0;
+		while (from < size() && get(from) == sorted.get(from)) {
+			from++;
+		}
+		if (from == size()) {
+			return;
+		}
+
+		int to = size();
+		while (get(to - 1) == sorted.get(to - 1)) {
+			to--;
+		}
+
+		final List<T> moved = sorted.subList(from, to);
+		if (isRecorded()) {
+			recorder.replacing(this, from, to - from, moved);
+		}
+		replaceRange(from, to - from, moved);
+	}
+
+	@Override
+	public List<T> subList(final int fromIndex, final int toIndex) {
+		if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("sublist from " + fromIndex + " to " + toIndex + ", size " + size());
+		}
+
+		return new SubList(fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * Every run of removed ids is recorded as one change, from the last one so that earlier ids stay the same
+	 */
+	@Override
+	public void removeIds(final List<Integer> sortedIds) {
+		if (sortedIds.isEmpty()) {
+			return;
+		}
+
+		modifications++;
+		for (final int id : sortedIds) {
+			itemsChanging(id, id + 1);
+		}
+		final boolean recorded = isRecorded();
+		if (recorded || version != null) {
+			int runEnd = sortedIds.size();
+			while (runEnd > 0) {
+				int runStart = runEnd - 1;
+				while (runStart > 0 && sortedIds.get(runStart - 1) == sortedIds.get(runStart) - 1) {
+					runStart--;
+				}
+
+				if (recorded) {
+					recorder.replacing(this, sortedIds.get(runStart), runEnd - runStart, emptyList());
+				}
+				if (version != null) {
+					version.replacing(sortedIds.get(runStart), runEnd - runStart, 0);
+				}
+				runEnd = runStart;
+			}
+		}
+
+		silent = true;
+		try {
+			super.removeIds(sortedIds);
+		} finally {
+			silent = false;
+		}
+	}
+
+	/**
+	 * Every run of added elements is recorded as one change, from the first one, so that every change is at the id
+	 * where its elements ended up
+	 */
+	@Override
+	public void addSorted(final List<? extends T> sortedElements, final Comparator<? super T> comparator) {
+		if (sortedElements.isEmpty()) {
+			return;
+		}
+
+		modifications++;
+		itemsChanging(sortedElements);
+		silent = true;
+		try {
+			super.addSorted(sortedElements, comparator);
+		} finally {
+			silent = false;
+		}
+
+		final boolean recorded = isRecorded();
+		if (!recorded && version == null) {
+			return;
+		}
+
+		final int[] addedIds = new int[sortedElements.size()];
+		int addedId = sortedElements.size() - 1;
+		for (int i = size() - 1; i >= 0 && addedId >= 0; i--) {
+			if (get(i) == sortedElements.get(addedId)) {
+				addedIds[addedId--] = i;
+			}
+		}
+
+		int runStart = 0;
+		while (runStart < addedIds.length) {
+			int runEnd = runStart + 1;
+			while (runEnd < addedIds.length && addedIds[runEnd] == addedIds[runEnd - 1] + 1) {
+				runEnd++;
+			}
+
+			if (recorded) {
+				recorder.replacing(this, addedIds[runStart], 0, sortedElements.subList(runStart, runEnd));
+			}
+			if (version != null) {
+				version.replacing(addedIds[runStart], 0, runEnd - runStart);
+			}
+			runStart = runEnd;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package log.charter.data.undoSystem;
+
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Change of a range of a chart list. Items before the change are copied when it is recorded, items after the change
+ * are copied when the edit is finished, so later changes made to them during the same edit are kept too. Copies are
+ * shared with copies kept by the list where possible, so none of them can be changed.
+ */
+class ListChange<T> extends Change {
+	private final ListRecorder<T> recorder;
+	private final ChartList<T> list;
+	private final int start;
+	private final boolean inPlace;
+	private final ArrayList2<T> before;
+	private final ArrayList2<T> after;
+	private boolean sealed = false;
+
+	/**
+	 * @param inPlace true if items after are the same items as before, changed in place
+	 * @param before  copies of items in the range before the change
+	 * @param after   items put in the range, not copied yet
+	 */
+	public ListChange(final ListRecorder<T> recorder, final ChartList<T> list, final int start,
+			final boolean inPlace, final ArrayList2<T> before, final ArrayList2<T> after) {
+		this.recorder = recorder;
+		this.list = list;
+		this.start = start;
+		this.inPlace = inPlace;
+		this.before = before;
+		this.after = after;
+	}
+
+	/**
+	 * @return true if item with given id, changed in place, can be added at the end of this change
+	 */
+	boolean canExtend(final ChartList<T> list, final int id) {
+		return inPlace && !sealed && this.list == list && start + after.size() == id;
+	}
+
+	void extend(final T itemCopy, final T item) {
+		before.add(itemCopy);
+		after.add(item);
+	}
+
+	@Override
+	int seal() {
+		if (sealed) {
+			return 0;
+		}
+
+		for (int i = 0; i < after.size(); i++) {
+			final T item = after.get(i);
+			final int id = start + i;
+			after.set(i, id < list.size() && list.get(id) == item ? recorder.copy(list, id) : recorder.copy(item));
+		}
+		sealed = true;
+
+		return size();
+	}
+
+	private boolean replace(final int removed, final ArrayList2<T> inserted) {
+		if (start + removed > list.size()) {
+			return false;
+		}
+
+		list.replaceRange(start, removed, inserted.map(recorder::copy));
+		return true;
+	}
+
+	@Override
+	boolean undo() {
+		return replace(after.size(), before);
+	}
+
+	@Override
+	boolean redo() {
+		return replace(before.size(), after);
+	}
+
+	@Override
+	int size() {
+		return before.size() + after.size();
+	}
+}
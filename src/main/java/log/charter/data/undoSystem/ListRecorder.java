@@ -0,0 +1,127 @@
+package log.charter.data.undoSystem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import log.charter.song.SongChart;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Records changes of one chart list into the undo system. An item changed in place is recorded only the first time
+ * it's announced during an edit, as its state after the edit is copied when the edit is finished.
+ */
+class ListRecorder<T> {
+	private final UndoSystem undoSystem;
+	final SongChart songChart;
+	private final Function<T, T> copier;
+	private final Consumer<? super T> onItemChanged;
+
+	private final Set<T> changingItems = Collections.newSetFromMap(new IdentityHashMap<>());
+	private int changingItemsRecordingId = -1;
+	private ListChange<T> lastChange;
+
+	/**
+	 * @param copier        makes a deep copy of an item
+	 * @param onItemChanged called with every item added, removed or changed, also by undo and changes not recorded
+	 */
+	public ListRecorder(final UndoSystem undoSystem, final SongChart songChart, final Function<T, T> copier,
+			final Consumer<? super T> onItemChanged) {
+		this.undoSystem = undoSystem;
+		this.songChart = songChart;
+		this.copier = copier;
+		this.onItemChanged = onItemChanged;
+	}
+
+	void itemChanged(final T item) {
+		onItemChanged.accept(item);
+	}
+
+	boolean isRecording() {
+		return undoSystem.isRecording(songChart);
+	}
+
+	T copy(final T item) {
+		return copier.apply(item);
+	}
+
+	/**
+	 * @return copy of item with given id, shared with copies kept by the list if the item didn't change since then
+	 */
+	T copy(final ChartList<T> list, final int id) {
+		return list.copyItem(id, copier);
+	}
+
+	private ArrayList2<T> copyRange(final ChartList<T> list, final int fromId, final int toId) {
+		final ArrayList2<T> copies = new ArrayList2<>(toId - fromId);
+		for (int i = fromId; i < toId; i++) {
+			copies.add(copy(list, i));
+		}
+
+		return copies;
+	}
+
+	private void record(final UndoState state, final ListChange<T> change) {
+		state.changes.add(change);
+		lastChange = change;
+	}
+
+	/**
+	 * Records range of the list replaced with inserted items, called before the list is changed
+	 */
+	void replacing(final ChartList<T> list, final int start, final int removed,
+			final Collection<? extends T> inserted) {
+		if (start < 0 || removed < 0 || start + removed > list.size() || (removed == 0 && inserted.isEmpty())) {
+			return;
+		}
+
+		final UndoState state = undoSystem.getRecordingState();
+		if (state == null) {
+			return;
+		}
+
+		final ArrayList2<T> after = new ArrayList2<>(inserted.size());
+		after.addAll(inserted);
+		record(state, new ListChange<>(this, list, start, false, copyRange(list, start, start + removed), after));
+	}
+
+	/**
+	 * Records items from fromId to toId (exclusive) before they are changed in place
+	 */
+	void changing(final ChartList<T> list, final int fromId, final int toId) {
+		if (fromId < 0 || toId > list.size() || fromId >= toId) {
+			return;
+		}
+
+		final UndoState state = undoSystem.getRecordingState();
+		if (state == null) {
+			return;
+		}
+
+		if (changingItemsRecordingId != undoSystem.getRecordingId()) {
+			changingItems.clear();
+			changingItemsRecordingId = undoSystem.getRecordingId();
+		}
+
+		for (int id = fromId; id < toId; id++) {
+			final T item = list.get(id);
+			if (!changingItems.add(item)) {
+				continue;
+			}
+
+			if (lastChange != null && state.changes.getLast() == lastChange && lastChange.canExtend(list, id)) {
+				lastChange.extend(copy(list, id), item);
+				continue;
+			}
+
+			final ArrayList2<T> before = new ArrayList2<>();
+			before.add(copy(list, id));
+			final ArrayList2<T> after = new ArrayList2<>();
+			after.add(item);
+			record(state, new ListChange<>(this, list, id, true, before, after));
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package log.charter.data.undoSystem;
+
+import static java.lang.Math.max;
+import static java.util.Collections.nCopies;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import log.charter.util.PersistentList;
+
+/**
+ * Copies of items of one chart list, kept as a persistent list. Ids of items changed since the copies were last
+ * updated are kept sorted, and only those items are copied again, so a snapshot of a list costs O(k log n) for k
+ * changed items. Copies are never changed, so they are shared by snapshots and by the undo history.
+ */
+class ListVersion<T> {
+	private static final int minDirtyIdsLimit = 64;
+
+	private final Function<T, T> copier;
+
+	private PersistentList<T> copies = PersistentList.empty();
+	private boolean allDirty = true;
+	private int[] dirtyIds = new int[16];
+	private int dirtyCount = 0;
+
+	ListVersion(final Function<T, T> copier) {
+		this.copier = copier;
+	}
+
+	private boolean overDirtyLimit(final int addedIds) {
+		return dirtyCount + addedIds > max(minDirtyIdsLimit, copies.size() / 8);
+	}
+
+	private int firstDirtyIdFrom(final int id) {
+		final int index = Arrays.binarySearch(dirtyIds, 0, dirtyCount, id);
+		return index < 0 ? -index - 1 : index;
+	}
+
+	/**
+	 * Adds ids from fromId to toId (exclusive) to the sorted dirty ids
+	 */
+	private void addDirtyRange(final int fromId, final int toId) {
+		if (fromId >= toId) {
+			return;
+		}
+		if (overDirtyLimit(toId - fromId)) {
+			allDirty = true;
+			dirtyCount = 0;
+			return;
+		}
+
+		final int[] merged = new int[max(16, (dirtyCount + toId - fromId) * 2)];
+		final int insertAt = firstDirtyIdFrom(fromId);
+		System.arraycopy(dirtyIds, 0, merged, 0, insertAt);
+
+		int count = insertAt;
+		int next = insertAt;
+		for (int id = fromId; id < toId; id++) {
+			while (next < dirtyCount && dirtyIds[next] < id) {
+				merged[count++] = dirtyIds[next++];
+			}
+			if (next < dirtyCount && dirtyIds[next] == id) {
+				next++;
+			}
+			merged[count++] = id;
+		}
+		System.arraycopy(dirtyIds, next, merged, count, dirtyCount - next);
+
+		dirtyIds = merged;
+		dirtyCount = count + dirtyCount - next;
+	}
+
+	/**
+	 * Called before range of the list is replaced with inserted items
+	 */
+	void replacing(final int start, final int removed, final int inserted) {
+		if (allDirty) {
+			return;
+		}
+
+		copies = copies.withReplacedRange(start, removed, nCopies(inserted, null));
+
+		int count = 0;
+		for (int i = 0; i < dirtyCount; i++) {
+			final int id = dirtyIds[i];
+			if (id < start) {
+				dirtyIds[count++] = id;
+			} else if (id >= start + removed) {
+				dirtyIds[count++] = id + inserted - removed;
+			}
+		}
+		dirtyCount = count;
+
+		addDirtyRange(start, start + inserted);
+	}
+
+	/**
+	 * Called before items from fromId to toId (exclusive) are changed in place
+	 */
+	void changing(final int fromId, final int toId) {
+		if (!allDirty) {
+			addDirtyRange(fromId, toId);
+		}
+	}
+
+	/**
+	 * @return copy of item with given id, null if the item changed since the copies were updated
+	 */
+	T getCopy(final int id) {
+		if (allDirty || id >= copies.size()) {
+			return null;
+		}
+
+		final int index = firstDirtyIdFrom(id);
+		return index < dirtyCount && dirtyIds[index] == id ? null : copies.get(id);
+	}
+
+	T copy(final T item) {
+		return copier.apply(item);
+	}
+
+	/**
+	 * Copies items changed since the last update
+	 *
+	 * @return copies of all items of the list
+	 */
+	PersistentList<T> update(final ChartList<T> list) {
+		if (allDirty) {
+			copies = PersistentList.of(list.map(copier));
+			allDirty = false;
+			dirtyCount = 0;
+			return copies;
+		}
+
+		for (int i = 0; i < dirtyCount; i++) {
+			final int id = dirtyIds[i];
+			copies = copies.with(id, copier.apply(list.get(id)));
+		}
+		dirtyCount = 0;
+
+		return copies;
+	}
+}
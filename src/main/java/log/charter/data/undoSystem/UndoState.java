@@ -2,10 +2,62 @@ package log.charter.data.undoSystem;
 
 import static log.charter.data.undoSystem.UndoSystem.nextId;
 
-import log.charter.data.ChartData;
-
-public abstract class UndoState {
-	public abstract UndoState undo(final ChartData data);
+import log.charter.util.CollectionUtils.ArrayList2;
 
+/**
+ * Changes of one edit, in the order they were made
+ */
+public class UndoState {
 	public final int id = nextId++;
+
+	final int markerPosition;
+	final ArrayList2<Change> changes = new ArrayList2<>();
+
+	UndoState(final int markerPosition) {
+		this.markerPosition = markerPosition;
+	}
+
+	/**
+	 * @return number of copied items that weren't counted before
+	 */
+	int seal() {
+		int sealed = 0;
+		for (final Change change : changes) {
+			sealed += change.seal();
+		}
+
+		return sealed;
+	}
+
+	boolean undo() {
+		for (int i = changes.size() - 1; i >= 0; i--) {
+			if (!changes.get(i).undo()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	boolean redo() {
+		for (final Change change : changes) {
+			if (!change.redo()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return estimated number of items kept, counting the state itself as one
+	 */
+	int size() {
+		int size = 1;
+		for (final Change change : changes) {
+			size += change.size();
+		}
+
+		return size;
+	}
 }
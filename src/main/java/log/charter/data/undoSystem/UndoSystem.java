@@ -1,45 +1,236 @@
 package log.charter.data.undoSystem;
 
+import java.io.File;
 import java.util.LinkedList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import log.charter.data.ChartData;
-import log.charter.data.managers.ModeManager;
 import log.charter.data.managers.selection.SelectionManager;
+import log.charter.io.Logger;
+import log.charter.song.Anchor;
+import log.charter.song.ArrangementChart;
+import log.charter.song.Beat;
+import log.charter.song.ChordTemplate;
+import log.charter.song.EventPoint;
+import log.charter.song.HandShape;
+import log.charter.song.Level;
+import log.charter.song.Phrase;
+import log.charter.song.SongChart;
+import log.charter.song.ToneChange;
+import log.charter.song.notes.ChordOrNote;
+import log.charter.song.vocals.Vocal;
+import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.CollectionUtils.HashSet2;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
+/**
+ * Keeps changes of every edit, recorded when they are made: chart lists record items they add, remove or replace, and
+ * items changed in place are recorded when the edit announces them, see {@link ChartList}. Undo is added before an
+ * edit is made, so the items after the edit are copied when the next undo is added or the last one is used. Changes
+ * made without adding an undo are joined to the closest edit before them, so undoing that edit restores the chart to
+ * how it was before it.
+ *
+ * History is limited by estimated memory of kept items instead of number of edits.
+ */
 public class UndoSystem {
 	public static int nextId = 1;
 
+	private static final long estimatedItemSize = 256;
+	private static final long maxKeptItems = Runtime.getRuntime().maxMemory() / 8 / estimatedItemSize;
+
 	private ChartData data;
-	private ModeManager modeManager;
 	private SelectionManager selectionManager;
 
+	private SongChart trackedSongChart;
+	private final ArrayList2<ChartList<?>> trackedLists = new ArrayList2<>();
+	private final ChangeTracker changeTracker = new ChangeTracker();
+
 	private final LinkedList<UndoState> undo = new LinkedList<>();
 	private final LinkedList<UndoState> redo = new LinkedList<>();
+	private UndoState lastEdit;
+	private int recordingId = 0;
+	private long keptItems = 0;
 	private int savePosition = 0;
+	private boolean saveFailed = false;
 
-	public void init(final ChartData data, final ModeManager modeManager, final SelectionManager selectionManager) {
+	public void init(final ChartData data, final SelectionManager selectionManager) {
 		this.data = data;
-		this.modeManager = modeManager;
 		this.selectionManager = selectionManager;
 	}
 
-	private UndoState createUndoState() {
-		return new BaseUndoState(modeManager, data);
+	/**
+	 * @param onItemChanged reports the time range of an item that changed
+	 */
+	private <T> void trackList(final ChartList<T> list, final Function<T, T> copier,
+			final Consumer<? super T> onItemChanged) {
+		if (list.recorder == null || list.recorder.songChart != trackedSongChart) {
+			list.recorder = new ListRecorder<>(this, trackedSongChart, copier, onItemChanged);
+		}
+		list.keepVersion(copier);
+		trackedLists.add(list);
+	}
+
+	private void everythingChanged(final Object item) {
+		data.changedTimeRanges.everythingChanged();
 	}
 
-	public void addUndo(final UndoState undoState) {
-		savePosition++;
+	private void trackArrangement(final ArrangementChart arrangement) {
+		trackList(arrangement.eventPoints, EventPoint::new, data.changedTimeRanges::itemChanged);
+		trackList(arrangement.chordTemplates, ChordTemplate::new, this::everythingChanged);
+		trackList(arrangement.fretHandMuteTemplates, ChordTemplate::new, this::everythingChanged);
+		trackList(arrangement.toneChanges, ToneChange::new, data.changedTimeRanges::itemChanged);
+
+		for (final Level level : arrangement.levels.values()) {
+			trackList(level.anchors, Anchor::new, data.changedTimeRanges::itemChanged);
+			trackList(level.chordsAndNotes, ChordOrNote::new, data.changedTimeRanges::itemChanged);
+			trackList(level.handShapes, HandShape::new, data.changedTimeRanges::itemChanged);
+		}
+	}
+
+	/**
+	 * Sets recorders on lists of the chart, also on the ones that were added since the last check. Beats and vocals
+	 * change the grid and lyric lines around them, so any change of them changes the whole chart.
+	 */
+	private void trackLists() {
+		trackedLists.clear();
+		trackList(trackedSongChart.beatsMap.beats, Beat::new, this::everythingChanged);
+		trackList(trackedSongChart.vocals.vocals, Vocal::new, this::everythingChanged);
+		for (final ArrangementChart arrangement : trackedSongChart.arrangements) {
+			trackArrangement(arrangement);
+		}
+	}
+
+	private void checkSongChart() {
+		if (trackedSongChart != data.songChart) {
+			clear();
+			trackedSongChart = data.songChart;
+		}
 
-		undo.add(undoState);
-		while (undo.size() > 100) {
-			undo.removeFirst();
+		if (trackedSongChart != null) {
+			trackLists();
 		}
+	}
+
+	boolean isRecording(final SongChart songChart) {
+		return songChart == trackedSongChart;
+	}
 
+	int getRecordingId() {
+		return recordingId;
+	}
+
+	/**
+	 * Changes made without adding an undo are joined to the last edit, and edits that could be redone don't match the
+	 * chart after them anymore
+	 *
+	 * @return state the next change is added to, null if there is none
+	 */
+	UndoState getRecordingState() {
+		if (lastEdit == null) {
+			removeRedoStates();
+			lastEdit = undo.peekLast();
+			recordingId++;
+		}
+
+		return lastEdit;
+	}
+
+	private <T> void changingValue(final Supplier<T> getter, final Consumer<T> setter, final Function<T, T> copier,
+			final Runnable onChange) {
+		onChange.run();
+		if (!isRecording(data.songChart)) {
+			return;
+		}
+
+		final UndoState state = getRecordingState();
+		if (state != null) {
+			state.changes.add(new ValueChange<>(getter, setter, copier, onChange));
+		}
+	}
+
+	private void arrangementValueChanged(final ArrangementChart arrangement) {
+		changeTracker.arrangementChanged(arrangement);
+		data.changedTimeRanges.everythingChanged();
+	}
+
+	/**
+	 * Records phrases of the arrangement before they are changed
+	 */
+	public void changingPhrases(final ArrangementChart arrangement) {
+		changingValue(() -> arrangement.phrases, phrases -> arrangement.phrases = phrases,
+				phrases -> phrases.map(name -> name, Phrase::new), () -> arrangementValueChanged(arrangement));
+	}
+
+	/**
+	 * Records tones of the arrangement before they are changed
+	 */
+	public void changingTones(final ArrangementChart arrangement) {
+		changingValue(() -> arrangement.tones, tones -> arrangement.tones = tones, HashSet2::new,
+				() -> arrangementValueChanged(arrangement));
+	}
+
+	/**
+	 * Copies items changed since the last update of copies kept by the lists, so that the undo history can share them
+	 */
+	private void updateVersions() {
+		for (final ChartList<?> list : trackedLists) {
+			list.updateVersion();
+		}
+	}
+
+	private void finishLastEdit() {
+		if (lastEdit != null) {
+			updateVersions();
+			keptItems += lastEdit.seal();
+			lastEdit = null;
+			recordingId++;
+		}
+	}
+
+	private void removeRedoStates() {
+		for (final UndoState redoState : redo) {
+			keptItems -= redoState.size();
+		}
 		redo.clear();
 	}
 
+	private void removeOldestStates() {
+		while (keptItems > maxKeptItems && undo.size() > 1) {
+			keptItems -= undo.removeFirst().size();
+		}
+	}
+
+	private void onHistoryMismatch() {
+		Logger.error("Undo history doesn't match the chart, clearing it");
+		clear();
+		changeTracker.clear();
+		checkSongChart();
+	}
+
+	private void moveMarker(final UndoState undoState) {
+		data.time = undoState.markerPosition;
+		data.setNextTime(undoState.markerPosition);
+	}
+
 	public void addUndo() {
-		addUndo(createUndoState());
+		final long start = Profiler.start();
+
+		checkSongChart();
+		finishLastEdit();
+		removeRedoStates();
+
+		lastEdit = new UndoState(data.time);
+		recordingId++;
+		undo.add(lastEdit);
+		keptItems += lastEdit.size();
+		savePosition++;
+
+		removeOldestStates();
+
+		Profiler.stop(Section.ADD_UNDO, start);
 	}
 
 	public void undo() {
@@ -50,10 +241,22 @@ public class UndoSystem {
 			return;
 		}
 
+		checkSongChart();
+		finishLastEdit();
+		if (undo.isEmpty()) {
+			return;
+		}
+
 		selectionManager.clear();
+		final UndoState undoState = undo.removeLast();
+		if (!undoState.undo()) {
+			onHistoryMismatch();
+			return;
+		}
+
 		savePosition--;
-		final UndoState lastUndo = undo.removeLast();
-		redo.add(lastUndo.undo(data));
+		moveMarker(undoState);
+		redo.add(undoState);
 	}
 
 	public void redo() {
@@ -64,23 +267,94 @@ public class UndoSystem {
 			return;
 		}
 
+		checkSongChart();
+		finishLastEdit();
+		if (redo.isEmpty()) {
+			return;
+		}
+
 		selectionManager.clear();
+		final UndoState redoState = redo.removeLast();
+		if (!redoState.redo()) {
+			onHistoryMismatch();
+			return;
+		}
+
 		savePosition++;
-		undo.add(redo.removeLast().undo(data));
+		moveMarker(redoState);
+		undo.add(redoState);
 	}
 
 	public void clear() {
 		undo.clear();
 		redo.clear();
+		trackedSongChart = null;
+		trackedLists.clear();
+		lastEdit = null;
+		recordingId++;
+		keptItems = 0;
 		savePosition = 0;
+		saveFailed = false;
+	}
+
+	private String getProjectPath() {
+		return new File(data.path, data.projectFileName).getAbsolutePath();
+	}
+
+	private ArrayList2<String> getArrangementFileNames() {
+		final ArrayList2<String> fileNames = new ArrayList2<>(data.songChart.arrangements.size());
+		for (int i = 0; i < data.songChart.arrangements.size(); i++) {
+			fileNames.add(data.songChart.arrangements.get(i).getFileName(i + 1));
+		}
+
+		return fileNames;
+	}
+
+	/**
+	 * Marks arrangement to be written on the next save and drawn again, for changes that aren't made in chart lists or are made
+	 * without adding an undo
+	 */
+	public void markArrangementChanged(final int arrangementId) {
+		arrangementValueChanged(data.songChart.arrangements.get(arrangementId));
+	}
+
+	/**
+	 * @return ids of arrangements changed since the last save, that need to be written again
+	 */
+	public HashSet2<Integer> getChangedArrangements() {
+		return changeTracker.getChangedArrangements(data.songChart, getProjectPath(), getArrangementFileNames());
+	}
+
+	public boolean areVocalsChanged() {
+		return changeTracker.areVocalsChanged(data.songChart, getProjectPath());
+	}
+
+	/**
+	 * Marks chart as the same as files it was just loaded from and starts recording its changes
+	 */
+	public void onLoad() {
+		checkSongChart();
+		updateVersions();
+		changeTracker.onSave(data.songChart, getProjectPath(), getArrangementFileNames());
 	}
 
 	public void onSave() {
 		savePosition = 0;
+		saveFailed = false;
+		changeTracker.onSave(data.songChart, getProjectPath(), getArrangementFileNames());
+	}
+
+	/**
+	 * Marks chart as not saved until the next save, as files don't have the state from last {@link #onSave()}, and
+	 * makes the next save write all files
+	 */
+	public void onSaveFailed() {
+		saveFailed = true;
+		changeTracker.clear();
 	}
 
 	public boolean isSaved() {
-		return savePosition == 0;
+		return !saveFailed && savePosition == 0;
 	}
 
 	public int getLastUndoId() {
@@ -88,6 +362,6 @@ public class UndoSystem {
 	}
 
 	public void removeRedo() {
-		redo.clear();
+		removeRedoStates();
 	}
 }
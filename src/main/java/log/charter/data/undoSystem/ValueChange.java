@@ -0,0 +1,55 @@
+package log.charter.data.undoSystem;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Change of a small value kept as a whole, like the phrases of an arrangement
+ */
+class ValueChange<T> extends Change {
+	private final Supplier<T> getter;
+	private final Consumer<T> setter;
+	private final Function<T, T> copier;
+	private final Runnable onChange;
+	private final T before;
+	private T after;
+
+	public ValueChange(final Supplier<T> getter, final Consumer<T> setter, final Function<T, T> copier,
+			final Runnable onChange) {
+		this.getter = getter;
+		this.setter = setter;
+		this.copier = copier;
+		this.onChange = onChange;
+		before = copier.apply(getter.get());
+	}
+
+	@Override
+	int seal() {
+		if (after != null) {
+			return 0;
+		}
+
+		after = copier.apply(getter.get());
+		return size();
+	}
+
+	@Override
+	boolean undo() {
+		setter.accept(copier.apply(before));
+		onChange.run();
+		return true;
+	}
+
+	@Override
+	boolean redo() {
+		setter.accept(copier.apply(after));
+		onChange.run();
+		return true;
+	}
+
+	@Override
+	int size() {
+		return 2;
+	}
+}
@@ -11,15 +11,19 @@ import log.charter.data.managers.HighlightManager;
 import log.charter.data.managers.ModeManager;
 import log.charter.data.managers.selection.SelectionManager;
 import log.charter.gui.chartPanelDrawers.ArrangementDrawer;
+import log.charter.gui.chartPanelDrawers.ChartTileCache;
 import log.charter.gui.chartPanelDrawers.common.AudioDrawer;
 import log.charter.gui.chartPanelDrawers.common.BackgroundDrawer;
 import log.charter.gui.chartPanelDrawers.common.BeatsDrawer;
+import log.charter.gui.chartPanelDrawers.common.FrameTimingsDrawer;
 import log.charter.gui.chartPanelDrawers.common.HighlightDrawer;
 import log.charter.gui.chartPanelDrawers.common.LyricLinesDrawer;
 import log.charter.gui.chartPanelDrawers.common.MarkerDrawer;
 import log.charter.gui.handlers.KeyboardHandler;
 import log.charter.gui.handlers.MouseButtonPressReleaseHandler;
 import log.charter.gui.handlers.MouseHandler;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
 public class ChartPanel extends JComponent {
 	private static final long serialVersionUID = -3439446235287039031L;
@@ -28,9 +32,11 @@ public class ChartPanel extends JComponent {
 
 	private final ArrangementDrawer arrangementDrawer = new ArrangementDrawer();
 	private final BackgroundDrawer backgroundDrawer = new BackgroundDrawer();
+	private final FrameTimingsDrawer frameTimingsDrawer = new FrameTimingsDrawer();
 	private final HighlightDrawer highlightDrawer = new HighlightDrawer();
 	private final LyricLinesDrawer lyricLinesDrawer = new LyricLinesDrawer();
 	private final MarkerDrawer markerDrawer = new MarkerDrawer();
+	private ChartTileCache tileCache;
 
 	public ChartPanel() {
 		super();
@@ -49,8 +55,9 @@ public class ChartPanel extends JComponent {
 				selectionManager);
 		highlightDrawer.init(data, highlightManager, modeManager, mouseHandler, mouseButtonPressReleaseHandler,
 				selectionManager);
-		lyricLinesDrawer.init(data);
+		lyricLinesDrawer.init(data, this);
 		markerDrawer.init(data);
+		tileCache = new ChartTileCache(audioDrawer, data, this, keyboardHandler, modeManager, this::drawChart);
 
 		addMouseListener(mouseHandler);
 		addMouseMotionListener(mouseHandler);
@@ -61,16 +68,35 @@ public class ChartPanel extends JComponent {
 		setFocusable(true);
 	}
 
+	private void drawChart(final Graphics g, final int time) {
+		final long start = Profiler.start();
+		backgroundDrawer.draw(g, time);
+		Profiler.stop(Section.BACKGROUND, start);
+
+		arrangementDrawer.draw(g, time);
+	}
+
 	@Override
 	public void paintComponent(final Graphics g) {
-		backgroundDrawer.draw(g);
+		final long frameStart = Profiler.start();
+		final long frameAllocationsStart = Profiler.startAllocations();
 
 		if (data.isEmpty) {
+			backgroundDrawer.draw(g, data.time);
 			return;
 		}
 
-		arrangementDrawer.draw(g);
+		if (!tileCache.draw(g)) {
+			drawChart(g, data.time);
+		}
+
+		final long highlightStart = Profiler.start();
 		highlightDrawer.draw(g);
+		Profiler.stop(Section.HIGHLIGHT, highlightStart);
+
 		markerDrawer.draw(g);
+
+		Profiler.stopFrame(frameStart, frameAllocationsStart);
+		frameTimingsDrawer.draw(g, getWidth());
 	}
 }
@@ -144,6 +144,7 @@ public class ChartPanelColors {
 
 		public void setColor(final Color color) {
 			colors.put(this, color);
+			colorsVersion++;
 		}
 	}
 
@@ -166,6 +167,14 @@ public class ChartPanelColors {
 	private static final String colorFilePath = new File(RW.getProgramDirectory(), "colors.txt").getAbsolutePath();
 
 	private static final Map<ColorLabel, Color> colors = new HashMap<>();
+	private static int colorsVersion = 0;
+
+	/**
+	 * @return number that changes every time any color is changed, lets drawers keep colors they took
+	 */
+	public static int getColorsVersion() {
+		return colorsVersion;
+	}
 
 	public static void saveColors() {
 		final Map<String, String> config = new HashMap<>();
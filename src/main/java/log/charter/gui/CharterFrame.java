@@ -86,17 +86,8 @@ public class CharterFrame extends JFrame {
 	private final SelectionManager selectionManager = new SelectionManager();
 	private final UndoSystem undoSystem = new UndoSystem();
 
-	private final Framer framer = new Framer(this::frame);
-	private final Thread audioFramer = new Thread(() -> {
-		try {
-			while (true) {
-				audioFrame();
-				Thread.sleep(0, 100_000);
-			}
-		} catch (final InterruptedException e) {
-			Logger.error("error in audio framer", e);
-		}
-	});
+	private final Framer framer = new Framer(this::frame, this::audioFrame, () -> audioHandler.isPlaying(),
+			() -> keyboardHandler.isMovingWithKeys());
 
 	public CharterFrame(final String title) {
 		super(title);
@@ -118,7 +109,7 @@ public class CharterFrame extends JFrame {
 		}
 		setLocation(Config.windowPosX, Config.windowPosY);
 
-		arrangementFixer.init(data);
+		arrangementFixer.init(data, undoSystem);
 		arrangementValidator.init(data, this);
 		audioDrawer.init(data, chartPanel, chartToolbar);
 		audioHandler.init(chartToolbar, data, this, modeManager);
@@ -136,7 +127,7 @@ public class CharterFrame extends JFrame {
 		songFileHandler.init(arrangementFixer, arrangementValidator, audioHandler, data, this, charterMenuBar,
 				modeManager, undoSystem);
 		selectionManager.init(data, this, modeManager, mouseButtonPressReleaseHandler);
-		undoSystem.init(data, modeManager, selectionManager);
+		undoSystem.init(data, selectionManager);
 
 		charterMenuBar.init(arrangementFixer, audioDrawer, audioHandler, copyManager, chartToolbar, data, this,
 				keyboardHandler, modeManager, selectionManager, songFileHandler, undoSystem);
@@ -172,7 +163,6 @@ public class CharterFrame extends JFrame {
 		setFocusable(true);
 
 		framer.start();
-		audioFramer.start();
 	}
 
 	private void changeComponentBounds(final Component c, final int x, final int y, final int w, final int h) {
@@ -348,6 +338,11 @@ public class CharterFrame extends JFrame {
 
 		title += undoSystem.isSaved() ? "" : "*";
 
+		final String saveProgress = songFileHandler.getSaveProgress();
+		if (saveProgress != null) {
+			title += " : " + saveProgress;
+		}
+
 		return title;
 	}
 
@@ -368,6 +363,7 @@ public class CharterFrame extends JFrame {
 				return;
 			}
 
+			songFileHandler.waitForSaves();
 			fullscreenPreviewFrame.dispose();
 			dispose();
 			StretchedFileLoader.stopAllProcesses();
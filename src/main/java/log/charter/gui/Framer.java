@@ -2,58 +2,133 @@ package log.charter.gui;
 
 import static java.lang.Math.max;
 
+import java.awt.AWTEvent;
+import java.awt.Toolkit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import javax.swing.SwingUtilities;
+
 import log.charter.data.config.Config;
+import log.charter.io.Logger;
 
+/**
+ * Schedules frames on one background thread. Frames run at full rate only while something moves: music is playing,
+ * the animation check says so or there was input recently, otherwise the editor gets a slow idle frame to catch up with
+ * changes made in the background. Frame itself is run on the event dispatch thread, a new one is posted only after the
+ * previous one finished. Audio frames run every millisecond, only while playing.
+ */
 public class Framer {
 	public static double frameLength = 1000.0 / Config.FPS;
 
-	private double nextFrameTime = System.nanoTime() / 1_000_000;
-	private int currentFrame = 0;
-	private int framesDone = 0;
+	private static final long idleFrameLength = 250;
+	private static final long activeTimeAfterInput = 1000;
+	private static final long audioFrameLength = 1;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "Framer");
+		thread.setDaemon(true);
+		return thread;
+	});
 
-	private final Runnable runnable;
+	private final Runnable frame;
+	private final Runnable audioFrame;
+	private final BooleanSupplier playing;
+	private final BooleanSupplier animating;
 
-	public Framer(final Runnable runnable) {
-		this.runnable = runnable;
+	private final AtomicBoolean framePending = new AtomicBoolean(false);
+	private volatile long activeUntil = 0;
+	private double nextFrameTime = 0;
+	private long nextTickTime = 0;
+	private ScheduledFuture<?> nextTick;
+
+	/**
+	 * @param frame      run on the event dispatch thread
+	 * @param audioFrame run on the framer thread while playing
+	 * @param playing    tells if music is played
+	 * @param animating  tells if something else needs frames at full rate, like scrolling with held keys
+	 */
+	public Framer(final Runnable frame, final Runnable audioFrame, final BooleanSupplier playing,
+			final BooleanSupplier animating) {
+		this.frame = frame;
+		this.audioFrame = audioFrame;
+		this.playing = playing;
+		this.animating = animating;
 	}
 
-	private long getCurrentTime() {
+	private static long currentTime() {
 		return System.nanoTime() / 1_000_000;
 	}
 
-	private long getSleepLength() {
-		return max(1, (long) (nextFrameTime - getCurrentTime()));
+	public void start() {
+		Toolkit.getDefaultToolkit().addAWTEventListener(event -> wake(), AWTEvent.KEY_EVENT_MASK
+				| AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK | AWTEvent.MOUSE_WHEEL_EVENT_MASK);
+
+		scheduleTick(0);
 	}
 
-	public void start() {
-		new Thread(() -> {
+	/**
+	 * Makes frames run at full rate for a moment, starting right away if the next frame was planned later
+	 */
+	public synchronized void wake() {
+		final long now = currentTime();
+		activeUntil = now + activeTimeAfterInput;
+
+		if (nextTickTime > now + frameLength && nextTick.cancel(false)) {
+			nextFrameTime = now;
+			scheduleTick(0);
+		}
+	}
+
+	private void scheduleTick(final long delay) {
+		nextTickTime = currentTime() + delay;
+		nextTick = scheduler.schedule(this::tick, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void postFrame() {
+		if (!framePending.compareAndSet(false, true)) {
+			return;
+		}
+
+		SwingUtilities.invokeLater(() -> {
 			try {
-				while (true) {
-					while (nextFrameTime <= getCurrentTime()) {
-						nextFrameTime += frameLength;
-						currentFrame++;
-					}
+				frame.run();
+			} finally {
+				framePending.set(false);
+			}
+		});
+	}
 
-					Thread.sleep(getSleepLength());
-				}
-			} catch (final InterruptedException e) {
-				e.printStackTrace();
+	private synchronized void tick() {
+		try {
+			final boolean isPlaying = playing.getAsBoolean();
+			if (isPlaying) {
+				audioFrame.run();
 			}
-		}).start();
 
-		new Thread(() -> {
-			try {
-				while (true) {
-					while (currentFrame > framesDone) {
-						runnable.run();
-						framesDone++;
-					}
+			final long now = currentTime();
+			if (now >= nextFrameTime) {
+				postFrame();
 
-					Thread.sleep(getSleepLength());
+				final boolean active = isPlaying || animating.getAsBoolean() || now < activeUntil;
+				if (!active) {
+					nextFrameTime = now + idleFrameLength;
+				} else if (nextFrameTime + frameLength < now) {
+					nextFrameTime = now + frameLength;
+				} else {
+					nextFrameTime += frameLength;
 				}
-			} catch (final InterruptedException e) {
-				e.printStackTrace();
 			}
-		}).start();
+
+			final long untilNextFrame = max(0, (long) (nextFrameTime - now));
+			scheduleTick(isPlaying ? audioFrameLength : untilNextFrame);
+		} catch (final Exception e) {
+			Logger.error("Error in framer", e);
+			scheduleTick(idleFrameLength);
+		}
 	}
 }
@@ -33,13 +33,13 @@ public class ArrangementDrawer {
 		vocalsDrawer.init(audioDrawer, beatsDrawer, data, chartPanel, lyricLinesDrawer, selectionManager);
 	}
 
-	public void draw(final Graphics g) {
+	public void draw(final Graphics g, final int time) {
 		if (modeManager.editMode == EditMode.GUITAR) {
-			guitarDrawer.draw(g);
+			guitarDrawer.draw(g, time);
 		} else if (modeManager.editMode == EditMode.TEMPO_MAP) {
-			tempoMapDrawer.draw(g);
+			tempoMapDrawer.draw(g, time);
 		} else if (modeManager.editMode == EditMode.VOCALS) {
-			vocalsDrawer.draw(g);
+			vocalsDrawer.draw(g, time);
 		}
 	}
 
@@ -0,0 +1,223 @@
+package log.charter.gui.chartPanelDrawers;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.max;
+import static java.lang.Math.round;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.function.ObjIntConsumer;
+
+import log.charter.data.ChartData;
+import log.charter.data.config.Config;
+import log.charter.data.config.Zoom;
+import log.charter.data.managers.ModeManager;
+import log.charter.data.managers.modes.EditMode;
+import log.charter.gui.ChartPanel;
+import log.charter.gui.ChartPanelColors;
+import log.charter.gui.chartPanelDrawers.common.AudioDrawer;
+import log.charter.gui.handlers.KeyboardHandler;
+import log.charter.song.ArrangementChart;
+import log.charter.song.SongChart;
+import log.charter.sound.MusicData;
+import log.charter.util.CollectionUtils.HashMap2;
+
+/**
+ * Keeps the static part of the chart (background, beats, waveform, notes) as images covering consecutive time slices,
+ * so a frame without changes only copies the visible tiles. Every tile is drawn as a whole panel with the given
+ * renderer at the tile's time and only the part at least a margin away from its edges is used, which keeps the
+ * drawers' own edge culling out of the seams.
+ *
+ * Tiles covering time ranges changed in the chart or its selection are drawn again, see
+ * {@link ChartData#changedTimeRanges}. All tiles are dropped when the view changes: panel size, zoom, config, colors,
+ * song, audio, edit mode, arrangement or level.
+ */
+public class ChartTileCache {
+	private static final int margin = 100;
+	private static final int changedRangeMargin = 300;
+
+	private final AudioDrawer audioDrawer;
+	private final ChartData data;
+	private final ChartPanel chartPanel;
+	private final KeyboardHandler keyboardHandler;
+	private final ModeManager modeManager;
+	private final ObjIntConsumer<Graphics> renderer;
+
+	private final HashMap2<Integer, BufferedImage> tiles = new HashMap2<>();
+
+	private int width;
+	private int height;
+	private double zoom;
+	private int markerOffset;
+	private int configVersion;
+	private int colorsVersion;
+	private SongChart songChart;
+	private MusicData music;
+	private boolean waveformReady;
+	private boolean audioDrawn;
+	private EditMode editMode;
+	private ArrangementChart arrangement;
+	private int level;
+	private boolean ctrl;
+
+	private int tileTimeLength;
+
+	/**
+	 * @param renderer draws the chart with the given time at the marker
+	 */
+	public ChartTileCache(final AudioDrawer audioDrawer, final ChartData data, final ChartPanel chartPanel,
+			final KeyboardHandler keyboardHandler, final ModeManager modeManager,
+			final ObjIntConsumer<Graphics> renderer) {
+		this.audioDrawer = audioDrawer;
+		this.data = data;
+		this.chartPanel = chartPanel;
+		this.keyboardHandler = keyboardHandler;
+		this.modeManager = modeManager;
+		this.renderer = renderer;
+	}
+
+	private boolean isValid() {
+		return width == chartPanel.getWidth()//
+				&& height == chartPanel.getHeight()//
+				&& zoom == Zoom.zoom//
+				&& markerOffset == Config.markerOffset//
+				&& configVersion == Config.getVersion()//
+				&& colorsVersion == ChartPanelColors.getColorsVersion()//
+				&& songChart == data.songChart//
+				&& music == data.music//
+				&& waveformReady == (data.music != null && data.music.getWaveform() != null)//
+				&& audioDrawn == audioDrawer.drawing()//
+				&& editMode == modeManager.editMode//
+				&& arrangement == data.getCurrentArrangement()//
+				&& level == data.currentLevel//
+				&& ctrl == keyboardHandler.ctrl();
+	}
+
+	private void reset() {
+		tiles.clear();
+
+		width = chartPanel.getWidth();
+		height = chartPanel.getHeight();
+		zoom = Zoom.zoom;
+		markerOffset = Config.markerOffset;
+		configVersion = Config.getVersion();
+		colorsVersion = ChartPanelColors.getColorsVersion();
+		songChart = data.songChart;
+		music = data.music;
+		waveformReady = data.music != null && data.music.getWaveform() != null;
+		audioDrawn = audioDrawer.drawing();
+		editMode = modeManager.editMode;
+		arrangement = data.getCurrentArrangement();
+		level = data.currentLevel;
+		ctrl = keyboardHandler.ctrl();
+	}
+
+	/**
+	 * Drops tiles with the used part close to the changed range, items are drawn wider than their time range
+	 */
+	private void removeChangedTiles(final int from, final int to) {
+		if (tileTimeLength <= 0) {
+			return;
+		}
+
+		final long rangeMargin = (long) ceil(changedRangeMargin / zoom);
+		final long changedFrom = from - rangeMargin;
+		final long changedTo = to + rangeMargin;
+		tiles.keySet().removeIf(tileId -> (long) tileId * tileTimeLength <= changedTo
+				&& (long) (tileId + 1) * tileTimeLength >= changedFrom);
+	}
+
+	private BufferedImage createImage() {
+		final GraphicsConfiguration graphicsConfiguration = chartPanel.getGraphicsConfiguration();
+		if (graphicsConfiguration == null) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		}
+
+		return graphicsConfiguration.createCompatibleImage(width, height, Transparency.OPAQUE);
+	}
+
+	private BufferedImage renderTile(final Graphics2D screenGraphics, final int tileTime) {
+		final BufferedImage image = createImage();
+		final Graphics2D g = image.createGraphics();
+		g.setRenderingHints(screenGraphics.getRenderingHints());
+		g.setFont(screenGraphics.getFont());
+
+		try {
+			renderer.accept(g, tileTime);
+		} finally {
+			g.dispose();
+		}
+
+		return image;
+	}
+
+	/**
+	 * @return x on the screen where the part of the tile used starts
+	 */
+	private int tileX(final int tileId, final int tileTimeLength, final int time) {
+		return (int) round(((long) tileId * tileTimeLength - time) * zoom) + markerOffset;
+	}
+
+	private int findFirstTileId(final int tileTimeLength, final int time) {
+		int tileId = floorDiv(time, tileTimeLength);
+		while (tileX(tileId, tileTimeLength, time) > 0) {
+			tileId--;
+		}
+		while (tileX(tileId + 1, tileTimeLength, time) <= 0) {
+			tileId++;
+		}
+
+		return tileId;
+	}
+
+	/**
+	 * @return false if tiles can't be used right now and the chart has to be drawn directly
+	 */
+	public boolean draw(final Graphics g) {
+		if (!isValid()) {
+			reset();
+		}
+
+		// tiles are rendered a bit earlier so their used part starts at least a margin away from the left edge
+		final int renderTimeShift = max(0, (int) ceil((margin - markerOffset) / zoom));
+		final int usedPartStart = (int) (renderTimeShift * zoom) + markerOffset;
+		final int newTileTimeLength = (int) ((width - margin - usedPartStart) / zoom);
+		if (newTileTimeLength != tileTimeLength) {
+			tiles.clear();
+			tileTimeLength = newTileTimeLength;
+		}
+		data.changedTimeRanges.take(this::removeChangedTiles);
+		if (tileTimeLength <= 0 || height <= 0) {
+			return false;
+		}
+
+		final int time = data.time;
+		final int firstTileId = findFirstTileId(tileTimeLength, time);
+		int tileId = firstTileId;
+		for (int x = tileX(tileId, tileTimeLength, time); x < width; tileId++) {
+			final int nextX = tileX(tileId + 1, tileTimeLength, time);
+
+			BufferedImage tile = tiles.get(tileId);
+			if (tile == null) {
+				tile = renderTile((Graphics2D) g, tileId * tileTimeLength - renderTimeShift);
+				tiles.put(tileId, tile);
+			}
+
+			final Graphics tileGraphics = g.create();
+			tileGraphics.clipRect(x, 0, nextX - x, height);
+			tileGraphics.drawImage(tile, x - usedPartStart, 0, null);
+			tileGraphics.dispose();
+
+			x = nextX;
+		}
+
+		final int lastTileId = tileId - 1;
+		tiles.keySet().removeIf(id -> id < firstTileId - 1 || id > lastTileId + 1);
+
+		return true;
+	}
+}
@@ -15,35 +15,39 @@ import log.charter.data.ChartData;
 import log.charter.data.config.Zoom;
 import log.charter.gui.ChartPanel;
 import log.charter.gui.components.toolbar.ChartToolbar;
+import log.charter.sound.MusicData;
+import log.charter.sound.WaveformPyramid;
+import log.charter.sound.WaveformPyramid.Level;
 
 public class AudioDrawer {
 	private static class RMSCalculator {
 		private int counter = 0;
 		private final float[] values;
+		private double sum = 0;
 
-		public RMSCalculator(final int[] musicValues, final int frameRate, final int start) {
-			values = new float[frameRate];
+		public RMSCalculator(final MusicData musicData, final int frameRate, final int start) {
+			values = new float[max(1, frameRate)];
 
-			for (int i = 0; i < frameRate; i++) {
-				final int position = max(0, min(musicValues.length - 1, start - frameRate + i));
-				addValue(musicValues[position]);
+			for (int i = 0; i < values.length; i++) {
+				final int position = max(0, min(musicData.frames() - 1, start - values.length + i));
+				addValue(musicData.sample(0, position));
 			}
 		}
 
 		public void addValue(final int val) {
-			values[counter++ % values.length] = val * val;
+			final int id = counter++ % values.length;
+			final float newValue = (float) val * val;
+			sum += newValue - values[id];
+			values[id] = newValue;
 		}
 
 		public double getRMS() {
-			float sum = 0;
-			for (final float value : values) {
-				sum += value;
-			}
-
-			return sqrt(sum) / 0x7FFF;
+			return sqrt(max(0, sum)) / 0x7FFF;
 		}
 	}
 
+	private static final double highIntensityEnergy = 16.0 * 0x7FFF * 0x7FFF;
+
 	private static final Color normalColor = new Color(64, 128, 128);
 	private static final Color highIntensityColor = new Color(255, 128, 255);
 	private static final Color normalColorZoomed = new Color(64, 128, 128, 32);
@@ -71,27 +75,31 @@ public class AudioDrawer {
 		return drawAudio;
 	}
 
-	private void drawApproximate(final Graphics g) {
+	private void drawApproximate(final Graphics g, final int time) {
 		int position = 0;
 		int maxValue = 0;
 		int minValue = 0;
 		boolean highIntensity = false;
 
 		final float timeToFrameMultiplier = data.music.outFormat.getFrameRate() / 1000;
+		final WaveformPyramid waveform = data.music.getWaveform();
+		if (waveform == null) {
+			return;
+		}
 
-		final int[] musicValues = data.music.data[0];
-		int start = (int) (xToTime(0, data.time) * timeToFrameMultiplier);
-		start = max(1, start);
-		int end = (int) (xToTime(chartPanel.getWidth(), data.time) * timeToFrameMultiplier);
-		end = min(musicValues.length, end);
+		final Level level = waveform.getLevel(timeToFrameMultiplier / Zoom.zoom);
+		final int bucketSize = level.bucketSize;
+
+		int start = (int) (xToTime(0, time) * timeToFrameMultiplier) / bucketSize;
+		start = max(0, start);
+		int end = (int) (xToTime(chartPanel.getWidth(), time) * timeToFrameMultiplier) / bucketSize + 1;
+		end = min(level.buckets, end);
 
 		final int midY = (lanesBottom + lanesTop) / 2;
 		final int yScale = (lanesBottom - lanesTop) * 9 / 20;
-		final RMSCalculator rmsCalculator = new RMSCalculator(musicValues, (int) timeToFrameMultiplier, start);
 
-		for (int frame = start; frame < end; frame++) {
-			final int newPosition = timeToX(frame / timeToFrameMultiplier, data.time);
-			final int newHeight = musicValues[frame] * yScale / 0x8000;
+		for (int bucket = start; bucket < end; bucket++) {
+			final int newPosition = timeToX(bucket * bucketSize / timeToFrameMultiplier, time);
 			if (newPosition > position) {
 				g.setColor(highIntensity ? highIntensityColor : normalColor);
 				final int height = max(-minValue, maxValue);
@@ -103,59 +111,57 @@ public class AudioDrawer {
 				highIntensity = false;
 			}
 
-			if (newHeight > maxValue) {
-				maxValue = newHeight;
-			}
-			if (newHeight < minValue) {
-				minValue = newHeight;
-			}
-
-			rmsCalculator.addValue(musicValues[frame]);
-			if (!highIntensity && rmsCalculator.getRMS() > 4) {
+			maxValue = max(maxValue, level.max[bucket] * yScale / 0x8000);
+			minValue = min(minValue, level.min[bucket] * yScale / 0x8000);
+			if (!highIntensity && level.energy[bucket] > highIntensityEnergy) {
 				highIntensity = true;
 			}
 		}
 	}
 
-	private void drawFull(final Graphics g) {
+	private void drawFull(final Graphics g, final int time) {
 		final float timeToFrameMultiplier = data.music.outFormat.getFrameRate() / 1000;
 
-		final int[] musicValues = data.music.data[0];
-		int start = (int) (xToTime(0, data.time) * timeToFrameMultiplier);
+		final MusicData musicData = data.music;
+		int start = (int) (xToTime(0, time) * timeToFrameMultiplier);
 		start = max(1, start);
-		int end = (int) (xToTime(chartPanel.getWidth(), data.time) * timeToFrameMultiplier);
-		end = min(musicValues.length, end);
+		int end = (int) (xToTime(chartPanel.getWidth(), time) * timeToFrameMultiplier);
+		end = min(musicData.frames(), end);
+		if (start >= end) {
+			return;
+		}
 
 		final int midY = (lanesBottom + lanesTop) / 2;
 		final int yScale = (lanesBottom - lanesTop) / 2;
 		int x0 = 0;
-		int x1 = timeToX((int) ((start - 1) / timeToFrameMultiplier), data.time);
+		int x1 = timeToX((int) ((start - 1) / timeToFrameMultiplier), time);
 		int y0 = 0;
-		int y1 = musicValues[start - 1] * yScale / 0x8000;
-		final RMSCalculator rmsCalculator = new RMSCalculator(musicValues, (int) timeToFrameMultiplier, start);
+		int y1 = musicData.sample(0, start - 1) * yScale / 0x8000;
+		final RMSCalculator rmsCalculator = new RMSCalculator(musicData, (int) timeToFrameMultiplier, start);
 
 		for (int frame = start; frame < end; frame++) {
 			x0 = x1;
-			x1 = timeToX(frame / timeToFrameMultiplier, data.time);
+			x1 = timeToX(frame / timeToFrameMultiplier, time);
 			y0 = y1;
-			y1 = musicValues[frame] * yScale / 0x8000;
+			final int value = musicData.sample(0, frame);
+			y1 = value * yScale / 0x8000;
 
-			rmsCalculator.addValue(musicValues[frame]);
+			rmsCalculator.addValue(value);
 
 			g.setColor(rmsCalculator.getRMS() > 4 ? highIntensityColorZoomed : normalColorZoomed);
 			g.drawLine(x0, midY + y0, x1, midY + y1);
 		}
 	}
 
-	public void draw(final Graphics g) {
+	public void draw(final Graphics g, final int time) {
 		if (!drawAudio) {
 			return;
 		}
 
 		if (Zoom.zoom > 2) {
-			drawFull(g);
+			drawFull(g, time);
 		} else {
-			drawApproximate(g);
+			drawApproximate(g, time);
 		}
 	}
 }
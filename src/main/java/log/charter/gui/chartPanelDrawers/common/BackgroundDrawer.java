@@ -22,6 +22,7 @@ public class BackgroundDrawer {
 	private static final int nonsecondsMarkerHeight = 15;
 
 	private static final DecimalFormat twoDigitsFormat = new DecimalFormat("00");
+	private static final Font timeFont = new Font(Font.MONOSPACED, Font.PLAIN, 15);
 
 	private ChartData data;
 	private ChartPanel chartPanel;
@@ -41,38 +42,38 @@ public class BackgroundDrawer {
 		g.fillRect(0, lanesTop, chartPanel.getWidth(), lanesHeight);
 	}
 
-	private void drawTimeScale(final Graphics g) {
-		int time = xToTime(-20, data.time);
-		if (time < 0) {
-			time = 0;
+	private void drawTimeScale(final Graphics g, final int time) {
+		int scaleTime = xToTime(-20, time);
+		if (scaleTime < 0) {
+			scaleTime = 0;
 		}
 
-		time /= 100;
+		scaleTime /= 100;
 
-		final int endTime = xToTime(chartPanel.getWidth() + 20, data.time) / 100;
-		if (endTime - time > 1_000) {
+		final int endTime = xToTime(chartPanel.getWidth() + 20, time) / 100;
+		if (endTime - scaleTime > 1_000) {
 			return;
 		}
 
 		g.setColor(Color.WHITE);
-		g.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 15));
-		while (time <= endTime) {
-			final int x = timeToX(time * 100, data.time);
-			if (time % 10 == 0) {
+		g.setFont(timeFont);
+		while (scaleTime <= endTime) {
+			final int x = timeToX(scaleTime * 100, time);
+			if (scaleTime % 10 == 0) {
 				filledRectangle(new ShapePositionWithSize(x, lanesBottom, 2, nonsecondsMarkerHeight + 10), Color.WHITE)
 						.draw(g);
-				final String formattedtime = twoDigitsFormat.format(time / 600) + ":"
-						+ twoDigitsFormat.format((time / 10) % 60);
+				final String formattedtime = twoDigitsFormat.format(scaleTime / 600) + ":"
+						+ twoDigitsFormat.format((scaleTime / 10) % 60);
 				g.drawString(formattedtime, x - 21, lanesBottom + nonsecondsMarkerHeight + 20);
 			} else {
 				lineVertical(x, lanesBottom, lanesBottom + nonsecondsMarkerHeight, Color.WHITE).draw(g);
 			}
 
-			time++;
+			scaleTime++;
 		}
 	}
 
-	public void draw(final Graphics g) {
+	public void draw(final Graphics g, final int time) {
 		drawBackground(g);
 
 		if (data.isEmpty) {
@@ -80,6 +81,6 @@ public class BackgroundDrawer {
 		}
 
 		drawLanesBackground(g);
-		drawTimeScale(g);
+		drawTimeScale(g, time);
 	}
 }
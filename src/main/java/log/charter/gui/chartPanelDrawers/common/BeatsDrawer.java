@@ -1,5 +1,6 @@
 package log.charter.gui.chartPanelDrawers.common;
 
+import static java.lang.Math.max;
 import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.beatSizeTextY;
 import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.beatTextY;
 import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.editAreaHeight;
@@ -41,13 +42,25 @@ import log.charter.song.EventPoint;
 import log.charter.song.EventType;
 import log.charter.song.Phrase;
 import log.charter.song.SectionType;
+import log.charter.song.notes.IPosition;
 import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.CollectionUtils.HashMap2;
 import log.charter.util.CollectionUtils.HashSet2;
 import log.charter.util.Position2D;
 import log.charter.util.grid.GridPosition;
 
 public class BeatsDrawer {
 	private static final NumberFormat bpmFormat = new DecimalFormat("##0.0");
+	private static final Font font = new Font(Font.DIALOG, Font.PLAIN, 15);
+	private static final HashMap2<Double, String> formattedBPMs = new HashMap2<>();
+
+	private static String formatBPM(final double bpm) {
+		if (formattedBPMs.size() > 1000) {
+			formattedBPMs.clear();
+		}
+
+		return formattedBPMs.computeIfAbsent(bpm, bpmFormat::format);
+	}
 
 	private static class BeatsDrawingData {
 		private final DrawableShapeList beats = new DrawableShapeList();
@@ -93,9 +106,9 @@ public class BeatsDrawer {
 			addBeatLine(x, beat);
 
 			if (beat.firstInMeasure) {
-				addBeatBarNumber(x, barNumber, bpmFormat.format(bpm));
+				addBeatBarNumber(x, barNumber, formatBPM(bpm));
 			} else if (beat.anchor) {
-				addBPMNumber(x, bpmFormat.format(bpm));
+				addBPMNumber(x, formatBPM(bpm));
 			}
 
 			if (previousBeat == null || beat.beatsInMeasure != previousBeat.beatsInMeasure) {
@@ -154,7 +167,7 @@ public class BeatsDrawer {
 		}
 
 		public void draw(final Graphics g) {
-			g.setFont(new Font(Font.DIALOG, Font.PLAIN, 15));
+			g.setFont(font);
 			beats.draw(g);
 			sectionsAndPhrases.draw(g);
 			bookmarks.draw(g);
@@ -193,7 +206,7 @@ public class BeatsDrawer {
 		return 60_000.0 / (nextAnchor.position() - beat.position()) * (nextAnchorId - beatId);
 	}
 
-	private void addBeats(final BeatsDrawingData drawingData) {
+	private void addBeats(final BeatsDrawingData drawingData, final int time) {
 		final List<Beat> beats = data.songChart.beatsMap.beats;
 		final HashSet2<Integer> selectedBeatIds = selectionManager.getSelectedAccessor(PositionType.BEAT)//
 				.getSelectedSet().map(selection -> selection.id);
@@ -206,9 +219,22 @@ public class BeatsDrawer {
 			}
 		}
 
-		double bpm = 120;
+		final int firstId = max(0, IPosition.findLastIdBeforeEqual(beats, xToTime(-1000, time)));
 		int bar = 0;
-		for (int i = 0; i < beats.size(); i++) {
+		int lastAnchorId = 0;
+		for (int i = 0; i < firstId; i++) {
+			final Beat beat = beats.get(i);
+			if (beat.firstInMeasure) {
+				bar++;
+			}
+			if (beat.anchor) {
+				lastAnchorId = i;
+			}
+		}
+
+		double bpm = beats.isEmpty() ? 120 : findBPM(beats.get(lastAnchorId), lastAnchorId);
+		final int width = chartPanel.getWidth();
+		for (int i = firstId; i < beats.size(); i++) {
 			final Beat beat = beats.get(i);
 			if (beat.firstInMeasure) {
 				bar++;
@@ -217,11 +243,11 @@ public class BeatsDrawer {
 				bpm = findBPM(beat, i);
 			}
 
-			final int x = timeToX(beat.position(), data.time);
+			final int x = timeToX(beat.position(), time);
 			if (x < -1000) {
 				continue;
 			}
-			if (x > chartPanel.getWidth()) {
+			if (x > width) {
 				break;
 			}
 
@@ -231,22 +257,22 @@ public class BeatsDrawer {
 		}
 	}
 
-	private void addGrid(final BeatsDrawingData drawingData) {
+	private void addGrid(final BeatsDrawingData drawingData, final int time) {
 		final GridPosition<Beat> gridPosition = GridPosition.create(data.songChart.beatsMap.beats,
-				xToTime(0, data.time));
-		final int maxTime = xToTime(chartPanel.getWidth() + 1, data.time);
+				xToTime(0, time));
+		final int maxTime = xToTime(chartPanel.getWidth() + 1, time);
 		while (gridPosition.position() < maxTime) {
 			if (gridPosition.positionId >= data.songChart.beatsMap.beats.size() - 1) {
 				break;
 			}
 			if (gridPosition.gridId != 0) {
-				drawingData.addGrid(timeToX(gridPosition.position(), data.time));
+				drawingData.addGrid(timeToX(gridPosition.position(), time));
 			}
 			gridPosition.next();
 		}
 	}
 
-	private void addEventPoints(final BeatsDrawingData drawingData) {
+	private void addEventPoints(final BeatsDrawingData drawingData, final int time) {
 		final HashSet2<Integer> selectedEventPointIds = selectionManager.getSelectedAccessor(PositionType.EVENT_POINT)//
 				.getSelectedSet().map(selection -> selection.id);
 
@@ -260,9 +286,10 @@ public class BeatsDrawer {
 
 		final ArrayList2<EventPoint> eventPoints = data.getCurrentArrangement().eventPoints;
 
-		for (int i = 0; i < eventPoints.size(); i++) {
+		final int firstId = max(0, IPosition.findLastIdBeforeEqual(eventPoints, xToTime(-1000, time)));
+		for (int i = firstId; i < eventPoints.size(); i++) {
 			final EventPoint eventPoint = eventPoints.get(i);
-			final int x = timeToX(eventPoint.position(), data.time);
+			final int x = timeToX(eventPoint.position(), time);
 			if (x < -1000) {
 				continue;
 			}
@@ -276,27 +303,27 @@ public class BeatsDrawer {
 		}
 	}
 
-	private void addBookmarks(final BeatsDrawingData drawingData) {
+	private void addBookmarks(final BeatsDrawingData drawingData, final int time) {
 		data.songChart.bookmarks.forEach((number, position) -> {
-			final int x = timeToX(position, data.time);
+			final int x = timeToX(position, time);
 			drawingData.addBookmark(number, x);
 		});
 	}
 
-	public void draw(final Graphics g) {
+	public void draw(final Graphics g, final int time) {
 		final BeatsDrawingData drawingData = new BeatsDrawingData();
 
-		addBeats(drawingData);
+		addBeats(drawingData, time);
 
 		if (Config.showGrid && modeManager.editMode != EditMode.TEMPO_MAP) {
-			addGrid(drawingData);
+			addGrid(drawingData, time);
 		}
 
 		if (modeManager.editMode == EditMode.GUITAR) {
-			addEventPoints(drawingData);
+			addEventPoints(drawingData, time);
 		}
 
-		addBookmarks(drawingData);
+		addBookmarks(drawingData, time);
 
 		drawingData.draw(g);
 	}
@@ -0,0 +1,53 @@
+package log.charter.gui.chartPanelDrawers.common;
+
+import static java.lang.Math.max;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+
+import log.charter.gui.ChartPanelColors.ColorLabel;
+import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.Profiler;
+
+/**
+ * Shows the profiler summary in the top right corner of the chart, refreshed twice a second so it can be read
+ */
+public class FrameTimingsDrawer {
+	private static final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+	private static final long refreshTime = 500;
+
+	private ArrayList2<String> lines = new ArrayList2<>();
+	private long nextRefresh = 0;
+
+	public void draw(final Graphics g, final int panelWidth) {
+		if (!Profiler.isEnabled()) {
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		if (now >= nextRefresh) {
+			lines = Profiler.getSummary();
+			nextRefresh = now + refreshTime;
+		}
+
+		g.setFont(font);
+		final FontMetrics metrics = g.getFontMetrics();
+		int width = 0;
+		for (final String line : lines) {
+			width = max(width, metrics.stringWidth(line));
+		}
+
+		final int lineHeight = metrics.getHeight();
+		final int x = panelWidth - width - 10;
+		g.setColor(ColorLabel.BASE_BG_1.color());
+		g.fillRect(x - 5, 0, width + 10, lineHeight * lines.size() + 6);
+
+		g.setColor(ColorLabel.BASE_TEXT.color());
+		int y = 3 + metrics.getAscent();
+		for (final String line : lines) {
+			g.drawString(line, x, y);
+			y += lineHeight;
+		}
+	}
+}
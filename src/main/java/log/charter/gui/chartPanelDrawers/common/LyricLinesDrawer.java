@@ -1,17 +1,22 @@
 package log.charter.gui.chartPanelDrawers.common;
 
+import static java.lang.Math.max;
 import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.lyricLinesY;
 import static log.charter.gui.chartPanelDrawers.drawableShapes.DrawableShape.filledRectangle;
 import static log.charter.gui.chartPanelDrawers.drawableShapes.DrawableShape.text;
 import static log.charter.util.ScalingUtils.timeToX;
+import static log.charter.util.ScalingUtils.xToTime;
 
 import java.awt.Graphics;
 
 import log.charter.data.ChartData;
+import log.charter.gui.ChartPanel;
 import log.charter.gui.ChartPanelColors.ColorLabel;
 import log.charter.gui.chartPanelDrawers.drawableShapes.DrawableShapeList;
 import log.charter.gui.chartPanelDrawers.drawableShapes.ShapePositionWithSize;
+import log.charter.song.notes.IPosition;
 import log.charter.song.vocals.Vocal;
+import log.charter.util.CollectionUtils.ArrayList2;
 import log.charter.util.Position2D;
 
 public class LyricLinesDrawer {
@@ -36,27 +41,44 @@ public class LyricLinesDrawer {
 	private boolean initiated;
 
 	private ChartData data;
+	private ChartPanel chartPanel;
 
-	public void init(final ChartData data) {
+	public void init(final ChartData data, final ChartPanel chartPanel) {
 		this.data = data;
+		this.chartPanel = chartPanel;
 
 		initiated = true;
 	}
 
-	public void draw(final Graphics g) {
+	private int findFirstVisibleLineStartId(final ArrayList2<Vocal> vocals, final int time) {
+		int id = max(0, IPosition.findLastIdBeforeEqual(vocals, xToTime(0, time)));
+		while (id > 0 && !vocals.get(id - 1).isPhraseEnd()) {
+			id--;
+		}
+
+		return id;
+	}
+
+	public void draw(final Graphics g, final int time) {
 		if (!initiated || data.isEmpty) {
 			return;
 		}
 
 		final VocalLinesDrawingData drawingData = new VocalLinesDrawingData();
+		final ArrayList2<Vocal> vocals = data.songChart.vocals.vocals;
+		final int width = chartPanel.getWidth();
 		String currentLine = "";
 		boolean started = false;
 		int x = 0;
 
-		for (final Vocal vocal : data.songChart.vocals.vocals) {
+		for (int i = findFirstVisibleLineStartId(vocals, time); i < vocals.size(); i++) {
+			final Vocal vocal = vocals.get(i);
 			if (!started) {
 				started = true;
-				x = timeToX(vocal.position(), data.time);
+				x = timeToX(vocal.position(), time);
+				if (x > width) {
+					break;
+				}
 			}
 
 			currentLine += vocal.getText();
@@ -65,7 +87,7 @@ public class LyricLinesDrawer {
 			}
 
 			if (vocal.isPhraseEnd()) {
-				drawingData.addLyricLine(currentLine, x, timeToX(vocal.position() + vocal.length(), data.time) - x);
+				drawingData.addLyricLine(currentLine, x, timeToX(vocal.position() + vocal.length(), time) - x);
 				currentLine = "";
 				started = false;
 			}
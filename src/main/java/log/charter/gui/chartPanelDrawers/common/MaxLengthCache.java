@@ -0,0 +1,31 @@
+package log.charter.gui.chartPanelDrawers.common;
+
+import static java.lang.Math.max;
+
+import log.charter.data.undoSystem.ChartList;
+import log.charter.song.notes.IPositionWithLength;
+
+/**
+ * Keeps the longest length in a list, used by drawers to know how far before the left edge they have to start so
+ * tails reaching into the screen are still drawn. Value is recounted when a different list is given or the list was
+ * modified, lengths changed in place are announced to the list before they change.
+ */
+public class MaxLengthCache {
+	private ChartList<? extends IPositionWithLength> list;
+	private int modifications;
+	private int maxLength;
+
+	public int get(final ChartList<? extends IPositionWithLength> list) {
+		if (list != this.list || list.getModifications() != modifications) {
+			this.list = list;
+			modifications = list.getModifications();
+
+			maxLength = 0;
+			for (final IPositionWithLength position : list) {
+				maxLength = max(maxLength, position.length());
+			}
+		}
+
+		return maxLength;
+	}
+}
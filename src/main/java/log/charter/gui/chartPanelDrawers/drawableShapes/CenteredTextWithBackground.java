@@ -1,10 +1,52 @@
 package log.charter.gui.chartPanelDrawers.drawableShapes;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
 import java.awt.*;
 
+import log.charter.gui.chartPanelDrawers.drawableShapes.LabelCache.LabelPainter;
 import log.charter.util.Position2D;
 
 class CenteredTextWithBackground implements DrawableShape {
+	private static final LabelPainter painter = new LabelPainter() {
+		@Override
+		public Rectangle bounds(final FontMetrics metrics, final String text) {
+			final int width = metrics.stringWidth(text);
+			final int height = metrics.getAscent() - metrics.getDescent();
+			final int textX = -width / 2;
+			final int textY = height / 2;
+
+			final int top = min(textY - height - 3, textY - 1 - metrics.getAscent());
+			final int bottom = max(textY + 2, textY - 1 + metrics.getDescent());
+			return new Rectangle(textX - 1, top, width + 4, bottom - top);
+		}
+
+		@Override
+		public void paint(final Graphics2D g, final FontMetrics metrics, final String text, final int x, final int y,
+				final Color backgroundColor, final Color textColor) {
+			final int width = metrics.stringWidth(text);
+			final int height = metrics.getAscent() - metrics.getDescent();
+			final int offsetX = width / 2;
+			final int offsetY = height / 2;
+
+			final int textX = x - offsetX;
+			final int textY = y + offsetY;
+
+			if (backgroundColor != null) {
+				final int bgY = textY - height;
+				g.setColor(Color.BLACK);
+				g.fillRect(textX - 1, bgY - 3, width + 3, height + 5);
+
+				g.setColor(backgroundColor);
+				g.fillRect(textX, bgY - 2, width + 1, height + 3);
+			}
+
+			g.setColor(textColor);
+			g.drawString(text, textX + 1, textY - 1);
+		}
+	};
+
 	private final Position2D position;
 	private final String text;
 	private final Color backgroundColor;
@@ -20,28 +62,7 @@ class CenteredTextWithBackground implements DrawableShape {
 
 	@Override
 	public void draw(final Graphics g) {
-		Graphics2D g2 = (Graphics2D)g;
-		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-		final int width = g2.getFontMetrics().stringWidth(text);
-		final int height = g2.getFontMetrics().getAscent() - g2.getFontMetrics().getDescent();
-		final int offsetX = width / 2;
-		final int offsetY = height / 2;
-
-		final int textX = position.x - offsetX;
-		final int textY = position.y + offsetY;
-
-		if (backgroundColor != null) {
-			final int bgY = textY - height;
-			g2.setColor(Color.BLACK);
-			g2.fillRect(textX - 1, bgY - 3, width + 3, height + 5);
-
-			g2.setColor(backgroundColor);
-			g2.fillRect(textX, bgY - 2, width + 1, height + 3);
-		}
-
-		g2.setColor(textColor);
-		g2.drawString(text, textX + 1, textY - 1);
+		LabelCache.draw(g, painter, text, position.x, position.y, backgroundColor, textColor);
 	}
 
 }
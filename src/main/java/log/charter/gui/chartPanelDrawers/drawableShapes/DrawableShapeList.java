@@ -11,7 +11,13 @@ public class DrawableShapeList {
 		list.add(shape);
 	}
 
+	public void clear() {
+		list.clear();
+	}
+
 	public void draw(final Graphics g) {
-		list.forEach(shape -> shape.draw(g));
+		for (int i = 0; i < list.size(); i++) {
+			list.get(i).draw(g);
+		}
 	}
 }
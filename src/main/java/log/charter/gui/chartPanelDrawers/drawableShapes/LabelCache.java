@@ -0,0 +1,161 @@
+package log.charter.gui.chartPanelDrawers.drawableShapes;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * Keeps texts drawn on the chart as images, measured and rasterised once per text, font and colors, so drawing a label
+ * is one image copy. Least recently used labels are dropped when there are too many.
+ */
+public class LabelCache {
+	interface LabelPainter {
+		/**
+		 * @return area covered by the label relative to its position
+		 */
+		Rectangle bounds(FontMetrics metrics, String text);
+
+		void paint(Graphics2D g, FontMetrics metrics, String text, int x, int y, Color backgroundColor,
+				Color textColor);
+	}
+
+	private static class Key {
+		private final LabelPainter painter;
+		private final String text;
+		private final Font font;
+		private final Color backgroundColor;
+		private final Color textColor;
+
+		public Key(final LabelPainter painter, final String text, final Font font, final Color backgroundColor,
+				final Color textColor) {
+			this.painter = painter;
+			this.text = text;
+			this.font = font;
+			this.backgroundColor = backgroundColor;
+			this.textColor = textColor;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(painter, text, font, backgroundColor, textColor);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key) obj;
+			return painter == other.painter && text.equals(other.text) && font.equals(other.font)
+					&& Objects.equals(backgroundColor, other.backgroundColor)
+					&& Objects.equals(textColor, other.textColor);
+		}
+	}
+
+	private static class Label {
+		private final BufferedImage image;
+		private final int offsetX;
+		private final int offsetY;
+
+		public Label(final BufferedImage image, final int offsetX, final int offsetY) {
+			this.image = image;
+			this.offsetX = offsetX;
+			this.offsetY = offsetY;
+		}
+	}
+
+	private static class WidthKey {
+		private final String text;
+		private final Font font;
+
+		public WidthKey(final String text, final Font font) {
+			this.text = text;
+			this.font = font;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(text, font);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof WidthKey)) {
+				return false;
+			}
+
+			final WidthKey other = (WidthKey) obj;
+			return text.equals(other.text) && font.equals(other.font);
+		}
+	}
+
+	private static final int maxLabels = 2048;
+	private static final int maxWidths = 8192;
+
+	private static <K, V> Map<K, V> createLRUMap(final int maxSize) {
+		return new LinkedHashMap<>(maxSize / 4, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	private static final Map<Key, Label> labels = createLRUMap(maxLabels);
+	private static final Map<WidthKey, Integer> widths = createLRUMap(maxWidths);
+
+	private static Label render(final Graphics g, final Key key) {
+		final FontMetrics metrics = g.getFontMetrics(key.font);
+		final Rectangle bounds = key.painter.bounds(metrics, key.text);
+		final BufferedImage image = new BufferedImage(Math.max(1, bounds.width), Math.max(1, bounds.height),
+				BufferedImage.TYPE_INT_ARGB);
+
+		final Graphics2D imageGraphics = image.createGraphics();
+		imageGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		imageGraphics.setFont(key.font);
+		key.painter.paint(imageGraphics, imageGraphics.getFontMetrics(), key.text, -bounds.x, -bounds.y,
+				key.backgroundColor, key.textColor);
+		imageGraphics.dispose();
+
+		return new Label(image, bounds.x, bounds.y);
+	}
+
+	static synchronized void draw(final Graphics g, final LabelPainter painter, final String text, final int x,
+			final int y, final Color backgroundColor, final Color textColor) {
+		final Key key = new Key(painter, text, g.getFont(), backgroundColor, textColor);
+		Label label = labels.get(key);
+		if (label == null) {
+			label = render(g, key);
+			labels.put(key, label);
+		}
+
+		g.drawImage(label.image, x + label.offsetX, y + label.offsetY, null);
+	}
+
+	/**
+	 * @return width of the text in current font of the graphics, measured once for every text and font
+	 */
+	public static synchronized int textWidth(final Graphics g, final String text) {
+		final Font font = g.getFont();
+		final WidthKey key = new WidthKey(text, font);
+		Integer width = widths.get(key);
+		if (width == null) {
+			width = g.getFontMetrics(font).stringWidth(text);
+			widths.put(key, width);
+		}
+
+		return width;
+	}
+}
@@ -2,9 +2,26 @@ package log.charter.gui.chartPanelDrawers.drawableShapes;
 
 import java.awt.*;
 
+import log.charter.gui.chartPanelDrawers.drawableShapes.LabelCache.LabelPainter;
 import log.charter.util.Position2D;
 
 class Text implements DrawableShape {
+	private static final LabelPainter painter = new LabelPainter() {
+		@Override
+		public Rectangle bounds(final FontMetrics metrics, final String text) {
+			final int overhang = 2;
+			return new Rectangle(-overhang, -metrics.getAscent(), metrics.stringWidth(text) + overhang * 2,
+					metrics.getAscent() + metrics.getDescent());
+		}
+
+		@Override
+		public void paint(final Graphics2D g, final FontMetrics metrics, final String text, final int x, final int y,
+				final Color backgroundColor, final Color textColor) {
+			g.setColor(textColor);
+			g.drawString(text, x, y);
+		}
+	};
+
 	private final Position2D position;
 	private final String text;
 	private final Color color;
@@ -17,9 +34,6 @@ class Text implements DrawableShape {
 
 	@Override
 	public void draw(final Graphics g) {
-		Graphics2D g2 = (Graphics2D)g;
-		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		g2.setColor(color);
-		g2.drawString(text, position.x, position.y);
+		LabelCache.draw(g, painter, text, position.x, position.y, null, color);
 	}
 }
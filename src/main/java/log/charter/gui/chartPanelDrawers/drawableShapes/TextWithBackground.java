@@ -1,10 +1,38 @@
 package log.charter.gui.chartPanelDrawers.drawableShapes;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
 import java.awt.*;
 
+import log.charter.gui.chartPanelDrawers.drawableShapes.LabelCache.LabelPainter;
 import log.charter.util.Position2D;
 
 class TextWithBackground implements DrawableShape {
+	private static final LabelPainter painter = new LabelPainter() {
+		@Override
+		public Rectangle bounds(final FontMetrics metrics, final String text) {
+			final int width = metrics.stringWidth(text);
+			final int height = metrics.getAscent() - metrics.getDescent();
+			final int top = min(-height - 2, -1 - metrics.getAscent());
+			final int bottom = max(3, -1 + metrics.getDescent());
+			return new Rectangle(0, top, width + 4, bottom - top);
+		}
+
+		@Override
+		public void paint(final Graphics2D g, final FontMetrics metrics, final String text, final int x, final int y,
+				final Color backgroundColor, final Color textColor) {
+			final int width = metrics.stringWidth(text);
+			final int height = metrics.getAscent() - metrics.getDescent();
+
+			g.setColor(backgroundColor);
+			g.fillRect(x, y - height - 2, width + 2, height + 5);
+
+			g.setColor(textColor);
+			g.drawString(text, x + 1, y - 1);
+		}
+	};
+
 	private final Position2D position;
 	private final String text;
 	private final Color backgroundColor;
@@ -20,16 +48,7 @@ class TextWithBackground implements DrawableShape {
 
 	@Override
 	public void draw(final Graphics g) {
-		Graphics2D g2 = (Graphics2D)g;
-		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		final int width = g2.getFontMetrics().stringWidth(text);
-		final int height = g2.getFontMetrics().getAscent() - g.getFontMetrics().getDescent();
-
-		g2.setColor(backgroundColor);
-		g2.fillRect(position.x, position.y - height - 2, width + 2, height + 5);
-
-		g2.setColor(textColor);
-		g2.drawString(text, position.x + 1, position.y - 1);
+		LabelCache.draw(g, painter, text, position.x, position.y, backgroundColor, textColor);
 	}
 
 }
@@ -4,6 +4,8 @@ import java.awt.Graphics;
 
 import log.charter.gui.chartPanelDrawers.common.AudioDrawer;
 import log.charter.gui.chartPanelDrawers.common.BeatsDrawer;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
 public class TempoMapDrawer {
 	private AudioDrawer audioDrawer;
@@ -14,8 +16,13 @@ public class TempoMapDrawer {
 		this.beatsDrawer = beatsDrawer;
 	}
 
-	public void draw(final Graphics g) {
-		audioDrawer.draw(g);
-		beatsDrawer.draw(g);
+	public void draw(final Graphics g, final int time) {
+		long start = Profiler.start();
+		audioDrawer.draw(g, time);
+		Profiler.stop(Section.AUDIO, start);
+
+		start = Profiler.start();
+		beatsDrawer.draw(g, time);
+		Profiler.stop(Section.BEATS, start);
 	}
 }
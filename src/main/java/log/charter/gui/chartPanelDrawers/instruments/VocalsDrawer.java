@@ -8,8 +8,8 @@ import static log.charter.gui.chartPanelDrawers.drawableShapes.DrawableShape.str
 import static log.charter.gui.chartPanelDrawers.drawableShapes.DrawableShape.text;
 import static log.charter.util.ScalingUtils.timeToX;
 import static log.charter.util.ScalingUtils.timeToXLength;
+import static log.charter.util.ScalingUtils.xToTime;
 
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 
 import log.charter.data.ChartData;
@@ -21,11 +21,15 @@ import log.charter.gui.chartPanelDrawers.common.AudioDrawer;
 import log.charter.gui.chartPanelDrawers.common.BeatsDrawer;
 import log.charter.gui.chartPanelDrawers.common.LyricLinesDrawer;
 import log.charter.gui.chartPanelDrawers.drawableShapes.DrawableShapeList;
+import log.charter.gui.chartPanelDrawers.drawableShapes.LabelCache;
 import log.charter.gui.chartPanelDrawers.drawableShapes.ShapePositionWithSize;
+import log.charter.song.notes.IPosition;
 import log.charter.song.vocals.Vocal;
 import log.charter.util.CollectionUtils.ArrayList2;
 import log.charter.util.CollectionUtils.HashSet2;
 import log.charter.util.Position2D;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
 public class VocalsDrawer {
 	private static final int vocalNoteY = (lanesTop + lanesBottom) / 2;
@@ -43,11 +47,11 @@ public class VocalsDrawer {
 		private final DrawableShapeList notes = new DrawableShapeList();
 		private final DrawableShapeList wordConnections = new DrawableShapeList();
 
-		private final FontMetrics fontMetrics;
+		private final Graphics g;
 		private final int time;
 
-		public VocalNotesDrawingData(final FontMetrics fontMetrics, final int time) {
-			this.fontMetrics = fontMetrics;
+		public VocalNotesDrawingData(final Graphics g, final int time) {
+			this.g = g;
 			this.time = time;
 		}
 
@@ -61,7 +65,7 @@ public class VocalsDrawer {
 				}
 
 				final String text = vocal.getText() + (vocal.isWordPart() ? "-" : "");
-				if ((x + fontMetrics.stringWidth(text)) > 0) {
+				if ((x + LabelCache.textWidth(g, text)) > 0) {
 					texts.add(text(new Position2D(x + 2, vocalNoteY - 10), text, ColorLabel.VOCAL_TEXT.color()));
 				}
 			}
@@ -104,17 +108,18 @@ public class VocalsDrawer {
 		initiated = true;
 	}
 
-	private void drawVocals(final Graphics g) {
-		final VocalNotesDrawingData drawingData = new VocalNotesDrawingData(g.getFontMetrics(), data.time);
+	private void drawVocals(final Graphics g, final int time) {
+		final VocalNotesDrawingData drawingData = new VocalNotesDrawingData(g, time);
 
 		final ArrayList2<Vocal> vocals = data.songChart.vocals.vocals;
 		final int width = chartPanel.getWidth();
 		final HashSet2<Integer> selectedVocalIds = selectionManager.getSelectedAccessor(PositionType.VOCAL)//
 				.getSelectedSet().map(selection -> selection.id);
 
-		for (int i = 0; i < vocals.size(); i++) {
+		final int firstId = max(0, IPosition.findLastIdBeforeEqual(vocals, xToTime(0, time)));
+		for (int i = firstId; i < vocals.size(); i++) {
 			final Vocal vocal = vocals.get(i);
-			final int x = timeToX(vocal.position(), data.time);
+			final int x = timeToX(vocal.position(), time);
 			if (x > width) {
 				break;
 			}
@@ -128,14 +133,25 @@ public class VocalsDrawer {
 		drawingData.draw(g);
 	}
 
-	public void draw(final Graphics g) {
+	public void draw(final Graphics g, final int time) {
 		if (!initiated || data.isEmpty) {
 			return;
 		}
 
-		audioDrawer.draw(g);
-		beatsDrawer.draw(g);
-		drawVocals(g);
-		lyricLinesDrawer.draw(g);
+		long start = Profiler.start();
+		audioDrawer.draw(g, time);
+		Profiler.stop(Section.AUDIO, start);
+
+		start = Profiler.start();
+		beatsDrawer.draw(g, time);
+		Profiler.stop(Section.BEATS, start);
+
+		start = Profiler.start();
+		drawVocals(g, time);
+		Profiler.stop(Section.VOCALS, start);
+
+		start = Profiler.start();
+		lyricLinesDrawer.draw(g, time);
+		Profiler.stop(Section.LYRIC_LINES, start);
 	}
 }
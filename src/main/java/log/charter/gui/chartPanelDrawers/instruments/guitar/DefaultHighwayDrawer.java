@@ -47,7 +47,10 @@ import java.util.List;
 
 import javax.imageio.ImageIO;
 
+import log.charter.data.config.Config;
+import log.charter.data.config.Theme;
 import log.charter.data.config.Zoom;
+import log.charter.gui.ChartPanelColors;
 import log.charter.gui.ChartPanelColors.ColorLabel;
 import log.charter.gui.ChartPanelColors.StringColorLabelType;
 import log.charter.gui.chartPanelDrawers.drawableShapes.DrawableShape;
@@ -98,9 +101,14 @@ public class DefaultHighwayDrawer implements HighwayDrawer {
 	protected final BufferedImage palmMuteImage;
 	protected final BufferedImage muteImage;
 
+	private final Theme theme;
+	private final int createdNoteWidth;
+	private final int createdNoteHeight;
+	private final int colorsVersion;
+
 	protected final int strings;
 	protected final int bendStepSize;
-	protected final int time;
+	protected int time;
 	protected final int[] stringPositions;
 
 	protected final DrawableShapeList anchors;
@@ -116,9 +124,12 @@ public class DefaultHighwayDrawer implements HighwayDrawer {
 	protected final DrawableShapeList slideFrets;
 	protected final DrawableShapeList toneChanges;
 
-	public DefaultHighwayDrawer(final int strings, final int time) {
+	public DefaultHighwayDrawer(final Theme theme, final int strings) {
+		this.theme = theme;
+		createdNoteWidth = noteWidth;
+		createdNoteHeight = noteHeight;
+		colorsVersion = ChartPanelColors.getColorsVersion();
 		this.strings = strings;
-		this.time = time;
 
 		stringPositions = new int[strings];
 		noteColors = new Color[strings];
@@ -154,6 +165,30 @@ public class DefaultHighwayDrawer implements HighwayDrawer {
 		toneChanges = new DrawableShapeList();
 	}
 
+	@Override
+	public boolean fits(final int strings) {
+		return this.strings == strings && theme == Config.theme && createdNoteWidth == noteWidth
+				&& createdNoteHeight == noteHeight && colorsVersion == ChartPanelColors.getColorsVersion();
+	}
+
+	@Override
+	public void reset(final int time) {
+		this.time = time;
+
+		anchors.clear();
+		bendValues.clear();
+		chordNames.clear();
+		handShapes.clear();
+		noteTails.clear();
+		noteTailSelects.clear();
+		notes.clear();
+		noteFrets.clear();
+		noteIds.clear();
+		selects.clear();
+		slideFrets.clear();
+		toneChanges.clear();
+	}
+
 	protected Font defineAnchorFont() {
 		return new Font(Font.DIALOG, Font.BOLD, 13);
 	}
@@ -1,22 +1,27 @@
 package log.charter.gui.chartPanelDrawers.instruments.guitar;
 
+import static java.lang.Math.max;
 import static log.charter.data.config.Config.noteWidth;
 import static log.charter.gui.ChartPanelColors.getStringBasedColor;
 import static log.charter.gui.chartPanelDrawers.common.DrawerUtils.getLaneY;
 import static log.charter.util.ScalingUtils.timeToX;
 import static log.charter.util.ScalingUtils.timeToXLength;
+import static log.charter.util.ScalingUtils.xToTime;
 
 import java.awt.Graphics;
 import java.math.BigDecimal;
+import java.util.List;
 
 import log.charter.data.ChartData;
 import log.charter.data.managers.selection.SelectionManager;
 import log.charter.data.types.PositionType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.gui.ChartPanel;
 import log.charter.gui.ChartPanelColors.StringColorLabelType;
 import log.charter.gui.chartPanelDrawers.common.AudioDrawer;
 import log.charter.gui.chartPanelDrawers.common.BeatsDrawer;
 import log.charter.gui.chartPanelDrawers.common.LyricLinesDrawer;
+import log.charter.gui.chartPanelDrawers.common.MaxLengthCache;
 import log.charter.gui.handlers.KeyboardHandler;
 import log.charter.song.Anchor;
 import log.charter.song.ArrangementChart;
@@ -26,9 +31,12 @@ import log.charter.song.Level;
 import log.charter.song.ToneChange;
 import log.charter.song.notes.Chord;
 import log.charter.song.notes.ChordOrNote;
+import log.charter.song.notes.IPosition;
 import log.charter.song.notes.Note;
 import log.charter.util.CollectionUtils.ArrayList2;
 import log.charter.util.CollectionUtils.HashSet2;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
 public class GuitarDrawer {
 	public static final BigDecimal bendStepSize = new BigDecimal("10");
@@ -49,6 +57,10 @@ public class GuitarDrawer {
 	private LyricLinesDrawer lyricLinesDrawer;
 	private SelectionManager selectionManager;
 
+	private HighwayDrawer highwayDrawer;
+	private final MaxLengthCache soundsMaxLength = new MaxLengthCache();
+	private final MaxLengthCache handShapesMaxLength = new MaxLengthCache();
+
 	public void init(final AudioDrawer audioDrawer, final BeatsDrawer beatsDrawer, final ChartData data,
 			final ChartPanel chartPanel, final KeyboardHandler keyboardHandler, final LyricLinesDrawer lyricLinesDrawer,
 			final SelectionManager selectionManager) {
@@ -61,11 +73,11 @@ public class GuitarDrawer {
 		this.selectionManager = selectionManager;
 	}
 
-	private void drawGuitarLanes(final Graphics g) {
+	private void drawGuitarLanes(final Graphics g, final int time) {
 		final int lanes = data.getCurrentArrangement().tuning.strings;
 		final int width = chartPanel.getWidth();
 
-		final int x = timeToX(0, data.time);
+		final int x = timeToX(0, time);
 
 		for (int i = 0; i < lanes; i++) {
 			g.setColor(getStringBasedColor(StringColorLabelType.LANE, i, data.currentStrings()));
@@ -79,14 +91,24 @@ public class GuitarDrawer {
 				.getSelectedSet().map(selection -> selection.id);
 	}
 
+	/**
+	 * @param leftX         leftmost x at which an item can still be seen
+	 * @param maxTimeLength longest length of items in the list, their start can be that far before the left edge
+	 * @return id of the first item that could be visible, found with binary search
+	 */
+	private int findFirstVisibleId(final List<? extends IPosition> list, final int leftX, final int maxTimeLength,
+			final int time) {
+		return max(0, IPosition.findLastIdBeforeEqual(list, xToTime(leftX, time) - maxTimeLength));
+	}
+
 	private void addToneChanges(final HighwayDrawer highwayDrawer, final ArrangementChart arrangement,
-			final int panelWidth) {
+			final int panelWidth, final int time) {
 		final HashSet2<Integer> selectedToneChangeIds = getSelectedIds(PositionType.TONE_CHANGE);
 		final ArrayList2<ToneChange> toneChanges = arrangement.toneChanges;
 
-		for (int i = 0; i < toneChanges.size(); i++) {
+		for (int i = findFirstVisibleId(toneChanges, -100, 0, time); i < toneChanges.size(); i++) {
 			final ToneChange toneChange = toneChanges.get(i);
-			final int x = timeToX(toneChange.position(), data.time);
+			final int x = timeToX(toneChange.position(), time);
 			if (isPastRightEdge(x, panelWidth)) {
 				break;
 			}
@@ -100,12 +122,13 @@ public class GuitarDrawer {
 		}
 	}
 
-	private void addAnchors(final HighwayDrawer highwayDrawer, final Level level, final int panelWidth) {
+	private void addAnchors(final HighwayDrawer highwayDrawer, final Level level, final int panelWidth,
+			final int time) {
 		final HashSet2<Integer> selectedAnchorIds = getSelectedIds(PositionType.ANCHOR);
 
-		for (int i = 0; i < level.anchors.size(); i++) {
+		for (int i = findFirstVisibleId(level.anchors, -20, 0, time); i < level.anchors.size(); i++) {
 			final Anchor anchor = level.anchors.get(i);
-			final int x = timeToX(anchor.position(), data.time);
+			final int x = timeToX(anchor.position(), time);
 			if (isPastRightEdge(x, panelWidth)) {
 				break;
 			}
@@ -120,8 +143,9 @@ public class GuitarDrawer {
 	}
 
 	private boolean addChord(final HighwayDrawer highwayDrawer, final ArrangementChart arrangement,
-			final int panelWidth, final Chord chord, final boolean selected, final boolean lastWasLinkNext) {
-		final int x = timeToX(chord.position(), data.time);
+			final int panelWidth, final Chord chord, final boolean selected, final boolean lastWasLinkNext,
+			final int time) {
+		final int x = timeToX(chord.position(), time);
 		if (isPastRightEdge(x, panelWidth)) {
 			return false;
 		}
@@ -137,8 +161,8 @@ public class GuitarDrawer {
 	}
 
 	private boolean addNote(final HighwayDrawer highwayDrawer, final int panelWidth, final Note note,
-			final boolean selected, final boolean lastWasLinkNext) {
-		final int x = timeToX(note.position(), data.time);
+			final boolean selected, final boolean lastWasLinkNext, final int time) {
+		final int x = timeToX(note.position(), time);
 		final int length = timeToXLength(note.length());
 		if (isPastRightEdge(x, panelWidth)) {
 			return false;
@@ -155,39 +179,50 @@ public class GuitarDrawer {
 
 	private boolean addChordOrNote(final HighwayDrawer highwayDrawer, final ArrangementChart arrangement,
 			final int panelWidth, final ChordOrNote chordOrNote, final boolean selected,
-			final boolean lastWasLinkNext) {
+			final boolean lastWasLinkNext, final int time) {
 		if (chordOrNote.chord != null) {
-			return addChord(highwayDrawer, arrangement, panelWidth, chordOrNote.chord, selected, lastWasLinkNext);
+			return addChord(highwayDrawer, arrangement, panelWidth, chordOrNote.chord, selected, lastWasLinkNext,
+					time);
 		}
 		if (chordOrNote.note != null) {
-			return addNote(highwayDrawer, panelWidth, chordOrNote.note, selected, lastWasLinkNext);
+			return addNote(highwayDrawer, panelWidth, chordOrNote.note, selected, lastWasLinkNext, time);
 		}
 
 		return true;
 	}
 
+	private static boolean isLinkNext(final ChordOrNote chordOrNote) {
+		return chordOrNote.chord != null ? chordOrNote.chord.linkNext() : chordOrNote.note.linkNext;
+	}
+
 	private void addGuitarNotes(final HighwayDrawer highwayDrawer, final ArrangementChart arrangement,
-			final int panelWidth) {
+			final int panelWidth, final int time) {
 		final HashSet2<Integer> selectedNoteIds = getSelectedIds(PositionType.GUITAR_NOTE);
-		final ArrayList2<ChordOrNote> chordsAndNotes = data.getCurrentArrangementLevel().chordsAndNotes;
+		final ChartList<ChordOrNote> chordsAndNotes = data.getCurrentArrangementLevel().chordsAndNotes;
 
-		boolean lastWasLinkNext = false;
-		for (int i = 0; i < chordsAndNotes.size(); i++) {
+		final int firstId = findFirstVisibleId(chordsAndNotes, -noteWidth, soundsMaxLength.get(chordsAndNotes),
+				time);
+		boolean lastWasLinkNext = firstId > 0 && isLinkNext(chordsAndNotes.get(firstId - 1));
+		for (int i = firstId; i < chordsAndNotes.size(); i++) {
 			final ChordOrNote chordOrNote = chordsAndNotes.get(i);
 			final boolean selected = selectedNoteIds.contains(i);
-			addChordOrNote(highwayDrawer, arrangement, panelWidth, chordOrNote, selected, lastWasLinkNext);
+			if (!addChordOrNote(highwayDrawer, arrangement, panelWidth, chordOrNote, selected, lastWasLinkNext,
+					time)) {
+				break;
+			}
 
-			lastWasLinkNext = chordOrNote.chord != null ? chordOrNote.chord.linkNext() : chordOrNote.note.linkNext;
+			lastWasLinkNext = isLinkNext(chordOrNote);
 		}
 	}
 
 	private void addHandShapes(final HighwayDrawer highwayDrawer, final ArrangementChart arrangement, final Level level,
-			final int panelWidth) {
+			final int panelWidth, final int time) {
 		final HashSet2<Integer> selectedHandShapeIds = getSelectedIds(PositionType.HAND_SHAPE);
 
-		for (int i = 0; i < level.handShapes.size(); i++) {
+		final int firstId = findFirstVisibleId(level.handShapes, 0, handShapesMaxLength.get(level.handShapes), time);
+		for (int i = firstId; i < level.handShapes.size(); i++) {
 			final HandShape handShape = level.handShapes.get(i);
-			final int x = timeToX(handShape.position(), data.time);
+			final int x = timeToX(handShape.position(), time);
 			if (isPastRightEdge(x, panelWidth)) {
 				break;
 			}
@@ -208,29 +243,46 @@ public class GuitarDrawer {
 		}
 	}
 
-	private void drawGuitarNotes(final Graphics g) {
+	private void drawGuitarNotes(final Graphics g, final int time) {
 		final Level level = data.getCurrentArrangementLevel();
 		final ArrangementChart arrangement = data.getCurrentArrangement();
 		final int strings = data.getCurrentArrangement().tuning.strings;
-		final HighwayDrawer highwayDrawer = HighwayDrawer.getHighwayDrawer(strings, data.time);
+		if (highwayDrawer == null || !highwayDrawer.fits(strings)) {
+			highwayDrawer = HighwayDrawer.createHighwayDrawer(strings);
+		}
+		highwayDrawer.reset(time);
 
 		final int panelWidth = chartPanel.getWidth();
 
-		addToneChanges(highwayDrawer, arrangement, panelWidth);
-		addAnchors(highwayDrawer, level, panelWidth);
-		addGuitarNotes(highwayDrawer, arrangement, panelWidth);
-		addHandShapes(highwayDrawer, arrangement, level, panelWidth);
+		addToneChanges(highwayDrawer, arrangement, panelWidth, time);
+		addAnchors(highwayDrawer, level, panelWidth, time);
+		addGuitarNotes(highwayDrawer, arrangement, panelWidth, time);
+		addHandShapes(highwayDrawer, arrangement, level, panelWidth, time);
 
 		highwayDrawer.draw(g);
 	}
 
-	public void draw(final Graphics g) {
+	public void draw(final Graphics g, final int time) {
 		try {
-			beatsDrawer.draw(g);
-			lyricLinesDrawer.draw(g);
-			drawGuitarLanes(g);
-			audioDrawer.draw(g);
-			drawGuitarNotes(g);
+			long start = Profiler.start();
+			beatsDrawer.draw(g, time);
+			Profiler.stop(Section.BEATS, start);
+
+			start = Profiler.start();
+			lyricLinesDrawer.draw(g, time);
+			Profiler.stop(Section.LYRIC_LINES, start);
+
+			start = Profiler.start();
+			drawGuitarLanes(g, time);
+			Profiler.stop(Section.LANES, start);
+
+			start = Profiler.start();
+			audioDrawer.draw(g, time);
+			Profiler.stop(Section.AUDIO, start);
+
+			start = Profiler.start();
+			drawGuitarNotes(g, time);
+			Profiler.stop(Section.GUITAR_NOTES, start);
 		} catch (final Exception e) {
 			e.printStackTrace();
 		}
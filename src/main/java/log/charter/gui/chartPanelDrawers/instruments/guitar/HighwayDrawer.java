@@ -3,6 +3,7 @@ package log.charter.gui.chartPanelDrawers.instruments.guitar;
 import java.awt.Graphics;
 
 import log.charter.data.config.Config;
+import log.charter.data.config.Theme;
 import log.charter.song.Anchor;
 import log.charter.song.ChordTemplate;
 import log.charter.song.HandShape;
@@ -11,13 +12,23 @@ import log.charter.song.notes.Chord;
 import log.charter.song.notes.Note;
 
 interface HighwayDrawer {
-	public static HighwayDrawer getHighwayDrawer(final int strings, final int time) {
+	public static HighwayDrawer createHighwayDrawer(final int strings) {
 		return switch (Config.theme) {
-		case DEFAULT -> new DefaultHighwayDrawer(strings, time);
-		case ROCKSMITH -> new RocksmithHighwayDrawer(strings, time);
+		case DEFAULT -> new DefaultHighwayDrawer(Theme.DEFAULT, strings);
+		case ROCKSMITH -> new RocksmithHighwayDrawer(strings);
 		};
 	}
 
+	/**
+	 * @return true if drawer was made for current theme, note size and colors and can be reused
+	 */
+	boolean fits(int strings);
+
+	/**
+	 * Removes shapes from last frame, keeps fonts, images and list buffers
+	 */
+	void reset(int time);
+
 	void addToneChange(ToneChange toneChange, int x, boolean selected);
 
 	void addAnchor(Anchor anchor, int x, boolean selected);
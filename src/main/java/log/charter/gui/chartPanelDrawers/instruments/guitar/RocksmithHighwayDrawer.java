@@ -20,6 +20,7 @@ import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.util.List;
 
+import log.charter.data.config.Theme;
 import log.charter.gui.ChartPanelColors.ColorLabel;
 import log.charter.gui.ChartPanelColors.StringColorLabelType;
 import log.charter.gui.chartPanelDrawers.drawableShapes.ShapePositionWithSize;
@@ -31,8 +32,8 @@ import log.charter.util.IntRange;
 import log.charter.util.Position2D;
 
 class RocksmithHighwayDrawer extends DefaultHighwayDrawer {
-	public RocksmithHighwayDrawer(final int strings, final int time) {
-		super(strings, time);
+	public RocksmithHighwayDrawer(final int strings) {
+		super(Theme.ROCKSMITH, strings);
 	}
 
 	@Override
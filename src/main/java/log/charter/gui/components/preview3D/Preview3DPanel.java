@@ -16,6 +16,8 @@ import log.charter.data.managers.ModeManager;
 import log.charter.data.managers.modes.EditMode;
 import log.charter.gui.handlers.KeyboardHandler;
 import log.charter.io.Logger;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
 public class Preview3DPanel extends AWTGLCanvas implements MouseMotionListener {
 	private static final long serialVersionUID = 1L;
@@ -122,6 +124,7 @@ public class Preview3DPanel extends AWTGLCanvas implements MouseMotionListener {
 
 	@Override
 	public void paintGL() {
+		final long start = Profiler.start();
 		try {
 			baseShader.use();
 			GL30.glViewport(0, 0, getWidth(), getHeight());
@@ -153,6 +156,8 @@ public class Preview3DPanel extends AWTGLCanvas implements MouseMotionListener {
 		} catch (final Exception e) {
 			Logger.error("Exception in paintGL", e);
 			throw e;
+		} finally {
+			Profiler.stop(Section.PREVIEW_3D, start);
 		}
 	}
 }
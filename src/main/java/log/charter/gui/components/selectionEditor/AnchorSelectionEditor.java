@@ -6,6 +6,7 @@ import static log.charter.gui.components.selectionEditor.CurrentSelectionEditor.
 
 import javax.swing.JTextField;
 
+import log.charter.data.ChartData;
 import log.charter.data.config.Localization.Label;
 import log.charter.data.managers.selection.Selection;
 import log.charter.data.managers.selection.SelectionAccessor;
@@ -20,14 +21,16 @@ import log.charter.song.Anchor;
 import log.charter.util.CollectionUtils.HashSet2;
 
 public class AnchorSelectionEditor {
+	private ChartData data;
 	private SelectionManager selectionManager;
 	private UndoSystem undoSystem;
 
 	private FieldWithLabel<TextInputWithValidation> anchorFret;
 	private FieldWithLabel<TextInputWithValidation> anchorWidth;
 
-	public void init(final CurrentSelectionEditor selectionEditor, final SelectionManager selectionManager,
-			final UndoSystem undoSystem) {
+	public void init(final CurrentSelectionEditor selectionEditor, final ChartData data,
+			final SelectionManager selectionManager, final UndoSystem undoSystem) {
+		this.data = data;
 		this.selectionManager = selectionManager;
 		this.undoSystem = undoSystem;
 
@@ -56,7 +59,9 @@ public class AnchorSelectionEditor {
 
 		final SelectionAccessor<Anchor> anchorSelectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.ANCHOR);
-		for (final Selection<Anchor> anchorSelection : anchorSelectionAccessor.getSelectedSet()) {
+		final HashSet2<Selection<Anchor>> selected = anchorSelectionAccessor.getSelectedSet();
+		data.getCurrentArrangementLevel().anchors.changing(selected.map(selection -> selection.id));
+		for (final Selection<Anchor> anchorSelection : selected) {
 			anchorSelection.selectable.fret = newFret;
 		}
 	}
@@ -66,7 +71,9 @@ public class AnchorSelectionEditor {
 
 		final SelectionAccessor<Anchor> anchorSelectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.ANCHOR);
-		for (final Selection<Anchor> anchorSelection : anchorSelectionAccessor.getSelectedSet()) {
+		final HashSet2<Selection<Anchor>> selected = anchorSelectionAccessor.getSelectedSet();
+		data.getCurrentArrangementLevel().anchors.changing(selected.map(selection -> selection.id));
+		for (final Selection<Anchor> anchorSelection : selected) {
 			anchorSelection.selectable.width = newWidth;
 		}
 	}
@@ -74,13 +74,13 @@ public class CurrentSelectionEditor extends RowedPanel {
 			final UndoSystem undoSystem) {
 		this.selectionManager = selectionManager;
 
-		anchorSelectionEditor.init(this, selectionManager, undoSystem);
+		anchorSelectionEditor.init(this, data, selectionManager, undoSystem);
 		guitarSoundSelectionEditor.init(this, arrangementFixer, data, frame, keyboardHandler, selectionManager,
 				undoSystem);
 		handShapeSelectionEditor.init(this, arrangementFixer, data, frame, keyboardHandler, selectionManager,
 				undoSystem);
 		toneChangeSelectionEditor.init(this, data, selectionManager, undoSystem);
-		vocalSelectionEditor.init(this, selectionManager, undoSystem);
+		vocalSelectionEditor.init(this, data, selectionManager, undoSystem);
 
 		addKeyListener(keyboardHandler);
 	}
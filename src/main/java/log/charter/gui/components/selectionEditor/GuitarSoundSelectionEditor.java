@@ -27,6 +27,7 @@ import log.charter.data.managers.selection.Selection;
 import log.charter.data.managers.selection.SelectionAccessor;
 import log.charter.data.managers.selection.SelectionManager;
 import log.charter.data.types.PositionType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.data.undoSystem.UndoSystem;
 import log.charter.gui.ChartPanelColors.StringColorLabelType;
 import log.charter.gui.CharterFrame;
@@ -277,6 +278,14 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 		}
 	}
 
+	private void addUndoForSelectedSounds() {
+		undoSystem.addUndo();
+
+		final HashSet2<Selection<ChordOrNote>> selected = selectionManager
+				.<ChordOrNote>getSelectedAccessor(PositionType.GUITAR_NOTE).getSelectedSet();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selected.map(selection -> selection.id));
+	}
+
 	private void changeSelectedChordsToNotes() {
 		final ArrangementChart arrangement = data.getCurrentArrangement();
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
@@ -300,7 +309,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeString(final int newString) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeSelectedChordsToNotes();
 
 		chordTemplate = new ChordTemplate();
@@ -324,7 +333,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeFret(final int newFret) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeSelectedChordsToNotes();
 
 		chordTemplate = new ChordTemplate();
@@ -362,29 +371,29 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeMute(final Mute newMute) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeValueForSelected(n -> n.mute = newMute, n -> n.mute = newMute);
 	}
 
 	private void changeHOPO(final HOPO newHOPO) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeValueForSelected(n -> n.hopo = newHOPO, n -> n.hopo = newHOPO);
 	}
 
 	private void changeBassPickingTechnique(final BassPickingTechnique newBassPickingTechnique) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeSelectedChordsToNotes();
 		changeValueForSelected(n -> n.bassPicking = newBassPickingTechnique, n -> {
 		});
 	}
 
 	private void changeHarmonic(final Harmonic newHarmonic) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeValueForSelected(n -> n.harmonic = newHarmonic, n -> n.harmonic = newHarmonic);
 	}
 
 	private void changeAccent(final boolean newAccent) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.GUITAR_NOTE);
@@ -394,11 +403,11 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeLinkNext(final boolean newLinkNext) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.GUITAR_NOTE);
-		final ArrayList2<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
+		final ChartList<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
 		final HashSet2<Selection<ChordOrNote>> selected = selectionAccessor.getSelectedSet();
 		for (final Selection<ChordOrNote> selection : selected) {
 			if (selection.selectable.isNote()) {
@@ -411,6 +420,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 			if (nextId < sounds.size()) {
 				final ChordOrNote nextSound = sounds.get(nextId);
 				if (nextSound.isChord()) {
+					sounds.changing(nextId);
 					nextSound.chord.splitIntoNotes = true;
 				}
 			}
@@ -424,7 +434,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeSplitIntoNotes(final boolean newSplitIntoNotes) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.GUITAR_NOTE);
@@ -438,7 +448,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeIgnore(final boolean newIgnore) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.GUITAR_NOTE);
@@ -448,7 +458,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changePassOtherNotes(final boolean newPassOtherNotes) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.GUITAR_NOTE);
@@ -458,7 +468,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeSlideFret(final Integer newSlideFret) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.GUITAR_NOTE);
@@ -503,17 +513,17 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 	}
 
 	private void changeUnpitchedSlide(final boolean newUnpitchedSlide) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeValueForSelected(n -> n.unpitchedSlide = newUnpitchedSlide, n -> n.unpitchedSlide = newUnpitchedSlide);
 	}
 
 	private void changeVibrato(final boolean newVibrato) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeValueForSelected(n -> n.vibrato = newVibrato, n -> n.vibrato = newVibrato);
 	}
 
 	private void changeTremolo(final boolean newTremolo) {
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 		changeValueForSelected(n -> n.tremolo = newTremolo, n -> n.tremolo = newTremolo);
 	}
 
@@ -522,7 +532,7 @@ public class GuitarSoundSelectionEditor extends ChordTemplateEditor {
 			return;
 		}
 
-		undoSystem.addUndo();
+		addUndoForSelectedSounds();
 
 		final ArrangementChart arrangement = data.getCurrentArrangement();
 
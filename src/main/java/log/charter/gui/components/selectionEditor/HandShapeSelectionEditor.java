@@ -67,7 +67,9 @@ public class HandShapeSelectionEditor extends ChordTemplateEditor {
 
 		final SelectionAccessor<HandShape> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.HAND_SHAPE);
-		for (final Selection<HandShape> selection : selectionAccessor.getSelectedSet()) {
+		final HashSet2<Selection<HandShape>> selected = selectionAccessor.getSelectedSet();
+		data.getCurrentArrangementLevel().handShapes.changing(selected.map(selection -> selection.id));
+		for (final Selection<HandShape> selection : selected) {
 			selection.selectable.templateId = templateId;
 		}
 
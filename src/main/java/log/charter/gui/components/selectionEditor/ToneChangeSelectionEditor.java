@@ -123,9 +123,12 @@ public class ToneChangeSelectionEditor implements DocumentListener {
 
 		final SelectionAccessor<ToneChange> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.TONE_CHANGE);
-		for (final Selection<ToneChange> a : selectionAccessor.getSelectedSet()) {
+		final HashSet2<Selection<ToneChange>> selected = selectionAccessor.getSelectedSet();
+		arrangement.toneChanges.changing(selected.map(selection -> selection.id));
+		for (final Selection<ToneChange> a : selected) {
 			a.selectable.toneName = name;
 		}
+		undoSystem.changingTones(arrangement);
 		arrangement.tones = new HashSet2<>(arrangement.toneChanges.map(t -> t.toneName));
 	}
 
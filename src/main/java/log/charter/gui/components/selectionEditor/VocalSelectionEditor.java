@@ -6,6 +6,7 @@ import static log.charter.gui.components.selectionEditor.CurrentSelectionEditor.
 import javax.swing.JCheckBox;
 import javax.swing.JTextField;
 
+import log.charter.data.ChartData;
 import log.charter.data.config.Localization.Label;
 import log.charter.data.managers.selection.Selection;
 import log.charter.data.managers.selection.SelectionAccessor;
@@ -20,6 +21,7 @@ import log.charter.song.vocals.Vocal;
 import log.charter.util.CollectionUtils.HashSet2;
 
 public class VocalSelectionEditor {
+	private ChartData data;
 	private SelectionManager selectionManager;
 	private UndoSystem undoSystem;
 
@@ -27,8 +29,9 @@ public class VocalSelectionEditor {
 	private FieldWithLabel<JCheckBox> vocalWordPart;
 	private FieldWithLabel<JCheckBox> vocalPhraseEnd;
 
-	public void init(final CurrentSelectionEditor selectionEditor, final SelectionManager selectionManager,
-			final UndoSystem undoSystem) {
+	public void init(final CurrentSelectionEditor selectionEditor, final ChartData data,
+			final SelectionManager selectionManager, final UndoSystem undoSystem) {
+		this.data = data;
 		this.selectionManager = selectionManager;
 		this.undoSystem = undoSystem;
 
@@ -59,9 +62,17 @@ public class VocalSelectionEditor {
 		hideFields();
 	}
 
-	private void changeText(final String newText) {
+	private void addUndoForSelectedVocals() {
 		undoSystem.addUndo();
 
+		final HashSet2<Selection<Vocal>> selected = selectionManager.<Vocal>getSelectedAccessor(PositionType.VOCAL)
+				.getSelectedSet();
+		data.songChart.vocals.vocals.changing(selected.map(selection -> selection.id));
+	}
+
+	private void changeText(final String newText) {
+		addUndoForSelectedVocals();
+
 		final SelectionAccessor<Vocal> vocalSelectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.VOCAL);
 		for (final Selection<Vocal> anchorSelection : vocalSelectionAccessor.getSelectedSet()) {
@@ -90,7 +101,7 @@ public class VocalSelectionEditor {
 	}
 
 	private void changeWordPart(final boolean newWordPart) {
-		undoSystem.addUndo();
+		addUndoForSelectedVocals();
 		if (newWordPart) {
 			vocalPhraseEnd.field.setEnabled(false);
 			vocalPhraseEnd.field.setSelected(false);
@@ -103,7 +114,7 @@ public class VocalSelectionEditor {
 	}
 
 	private void changePhraseEnd(final boolean newPhraseEnd) {
-		undoSystem.addUndo();
+		addUndoForSelectedVocals();
 		if (newPhraseEnd) {
 			vocalWordPart.field.setEnabled(false);
 			vocalWordPart.field.setSelected(false);
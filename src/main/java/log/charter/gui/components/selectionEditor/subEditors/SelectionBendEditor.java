@@ -14,6 +14,7 @@ import javax.swing.JScrollPane;
 
 import log.charter.data.ChartData;
 import log.charter.data.config.Config;
+import log.charter.data.managers.selection.Selection;
 import log.charter.data.managers.selection.SelectionAccessor;
 import log.charter.data.managers.selection.SelectionManager;
 import log.charter.data.types.PositionType;
@@ -40,10 +41,14 @@ public class SelectionBendEditor extends RowedPanel {
 	private ButtonGroup stringsGroup;
 	private List<JRadioButton> strings;
 
-	private ChordOrNote getCurrentlySelectedSound() {
+	private Selection<ChordOrNote> getCurrentSelection() {
 		final SelectionAccessor<ChordOrNote> selectionAccessor = selectionManager
 				.getSelectedAccessor(PositionType.GUITAR_NOTE);
-		return selectionAccessor.getSortedSelected().get(0).selectable;
+		return selectionAccessor.getSortedSelected().get(0);
+	}
+
+	private ChordOrNote getCurrentlySelectedSound() {
+		return getCurrentSelection().selectable;
 	}
 
 	public SelectionBendEditor(final RowedPanel parent, final ChartData data, final SelectionManager selectionManager,
@@ -189,7 +194,9 @@ public class SelectionBendEditor extends RowedPanel {
 	private void onChangeBends(final int string, final ArrayList2<BendValue> newBends) {
 		undoSystem.addUndo();
 
-		final ChordOrNote sound = getCurrentlySelectedSound();
+		final Selection<ChordOrNote> selection = getCurrentSelection();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selection.id);
+		final ChordOrNote sound = selection.selectable;
 		if (sound.isNote()) {
 			sound.note.bendValues = newBends;
 		} else {
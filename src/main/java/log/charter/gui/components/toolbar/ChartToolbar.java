@@ -1,5 +1,7 @@
 package log.charter.gui.components.toolbar;
 
+import static java.lang.Math.max;
+
 import java.awt.Button;
 import java.awt.Component;
 import java.awt.Dimension;
@@ -9,10 +11,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.ButtonGroup;
 import javax.swing.JCheckBox;
+import javax.swing.JProgressBar;
 import javax.swing.JRadioButton;
 import javax.swing.JSeparator;
 import javax.swing.JSlider;
 import javax.swing.JToolBar;
+import javax.swing.Timer;
 
 import log.charter.data.config.Config;
 import log.charter.data.config.GridType;
@@ -47,7 +51,10 @@ public class ChartToolbar extends JToolBar {
 	private FieldWithLabel<JRadioButton> beatGridType;
 	private FieldWithLabel<JRadioButton> noteGridType;
 
+	private JProgressBar stretchingProgress;
+
 	private int newSpeed = Config.stretchedMusicSpeed;
+	private final Timer speedChangeTimer = new Timer(1000, e -> applySpeed());
 
 	public ChartToolbar() {
 		super();
@@ -199,6 +206,7 @@ public class ChartToolbar extends JToolBar {
 		volumeSlider.addChangeListener(e -> {
 			Config.volume = volumeSlider.getValue() / 100.0;
 			Config.markChanged();
+			audioHandler.volumeChanged();
 		});
 		volumeSlider.setFocusable(false);
 		volumeSlider.setBackground(getBackground());
@@ -222,26 +230,51 @@ public class ChartToolbar extends JToolBar {
 				midiVolumeSlider, LabelPosition.LEFT_PACKED);
 		add(x, midiVolume);
 		x.addAndGet(5);
+
+		stretchingProgress = new JProgressBar(0, 100);
+		stretchingProgress.setSize(150, 20);
+		stretchingProgress.setStringPainted(true);
+		stretchingProgress.setVisible(false);
+		add(x, stretchingProgress);
+
+		new Timer(250, e -> updateStretchingProgress()).start();
+		speedChangeTimer.setRepeats(false);
+	}
+
+	private void updateStretchingProgress() {
+		final double progress = audioHandler.getStretchingProgress();
+		final int queued = audioHandler.getQueuedStretchesCount();
+		if (progress < 0 && queued == 0) {
+			stretchingProgress.setVisible(false);
+			return;
+		}
+
+		stretchingProgress.setValue((int) (max(0, progress) * 100));
+		stretchingProgress.setString(String.format(Label.TOOLBAR_STRETCHING.label(), queued));
+		stretchingProgress.setVisible(true);
 	}
 
+	private void applySpeed() {
+		Config.stretchedMusicSpeed = newSpeed;
+		Config.markChanged();
+
+		audioHandler.stretchedMusicSpeedChanged();
+	}
+
+	/**
+	 * Speed of playback stretched in real time is changed at once, other changes wait until typing stops, because they
+	 * start stretching of the whole song
+	 */
 	private void changeSpeed(final int newSpeed) {
 		this.newSpeed = newSpeed;
-		new Thread(() -> {
-			try {
-				Thread.sleep(1000);
-			} catch (final InterruptedException e) {
-			}
+		speedChangeTimer.stop();
 
-			if (this.newSpeed != newSpeed) {
-				return;
-			}
-
-			Config.stretchedMusicSpeed = newSpeed;
-			Config.markChanged();
+		if (audioHandler.isStretchingInRealTime(newSpeed)) {
+			applySpeed();
+			return;
+		}
 
-			audioHandler.clear();
-			audioHandler.addSpeedToStretch();
-		}).start();
+		speedChangeTimer.restart();
 	}
 
 	private void setComponentBounds(final Component c, final int x, final int y, final int w, final int h) {
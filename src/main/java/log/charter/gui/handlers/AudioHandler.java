@@ -1,6 +1,5 @@
 package log.charter.gui.handlers;
 
-import static java.lang.System.nanoTime;
 import static log.charter.data.config.Config.createDefaultStretchesInBackground;
 import static log.charter.data.config.Config.stretchedMusicSpeed;
 import static log.charter.song.notes.IPosition.findFirstAfter;
@@ -20,9 +19,10 @@ import log.charter.sound.IPlayer;
 import log.charter.sound.MusicData;
 import log.charter.sound.RepeatingPlayer;
 import log.charter.sound.RotatingRepeatingPlayer;
-import log.charter.sound.SoundPlayer;
-import log.charter.sound.SoundPlayer.Player;
+import log.charter.sound.StreamingPlayer;
 import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
 public class AudioHandler {
 	private static class TickPlayer {
@@ -37,7 +37,12 @@ public class AudioHandler {
 			this.positionsSupplier = positionsSupplier;
 		}
 
-		public void handleFrame(final int t) {
+		/**
+		 * @param musicTime music time
+		 * @param speed     playback speed, to turn the measured latency of the tick into music time
+		 */
+		public void handleFrame(final int musicTime, final int speed) {
+			final int t = musicTime + tickPlayer.getLatencyMs() * speed / 100;
 			if (nextTime != -1 && nextTime < t) {
 				tickPlayer.play();
 				nextTime = -1;
@@ -69,11 +74,14 @@ public class AudioHandler {
 	private TickPlayer beatTickPlayer;
 	private TickPlayer noteTickPlayer;
 	private final MidiChartNotePlayer midiChartNotePlayer = new MidiChartNotePlayer();
-	private Player songPlayer;
+	private final StreamingPlayer songPlayer = new StreamingPlayer();
+	private volatile boolean playing = false;
+
+	private static final int minRealTimeStretchSpeed = 25;
+	private static final int maxRealTimeStretchSpeed = 150;
 
 	private int speed = 100;
-	private int songTimeOnStart = 0;
-	private long playStartTime;
+	private int musicSpeed = 100;
 
 	private final boolean ignoreStops = false;
 	public boolean midiNotesPlaying = false;
@@ -109,13 +117,13 @@ public class AudioHandler {
 
 	public void toggleMidiNotes() {
 		if (midiNotesPlaying) {
-			if (songPlayer != null) {
+			if (playing) {
 				midiChartNotePlayer.stopPlaying();
 			}
 			midiNotesPlaying = false;
 		} else {
-			if (songPlayer != null) {
-				midiChartNotePlayer.startPlaying(speed);
+			if (playing) {
+				midiChartNotePlayer.startPlaying(speed, data.nextTime);
 			}
 			midiNotesPlaying = true;
 		}
@@ -147,22 +155,41 @@ public class AudioHandler {
 		stop();
 
 		this.speed = speed;
-		songPlayer = SoundPlayer.play(musicData.volume(Config.volume), data.time * 100 / speed);
-		songTimeOnStart = data.time;
-		playStartTime = nanoTime() / 1_000_000L;
+		musicSpeed = speed;
+		songPlayer.setVolume(Config.volume);
+		songPlayer.play(musicData, data.time * 100 / speed);
+		playing = true;
+
+		if (midiNotesPlaying) {
+			midiChartNotePlayer.startPlaying(speed, data.time);
+		}
+	}
+
+	private void playMusicStretched(final int speed) {
+		stop();
+
+		this.speed = speed;
+		musicSpeed = 100;
+		songPlayer.setVolume(Config.volume);
+		songPlayer.playStretched(data.music, data.time, speed);
+		playing = true;
 
 		if (midiNotesPlaying) {
-			midiChartNotePlayer.startPlaying(speed);
+			midiChartNotePlayer.startPlaying(speed, data.time);
 		}
 	}
 
+	private static boolean canStretchInRealTime(final int speed) {
+		return speed >= minRealTimeStretchSpeed && speed <= maxRealTimeStretchSpeed;
+	}
+
 	private void stop() {
-		if (songPlayer == null) {
+		if (!playing) {
 			return;
 		}
 
 		songPlayer.stop();
-		songPlayer = null;
+		playing = false;
 		beatTickPlayer.stop();
 		noteTickPlayer.stop();
 
@@ -189,16 +216,37 @@ public class AudioHandler {
 		stretchedAudioHandler.clear();
 		stretchedAudioHandler.setData(data.path, data.music);
 
-		if (createDefaultStretchesInBackground) {
+		if (createDefaultStretchesInBackground && !canStretchInRealTime(stretchedMusicSpeed)) {
 			stretchedAudioHandler.addSpeedToGenerate(stretchedMusicSpeed);
-			stretchedAudioHandler.addSpeedToGenerate(50);
-			stretchedAudioHandler.addSpeedToGenerate(25);
-			stretchedAudioHandler.addSpeedToGenerate(75);
 		}
 	}
 
 	public void addSpeedToStretch() {
-		stretchedAudioHandler.addSpeedToGenerate(stretchedMusicSpeed);
+		if (!canStretchInRealTime(stretchedMusicSpeed)) {
+			stretchedAudioHandler.addSpeedToGenerate(stretchedMusicSpeed);
+		}
+	}
+
+	/**
+	 * @return true if playback is stretched in real time and can continue with given speed
+	 */
+	public boolean isStretchingInRealTime(final int speed) {
+		return playing && songPlayer.isStretching() && canStretchInRealTime(speed);
+	}
+
+	/**
+	 * Applies changed slowed playback speed, playback stretched in real time continues with the new speed
+	 */
+	public void stretchedMusicSpeedChanged() {
+		if (isStretchingInRealTime(stretchedMusicSpeed)) {
+			speed = stretchedMusicSpeed;
+			songPlayer.setSpeed(speed);
+			midiChartNotePlayer.setSpeed(speed);
+			return;
+		}
+
+		clear();
+		addSpeedToStretch();
 	}
 
 	public void togglePlayNormalSpeed() {
@@ -206,7 +254,7 @@ public class AudioHandler {
 			return;
 		}
 
-		if (songPlayer != null) {
+		if (playing) {
 			stopMusic();
 			return;
 		}
@@ -219,12 +267,18 @@ public class AudioHandler {
 			return;
 		}
 
-		if (songPlayer != null) {
+		if (playing) {
 			stopMusic();
 			return;
 		}
 
-		if (currentlyLoadedSpecialSpeed == stretchedMusicSpeed && slowedDownSong != null) {
+		if (canStretchInRealTime(stretchedMusicSpeed)) {
+			playMusicStretched(stretchedMusicSpeed);
+			return;
+		}
+
+		if (currentlyLoadedSpecialSpeed == stretchedMusicSpeed && slowedDownSong != null
+				&& !slowedDownSong.isDecodingStopped()) {
 			playMusic(slowedDownSong, currentlyLoadedSpecialSpeed);
 			return;
 		}
@@ -239,20 +293,40 @@ public class AudioHandler {
 		}
 	}
 
+	public int getQueuedStretchesCount() {
+		return stretchedAudioHandler.getQueuedJobsCount();
+	}
+
+	/**
+	 * @return progress of stretches being rendered, -1 if none is rendered now
+	 */
+	public double getStretchingProgress() {
+		return stretchedAudioHandler.getRunningJobsProgress();
+	}
+
+	public boolean isPlaying() {
+		return playing;
+	}
+
+	public void volumeChanged() {
+		songPlayer.setVolume(Config.volume);
+	}
+
 	public void frame() {
-		if (songPlayer == null) {
+		if (!playing) {
 			return;
 		}
 		if (songPlayer.isStopped()) {
 			stopMusic();
 		}
 
-		final int timePassed = (int) ((nanoTime() / 1_000_000 - playStartTime) * speed / 100);
-		final int nextTime = songTimeOnStart + timePassed;
-		frame.setNextTime(nextTime);
+		final long start = Profiler.start();
+		final int musicTime = (int) (songPlayer.getPlayedMs() * musicSpeed / 100);
+		frame.setNextTime(musicTime - Config.soundDelay * speed / 100);
 
-		beatTickPlayer.handleFrame(nextTime);
-		noteTickPlayer.handleFrame(nextTime);
-		midiChartNotePlayer.frame();
+		beatTickPlayer.handleFrame(musicTime, speed);
+		noteTickPlayer.handleFrame(musicTime, speed);
+		midiChartNotePlayer.frame(musicTime);
+		Profiler.stop(Section.AUDIO_FRAME, start);
 	}
 }
@@ -67,7 +67,7 @@ import static log.charter.song.notes.IPosition.findFirstAfter;
 import static log.charter.song.notes.IPosition.findFirstIdAfter;
 import static log.charter.song.notes.IPosition.findLastBefore;
 import static log.charter.song.notes.IPosition.findLastIdBefore;
-import static log.charter.song.notes.IPosition.getFromTo;
+import static log.charter.song.notes.IPosition.getIdsFromTo;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
@@ -92,6 +92,7 @@ import log.charter.data.managers.selection.Selection;
 import log.charter.data.managers.selection.SelectionAccessor;
 import log.charter.data.managers.selection.SelectionManager;
 import log.charter.data.types.PositionType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.data.undoSystem.UndoSystem;
 import log.charter.gui.CharterFrame;
 import log.charter.gui.Framer;
@@ -312,6 +313,10 @@ public class KeyboardHandler implements KeyListener {
 		decreaseNumberTimer();
 	}
 
+	public boolean isMovingWithKeys() {
+		return left || right;
+	}
+
 	public boolean alt() {
 		return alt;
 	}
@@ -401,6 +406,7 @@ public class KeyboardHandler implements KeyListener {
 		}
 
 		undoSystem.addUndo();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selectedSounds.map(selection -> selection.id));
 
 		final Map<Integer, Integer> movedChordTemplates = new HashMap<>();
 		final ArrangementChart arrangement = data.getCurrentArrangement();
@@ -454,6 +460,7 @@ public class KeyboardHandler implements KeyListener {
 		}
 
 		undoSystem.addUndo();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selectedSounds.map(selection -> selection.id));
 
 		final int strings = data.currentStrings();
 		final Map<Integer, Integer> movedChordTemplates = new HashMap<>();
@@ -515,6 +522,7 @@ public class KeyboardHandler implements KeyListener {
 		}
 
 		undoSystem.addUndo();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selectedSounds.map(selection -> selection.id));
 
 		final Map<Integer, Integer> movedChordTemplates = new HashMap<>();
 		final ArrayList2<ChordTemplate> chordTemplates = arrangement.chordTemplates;
@@ -589,6 +597,7 @@ public class KeyboardHandler implements KeyListener {
 		}
 
 		undoSystem.addUndo();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selectedSounds.map(selection -> selection.id));
 
 		final Map<Integer, Integer> movedChordTemplates = new HashMap<>();
 		final ArrayList2<ChordTemplate> chordTemplates = arrangement.chordTemplates;
@@ -657,6 +666,7 @@ public class KeyboardHandler implements KeyListener {
 		final T baseValue = baseValueGetter.apply(selected.get(0).selectable);
 
 		undoSystem.addUndo();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selected.map(selection -> selection.id));
 		selected.forEach(selectedValue -> handler.accept(selectedValue.selectable, baseValue));
 
 		frame.selectionChanged(false);
@@ -822,9 +832,10 @@ public class KeyboardHandler implements KeyListener {
 		final ArrayList2<Selection<ChordOrNote>> selected = selectedAccessor.getSortedSelected();
 		final ChordOrNote sound = selected.get(0).selectable;
 		final boolean newValue = sound.isNote() ? !sound.note.linkNext : !sound.chord.linkNext();
-		final ArrayList2<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
+		final ChartList<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
 
 		undoSystem.addUndo();
+		sounds.changing(selected.map(selection -> selection.id));
 		selected.forEach(selectedValue -> {
 			if (selectedValue.selectable.isNote()) {
 				selectedValue.selectable.note.linkNext = newValue;
@@ -836,6 +847,7 @@ public class KeyboardHandler implements KeyListener {
 			if (nextId < sounds.size()) {
 				final ChordOrNote nextSound = sounds.get(nextId);
 				if (nextSound.isChord()) {
+					sounds.changing(nextId);
 					nextSound.chord.splitIntoNotes = true;
 				}
 			}
@@ -865,15 +877,15 @@ public class KeyboardHandler implements KeyListener {
 
 				final ArrayList2<Selection<IPosition>> selected = (ArrayList2<Selection<IPosition>>) (ArrayList2<?>) selectedTypeAccessor
 						.getSortedSelected();
-				final ArrayList2<IPosition> positions = type.getPositions(data);
-				for (int i = selected.size() - 1; i >= 0; i--) {
-					positions.remove(selected.get(i).id);
-				}
+				final ArrayList2<Integer> selectedIds = selected.map(selection -> selection.id);
+				selectedIds.sort(null);
+				type.getPositions(data).removeIds(selectedIds);
 
 				if (type == PositionType.BEAT) {
 					data.songChart.beatsMap.fixFirstBeatInMeasures();
 				}
 				if (type == PositionType.TONE_CHANGE) {
+					undoSystem.changingTones(data.getCurrentArrangement());
 					data.getCurrentArrangement().tones = data.getCurrentArrangement().toneChanges.stream()//
 							.map(toneChange -> toneChange.toneName)//
 							.collect(Collectors.toCollection(HashSet2::new));
@@ -932,30 +944,36 @@ public class KeyboardHandler implements KeyListener {
 		frame.setNextTime(newTime);
 	}
 
-	private void snapPositions(final Collection<? extends IPosition> positions) {
-		for (final IPosition position : positions) {
+	private void snapPositions(final ChartList<? extends IPosition> positions, final Collection<Integer> ids) {
+		for (final int id : ids) {
+			final IPosition position = positions.get(id);
 			final int newPosition = data.songChart.beatsMap.getPositionFromGridClosestTo(position.position());
-			position.position(newPosition);
+			if (newPosition != position.position()) {
+				positions.changing(id);
+				position.position(newPosition);
+			}
 		}
 	}
 
-	private void snapNotePositions(final Collection<ChordOrNote> positions) {
-		snapPositions(positions);
+	private void snapNotePositions(final Collection<Integer> ids) {
+		final ChartList<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
+		snapPositions(sounds, ids);
 
-		final ArrayList2<ChordOrNote> sounds = data.getCurrentArrangementLevel().chordsAndNotes;
+		final ArrayList2<Integer> duplicateIds = new ArrayList2<>();
 		for (int i = 1; i < sounds.size(); i++) {
-			while (i < sounds.size() && sounds.get(i).position() == sounds.get(i - 1).position()) {
-				sounds.remove(i);
+			if (sounds.get(i).position() == sounds.get(i - 1).position()) {
+				duplicateIds.add(i);
 			}
 		}
+		sounds.removeIds(duplicateIds);
 
 		arrangementFixer.fixNoteLengths(sounds);
 	}
 
-	private <T extends IPositionWithLength> void snapPositionsWithLength(final Collection<T> positions,
-			final ArrayList2<T> allPositions) {
-		snapPositions(positions);
-		arrangementFixer.fixLengths(allPositions);
+	private void snapPositionsWithLength(final ChartList<? extends IPositionWithLength> positions,
+			final Collection<Integer> ids) {
+		snapPositions(positions, ids);
+		arrangementFixer.fixLengths(positions);
 	}
 
 	private void reselectAfterSnapping(final PositionType type, final Collection<Selection<IPosition>> selected) {
@@ -977,23 +995,22 @@ public class KeyboardHandler implements KeyListener {
 		undoSystem.addUndo();
 
 		final HashSet2<Selection<IPosition>> selected = accessor.getSelectedSet();
+		final HashSet2<Integer> selectedIds = selected.map(selection -> selection.id);
 
 		switch (accessor.type) {
 		case EVENT_POINT:
 		case ANCHOR:
 		case TONE_CHANGE:
-			snapPositions(selected.map(selection -> selection.selectable));
+			snapPositions(accessor.type.getPositions(data), selectedIds);
 			break;
 		case GUITAR_NOTE:
-			snapNotePositions(selected.map(selection -> (ChordOrNote) selection.selectable));
+			snapNotePositions(selectedIds);
 			break;
 		case HAND_SHAPE:
-			snapPositionsWithLength(selected.map(selection -> (HandShape) selection.selectable),
-					data.getCurrentArrangementLevel().handShapes);
+			snapPositionsWithLength(data.getCurrentArrangementLevel().handShapes, selectedIds);
 			break;
 		case VOCAL:
-			snapPositionsWithLength(selected.map(selection -> (Vocal) selection.selectable),
-					data.songChart.vocals.vocals);
+			snapPositionsWithLength(data.songChart.vocals.vocals, selectedIds);
 			break;
 		default:
 			break;
@@ -1019,7 +1036,8 @@ public class KeyboardHandler implements KeyListener {
 		if (modeManager.editMode == EditMode.VOCALS) {
 			undoSystem.addUndo();
 
-			snapPositionsWithLength(getFromTo(data.songChart.vocals.vocals, from, to), data.songChart.vocals.vocals);
+			final ChartList<Vocal> vocals = data.songChart.vocals.vocals;
+			snapPositionsWithLength(vocals, getIdsFromTo(vocals, from, to));
 
 			reselectAfterSnapping(accessor.type, selected);
 			return;
@@ -1030,11 +1048,11 @@ public class KeyboardHandler implements KeyListener {
 
 			final ArrangementChart arrangement = data.getCurrentArrangement();
 			final Level level = data.getCurrentArrangementLevel();
-			snapPositions(getFromTo(arrangement.eventPoints, from, to));
-			snapPositions(getFromTo(arrangement.toneChanges, from, to));
-			snapPositions(getFromTo(level.anchors, from, to));
-			snapNotePositions(getFromTo(level.chordsAndNotes, from, to));
-			snapPositionsWithLength(getFromTo(level.handShapes, from, to), level.handShapes);
+			snapPositions(arrangement.eventPoints, getIdsFromTo(arrangement.eventPoints, from, to));
+			snapPositions(arrangement.toneChanges, getIdsFromTo(arrangement.toneChanges, from, to));
+			snapPositions(level.anchors, getIdsFromTo(level.anchors, from, to));
+			snapNotePositions(getIdsFromTo(level.chordsAndNotes, from, to));
+			snapPositionsWithLength(level.handShapes, getIdsFromTo(level.handShapes, from, to));
 
 			reselectAfterSnapping(accessor.type, selected);
 		}
@@ -1068,7 +1086,9 @@ public class KeyboardHandler implements KeyListener {
 
 		undoSystem.addUndo();
 
-		for (final Selection<Vocal> vocalSelection : selectedAccessor.getSelectedSet()) {
+		final HashSet2<Selection<Vocal>> selected = selectedAccessor.getSelectedSet();
+		data.songChart.vocals.vocals.changing(selected.map(selection -> selection.id));
+		for (final Selection<Vocal> vocalSelection : selected) {
 			vocalSelection.selectable.setPhraseEnd(false);
 			vocalSelection.selectable.setWordPart(!vocalSelection.selectable.isWordPart());
 		}
@@ -1088,7 +1108,9 @@ public class KeyboardHandler implements KeyListener {
 
 		undoSystem.addUndo();
 
-		for (final Selection<Vocal> selectedVocal : selectedAccessor.getSelectedSet()) {
+		final HashSet2<Selection<Vocal>> selected = selectedAccessor.getSelectedSet();
+		data.songChart.vocals.vocals.changing(selected.map(selection -> selection.id));
+		for (final Selection<Vocal> selectedVocal : selected) {
 			selectedVocal.selectable.setWordPart(false);
 			selectedVocal.selectable.setPhraseEnd(!selectedVocal.selectable.isPhraseEnd());
 		}
@@ -1124,8 +1146,8 @@ public class KeyboardHandler implements KeyListener {
 
 		final int firstIdAfter = findFirstIdAfter(handShapes, endPosition);
 		final int deleteToId = firstIdAfter == -1 ? handShapes.size() - 1 : firstIdAfter - 1;
-		for (int i = deleteToId; i >= deleteFromId; i--) {
-			handShapes.remove(i);
+		if (deleteToId >= deleteFromId) {
+			handShapes.subList(deleteFromId, deleteToId + 1).clear();
 		}
 
 		ChordTemplate chordTemplate = new ChordTemplate();
@@ -1137,8 +1159,7 @@ public class KeyboardHandler implements KeyListener {
 		final HandShape handShape = new HandShape(position, endPosition - position);
 		handShape.templateId = data.getCurrentArrangement().getChordTemplateIdWithSave(chordTemplate);
 
-		handShapes.add(handShape);
-		handShapes.sort(null);
+		handShapes.add(deleteFromId, handShape);
 		new HandShapePane(data, frame, handShape, () -> {
 			undoSystem.undo();
 			undoSystem.removeRedo();
@@ -1199,6 +1220,7 @@ public class KeyboardHandler implements KeyListener {
 		undoSystem.addUndo();
 
 		final ArrayList2<Selection<ChordOrNote>> selected = selectionAccessor.getSortedSelected();
+		data.getCurrentArrangementLevel().chordsAndNotes.changing(selected.map(selection -> selection.id));
 		for (final Selection<ChordOrNote> selection : selected) {
 			if (selection.selectable.isChord()) {
 				final Chord chord = selection.selectable.chord;
@@ -1271,6 +1293,7 @@ public class KeyboardHandler implements KeyListener {
 		} else {
 			data.songChart.bookmarks.remove(number);
 		}
+		data.changedTimeRanges.everythingChanged();
 	}
 
 	private void moveToBookmark(final int number) {
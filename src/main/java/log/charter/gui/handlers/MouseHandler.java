@@ -22,6 +22,7 @@ import log.charter.data.managers.modes.EditMode;
 import log.charter.data.managers.selection.Selection;
 import log.charter.data.managers.selection.SelectionManager;
 import log.charter.data.types.PositionType;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.data.undoSystem.UndoSystem;
 import log.charter.gui.CharterFrame;
 import log.charter.gui.handlers.MouseButtonPressReleaseHandler.MouseButtonPressReleaseData;
@@ -191,12 +192,16 @@ public class MouseHandler implements MouseListener, MouseMotionListener, MouseWh
 		cancelAllActions();
 	}
 
+	/**
+	 * Adds positions between left and right position to the lists and records them before they are moved
+	 */
 	private void splitToLeftRight(final int leftPosition, final int middlePosition, final int rightPosition,
-			final List<IPosition> left, final List<IPosition> right, final List<? extends IPosition> positions) {
+			final List<IPosition> left, final List<IPosition> right, final ChartList<? extends IPosition> positions) {
 		int id = 0;
 		while (id < positions.size() && positions.get(id).position() < leftPosition) {
 			id++;
 		}
+		final int fromId = id;
 
 		while (id < positions.size() && positions.get(id).position() < middlePosition) {
 			left.add(positions.get(id));
@@ -206,6 +211,8 @@ public class MouseHandler implements MouseListener, MouseMotionListener, MouseWh
 			right.add(positions.get(id));
 			id++;
 		}
+
+		positions.changing(fromId, id);
 	}
 
 	private void getAllLeftRightPositions(final int leftPosition, final int middlePosition, final int rightPosition,
@@ -262,13 +269,14 @@ public class MouseHandler implements MouseListener, MouseMotionListener, MouseWh
 			return;
 		}
 
-		clickData.pressHighlight.beat.anchor = true;
-
-		final ArrayList2<Beat> beats = data.songChart.beatsMap.beats;
+		final ChartList<Beat> beats = data.songChart.beatsMap.beats;
 
 		final int leftId = data.songChart.beatsMap.findPreviousAnchoredBeat(clickData.pressHighlight.id);
 		final int middleId = clickData.pressHighlight.id;
 		final Integer rightId = data.songChart.beatsMap.findNextAnchoredBeat(clickData.pressHighlight.id);
+		beats.changing(leftId, rightId == null ? beats.size() : rightId + 1);
+
+		clickData.pressHighlight.beat.anchor = true;
 
 		final int leftPosition = beats.get(leftId).position();
 		final int minNewPosition = leftPosition + (middleId - leftId) * 10;
@@ -329,69 +337,64 @@ public class MouseHandler implements MouseListener, MouseMotionListener, MouseWh
 		selectionManager.addSelectionForPositions(type, movedPositions);
 	}
 
+	/**
+	 * Takes selected positions out of the list, moves them and merges them back, list stays sorted because moving
+	 * doesn't change order of the moved positions.
+	 */
+	private <T extends IPosition> ArrayList2<T> moveSelectedPositions(final MouseButtonPressReleaseData clickData,
+			final ArrayList2<Selection<IPosition>> selectedPositions, final ChartList<T> allPositions) {
+		final ArrayList2<Integer> selectedIds = selectedPositions.map(selection -> selection.id);
+		selectedIds.sort(null);
+		final ArrayList2<T> positions = selectedIds.map(allPositions::get);
+
+		undoSystem.addUndo();
+
+		allPositions.removeIds(selectedIds);
+		data.songChart.beatsMap.movePositions(clickData.pressHighlight.position(),
+				clickData.releaseHighlight.position(), positions);
+		allPositions.addSorted(positions, IPosition::compareTo);
+
+		return positions;
+	}
+
 	private void dragPositions(final PositionType type, final MouseButtonPressReleaseData clickData,
-			final List<? extends IPosition> allPositions) {
+			final ChartList<? extends IPosition> allPositions) {
 		final ArrayList2<Selection<IPosition>> selectedPositions = selectionManager
 				.getSelectedAccessor(clickData.pressHighlight.type).getSortedSelected();
-
-		final int dragStartPosition = clickData.pressHighlight.position();
-		final int dragEndPosition = clickData.releaseHighlight.position();
-
 		if (selectedPositions.isEmpty()) {
 			return;
 		}
 
-		final ArrayList2<IPosition> positions = selectedPositions.map(p -> p.selectable);
-		undoSystem.addUndo();
-
-		data.songChart.beatsMap.movePositions(dragStartPosition, dragEndPosition, positions);
-
-		allPositions.sort(null);
+		final ArrayList2<? extends IPosition> positions = moveSelectedPositions(clickData, selectedPositions,
+				allPositions);
 
 		reselectDraggedPositions(type, positions);
 	}
 
 	private void dragPositionsWithLength(final PositionType type, final MouseButtonPressReleaseData clickData,
-			final ArrayList2<? extends IPositionWithLength> allPositions) {
+			final ChartList<? extends IPositionWithLength> allPositions) {
 		final ArrayList2<Selection<IPosition>> selectedPositions = selectionManager
 				.getSelectedAccessor(clickData.pressHighlight.type).getSortedSelected();
-
-		final int dragStartPosition = clickData.pressHighlight.position();
-		final int dragEndPosition = clickData.releaseHighlight.position();
-
 		if (selectedPositions.isEmpty()) {
 			return;
 		}
 
-		final ArrayList2<IPosition> positions = selectedPositions.map(p -> p.selectable);
-		undoSystem.addUndo();
-
-		data.songChart.beatsMap.movePositions(dragStartPosition, dragEndPosition, positions);
-
-		allPositions.sort(null);
+		final ArrayList2<? extends IPosition> positions = moveSelectedPositions(clickData, selectedPositions,
+				allPositions);
 
 		arrangementFixer.fixLengths(allPositions);
 
 		reselectDraggedPositions(type, positions);
 	}
 
-	private void dragNotes(final MouseButtonPressReleaseData clickData, final ArrayList2<ChordOrNote> allPositions) {
+	private void dragNotes(final MouseButtonPressReleaseData clickData, final ChartList<ChordOrNote> allPositions) {
 		final ArrayList2<Selection<IPosition>> selectedPositions = selectionManager
 				.getSelectedAccessor(clickData.pressHighlight.type).getSortedSelected();
-
-		final int dragStartPosition = clickData.pressHighlight.position();
-		final int dragEndPosition = clickData.releaseHighlight.position();
-
 		if (selectedPositions.isEmpty()) {
 			return;
 		}
 
-		final ArrayList2<ChordOrNote> positions = selectedPositions.map(p -> (ChordOrNote) p.selectable);
-		undoSystem.addUndo();
-
-		data.songChart.beatsMap.movePositions(dragStartPosition, dragEndPosition, positions);
-
-		allPositions.sort(null);
+		final ArrayList2<ChordOrNote> positions = moveSelectedPositions(clickData, selectedPositions, allPositions);
 
 		arrangementFixer.fixNoteLengths(allPositions);
 
@@ -8,17 +8,25 @@ import static log.charter.io.rsc.xml.RocksmithChartProjectXStreamHandler.savePro
 import static log.charter.util.FileChooseUtils.chooseFile;
 
 import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 
 import helliker.id3.MP3File;
@@ -33,20 +41,32 @@ import log.charter.data.undoSystem.UndoSystem;
 import log.charter.gui.CharterFrame;
 import log.charter.gui.components.SongFolderSelectPane;
 import log.charter.gui.menuHandlers.CharterMenuBar;
+import log.charter.io.BackgroundSaver;
+import log.charter.io.BackgroundSaver.SavedFile;
 import log.charter.io.Logger;
 import log.charter.io.rs.xml.song.SongArrangement;
 import log.charter.io.rs.xml.song.SongArrangementXStreamHandler;
 import log.charter.io.rs.xml.vocals.ArrangementVocals;
 import log.charter.io.rs.xml.vocals.VocalsXStreamHandler;
+import log.charter.io.rsc.binary.RocksmithChartBinary;
+import log.charter.io.rsc.binary.RocksmithChartBinary.UnsupportedVersionException;
 import log.charter.io.rsc.xml.RocksmithChartProject;
 import log.charter.song.ArrangementChart;
 import log.charter.song.SongChart;
+import log.charter.song.SongChartSnapshot;
 import log.charter.song.vocals.Vocals;
+import log.charter.sound.DecodedAudioCache;
 import log.charter.sound.MusicData;
+import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.CollectionUtils.HashSet2;
 import log.charter.util.FileChooseUtils;
 import log.charter.util.RW;
 
 public class SongFileHandler {
+	/**
+	 * Progress can be reported from loader threads, so every change is done on the event dispatch thread, which also
+	 * keeps the count of finished steps.
+	 */
 	private static class LoadingDialog extends JDialog {
 		private static final long serialVersionUID = 1L;
 
@@ -72,12 +92,38 @@ public class SongFileHandler {
 			setVisible(true);
 		}
 
+		public void setSteps(final int steps) {
+			SwingUtilities.invokeLater(() -> progressBar.setMaximum(steps));
+		}
+
 		public void setProgress(final int progress, final String description) {
-			progressBar.setValue(progress);
-			text.setText(description);
+			SwingUtilities.invokeLater(() -> {
+				progressBar.setValue(progress);
+				text.setText(description);
+			});
+		}
+
+		public void finishStep(final String description) {
+			SwingUtilities.invokeLater(() -> {
+				progressBar.setValue(progressBar.getValue() + 1);
+				text.setText(description);
+			});
+		}
+
+		public void setDescription(final String description) {
+			SwingUtilities.invokeLater(() -> text.setText(description));
 		}
 	}
 
+	private static final int playableMsBeforeOpening = 10_000;
+
+	private static final ExecutorService loaders = Executors
+			.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				final Thread thread = new Thread(runnable, "Project loader");
+				thread.setDaemon(true);
+				return thread;
+			});
+
 	private static Map<String, String> extractNewSongData(final String path) {
 		final Map<String, String> data = new HashMap<>();
 		try {
@@ -152,6 +198,8 @@ public class SongFileHandler {
 	private ModeManager modeManager;
 	private UndoSystem undoSystem;
 
+	private final BackgroundSaver backgroundSaver = new BackgroundSaver();
+
 	public void init(final ArrangementFixer arrangementFixer, final ArrangementValidator arrangementValidator,
 			final AudioHandler audioHandler, final ChartData data, final CharterFrame frame,
 			final CharterMenuBar charterMenuBar, final ModeManager modeManager, final UndoSystem undoSystem) {
@@ -238,7 +286,7 @@ public class SongFileHandler {
 		final File musicFile = new File(songFolder, musicFileName);
 		RW.writeB(musicFile, RW.readB(songFile));
 
-		final MusicData musicData = MusicData.readFile(musicFile);
+		final MusicData musicData = DecodedAudioCache.readFile(musicFile);
 		if (musicData == null) {
 			frame.showPopup(Label.MUSIC_DATA_NOT_FOUND.label());
 			return;
@@ -297,6 +345,51 @@ public class SongFileHandler {
 		return songFolder;
 	}
 
+	private static <T> T getResult(final Future<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+		}
+	}
+
+	private void openBinaryInternal(final LoadingDialog loadingDialog, final File projectFile, final String dir) {
+		final RocksmithChartBinary binaryProject;
+		try {
+			binaryProject = RocksmithChartBinary.read(Files.readAllBytes(projectFile.toPath()));
+		} catch (final UnsupportedVersionException e) {
+			frame.showPopup(Label.PROJECT_IS_NEWER_VERSION.label());
+			return;
+		} catch (final Exception e) {
+			Logger.error("Couldn't load project " + projectFile.getAbsolutePath(), e);
+			frame.showPopup(Label.COULDNT_LOAD_PROJECT.label() + ":\n" + e.getMessage());
+			return;
+		}
+
+		final RocksmithChartProject project = binaryProject.project;
+		loadingDialog.setProgress(1, Label.LOADING_MUSIC_FILE.label());
+		final MusicData musicData = DecodedAudioCache.readFile(new File(dir, project.musicFileName),
+				progress -> loadingDialog
+						.setDescription(Label.LOADING_MUSIC_FILE.label() + " " + (int) (progress * 100) + "%"));
+		if (musicData == null) {
+			frame.showPopup(Label.WRONG_MUSIC_FILE.label());
+			return;
+		}
+
+		final SongChart songChart = new SongChart(musicData.msLength(), project, binaryProject.arrangements,
+				binaryProject.vocals);
+
+		makeBackups(dir, List.of(projectFile.getName()));
+
+		musicData.waitForFrames((int) (playableMsBeforeOpening * musicData.outFormat.getFrameRate() / 1000));
+
+		data.setSong(dir, songChart, musicData, projectFile.getName(), project.editMode, project.arrangement,
+				project.level, project.time);
+		undoSystem.onLoad();
+
+		loadingDialog.setProgress(3, Label.LOADING_DONE.label());
+	}
+
 	private void openInternal(final LoadingDialog loadingDialog, final String path) {
 		loadingDialog.setProgress(0, Label.LOADING_PROJECT_FILE.label());
 
@@ -304,6 +397,10 @@ public class SongFileHandler {
 		final String dir = projectFileChosen.getParent() + File.separator;
 		final String name = projectFileChosen.getName().toLowerCase();
 
+		if (RocksmithChartBinary.isBinaryProject(name)) {
+			openBinaryInternal(loadingDialog, projectFileChosen, dir);
+			return;
+		}
 		if (!name.endsWith(".rscp")) {
 			frame.showPopup(Label.UNSUPPORTED_FILE_TYPE.label());
 			error("unsupported file: " + projectFileChosen.getName());
@@ -320,21 +417,59 @@ public class SongFileHandler {
 			frame.showPopup(String.format(Label.MISSING_ARRANGEMENT_FILE.label(), projectFileChosen.getAbsolutePath()));
 			return;
 		}
-		loadingDialog.setProgress(1, Label.LOADING_MUSIC_FILE.label());
 
-		final MusicData musicData = MusicData.readFile(new File(dir, project.musicFileName));
-		if (musicData == null) {
-			frame.showPopup(Label.WRONG_MUSIC_FILE.label());
-			return;
+		final int arrangementsCount = project.arrangementFiles.size();
+		loadingDialog.setSteps(arrangementsCount + 3);
+		loadingDialog.setProgress(1, Label.LOADING_ARRANGEMENTS.label());
+
+		final Future<MusicData> musicDataFuture = loaders.submit(() -> {
+			final MusicData musicData = DecodedAudioCache.readFile(new File(dir, project.musicFileName), progress -> {
+				if (loadingDialog.isDisplayable()) {
+					loadingDialog
+							.setDescription(Label.LOADING_MUSIC_FILE.label() + " " + (int) (progress * 100) + "%");
+				}
+			});
+			loadingDialog.finishStep(Label.LOADING_ARRANGEMENTS.label());
+			return musicData;
+		});
+		final ArrayList2<Future<SongArrangement>> songArrangementFutures = project.arrangementFiles
+				.map(fileName -> loaders.submit(() -> SongArrangementXStreamHandler.readSong(new File(dir, fileName))));
+		final Future<ArrangementVocals> vocalsFuture = loaders
+				.submit(() -> VocalsXStreamHandler.readVocals(RW.read(dir + "Vocals_RS2.xml")));
+
+		final ArrayList2<ArrangementChart> arrangements = new ArrayList2<>(arrangementsCount);
+		for (int i = 0; i < arrangementsCount; i++) {
+			final String fileName = project.arrangementFiles.get(i);
+			try {
+				arrangements.add(new ArrangementChart(getResult(songArrangementFutures.get(i)), project.beats));
+			} catch (final Exception e) {
+				Logger.error("Couldn't load arrangement file " + fileName, e);
+				musicDataFuture.cancel(true);
+				songArrangementFutures.forEach(future -> future.cancel(true));
+				vocalsFuture.cancel(true);
+				frame.showPopup(String.format(Label.MISSING_ARRANGEMENT_FILE.label(), fileName));
+				return;
+			}
+
+			loadingDialog.finishStep(Label.LOADING_ARRANGEMENTS.label() + " " + (i + 1) + "/" + arrangementsCount);
 		}
 
-		final SongChart songChart;
+		final MusicData musicData;
+		final Vocals vocals;
 		try {
-			songChart = new SongChart(musicData.msLength(), project, dir);
+			vocals = new Vocals(getResult(vocalsFuture));
+			musicData = getResult(musicDataFuture);
 		} catch (final Exception e) {
+			Logger.error("Couldn't load project " + path, e);
 			frame.showPopup(e.getMessage());
 			return;
 		}
+		if (musicData == null) {
+			frame.showPopup(Label.WRONG_MUSIC_FILE.label());
+			return;
+		}
+
+		final SongChart songChart = new SongChart(musicData.msLength(), project, arrangements, vocals);
 
 		final List<String> filesToBackup = new ArrayList<>();
 		filesToBackup.add(projectFileChosen.getName());
@@ -342,11 +477,13 @@ public class SongFileHandler {
 		filesToBackup.add("Vocals_RS2.xml");
 		makeBackups(dir, filesToBackup);
 
-		loadingDialog.setProgress(2, Label.LOADING_ARRANGEMENTS.label());
+		musicData.waitForFrames((int) (playableMsBeforeOpening * musicData.outFormat.getFrameRate() / 1000));
+
 		data.setSong(dir, songChart, musicData, projectFileChosen.getName(), project.editMode, project.arrangement,
 				project.level, project.time);
+		undoSystem.onLoad();
 
-		loadingDialog.setProgress(3, Label.LOADING_DONE.label());
+		loadingDialog.setProgress(arrangementsCount + 3, Label.LOADING_DONE.label());
 	}
 
 	public void open(final String path) {
@@ -363,8 +500,8 @@ public class SongFileHandler {
 			startingDir = Config.songsPath;
 		}
 
-		final File projectFileChosen = chooseFile(frame, startingDir, new String[] { ".rscp" },
-				new String[] { Label.ROCKSMITH_CHART_PROJECT.label() });
+		final File projectFileChosen = chooseFile(frame, startingDir,
+				new String[] { ".rscp", RocksmithChartBinary.extension }, Label.ROCKSMITH_CHART_PROJECT.label());
 		if (projectFileChosen == null) {
 			return;
 		}
@@ -418,7 +555,15 @@ public class SongFileHandler {
 
 		loadingDialog = new LoadingDialog(frame, 1);
 		loadingDialog.setProgress(0, Label.LOADING_ARRANGEMENTS.label());
-		final SongArrangement songArrangement = SongArrangementXStreamHandler.readSong(RW.read(arrangementFile));
+		final SongArrangement songArrangement;
+		try {
+			songArrangement = SongArrangementXStreamHandler.readSong(arrangementFile);
+		} catch (final Exception e) {
+			loadingDialog.dispose();
+			Logger.error("Couldn't load arrangement", e);
+			frame.showPopup(Label.COULDNT_LOAD_ARRANGEMENT.label() + ":\n" + e.getMessage());
+			return;
+		}
 		final SongChart songChart = new SongChart(musicData.msLength(), songName, songArrangement);
 
 		data.setSong(dir, songChart, musicData, "project.rscp", EditMode.GUITAR, 0, 0, 0);
@@ -436,7 +581,7 @@ public class SongFileHandler {
 		}
 
 		try {
-			final SongArrangement songArrangement = SongArrangementXStreamHandler.readSong(RW.read(arrangementFile));
+			final SongArrangement songArrangement = SongArrangementXStreamHandler.readSong(arrangementFile);
 			final ArrangementChart arrangementChart = new ArrangementChart(songArrangement,
 					data.songChart.beatsMap.beats);
 			data.songChart.arrangements.add(arrangementChart);
@@ -461,7 +606,10 @@ public class SongFileHandler {
 
 		try {
 			final ArrangementVocals vocals = VocalsXStreamHandler.readVocals(RW.read(arrangementFile));
-			data.songChart.vocals = new Vocals(vocals);
+			final Vocals importedVocals = new Vocals(vocals);
+			undoSystem.addUndo();
+			data.songChart.vocals.vocals.clear();
+			data.songChart.vocals.vocals.addAll(importedVocals.vocals);
 			save();
 		} catch (final Exception e) {
 			Logger.error("Couldn't load arrangement", e);
@@ -479,26 +627,122 @@ public class SongFileHandler {
 			return;
 		}
 
-		final RocksmithChartProject project = new RocksmithChartProject(modeManager, data, data.songChart);
+		final RocksmithChartProject project = new RocksmithChartProject(modeManager, data);
+		final SongChartSnapshot snapshot = new SongChartSnapshot(data.songChart);
+		final ArrayList2<SavedFile> files = RocksmithChartBinary.isBinaryProject(data.projectFileName)
+				? prepareBinaryProjectFiles(project, snapshot)
+				: prepareXMLProjectFiles(project, snapshot);
+
+		backgroundSaver.save(files, this::onSaveFailed);
+		undoSystem.onSave();
+
+		Config.markChanged();
+	}
+
+	/**
+	 * Contents of the files are made from the chart snapshot by the saver, so the chart can be edited meanwhile
+	 */
+	private ArrayList2<SavedFile> prepareBinaryProjectFiles(final RocksmithChartProject project,
+			final SongChartSnapshot snapshot) {
+		final ArrayList2<SavedFile> files = new ArrayList2<>();
+		files.add(new SavedFile(new File(data.path, data.projectFileName), output -> {
+			final SongChart songChart = snapshot.getSongChart();
+			project.setSongChart(songChart);
+			output.write(RocksmithChartBinary.write(project, songChart.arrangements, songChart.vocals));
+		}));
+		return files;
+	}
+
+	/**
+	 * Arrangement and vocals files are written only if they changed since the last save or are missing, project file
+	 * is always written, as it keeps the editor position. Contents of the files are made from the chart snapshot by the
+	 * saver, so the chart can be edited meanwhile.
+	 */
+	private ArrayList2<SavedFile> prepareXMLProjectFiles(final RocksmithChartProject project,
+			final SongChartSnapshot snapshot) {
+		final ArrayList2<SavedFile> files = new ArrayList2<>();
+		final HashSet2<Integer> changedArrangements = undoSystem.getChangedArrangements();
 
 		int id = 1;
 		for (final ArrangementChart arrangementChart : data.songChart.arrangements) {
 			final String arrangementFileName = arrangementChart.getFileName(id);
 			project.arrangementFiles.add(arrangementFileName);
-			final SongArrangement songArrangement = new SongArrangement(data.songChart, arrangementChart);
-			RW.write(new File(data.path, arrangementFileName), SongArrangementXStreamHandler.saveSong(songArrangement));
+			final File arrangementFile = new File(data.path, arrangementFileName);
+			if (changedArrangements.contains(id - 1) || !arrangementFile.exists()) {
+				final int arrangementId = id - 1;
+				files.add(new SavedFile(arrangementFile, Charset.defaultCharset(), writer -> {
+					final SongChart songChart = snapshot.getSongChart();
+					final SongArrangement songArrangement = new SongArrangement(songChart,
+							songChart.arrangements.get(arrangementId));
+					SongArrangementXStreamHandler.saveSong(songArrangement, writer);
+				}));
+			}
 			id++;
 		}
 
-		if (!data.songChart.vocals.vocals.isEmpty()) {
-			RW.write(new File(data.path, "Vocals_RS2.xml"), saveVocals(new ArrangementVocals(data.songChart.vocals)),
-					"UTF-8");
+		final File vocalsFile = new File(data.path, "Vocals_RS2.xml");
+		if (!data.songChart.vocals.vocals.isEmpty() && (undoSystem.areVocalsChanged() || !vocalsFile.exists())) {
+			files.add(new SavedFile(vocalsFile, StandardCharsets.UTF_8,
+					writer -> saveVocals(new ArrangementVocals(snapshot.getSongChart().vocals), writer)));
 		}
 
-		RW.write(new File(data.path, data.projectFileName), saveProject(project));
-		undoSystem.onSave();
+		files.add(new SavedFile(new File(data.path, data.projectFileName), Charset.defaultCharset(), writer -> {
+			project.setSongChart(snapshot.getSongChart());
+			saveProject(project, writer);
+		}));
 
-		Config.markChanged();
+		return files;
+	}
+
+	private void changeProjectFormat(final String extension) {
+		if (data.isEmpty) {
+			return;
+		}
+
+		final String fileName = data.projectFileName;
+		final int dotIndex = fileName.lastIndexOf('.');
+		data.projectFileName = (dotIndex < 0 ? fileName : fileName.substring(0, dotIndex)) + extension;
+		Config.lastPath = new File(data.path, data.projectFileName).getAbsolutePath();
+
+		save();
+	}
+
+	/**
+	 * Project is saved as one binary file from now on, XML files already saved are left as they are
+	 */
+	public void convertToBinaryProject() {
+		changeProjectFormat(RocksmithChartBinary.extension);
+	}
+
+	/**
+	 * Project is saved as project XML with Rocksmith arrangement XMLs from now on
+	 */
+	public void convertToXMLProject() {
+		changeProjectFormat(".rscp");
+	}
+
+	/**
+	 * Later saves write only files changed after them, so any failed save makes the chart not saved
+	 */
+	private void onSaveFailed() {
+		undoSystem.onSaveFailed();
+		frame.showPopup(Label.SAVE_FAILED.label());
+	}
+
+	/**
+	 * @return text describing progress of the save, null if nothing is being saved
+	 */
+	public String getSaveProgress() {
+		if (!backgroundSaver.isSaving()) {
+			return null;
+		}
+
+		final int[] progress = backgroundSaver.getProgress();
+		return String.format(Label.SAVING.label(), progress[0], progress[1]);
+	}
+
+	public void waitForSaves() {
+		backgroundSaver.waitForSaves();
 	}
 
 	public void saveAs() {
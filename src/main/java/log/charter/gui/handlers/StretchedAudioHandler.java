@@ -1,104 +1,173 @@
 package log.charter.gui.handlers;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import log.charter.sound.MusicData;
 import log.charter.sound.StretchedFileLoader;
 
 public class StretchedAudioHandler {
-	private String dir;
-	private MusicData musicData;
+	private static final int maxParallelJobs = 2;
 
-	private List<Integer> speedsToGenerate = new ArrayList<>();
-	private Map<Integer, Boolean> readySpeeds = new HashMap<>();
+	private static class StretchRender implements Callable<MusicData> {
+		private final StretchedFileLoader loader;
+		private volatile MusicData result;
 
-	public void clear() {
-		StretchedFileLoader.stopAllProcesses();
+		public StretchRender(final StretchedFileLoader loader) {
+			this.loader = loader;
+		}
 
-		speedsToGenerate = new ArrayList<>();
-		readySpeeds = new HashMap<>();
-	}
+		@Override
+		public MusicData call() throws Exception {
+			result = loader.generate();
+			if (result != null) {
+				result.waitUntilDecoded();
+			}
 
-	public void init() {
-		clear();
+			return result;
+		}
 
-		new Thread(this::run).start();
+		public boolean isFailed() {
+			return result != null && result.isFailed();
+		}
 	}
 
-	public void setData(final String dir, final MusicData musicData) {
-		this.dir = dir;
-		this.musicData = musicData;
-	}
+	private static class StretchJob extends FutureTask<MusicData> implements Comparable<StretchJob> {
+		private static final AtomicLong sequenceGenerator = new AtomicLong();
 
-	public MusicData get(final int speed) {
-		final MusicData result = new StretchedFileLoader(musicData, dir, speed).quickLoad();
-		if (result != null) {
-			readySpeeds.put(speed, true);
-			synchronized (speedsToGenerate) {
-				speedsToGenerate.removeIf(s -> (int) s == speed);
-			}
+		public final int speed;
+		public final boolean priority;
+		private final long sequence = sequenceGenerator.getAndIncrement();
+		private final StretchRender render;
 
-			return result;
+		public StretchJob(final StretchRender render, final int speed, final boolean priority) {
+			super(render);
+			this.render = render;
+			this.speed = speed;
+			this.priority = priority;
 		}
 
-		synchronized (speedsToGenerate) {
-			speedsToGenerate.add(speed);
+		public MusicData getStartedResult() {
+			return render.result;
 		}
 
-		return null;
-	}
+		public boolean isRunning() {
+			return render.result != null && !isDone();
+		}
 
-	public void addSpeedToGenerate(final int speed) {
-		if (readySpeeds.getOrDefault(speed, false)) {
-			return;
+		@Override
+		public boolean cancel(final boolean mayInterruptIfRunning) {
+			render.loader.cancel();
+			return super.cancel(mayInterruptIfRunning);
 		}
 
-		synchronized (speedsToGenerate) {
-			speedsToGenerate.add(speed);
+		@Override
+		public int compareTo(final StretchJob other) {
+			if (priority != other.priority) {
+				return priority ? -1 : 1;
+			}
+
+			return Long.compare(sequence, other.sequence);
 		}
 	}
 
-	public void addPrioritySpeedToGenerate(final int speed) {
-		if (readySpeeds.getOrDefault(speed, false)) {
-			return;
-		}
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxParallelJobs, maxParallelJobs, 0,
+			TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), runnable -> {
+				final Thread thread = new Thread(runnable, "Stretch job");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	private String dir;
+	private MusicData musicData;
 
-		synchronized (speedsToGenerate) {
-			speedsToGenerate.add(0, speed);
+	private final Map<Integer, StretchJob> jobs = new HashMap<>();
+
+	public synchronized void clear() {
+		for (final StretchJob job : jobs.values()) {
+			job.cancel(true);
 		}
+		jobs.clear();
+		executor.purge();
+
+		StretchedFileLoader.stopAllProcesses();
+	}
+
+	public void init() {
+		clear();
 	}
 
-	private void generate(final int speed) {
-		if (readySpeeds.getOrDefault(speed, false)) {
-			synchronized (speedsToGenerate) {
-				speedsToGenerate.removeIf(s -> (int) s == speed);
+	public synchronized void setData(final String dir, final MusicData musicData) {
+		this.dir = dir;
+		this.musicData = musicData;
+	}
+
+	private synchronized StretchJob schedule(final int speed, final boolean priority) {
+		StretchJob job = jobs.get(speed);
+		final boolean failed = job != null && job.isDone()
+				&& (job.getStartedResult() == null || job.render.isFailed());
+		if (job != null && !job.isCancelled() && !failed) {
+			if (!priority || job.priority || !executor.remove(job)) {
+				return job;
 			}
 
-			return;
+			job.cancel(false);
 		}
 
-		final StretchedFileLoader fileLoader = new StretchedFileLoader(musicData, dir, speed);
-		if (fileLoader.quickLoad() != null || fileLoader.generate()) {
-			readySpeeds.put(speed, true);
-			synchronized (speedsToGenerate) {
-				speedsToGenerate.removeIf(s -> (int) s == speed);
-			}
+		job = new StretchJob(new StretchRender(new StretchedFileLoader(musicData, dir, speed)), speed, priority);
+		jobs.put(speed, job);
+		executor.execute(job);
+
+		return job;
+	}
+
+	/**
+	 * @return stretched music that can already be played while rendering, null if it didn't start yet
+	 */
+	public MusicData get(final int speed) {
+		return schedule(speed, true).getStartedResult();
+	}
+
+	public Future<MusicData> addSpeedToGenerate(final int speed) {
+		return schedule(speed, false);
+	}
+
+	public Future<MusicData> addPrioritySpeedToGenerate(final int speed) {
+		return schedule(speed, true);
+	}
+
+	public synchronized void cancel(final int speed) {
+		final StretchJob job = jobs.remove(speed);
+		if (job != null) {
+			job.cancel(true);
+			executor.remove(job);
 		}
 	}
 
-	private void run() {
-		while (true) {
-			if (!speedsToGenerate.isEmpty()) {
-				generate(speedsToGenerate.get(0));
-			}
+	public int getQueuedJobsCount() {
+		return executor.getQueue().size();
+	}
 
-			try {
-				Thread.sleep(1000);
-			} catch (final InterruptedException e) {
+	/**
+	 * @return average progress of jobs being rendered, -1 if none is running
+	 */
+	public synchronized double getRunningJobsProgress() {
+		double progress = 0;
+		int running = 0;
+		for (final StretchJob job : jobs.values()) {
+			if (job.isRunning()) {
+				progress += job.render.loader.getProgress();
+				running++;
 			}
 		}
+
+		return running == 0 ? -1 : progress / running;
 	}
 }
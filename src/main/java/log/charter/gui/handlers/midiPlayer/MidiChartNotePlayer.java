@@ -3,7 +3,6 @@ package log.charter.gui.handlers.midiPlayer;
 import static java.lang.Math.min;
 import static java.lang.Math.pow;
 import static java.lang.Math.sin;
-import static log.charter.data.config.Config.midiDelay;
 import static log.charter.song.notes.IPosition.findLastBeforeEqual;
 import static log.charter.song.notes.IPosition.findLastIdBeforeEqual;
 
@@ -13,6 +12,7 @@ import java.util.List;
 import java.util.Map.Entry;
 
 import log.charter.data.ChartData;
+import log.charter.data.config.Config;
 import log.charter.data.managers.ModeManager;
 import log.charter.data.managers.modes.EditMode;
 import log.charter.song.BendValue;
@@ -23,6 +23,8 @@ import log.charter.song.notes.ChordNote;
 import log.charter.song.notes.ChordOrNote;
 import log.charter.song.notes.Note;
 import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.Profiler;
+import log.charter.util.Profiler.Section;
 
 public class MidiChartNotePlayer {
 	private ChartData data;
@@ -31,6 +33,7 @@ public class MidiChartNotePlayer {
 
 	private boolean playing = false;
 	private int speed = 100;
+	private int time = 0;
 	private final List<MidiChartNotePlayerNoteData> sounds = new ArrayList<>();
 	private MidiChartNotePlayerNoteData nextSound;
 
@@ -42,7 +45,7 @@ public class MidiChartNotePlayer {
 	}
 
 	private int getCurrentTime() {
-		return data.nextTime + midiDelay * speed / 100;
+		return time + (midiNotePlayer.getLatencyMs() + Config.midiSoundDelay) * speed / 100;
 	}
 
 	private void stopSound(final MidiChartNotePlayerNoteData sound) {
@@ -144,17 +147,20 @@ public class MidiChartNotePlayer {
 		sounds.removeIf(sound -> sound.endPosition < getCurrentTime());
 	}
 
-	public void frame() {
+	public void frame(final int time) {
+		this.time = time;
 		if (!playing || modeManager.editMode != EditMode.GUITAR) {
 			return;
 		}
 
+		final long start = Profiler.start();
 		midiNotePlayer.updateVolume();
 		updateSoundingSounds();
 
 		if (nextSound != null && nextSound.sound.position() <= getCurrentTime()) {
 			playNextSound();
 		}
+		Profiler.stop(Section.MIDI_FRAME, start);
 	}
 
 	private MidiChartNotePlayerNoteData makeNoteData(final int noteId) {
@@ -201,8 +207,13 @@ public class MidiChartNotePlayer {
 		return new MidiChartNotePlayerNoteData(noteId, sound, soundEndTime);
 	}
 
-	public void startPlaying(final int speed) {
+	public void setSpeed(final int speed) {
 		this.speed = speed;
+	}
+
+	public void startPlaying(final int speed, final int time) {
+		this.speed = speed;
+		this.time = time;
 		if (modeManager.editMode != EditMode.GUITAR) {
 			return;
 		}
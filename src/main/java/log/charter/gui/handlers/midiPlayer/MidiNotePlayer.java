@@ -86,6 +86,7 @@ public class MidiNotePlayer {
 
 	private boolean available = true;
 	private ChartData data;
+	private int latencyMs = 0;
 
 	private MidiChannel[] channels;
 	private int[] lastNotes;
@@ -97,6 +98,7 @@ public class MidiNotePlayer {
 		try {
 			final Synthesizer synthesizer = MidiSystem.getSynthesizer();
 			synthesizer.open();
+			latencyMs = (int) (synthesizer.getLatency() / 1000);
 
 			final Instrument defaultInstrument = synthesizer.getAvailableInstruments()[0];
 			for (final GuitarSoundType guitarSoundType : GuitarSoundType.values()) {
@@ -125,6 +127,10 @@ public class MidiNotePlayer {
 		}
 	}
 
+	public int getLatencyMs() {
+		return latencyMs;
+	}
+
 	private int getMidiNote(final int string, final int fret, final int strings) {
 		final boolean isBass = data.getCurrentArrangement().arrangementType == ArrangementType.Bass || strings < 6;
 		return isBass ? getBassMidiNote(string, fret, strings) : getGuitarMidiNote(string, fret, strings);
@@ -15,6 +15,7 @@ import log.charter.gui.panes.ConfigPane;
 import log.charter.gui.panes.GraphicConfigPane;
 import log.charter.io.gp.gp5.GP5File;
 import log.charter.io.gp.gp5.GP5FileReader;
+import log.charter.io.rsc.binary.RocksmithChartBinary;
 import log.charter.util.FileChooseUtils;
 
 class FileMenuHandler extends CharterMenuHandler {
@@ -59,6 +60,12 @@ class FileMenuHandler extends CharterMenuHandler {
 		menu.addSeparator();
 		menu.add(new SpecialMenuItem(Label.FILE_MENU_SAVE, "Ctrl-S", songFileHandler::save));
 		menu.add(new SpecialMenuItem(Label.FILE_MENU_SAVE_AS, "Ctrl-Shift-S", songFileHandler::saveAs));
+		final boolean binaryProject = RocksmithChartBinary.isBinaryProject(data.projectFileName);
+		final SpecialMenuItem convertItem = binaryProject
+				? new SpecialMenuItem(Label.FILE_MENU_CONVERT_TO_XML, null, this::convertToXMLProject)
+				: new SpecialMenuItem(Label.FILE_MENU_CONVERT_TO_BINARY, null, this::convertToBinaryProject);
+		convertItem.setEnabled(!data.isEmpty);
+		menu.add(convertItem);
 
 		menu.addSeparator();
 		menu.add(new SpecialMenuItem(Label.FILE_MENU_OPTIONS, null, () -> new ConfigPane(frame)));
@@ -70,6 +77,16 @@ class FileMenuHandler extends CharterMenuHandler {
 		return menu;
 	}
 
+	private void convertToBinaryProject() {
+		songFileHandler.convertToBinaryProject();
+		charterMenuBar.refreshMenus();
+	}
+
+	private void convertToXMLProject() {
+		songFileHandler.convertToXMLProject();
+		charterMenuBar.refreshMenus();
+	}
+
 	private void importGPFile() {
 		final String dir = data.isEmpty ? Config.songsPath : data.path;
 		final File file = FileChooseUtils.chooseFile(frame, dir, new String[] { ".gp3", ".gp4", "gp5" },
@@ -9,6 +9,7 @@ import log.charter.data.config.Localization;
 import log.charter.data.config.Localization.Label;
 import log.charter.gui.CharterFrame;
 import log.charter.main.LogCharterRSMain;
+import log.charter.util.Profiler;
 
 class InfoMenuHandler extends CharterMenuHandler {
 	private static final String infoText = "Lords of Games Rocksmith Charter\n"//
@@ -43,6 +44,9 @@ class InfoMenuHandler extends CharterMenuHandler {
 
 		menu.add(createItem(Label.INFO_MENU_VERSION, this::showVersion));
 		menu.add(languageMenu);
+		menu.addSeparator();
+		menu.add(createItem(Label.INFO_MENU_FRAME_TIMINGS, Profiler::toggle));
+		menu.add(createItem(Label.INFO_MENU_SAVE_FRAME_TIMINGS, Profiler::saveToFile));
 
 		return menu;
 	}
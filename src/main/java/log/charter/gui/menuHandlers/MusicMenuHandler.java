@@ -40,8 +40,7 @@ class MusicMenuHandler extends CharterMenuHandler {
 		Config.stretchedMusicSpeed = speed;
 		Config.markChanged();
 
-		audioHandler.clear();
-		audioHandler.addSpeedToStretch();
+		audioHandler.stretchedMusicSpeedChanged();
 	}
 
 	public void customSpeed() {
@@ -67,6 +67,7 @@ public class AnchorPane extends ParamsPane {
 			return;
 		}
 
+		data.getCurrentArrangementLevel().anchors.changingItem(anchor);
 		anchor.fret = fret;
 		anchor.width = width;
 	}
@@ -251,6 +251,7 @@ public class ArrangementSettingsPane extends ParamsPane {
 						: tuningBefore[string] - tuningAfter[string];
 			}
 
+			arrangement.chordTemplates.changingAll();
 			arrangement.chordTemplates.forEach(chordTemplate -> {
 				boolean templateChanged = false;
 				for (final int string : new ArrayList<>(chordTemplate.frets.keySet())) {
@@ -270,6 +271,7 @@ public class ArrangementSettingsPane extends ParamsPane {
 			});
 
 			arrangement.levels.values().forEach(level -> {
+				level.chordsAndNotes.changingAll();
 				level.chordsAndNotes.forEach(sound -> {
 					if (sound.isNote()) {
 						sound.note.fret = max(0, sound.note.fret + fretsDifference[sound.note.string]);
@@ -283,6 +285,7 @@ public class ArrangementSettingsPane extends ParamsPane {
 		arrangement.baseTone = baseTone;
 		arrangement.tuning = tuning;
 		arrangement.capo = capo;
+		data.markCurrentArrangementChanged();
 
 		selectionManager.clear();
 
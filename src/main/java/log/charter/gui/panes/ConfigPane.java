@@ -42,8 +42,8 @@ public final class ConfigPane extends ParamsPane {
 
 	private int minNoteDistance = Config.minNoteDistance;
 	private int minTailLength = Config.minTailLength;
-	private int delay = Config.delay;
-	private int midiDelay = Config.midiDelay;
+	private int soundDelay = Config.soundDelay;
+	private int midiSoundDelay = Config.midiSoundDelay;
 	private int markerOffset = Config.markerOffset;
 	private int noteWidth = Config.noteWidth;
 	private int noteHeight = Config.noteHeight;
@@ -83,10 +83,12 @@ public final class ConfigPane extends ParamsPane {
 		addConfigValue(row++, 20, 0, Label.CONFIG_MINIMAL_TAIL_LENGTH, minTailLength + "", 50,
 				createIntValidator(1, 1000, false), //
 				val -> minTailLength = Integer.valueOf(val), false);
-		addConfigValue(row++, 20, 0, Label.CONFIG_SOUND_DELAY, delay + "", 50, createIntValidator(1, 10000, false), //
-				val -> delay = Integer.valueOf(val), false);
-		addConfigValue(row++, 20, 0, Label.CONFIG_MIDI_DELAY, midiDelay + "", 50, createIntValidator(1, 10000, false), //
-				val -> midiDelay = Integer.valueOf(val), false);
+		addConfigValue(row++, 20, 0, Label.CONFIG_SOUND_DELAY, soundDelay + "", 50,
+				createIntValidator(-1000, 1000, false), //
+				val -> soundDelay = Integer.valueOf(val), false);
+		addConfigValue(row++, 20, 0, Label.CONFIG_MIDI_DELAY, midiSoundDelay + "", 50,
+				createIntValidator(-1000, 1000, false), //
+				val -> midiSoundDelay = Integer.valueOf(val), false);
 		addConfigValue(row++, 20, 0, Label.CONFIG_MARKER_POSITION, markerOffset + "", 50,
 				createIntValidator(1, 1000, false), //
 				val -> markerOffset = Integer.valueOf(val), false);
@@ -145,8 +147,8 @@ public final class ConfigPane extends ParamsPane {
 
 		Config.minNoteDistance = minNoteDistance;
 		Config.minTailLength = minTailLength;
-		Config.delay = delay;
-		Config.midiDelay = midiDelay;
+		Config.soundDelay = soundDelay;
+		Config.midiSoundDelay = midiSoundDelay;
 		Config.markerOffset = markerOffset;
 		Config.noteWidth = noteWidth;
 		Config.noteHeight = noteHeight;
@@ -250,9 +250,11 @@ public class GuitarEventPointPane extends ParamsPane {
 			return;
 		}
 
+		arrangement.eventPoints.changingItem(eventPoint);
 		eventPoint.section = section;
 		eventPoint.phrase = phraseName.isBlank() ? null : phraseName;
 		if (!phraseName.isBlank()) {
+			undoSystem.changingPhrases(arrangement);
 			Phrase phrase = arrangement.phrases.get(phraseName);
 			if (phrase == null) {
 				phrase = new Phrase(phraseLevel, phraseSolo);
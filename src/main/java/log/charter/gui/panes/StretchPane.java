@@ -44,7 +44,6 @@ public class StretchPane extends ParamsPane {
 		Config.stretchedMusicSpeed = stretchedMusicSpeed;
 		Config.markChanged();
 
-		audioHandler.clear();
-		audioHandler.addSpeedToStretch();
+		audioHandler.stretchedMusicSpeedChanged();
 	}
 }
@@ -8,11 +8,11 @@ import javax.swing.JTextField;
 
 import log.charter.data.ChartData;
 import log.charter.data.config.Localization.Label;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.data.undoSystem.UndoSystem;
 import log.charter.gui.CharterFrame;
 import log.charter.gui.components.ParamsPane;
 import log.charter.song.Beat;
-import log.charter.util.CollectionUtils.ArrayList2;
 
 public class TempoBeatPane extends ParamsPane {
 	private static final long serialVersionUID = -4754359602173894487L;
@@ -61,7 +61,7 @@ public class TempoBeatPane extends ParamsPane {
 	private void saveAndExit() {
 		undoSystem.addUndo();
 
-		final ArrayList2<Beat> beats = data.songChart.beatsMap.beats;
+		final ChartList<Beat> beats = data.songChart.beatsMap.beats;
 
 		final int currentBeatsInMeasure = beat.beatsInMeasure;
 		final int beatId = findClosestId(beats, beat.position());
@@ -70,6 +70,7 @@ public class TempoBeatPane extends ParamsPane {
 			beatIdTo++;
 		}
 
+		beats.changing(beatId, beatIdTo);
 		for (int i = beatId; i < beatIdTo; i++) {
 			final Beat beat = beats.get(i);
 			beat.setTimeSignature(beatsInMeasure, noteDenominator);
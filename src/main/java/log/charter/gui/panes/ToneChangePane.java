@@ -114,6 +114,7 @@ public class ToneChangePane extends ParamsPane implements DocumentListener {
 		undoSystem.addUndo();
 
 		final ArrangementChart arrangement = data.getCurrentArrangement();
+		undoSystem.changingTones(arrangement);
 		if (toneName.isEmpty()) {
 			arrangement.toneChanges.remove(toneChange);
 			if (!arrangement.toneChanges.contains(toneChange -> toneChange.toneName.equals(this.toneChange.toneName))) {
@@ -123,6 +124,7 @@ public class ToneChangePane extends ParamsPane implements DocumentListener {
 		}
 
 		arrangement.tones.add(toneName);
+		arrangement.toneChanges.changingItem(toneChange);
 		toneChange.toneName = toneName;
 		return true;
 	}
@@ -118,6 +118,7 @@ public class VocalPane extends ParamsPane {
 
 		if (vocal.getText() != text || vocal.isWordPart() != wordPart || vocal.isPhraseEnd() != phraseEnd) {
 			undoSystem.addUndo();
+			data.songChart.vocals.vocals.changing(id);
 			vocal.lyric = text;
 			vocal.setWordPart(wordPart);
 			vocal.setPhraseEnd(phraseEnd);
@@ -133,6 +134,7 @@ public class VocalPane extends ParamsPane {
 
 		if (vocal.getText() != text || vocal.isWordPart() != wordPart || vocal.isPhraseEnd() != phraseEnd) {
 			undoSystem.addUndo();
+			data.songChart.vocals.vocals.changing(id);
 			vocal.lyric = text;
 			vocal.setWordPart(wordPart);
 			vocal.setPhraseEnd(phraseEnd);
@@ -0,0 +1,179 @@
+package log.charter.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Writes files of a save on background threads. Every file is written to a temporary file next to it, and all of them
+ * are moved over the originals only when every file was written, so a failed save or a crash leaves the old files
+ * whole. Files are moved in given order. Saves are done one after another in the order they were started.
+ */
+public class BackgroundSaver {
+	public interface ContentWriter {
+		void write(OutputStream output) throws IOException;
+	}
+
+	public interface TextWriter {
+		void write(Writer writer) throws IOException;
+	}
+
+	public static class SavedFile {
+		public final File file;
+		public final ContentWriter contentWriter;
+
+		public SavedFile(final File file, final ContentWriter contentWriter) {
+			this.file = file;
+			this.contentWriter = contentWriter;
+		}
+
+		public SavedFile(final File file, final Charset charset, final TextWriter textWriter) {
+			this(file, output -> {
+				final Writer writer = new BufferedWriter(new OutputStreamWriter(output, charset));
+				textWriter.write(writer);
+				writer.flush();
+			});
+		}
+
+		public SavedFile(final File file, final byte[] content) {
+			this(file, output -> output.write(content));
+		}
+	}
+
+	private final ExecutorService saves = Executors.newSingleThreadExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "Saver");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final ExecutorService writers = Executors
+			.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				final Thread thread = new Thread(runnable, "Saver file writer");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	private final AtomicInteger pendingSaves = new AtomicInteger(0);
+	private final AtomicInteger writtenFiles = new AtomicInteger(0);
+	private volatile int filesToWrite = 0;
+	private Future<?> lastSave;
+
+	private static File temporaryFile(final File file) {
+		return new File(file.getParentFile(), file.getName() + ".tmp");
+	}
+
+	private File writeTemporaryFile(final SavedFile savedFile) throws IOException {
+		final File temporaryFile = temporaryFile(savedFile.file);
+		try (FileOutputStream output = new FileOutputStream(temporaryFile)) {
+			savedFile.contentWriter.write(output);
+			output.getFD().sync();
+		} catch (final IOException | RuntimeException e) {
+			temporaryFile.delete();
+			throw e;
+		}
+
+		writtenFiles.incrementAndGet();
+		return temporaryFile;
+	}
+
+	private static void moveOver(final File from, final File to) throws IOException {
+		try {
+			Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private void saveFiles(final ArrayList2<SavedFile> files) throws Exception {
+		writtenFiles.set(0);
+		filesToWrite = files.size();
+
+		final ArrayList2<Future<File>> writes = files.map(file -> writers.submit(() -> writeTemporaryFile(file)));
+
+		final File[] temporaryFiles = new File[files.size()];
+		Exception exception = null;
+		for (int i = 0; i < writes.size(); i++) {
+			try {
+				temporaryFiles[i] = writes.get(i).get();
+			} catch (final ExecutionException e) {
+				exception = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+			}
+		}
+
+		if (exception != null) {
+			for (final File temporaryFile : temporaryFiles) {
+				if (temporaryFile != null) {
+					temporaryFile.delete();
+				}
+			}
+
+			throw exception;
+		}
+
+		for (int i = 0; i < files.size(); i++) {
+			moveOver(temporaryFiles[i], files.get(i).file);
+		}
+	}
+
+	/**
+	 * @param files     files to write, contents must not be changed by anything else after this call
+	 * @param onFailure run on the event dispatch thread if the save failed
+	 */
+	public synchronized void save(final ArrayList2<SavedFile> files, final Runnable onFailure) {
+		pendingSaves.incrementAndGet();
+		lastSave = saves.submit(() -> {
+			try {
+				saveFiles(files);
+			} catch (final Exception e) {
+				Logger.error("Couldn't save files", e);
+				SwingUtilities.invokeLater(onFailure);
+			} finally {
+				pendingSaves.decrementAndGet();
+			}
+		});
+	}
+
+	public boolean isSaving() {
+		return pendingSaves.get() > 0;
+	}
+
+	/**
+	 * @return number of files already written by the current save and number of all its files
+	 */
+	public int[] getProgress() {
+		return new int[] { writtenFiles.get(), filesToWrite };
+	}
+
+	public void waitForSaves() {
+		final Future<?> save;
+		synchronized (this) {
+			save = lastSave;
+		}
+		if (save == null) {
+			return;
+		}
+
+		try {
+			save.get();
+		} catch (final InterruptedException | ExecutionException e) {
+			Logger.error("Waiting for save was interrupted", e);
+		}
+	}
+}
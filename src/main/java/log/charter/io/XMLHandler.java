@@ -1,10 +1,19 @@
 package log.charter.io;
 
+import java.io.IOException;
+import java.io.Writer;
+
 import com.thoughtworks.xstream.XStream;
 
 public class XMLHandler {
+	private static final String header = "<?xml version='1.0' encoding='UTF-8'?>\n";
+
 	public static String generateXML(final XStream xstream, final Object object) {
-		return "<?xml version='1.0' encoding='UTF-8'?>\n" //
-				+ xstream.toXML(object);
+		return header + xstream.toXML(object);
+	}
+
+	public static void writeXML(final XStream xstream, final Object object, final Writer writer) throws IOException {
+		writer.write(header);
+		xstream.toXML(object, writer);
 	}
 }
@@ -0,0 +1,43 @@
+package log.charter.io.rs.xml.converters;
+
+import static log.charter.io.rs.xml.converters.TimeConverter.formatTime;
+import static log.charter.io.rs.xml.converters.TimeConverter.parseTime;
+
+import java.math.BigDecimal;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+
+import log.charter.io.rs.xml.song.ArrangementAnchor;
+
+public class AnchorConverter implements Converter {
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean canConvert(final Class type) {
+		return type.equals(ArrangementAnchor.class);
+	}
+
+	@Override
+	public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+		final ArrangementAnchor anchor = (ArrangementAnchor) source;
+		writer.addAttribute("time", formatTime(anchor.time));
+		writer.addAttribute("fret", "" + anchor.fret);
+		if (anchor.width != null) {
+			writer.addAttribute("width", anchor.width.toString());
+		}
+	}
+
+	@Override
+	public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+		final ArrangementAnchor anchor = new ArrangementAnchor();
+		anchor.time = parseTime(reader.getAttribute("time"));
+		anchor.fret = Integer.parseInt(reader.getAttribute("fret"));
+		final String width = reader.getAttribute("width");
+		anchor.width = width == null || width.isEmpty() ? null : new BigDecimal(width);
+
+		return anchor;
+	}
+}
@@ -0,0 +1,79 @@
+package log.charter.io.rs.xml.converters;
+
+import static log.charter.io.rs.xml.converters.NoteConverter.addAttribute;
+import static log.charter.io.rs.xml.converters.NoteConverter.parseInteger;
+import static log.charter.io.rs.xml.converters.TimeConverter.formatTime;
+import static log.charter.io.rs.xml.converters.TimeConverter.parseTime;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+
+import log.charter.io.rs.xml.song.ArrangementChord;
+import log.charter.io.rs.xml.song.ArrangementChordNote;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+public class ChordConverter implements Converter {
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean canConvert(final Class type) {
+		return type.equals(ArrangementChord.class);
+	}
+
+	@Override
+	public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+		final ArrangementChord chord = (ArrangementChord) source;
+		writer.addAttribute("time", formatTime(chord.time));
+		writer.addAttribute("chordId", "" + chord.chordId);
+		addAttribute(writer, "palmMute", chord.palmMute);
+		addAttribute(writer, "fretHandMute", chord.fretHandMute);
+		addAttribute(writer, "accent", chord.accent);
+		addAttribute(writer, "linkNext", chord.linkNext);
+		addAttribute(writer, "ignore", chord.ignore);
+
+		if (chord.chordNotes != null) {
+			for (final ArrangementChordNote chordNote : chord.chordNotes) {
+				writer.startNode("chordNote");
+				NoteConverter.writeNote(writer, chordNote);
+				writer.endNode();
+			}
+		}
+	}
+
+	private static void readAttribute(final ArrangementChord chord, final String name, final String value) {
+		switch (name) {
+		case "time" -> chord.time = parseTime(value);
+		case "chordId" -> chord.chordId = Integer.parseInt(value);
+		case "palmMute" -> chord.palmMute = parseInteger(value);
+		case "fretHandMute" -> chord.fretHandMute = parseInteger(value);
+		case "accent" -> chord.accent = parseInteger(value);
+		case "linkNext" -> chord.linkNext = parseInteger(value);
+		case "ignore" -> chord.ignore = parseInteger(value);
+		default -> {
+		}
+		}
+	}
+
+	@Override
+	public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+		final ArrangementChord chord = new ArrangementChord();
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			readAttribute(chord, reader.getAttributeName(i), reader.getAttribute(i));
+		}
+
+		while (reader.hasMoreChildren()) {
+			reader.moveDown();
+			if (reader.getNodeName().equals("chordNote")) {
+				if (chord.chordNotes == null) {
+					chord.chordNotes = new ArrayList2<>();
+				}
+				chord.chordNotes.add(NoteConverter.readNote(reader, new ArrangementChordNote()));
+			}
+			reader.moveUp();
+		}
+
+		return chord;
+	}
+}
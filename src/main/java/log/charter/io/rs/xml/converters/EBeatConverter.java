@@ -0,0 +1,39 @@
+package log.charter.io.rs.xml.converters;
+
+import static log.charter.io.rs.xml.converters.NoteConverter.addAttribute;
+import static log.charter.io.rs.xml.converters.NoteConverter.parseInteger;
+import static log.charter.io.rs.xml.converters.TimeConverter.formatTime;
+import static log.charter.io.rs.xml.converters.TimeConverter.parseTime;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+
+import log.charter.io.rs.xml.song.EBeat;
+
+public class EBeatConverter implements Converter {
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean canConvert(final Class type) {
+		return type.equals(EBeat.class);
+	}
+
+	@Override
+	public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+		final EBeat beat = (EBeat) source;
+		writer.addAttribute("time", formatTime(beat.time));
+		addAttribute(writer, "measure", beat.measure);
+	}
+
+	@Override
+	public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+		final EBeat beat = new EBeat();
+		beat.time = parseTime(reader.getAttribute("time"));
+		final String measure = reader.getAttribute("measure");
+		beat.measure = measure == null ? null : parseInteger(measure);
+
+		return beat;
+	}
+}
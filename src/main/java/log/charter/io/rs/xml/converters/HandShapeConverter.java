@@ -0,0 +1,38 @@
+package log.charter.io.rs.xml.converters;
+
+import static log.charter.io.rs.xml.converters.TimeConverter.formatTime;
+import static log.charter.io.rs.xml.converters.TimeConverter.parseTime;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+
+import log.charter.io.rs.xml.song.ArrangementHandShape;
+
+public class HandShapeConverter implements Converter {
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean canConvert(final Class type) {
+		return type.equals(ArrangementHandShape.class);
+	}
+
+	@Override
+	public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+		final ArrangementHandShape handShape = (ArrangementHandShape) source;
+		writer.addAttribute("chordId", "" + handShape.chordId);
+		writer.addAttribute("startTime", formatTime(handShape.startTime));
+		writer.addAttribute("endTime", formatTime(handShape.endTime));
+	}
+
+	@Override
+	public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+		final ArrangementHandShape handShape = new ArrangementHandShape();
+		handShape.chordId = Integer.parseInt(reader.getAttribute("chordId"));
+		handShape.startTime = parseTime(reader.getAttribute("startTime"));
+		handShape.endTime = parseTime(reader.getAttribute("endTime"));
+
+		return handShape;
+	}
+}
@@ -0,0 +1,159 @@
+package log.charter.io.rs.xml.converters;
+
+import static log.charter.io.rs.xml.converters.TimeConverter.formatTime;
+import static log.charter.io.rs.xml.converters.TimeConverter.parseTime;
+
+import java.math.BigDecimal;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+
+import log.charter.io.rs.xml.converters.CountedListConverter.CountedList;
+import log.charter.io.rs.xml.song.ArrangementBendValue;
+import log.charter.io.rs.xml.song.ArrangementChordNote;
+import log.charter.io.rs.xml.song.ArrangementNote;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Reads and writes notes and chord notes without reflection, as they are most of an arrangement file. Output is the
+ * same as the default one: attributes in order of fields, missing values skipped.
+ */
+public class NoteConverter implements Converter {
+	static void addAttribute(final HierarchicalStreamWriter writer, final String name, final Integer value) {
+		if (value != null) {
+			writer.addAttribute(name, value.toString());
+		}
+	}
+
+	static Integer parseInteger(final String value) {
+		return value.isEmpty() ? null : Integer.valueOf(value);
+	}
+
+	private static void writeBendValues(final HierarchicalStreamWriter writer,
+			final CountedList<ArrangementBendValue> bendValues) {
+		writer.startNode("bendValues");
+		writer.addAttribute("count", "" + bendValues.list.size());
+		for (final ArrangementBendValue bendValue : bendValues.list) {
+			writer.startNode("bendValue");
+			writer.addAttribute("time", formatTime(bendValue.time));
+			if (bendValue.step != null) {
+				writer.addAttribute("step", bendValue.step.toString());
+			}
+			writer.endNode();
+		}
+		writer.endNode();
+	}
+
+	public static void writeNote(final HierarchicalStreamWriter writer, final ArrangementNote note) {
+		writer.addAttribute("time", formatTime(note.time));
+		writer.addAttribute("string", "" + note.string);
+		writer.addAttribute("fret", "" + note.fret);
+		if (note.sustain != null) {
+			writer.addAttribute("sustain", formatTime(note.sustain));
+		}
+		addAttribute(writer, "vibrato", note.vibrato);
+		addAttribute(writer, "tremolo", note.tremolo);
+		addAttribute(writer, "accent", note.accent);
+		addAttribute(writer, "mute", note.mute);
+		addAttribute(writer, "palmMute", note.palmMute);
+		addAttribute(writer, "pluck", note.pluck);
+		addAttribute(writer, "hopo", note.hopo);
+		addAttribute(writer, "hammerOn", note.hammerOn);
+		addAttribute(writer, "pullOff", note.pullOff);
+		addAttribute(writer, "slap", note.slap);
+		addAttribute(writer, "slideTo", note.slideTo);
+		addAttribute(writer, "slideUnpitchTo", note.slideUnpitchTo);
+		addAttribute(writer, "bend", note.bend);
+		addAttribute(writer, "tap", note.tap);
+		addAttribute(writer, "harmonic", note.harmonic);
+		addAttribute(writer, "harmonicPinch", note.harmonicPinch);
+		addAttribute(writer, "linkNext", note.linkNext);
+		addAttribute(writer, "ignore", note.ignore);
+
+		if (note.bendValues != null) {
+			writeBendValues(writer, note.bendValues);
+		}
+	}
+
+	private static void readAttribute(final ArrangementNote note, final String name, final String value) {
+		switch (name) {
+		case "time" -> note.time = parseTime(value);
+		case "string" -> note.string = Integer.parseInt(value);
+		case "fret" -> note.fret = Integer.parseInt(value);
+		case "sustain" -> note.sustain = parseTime(value);
+		case "vibrato" -> note.vibrato = parseInteger(value);
+		case "tremolo" -> note.tremolo = parseInteger(value);
+		case "accent" -> note.accent = parseInteger(value);
+		case "mute" -> note.mute = parseInteger(value);
+		case "palmMute" -> note.palmMute = parseInteger(value);
+		case "pluck" -> note.pluck = parseInteger(value);
+		case "hopo" -> note.hopo = parseInteger(value);
+		case "hammerOn" -> note.hammerOn = parseInteger(value);
+		case "pullOff" -> note.pullOff = parseInteger(value);
+		case "slap" -> note.slap = parseInteger(value);
+		case "slideTo" -> note.slideTo = parseInteger(value);
+		case "slideUnpitchTo" -> note.slideUnpitchTo = parseInteger(value);
+		case "bend" -> note.bend = parseInteger(value);
+		case "tap" -> note.tap = parseInteger(value);
+		case "harmonic" -> note.harmonic = parseInteger(value);
+		case "harmonicPinch" -> note.harmonicPinch = parseInteger(value);
+		case "linkNext" -> note.linkNext = parseInteger(value);
+		case "ignore" -> note.ignore = parseInteger(value);
+		default -> {
+		}
+		}
+	}
+
+	private static ArrayList2<ArrangementBendValue> readBendValues(final HierarchicalStreamReader reader) {
+		final ArrayList2<ArrangementBendValue> bendValues = new ArrayList2<>();
+		while (reader.hasMoreChildren()) {
+			reader.moveDown();
+			final ArrangementBendValue bendValue = new ArrangementBendValue();
+			bendValue.time = parseTime(reader.getAttribute("time"));
+			final String step = reader.getAttribute("step");
+			bendValue.step = step == null || step.isEmpty() ? null : new BigDecimal(step);
+			bendValues.add(bendValue);
+			reader.moveUp();
+		}
+
+		return bendValues;
+	}
+
+	public static <T extends ArrangementNote> T readNote(final HierarchicalStreamReader reader, final T note) {
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			readAttribute(note, reader.getAttributeName(i), reader.getAttribute(i));
+		}
+
+		while (reader.hasMoreChildren()) {
+			reader.moveDown();
+			if (reader.getNodeName().equals("bendValues")) {
+				note.bendValues = new CountedList<>(readBendValues(reader));
+			}
+			reader.moveUp();
+		}
+
+		return note;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean canConvert(final Class type) {
+		return type.equals(ArrangementNote.class) || type.equals(ArrangementChordNote.class);
+	}
+
+	@Override
+	public void marshal(final Object source, final HierarchicalStreamWriter writer, final MarshallingContext context) {
+		writeNote(writer, (ArrangementNote) source);
+	}
+
+	@Override
+	public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+		final ArrangementNote note = context.getRequiredType().equals(ArrangementChordNote.class)
+				? new ArrangementChordNote()
+				: new ArrangementNote();
+		return readNote(reader, note);
+	}
+}
@@ -1,12 +1,39 @@
 package log.charter.io.rs.xml.converters;
 
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-
 import com.thoughtworks.xstream.converters.SingleValueConverter;
 
 public class TimeConverter implements SingleValueConverter {
-	private final NumberFormat format = new DecimalFormat("000");
+	/**
+	 * Formats time in ms as seconds with 3 decimal places, safe to use from many threads
+	 */
+	public static String formatTime(final int time) {
+		int value = time;
+		final StringBuilder result = new StringBuilder(12);
+		if (value < 0) {
+			value = -value;
+			result.append('-');
+		}
+
+		final int milliseconds = value % 1000;
+		result.append(value / 1000).append('.');
+		if (milliseconds < 100) {
+			result.append('0');
+		}
+		if (milliseconds < 10) {
+			result.append('0');
+		}
+		result.append(milliseconds);
+
+		return result.toString();
+	}
+
+	public static Integer parseTime(final String str) {
+		if (str == null || str.length() == 0) {
+			return null;
+		}
+
+		return Integer.parseInt(str.replace(".", ""));
+	}
 
 	@SuppressWarnings("rawtypes")
 	@Override
@@ -20,24 +47,12 @@ public class TimeConverter implements SingleValueConverter {
 			return null;
 		}
 
-		int value = (int) obj;
-		String result = "";
-		if (value < 0) {
-			value = -value;
-			result = "-";
-		}
-		result += value / 1000 + "." + format.format(value % 1000);
-
-		return result;
+		return formatTime((int) obj);
 	}
 
 	@Override
 	public Object fromString(final String str) {
-		if (str == null || str.length() == 0) {
-			return null;
-		}
-
-		return Integer.parseInt(str.replaceAll("\\.", ""));
+		return parseTime(str);
 	}
 
 }
@@ -12,6 +12,9 @@ import log.charter.song.notes.ChordNote;
 
 @XStreamAlias("chordNote")
 public class ArrangementChordNote extends ArrangementNote {
+	public ArrangementChordNote() {
+	}
+
 	public ArrangementChordNote(final int time, final int length, final int string, final int fret,
 			final ChordNote chordNote, final boolean ignore) {
 		this.time = time;
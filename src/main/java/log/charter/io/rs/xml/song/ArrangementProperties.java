@@ -68,4 +68,41 @@ public class ArrangementProperties {
 	public int pathRhythm;
 	@XStreamAsAttribute
 	public int pathBass;
+
+	public ArrangementProperties() {
+	}
+
+	public ArrangementProperties(final ArrangementProperties other) {
+		represent = other.represent;
+		bonusArr = other.bonusArr;
+		standardTuning = other.standardTuning;
+		nonStandardChords = other.nonStandardChords;
+		barreChords = other.barreChords;
+		powerChords = other.powerChords;
+		dropDPower = other.dropDPower;
+		openChords = other.openChords;
+		fingerPicking = other.fingerPicking;
+		pickDirection = other.pickDirection;
+		doubleStops = other.doubleStops;
+		palmMutes = other.palmMutes;
+		harmonics = other.harmonics;
+		pinchHarmonics = other.pinchHarmonics;
+		hopo = other.hopo;
+		tremolo = other.tremolo;
+		slides = other.slides;
+		unpitchedSlides = other.unpitchedSlides;
+		bends = other.bends;
+		tapping = other.tapping;
+		vibrato = other.vibrato;
+		fretHandMutes = other.fretHandMutes;
+		slapPop = other.slapPop;
+		twoFingerPicking = other.twoFingerPicking;
+		fifthsAndOctaves = other.fifthsAndOctaves;
+		syncopation = other.syncopation;
+		bassPick = other.bassPick;
+		sustain = other.sustain;
+		pathLead = other.pathLead;
+		pathRhythm = other.pathRhythm;
+		pathBass = other.pathBass;
+	}
 }
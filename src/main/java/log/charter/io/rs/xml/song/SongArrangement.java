@@ -82,7 +82,7 @@ public class SongArrangement {
 		artistNameSort = songChart.artistNameSort;
 		albumName = songChart.albumName;
 		albumYear = songChart.albumYear;
-		arrangementProperties = arrangementChart.arrangementProperties;
+		arrangementProperties = new ArrangementProperties(arrangementChart.arrangementProperties);
 		setTones(arrangementChart);
 		phrases = new CountedList<ArrangementPhrase>(arrangementChart.phrases.map(ArrangementPhrase::new));
 		phraseIterations = new CountedList<>(ArrangementPhraseIteration.fromPhraseIterations(phrases.list,
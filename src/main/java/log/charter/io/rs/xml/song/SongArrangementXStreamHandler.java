@@ -1,12 +1,26 @@
 package log.charter.io.rs.xml.song;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.collections.CollectionConverter;
 import com.thoughtworks.xstream.converters.collections.MapConverter;
 
 import log.charter.io.XMLHandler;
+import log.charter.io.rs.xml.converters.AnchorConverter;
+import log.charter.io.rs.xml.converters.ChordConverter;
 import log.charter.io.rs.xml.converters.ChordTemplateConverter;
 import log.charter.io.rs.xml.converters.CountedListConverter;
+import log.charter.io.rs.xml.converters.EBeatConverter;
+import log.charter.io.rs.xml.converters.HandShapeConverter;
+import log.charter.io.rs.xml.converters.NoteConverter;
 import log.charter.io.rs.xml.converters.NullSafeIntegerConverter;
 import log.charter.util.CollectionUtils.ArrayList2;
 import log.charter.util.CollectionUtils.HashMap2;
@@ -17,6 +31,11 @@ public class SongArrangementXStreamHandler {
 	private static XStream prepareXStream() {
 		final XStream xstream = new XStream();
 		xstream.registerConverter(new ChordTemplateConverter());
+		xstream.registerConverter(new NoteConverter());
+		xstream.registerConverter(new ChordConverter());
+		xstream.registerConverter(new AnchorConverter());
+		xstream.registerConverter(new HandShapeConverter());
+		xstream.registerConverter(new EBeatConverter());
 		xstream.registerConverter(new CountedListConverter());
 		xstream.registerConverter(new NullSafeIntegerConverter());
 		xstream.registerConverter(new CollectionConverter(xstream.getMapper(), ArrayList2.class));
@@ -48,7 +67,21 @@ public class SongArrangementXStreamHandler {
 		return (SongArrangement) xstream.fromXML(xml);
 	}
 
+	/**
+	 * Reads the file as a stream instead of loading all of it into memory first
+	 */
+	public static SongArrangement readSong(final File file) throws IOException {
+		try (Reader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), Charset.defaultCharset()))) {
+			return (SongArrangement) xstream.fromXML(reader);
+		}
+	}
+
 	public static String saveSong(final SongArrangement songArrangement) {
 		return XMLHandler.generateXML(xstream, songArrangement);
 	}
+
+	public static void saveSong(final SongArrangement songArrangement, final Writer writer) throws IOException {
+		XMLHandler.writeXML(xstream, songArrangement, writer);
+	}
 }
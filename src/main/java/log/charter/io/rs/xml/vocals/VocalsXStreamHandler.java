@@ -1,5 +1,7 @@
 package log.charter.io.rs.xml.vocals;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.Charset;
 
 import com.thoughtworks.xstream.XStream;
@@ -45,4 +47,8 @@ public class VocalsXStreamHandler {
 	public static String saveVocals(final ArrangementVocals vocals) {
 		return XMLHandler.generateXML(xstream, vocals);
 	}
+
+	public static void saveVocals(final ArrangementVocals vocals, final Writer writer) throws IOException {
+		XMLHandler.writeXML(xstream, vocals, writer);
+	}
 }
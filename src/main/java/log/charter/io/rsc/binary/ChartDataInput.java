@@ -0,0 +1,118 @@
+package log.charter.io.rsc.binary;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads values written with {@link ChartDataOutput}
+ */
+class ChartDataInput {
+	private final byte[] buffer;
+	private final int end;
+	private int offset;
+
+	public ChartDataInput(final byte[] buffer) {
+		this(buffer, 0, buffer.length);
+	}
+
+	private ChartDataInput(final byte[] buffer, final int offset, final int end) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.end = end;
+	}
+
+	private void checkAvailable(final int length) throws IOException {
+		if (length < 0 || length > end - offset) {
+			throw new IOException("Unexpected end of binary chart data");
+		}
+	}
+
+	public int readByte() throws IOException {
+		checkAvailable(1);
+		return buffer[offset++] & 0xFF;
+	}
+
+	public byte[] readBytes(final int length) throws IOException {
+		checkAvailable(length);
+		final byte[] bytes = Arrays.copyOfRange(buffer, offset, offset + length);
+		offset += length;
+		return bytes;
+	}
+
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	public int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			final int b = readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Malformed variable length integer in binary chart data");
+	}
+
+	public int readSignedVarInt() throws IOException {
+		final int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	public Integer readNullableInt() throws IOException {
+		return readBoolean() ? readSignedVarInt() : null;
+	}
+
+	public String readString() throws IOException {
+		final int length = readVarInt() - 1;
+		if (length < 0) {
+			return null;
+		}
+
+		checkAvailable(length);
+		final String value = new String(buffer, offset, length, StandardCharsets.UTF_8);
+		offset += length;
+		return value;
+	}
+
+	public BigDecimal readBigDecimal() throws IOException {
+		final int scale = readSignedVarInt();
+		return new BigDecimal(new BigInteger(readBytes(readVarInt())), scale);
+	}
+
+	/**
+	 * Reads positions written with {@link ChartDataOutput#writePositions(java.util.List)}
+	 */
+	public int[] readPositions(final int count) throws IOException {
+		final int[] positions = new int[count];
+		int lastPosition = 0;
+		for (int i = 0; i < count; i++) {
+			lastPosition += readSignedVarInt();
+			positions[i] = lastPosition;
+		}
+
+		return positions;
+	}
+
+	/**
+	 * @return count of items, checked against remaining data so a broken file can't make huge allocations
+	 */
+	public int readCount() throws IOException {
+		final int count = readVarInt();
+		checkAvailable(count);
+		return count;
+	}
+
+	public ChartDataInput readBlock() throws IOException {
+		final int length = readVarInt();
+		checkAvailable(length);
+		final ChartDataInput block = new ChartDataInput(buffer, offset, offset + length);
+		offset += length;
+		return block;
+	}
+}
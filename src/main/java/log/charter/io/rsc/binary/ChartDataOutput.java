@@ -0,0 +1,107 @@
+package log.charter.io.rsc.binary;
+
+import static java.lang.Math.max;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import log.charter.song.notes.IPosition;
+
+/**
+ * Growable byte buffer with unsigned and zigzag encoded variable length integers, so small values like frets or
+ * differences between positions take one byte.
+ */
+class ChartDataOutput {
+	private byte[] buffer;
+	private int size = 0;
+
+	public ChartDataOutput(final int initialCapacity) {
+		buffer = new byte[initialCapacity];
+	}
+
+	private void ensureCapacity(final int additional) {
+		if (size + additional > buffer.length) {
+			buffer = Arrays.copyOf(buffer, max(buffer.length * 2, size + additional));
+		}
+	}
+
+	public void writeByte(final int value) {
+		ensureCapacity(1);
+		buffer[size++] = (byte) value;
+	}
+
+	public void writeBytes(final byte[] bytes) {
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, size, bytes.length);
+		size += bytes.length;
+	}
+
+	public void writeBoolean(final boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+
+	/**
+	 * Writes value as unsigned, negative values take 5 bytes
+	 */
+	public void writeVarInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[size++] = (byte) value;
+	}
+
+	public void writeSignedVarInt(final int value) {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	public void writeNullableInt(final Integer value) {
+		writeBoolean(value != null);
+		if (value != null) {
+			writeSignedVarInt(value);
+		}
+	}
+
+	public void writeString(final String value) {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length + 1);
+		writeBytes(bytes);
+	}
+
+	public void writeBigDecimal(final BigDecimal value) {
+		writeSignedVarInt(value.scale());
+		final byte[] unscaledValue = value.unscaledValue().toByteArray();
+		writeVarInt(unscaledValue.length);
+		writeBytes(unscaledValue);
+	}
+
+	/**
+	 * Writes positions as differences from the previous position
+	 */
+	public void writePositions(final List<? extends IPosition> positions) {
+		int lastPosition = 0;
+		for (final IPosition position : positions) {
+			writeSignedVarInt(position.position() - lastPosition);
+			lastPosition = position.position();
+		}
+	}
+
+	public void writeBlock(final ChartDataOutput block) {
+		writeVarInt(block.size);
+		ensureCapacity(block.size);
+		System.arraycopy(block.buffer, 0, buffer, size, block.size);
+		size += block.size;
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, size);
+	}
+}
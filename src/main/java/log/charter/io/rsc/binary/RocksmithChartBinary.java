@@ -0,0 +1,70 @@
+package log.charter.io.rsc.binary;
+
+import java.io.IOException;
+
+import log.charter.io.rsc.xml.RocksmithChartProject;
+import log.charter.song.ArrangementChart;
+import log.charter.song.vocals.Vocals;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Whole project in one binary file, an alternative to the project XML with Rocksmith arrangement XMLs.
+ *
+ * File starts with magic bytes and format version, followed by names of enum values used in the file, so reordering
+ * or adding values doesn't break older files. Then go project data, arrangements as length prefixed blocks and vocals.
+ * Lists are written as columns, one field of all items after another, with positions as differences from the previous
+ * position and all numbers as variable length integers, which makes most values take one byte.
+ */
+public class RocksmithChartBinary {
+	public static class UnsupportedVersionException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		public UnsupportedVersionException(final int version) {
+			super("Unsupported binary project version " + version);
+		}
+	}
+
+	public static final String extension = ".rscb";
+
+	static final byte[] magic = { 'R', 'S', 'C', 'B' };
+	static final int version = 1;
+
+	static final int soundIsChord = 1 << 0;
+	static final int soundAccent = 1 << 1;
+	static final int soundIgnore = 1 << 2;
+	static final int soundPassOtherNotes = 1 << 3;
+	static final int chordSplitIntoNotes = 1 << 4;
+	static final int noteVibrato = 1 << 4;
+	static final int noteTremolo = 1 << 5;
+	static final int noteLinkNext = 1 << 6;
+	static final int noteUnpitchedSlide = 1 << 7;
+	static final int noteSlide = 1 << 8;
+	static final int noteBends = 1 << 9;
+
+	public static boolean isBinaryProject(final String fileName) {
+		return fileName.toLowerCase().endsWith(extension);
+	}
+
+	/**
+	 * @param project header data of the project, arrangement files are not used
+	 */
+	public static byte[] write(final RocksmithChartProject project, final ArrayList2<ArrangementChart> arrangements,
+			final Vocals vocals) {
+		return RocksmithChartBinaryWriter.write(project, arrangements, vocals);
+	}
+
+	public static RocksmithChartBinary read(final byte[] data) throws IOException {
+		return RocksmithChartBinaryReader.read(data);
+	}
+
+	public final RocksmithChartProject project;
+	public final ArrayList2<ArrangementChart> arrangements;
+	public final Vocals vocals;
+
+	RocksmithChartBinary(final RocksmithChartProject project, final ArrayList2<ArrangementChart> arrangements,
+			final Vocals vocals) {
+		this.project = project;
+		this.arrangements = arrangements;
+		this.vocals = vocals;
+	}
+}
@@ -0,0 +1,469 @@
+package log.charter.io.rsc.binary;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+
+import log.charter.data.managers.modes.EditMode;
+import log.charter.data.undoSystem.ChartList;
+import log.charter.io.rs.xml.song.ArrangementProperties;
+import log.charter.io.rs.xml.song.ArrangementType;
+import log.charter.io.rsc.xml.RocksmithChartProject;
+import log.charter.song.Anchor;
+import log.charter.song.ArrangementChart;
+import log.charter.song.Beat;
+import log.charter.song.BendValue;
+import log.charter.song.ChordTemplate;
+import log.charter.song.EventPoint;
+import log.charter.song.EventType;
+import log.charter.song.HandShape;
+import log.charter.song.Level;
+import log.charter.song.Phrase;
+import log.charter.song.SectionType;
+import log.charter.song.ToneChange;
+import log.charter.song.configs.Tuning;
+import log.charter.song.configs.Tuning.TuningType;
+import log.charter.song.enums.BassPickingTechnique;
+import log.charter.song.enums.HOPO;
+import log.charter.song.enums.Harmonic;
+import log.charter.song.enums.Mute;
+import log.charter.song.notes.Chord;
+import log.charter.song.notes.ChordNote;
+import log.charter.song.notes.ChordOrNote;
+import log.charter.song.notes.Note;
+import log.charter.song.vocals.Vocal;
+import log.charter.song.vocals.Vocals;
+import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.CollectionUtils.HashMap2;
+
+class RocksmithChartBinaryReader {
+	private static final ChordTemplate emptyChordTemplate = new ChordTemplate();
+
+	private static boolean isSet(final int flags, final int flag) {
+		return (flags & flag) != 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Enum<E>> E[] readEnumNames(final ChartDataInput in, final Class<E> type)
+			throws IOException {
+		final int count = in.readCount();
+		final E[] values = (E[]) Array.newInstance(type, count);
+		for (int i = 0; i < count; i++) {
+			final String name = in.readString();
+			try {
+				values[i] = Enum.valueOf(type, name);
+			} catch (final IllegalArgumentException | NullPointerException e) {
+				values[i] = null;
+			}
+		}
+
+		return values;
+	}
+
+	private ChartDataInput in;
+
+	private EditMode[] editModes;
+	private ArrangementType[] arrangementTypes;
+	private TuningType[] tuningTypes;
+	private SectionType[] sectionTypes;
+	private EventType[] eventTypes;
+	private Mute[] mutes;
+	private HOPO[] hopos;
+	private Harmonic[] harmonics;
+	private BassPickingTechnique[] bassPickingTechniques;
+
+	private RocksmithChartBinaryReader(final ChartDataInput in) {
+		this.in = in;
+	}
+
+	private <E> E readEnum(final E[] values) throws IOException {
+		final int id = in.readVarInt();
+		if (id < 0 || id >= values.length || values[id] == null) {
+			throw new IOException("Unknown " + values.getClass().getComponentType().getSimpleName() + " value");
+		}
+
+		return values[id];
+	}
+
+	private <E> E readNullableEnum(final E[] values) throws IOException {
+		final int id = in.readVarInt();
+		if (id == 0) {
+			return null;
+		}
+		if (id > values.length || values[id - 1] == null) {
+			throw new IOException("Unknown " + values.getClass().getComponentType().getSimpleName() + " value");
+		}
+
+		return values[id - 1];
+	}
+
+	private void readHeader() throws IOException {
+		for (final byte b : RocksmithChartBinary.magic) {
+			if (in.readByte() != b) {
+				throw new IOException("Not a binary project file");
+			}
+		}
+
+		final int version = in.readVarInt();
+		if (version > RocksmithChartBinary.version) {
+			throw new RocksmithChartBinary.UnsupportedVersionException(version);
+		}
+
+		editModes = readEnumNames(in, EditMode.class);
+		arrangementTypes = readEnumNames(in, ArrangementType.class);
+		tuningTypes = readEnumNames(in, TuningType.class);
+		sectionTypes = readEnumNames(in, SectionType.class);
+		eventTypes = readEnumNames(in, EventType.class);
+		mutes = readEnumNames(in, Mute.class);
+		hopos = readEnumNames(in, HOPO.class);
+		harmonics = readEnumNames(in, Harmonic.class);
+		bassPickingTechniques = readEnumNames(in, BassPickingTechnique.class);
+	}
+
+	private RocksmithChartProject readProject() throws IOException {
+		final RocksmithChartProject project = new RocksmithChartProject();
+		project.editMode = readEnum(editModes);
+		project.arrangement = in.readVarInt();
+		project.level = in.readVarInt();
+		project.time = in.readSignedVarInt();
+
+		project.musicFileName = in.readString();
+		project.artistName = in.readString();
+		project.artistNameSort = in.readString();
+		project.title = in.readString();
+		project.albumName = in.readString();
+		project.albumYear = in.readNullableInt();
+
+		final int beatsCount = in.readCount();
+		final int[] positions = in.readPositions(beatsCount);
+		final ArrayList2<Beat> beats = new ArrayList2<>(beatsCount);
+		for (int i = 0; i < beatsCount; i++) {
+			beats.add(new Beat(positions[i], in.readVarInt(), 4, false));
+		}
+		for (final Beat beat : beats) {
+			beat.noteDenominator = in.readVarInt();
+		}
+		for (final Beat beat : beats) {
+			final int flags = in.readByte();
+			beat.firstInMeasure = isSet(flags, 1);
+			beat.anchor = isSet(flags, 2);
+		}
+		project.beats = beats;
+
+		final int bookmarksCount = in.readCount();
+		project.bookmarks = new HashMap2<>(bookmarksCount);
+		for (int i = 0; i < bookmarksCount; i++) {
+			project.bookmarks.put(in.readSignedVarInt(), in.readSignedVarInt());
+		}
+
+		return project;
+	}
+
+	private ArrangementProperties readArrangementProperties() throws IOException {
+		final ArrangementProperties arrangementProperties = new ArrangementProperties();
+		final int count = in.readCount();
+		for (int i = 0; i < count; i++) {
+			final String name = in.readString();
+			final int value = in.readSignedVarInt();
+			try {
+				final Field field = ArrangementProperties.class.getField(name);
+				if (field.getType() == int.class) {
+					field.setInt(arrangementProperties, value);
+				}
+			} catch (final NoSuchFieldException | IllegalAccessException | NullPointerException e) {
+				// property not used anymore
+			}
+		}
+
+		return arrangementProperties;
+	}
+
+	private Tuning readTuning() throws IOException {
+		final TuningType tuningType = readEnum(tuningTypes);
+		final int strings = in.readCount();
+		final int[] values = new int[strings];
+		for (int i = 0; i < strings; i++) {
+			values[i] = in.readSignedVarInt();
+		}
+
+		final Tuning tuning = new Tuning(tuningType, strings);
+		tuning.tuning(values);
+		tuning.tuning(tuningType);
+		return tuning;
+	}
+
+	private ChartList<EventPoint> readEventPoints() throws IOException {
+		final int count = in.readCount();
+		final int[] positions = in.readPositions(count);
+		final ChartList<EventPoint> eventPoints = new ChartList<>(count);
+		for (int i = 0; i < count; i++) {
+			final EventPoint eventPoint = new EventPoint(positions[i]);
+			eventPoint.section = readNullableEnum(sectionTypes);
+			eventPoints.add(eventPoint);
+		}
+		for (final EventPoint eventPoint : eventPoints) {
+			eventPoint.phrase = in.readString();
+		}
+		for (final EventPoint eventPoint : eventPoints) {
+			final int eventsCount = in.readCount();
+			for (int i = 0; i < eventsCount; i++) {
+				eventPoint.events.add(readEnum(eventTypes));
+			}
+		}
+
+		return eventPoints;
+	}
+
+	private HashMap2<String, Phrase> readPhrases() throws IOException {
+		final int count = in.readCount();
+		final HashMap2<String, Phrase> phrases = new HashMap2<>(count);
+		for (int i = 0; i < count; i++) {
+			final String name = in.readString();
+			final int maxDifficulty = in.readSignedVarInt();
+			phrases.put(name, new Phrase(maxDifficulty, in.readBoolean()));
+		}
+
+		return phrases;
+	}
+
+	private ChartList<ChordTemplate> readChordTemplates() throws IOException {
+		final int count = in.readCount();
+		final ChartList<ChordTemplate> chordTemplates = new ChartList<>(count);
+		for (int i = 0; i < count; i++) {
+			final ChordTemplate chordTemplate = new ChordTemplate();
+			chordTemplate.chordName = in.readString();
+			chordTemplate.arpeggio = in.readBoolean();
+
+			final int fingersCount = in.readCount();
+			for (int j = 0; j < fingersCount; j++) {
+				chordTemplate.fingers.put(in.readSignedVarInt(), in.readNullableInt());
+			}
+
+			final int fretsCount = in.readCount();
+			for (int j = 0; j < fretsCount; j++) {
+				chordTemplate.frets.put(in.readSignedVarInt(), in.readNullableInt());
+			}
+
+			chordTemplates.add(chordTemplate);
+		}
+
+		return chordTemplates;
+	}
+
+	private ArrayList2<BendValue> readBendValues(final int soundPosition) throws IOException {
+		final int count = in.readCount();
+		final ArrayList2<BendValue> bendValues = new ArrayList2<>(count);
+		for (int i = 0; i < count; i++) {
+			final int position = soundPosition + in.readSignedVarInt();
+			bendValues.add(new BendValue(position, in.readBigDecimal()));
+		}
+
+		return bendValues;
+	}
+
+	private void readChordNotes(final Chord chord) throws IOException {
+		final int count = in.readCount();
+		chord.chordNotes = new HashMap2<>(count);
+		for (int i = 0; i < count; i++) {
+			final int string = in.readVarInt();
+			final ChordNote chordNote = new ChordNote();
+			chordNote.length = in.readVarInt();
+			chordNote.mute = readEnum(mutes);
+			chordNote.hopo = readEnum(hopos);
+			chordNote.harmonic = readEnum(harmonics);
+
+			final int flags = in.readVarInt();
+			chordNote.vibrato = isSet(flags, RocksmithChartBinary.noteVibrato);
+			chordNote.tremolo = isSet(flags, RocksmithChartBinary.noteTremolo);
+			chordNote.linkNext = isSet(flags, RocksmithChartBinary.noteLinkNext);
+			chordNote.unpitchedSlide = isSet(flags, RocksmithChartBinary.noteUnpitchedSlide);
+			if (isSet(flags, RocksmithChartBinary.noteSlide)) {
+				chordNote.slideTo = in.readSignedVarInt();
+			}
+			if (isSet(flags, RocksmithChartBinary.noteBends)) {
+				chordNote.bendValues = readBendValues(chord.position());
+			}
+
+			chord.chordNotes.put(string, chordNote);
+		}
+	}
+
+	private ChartList<ChordOrNote> readSounds() throws IOException {
+		final int count = in.readCount();
+		final int[] positions = in.readPositions(count);
+		final int[] flags = new int[count];
+		for (int i = 0; i < count; i++) {
+			flags[i] = in.readVarInt();
+		}
+
+		final ChartList<ChordOrNote> sounds = new ChartList<>(count);
+		final ArrayList2<Note> notes = new ArrayList2<>(count);
+		final ArrayList2<Chord> chords = new ArrayList2<>();
+		for (int i = 0; i < count; i++) {
+			if (isSet(flags[i], RocksmithChartBinary.soundIsChord)) {
+				final Chord chord = new Chord(positions[i], in.readVarInt(), emptyChordTemplate);
+				chord.splitIntoNotes = isSet(flags[i], RocksmithChartBinary.chordSplitIntoNotes);
+				chords.add(chord);
+				sounds.add(new ChordOrNote(chord));
+			} else {
+				final Note note = new Note(positions[i], 0, 0);
+				note.vibrato = isSet(flags[i], RocksmithChartBinary.noteVibrato);
+				note.tremolo = isSet(flags[i], RocksmithChartBinary.noteTremolo);
+				note.linkNext = isSet(flags[i], RocksmithChartBinary.noteLinkNext);
+				note.unpitchedSlide = isSet(flags[i], RocksmithChartBinary.noteUnpitchedSlide);
+				notes.add(note);
+				sounds.add(new ChordOrNote(note));
+			}
+
+			final ChordOrNote sound = sounds.getLast();
+			sound.asGuitarSound().accent = isSet(flags[i], RocksmithChartBinary.soundAccent);
+			sound.asGuitarSound().ignore = isSet(flags[i], RocksmithChartBinary.soundIgnore);
+			sound.asGuitarSound().passOtherNotes = isSet(flags[i], RocksmithChartBinary.soundPassOtherNotes);
+		}
+
+		for (final Note note : notes) {
+			note.string = in.readVarInt();
+		}
+		for (final Note note : notes) {
+			note.fret = in.readSignedVarInt();
+		}
+		for (final Note note : notes) {
+			note.length(in.readVarInt());
+		}
+		for (final Note note : notes) {
+			note.mute = readEnum(mutes);
+		}
+		for (final Note note : notes) {
+			note.hopo = readEnum(hopos);
+		}
+		for (final Note note : notes) {
+			note.harmonic = readEnum(harmonics);
+		}
+		for (final Note note : notes) {
+			note.bassPicking = readEnum(bassPickingTechniques);
+		}
+		for (int i = 0, noteId = 0; i < count; i++) {
+			if (!isSet(flags[i], RocksmithChartBinary.soundIsChord)) {
+				if (isSet(flags[i], RocksmithChartBinary.noteSlide)) {
+					notes.get(noteId).slideTo = in.readSignedVarInt();
+				}
+				noteId++;
+			}
+		}
+		for (int i = 0, noteId = 0; i < count; i++) {
+			if (!isSet(flags[i], RocksmithChartBinary.soundIsChord)) {
+				if (isSet(flags[i], RocksmithChartBinary.noteBends)) {
+					final Note note = notes.get(noteId);
+					note.bendValues = readBendValues(note.position());
+				}
+				noteId++;
+			}
+		}
+
+		for (final Chord chord : chords) {
+			readChordNotes(chord);
+		}
+
+		return sounds;
+	}
+
+	private Level readLevel() throws IOException {
+		final Level level = new Level();
+
+		final int anchorsCount = in.readCount();
+		final int[] anchorPositions = in.readPositions(anchorsCount);
+		level.anchors = new ChartList<>(anchorsCount);
+		for (int i = 0; i < anchorsCount; i++) {
+			level.anchors.add(new Anchor(anchorPositions[i], in.readSignedVarInt()));
+		}
+		for (final Anchor anchor : level.anchors) {
+			anchor.width = in.readVarInt();
+		}
+
+		level.chordsAndNotes = readSounds();
+
+		final int handShapesCount = in.readCount();
+		final int[] handShapePositions = in.readPositions(handShapesCount);
+		level.handShapes = new ChartList<>(handShapesCount);
+		for (int i = 0; i < handShapesCount; i++) {
+			level.handShapes.add(new HandShape(handShapePositions[i], in.readVarInt()));
+		}
+		for (final HandShape handShape : level.handShapes) {
+			handShape.templateId = in.readVarInt();
+		}
+
+		return level;
+	}
+
+	private ArrangementChart readArrangement() throws IOException {
+		final ArrangementChart arrangement = new ArrangementChart();
+		arrangement.arrangementType = readEnum(arrangementTypes);
+		arrangement.arrangementProperties = readArrangementProperties();
+		arrangement.tuning = readTuning();
+		arrangement.capo = in.readSignedVarInt();
+		arrangement.centOffset = in.readBigDecimal();
+		arrangement.baseTone = in.readString();
+
+		arrangement.eventPoints = readEventPoints();
+		arrangement.phrases = readPhrases();
+
+		final int tonesCount = in.readCount();
+		for (int i = 0; i < tonesCount; i++) {
+			arrangement.tones.add(in.readString());
+		}
+
+		final int toneChangesCount = in.readCount();
+		final int[] toneChangePositions = in.readPositions(toneChangesCount);
+		arrangement.toneChanges = new ChartList<>(toneChangesCount);
+		for (int i = 0; i < toneChangesCount; i++) {
+			arrangement.toneChanges.add(new ToneChange(toneChangePositions[i], in.readString()));
+		}
+
+		arrangement.chordTemplates = readChordTemplates();
+		arrangement.fretHandMuteTemplates = readChordTemplates();
+
+		final int levelsCount = in.readCount();
+		arrangement.levels = new HashMap2<>(levelsCount);
+		for (int i = 0; i < levelsCount; i++) {
+			final int levelId = in.readSignedVarInt();
+			arrangement.levels.put(levelId, readLevel());
+		}
+
+		return arrangement;
+	}
+
+	private Vocals readVocals() throws IOException {
+		final int count = in.readCount();
+		final int[] positions = in.readPositions(count);
+		final ArrayList2<Vocal> vocals = new ArrayList2<>(count);
+		for (int i = 0; i < count; i++) {
+			final Vocal vocal = new Vocal(positions[i]);
+			vocal.length(in.readVarInt());
+			vocals.add(vocal);
+		}
+		for (final Vocal vocal : vocals) {
+			vocal.lyric = in.readString();
+		}
+
+		return new Vocals(vocals);
+	}
+
+	static RocksmithChartBinary read(final byte[] data) throws IOException {
+		final RocksmithChartBinaryReader reader = new RocksmithChartBinaryReader(new ChartDataInput(data));
+		reader.readHeader();
+		final RocksmithChartProject project = reader.readProject();
+
+		final int arrangementsCount = reader.in.readCount();
+		final ArrayList2<ArrangementChart> arrangements = new ArrayList2<>(arrangementsCount);
+		final ChartDataInput in = reader.in;
+		for (int i = 0; i < arrangementsCount; i++) {
+			reader.in = in.readBlock();
+			arrangements.add(reader.readArrangement());
+		}
+		reader.in = in;
+
+		final Vocals vocals = reader.readVocals();
+
+		return new RocksmithChartBinary(project, arrangements, vocals);
+	}
+}
@@ -0,0 +1,401 @@
+package log.charter.io.rsc.binary;
+
+import java.lang.reflect.Field;
+import java.util.Map.Entry;
+
+import log.charter.data.managers.modes.EditMode;
+import log.charter.io.rs.xml.song.ArrangementProperties;
+import log.charter.io.rs.xml.song.ArrangementType;
+import log.charter.io.rsc.xml.RocksmithChartProject;
+import log.charter.song.Anchor;
+import log.charter.song.ArrangementChart;
+import log.charter.song.Beat;
+import log.charter.song.BendValue;
+import log.charter.song.ChordTemplate;
+import log.charter.song.EventPoint;
+import log.charter.song.EventType;
+import log.charter.song.HandShape;
+import log.charter.song.Level;
+import log.charter.song.Phrase;
+import log.charter.song.SectionType;
+import log.charter.song.ToneChange;
+import log.charter.song.configs.Tuning.TuningType;
+import log.charter.song.enums.BassPickingTechnique;
+import log.charter.song.enums.HOPO;
+import log.charter.song.enums.Harmonic;
+import log.charter.song.enums.Mute;
+import log.charter.song.notes.Chord;
+import log.charter.song.notes.ChordNote;
+import log.charter.song.notes.ChordOrNote;
+import log.charter.song.notes.Note;
+import log.charter.song.vocals.Vocal;
+import log.charter.song.vocals.Vocals;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+class RocksmithChartBinaryWriter {
+	private static final Field[] arrangementPropertiesFields = getIntFields(ArrangementProperties.class);
+
+	static Field[] getIntFields(final Class<?> type) {
+		final ArrayList2<Field> fields = new ArrayList2<>();
+		for (final Field field : type.getFields()) {
+			if (field.getType() == int.class) {
+				fields.add(field);
+			}
+		}
+
+		return fields.toArray(new Field[0]);
+	}
+
+	private static int soundFlags(final ChordOrNote sound) {
+		int flags = 0;
+		if (sound.isChord()) {
+			final Chord chord = sound.chord;
+			flags |= RocksmithChartBinary.soundIsChord;
+			flags |= chord.accent ? RocksmithChartBinary.soundAccent : 0;
+			flags |= chord.ignore ? RocksmithChartBinary.soundIgnore : 0;
+			flags |= chord.passOtherNotes ? RocksmithChartBinary.soundPassOtherNotes : 0;
+			flags |= chord.splitIntoNotes ? RocksmithChartBinary.chordSplitIntoNotes : 0;
+			return flags;
+		}
+
+		final Note note = sound.note;
+		flags |= note.accent ? RocksmithChartBinary.soundAccent : 0;
+		flags |= note.ignore ? RocksmithChartBinary.soundIgnore : 0;
+		flags |= note.passOtherNotes ? RocksmithChartBinary.soundPassOtherNotes : 0;
+		flags |= noteFlags(note.vibrato, note.tremolo, note.linkNext, note.unpitchedSlide, note.slideTo,
+				note.bendValues);
+		return flags;
+	}
+
+	private static int noteFlags(final boolean vibrato, final boolean tremolo, final boolean linkNext,
+			final boolean unpitchedSlide, final Integer slideTo, final ArrayList2<BendValue> bendValues) {
+		int flags = 0;
+		flags |= vibrato ? RocksmithChartBinary.noteVibrato : 0;
+		flags |= tremolo ? RocksmithChartBinary.noteTremolo : 0;
+		flags |= linkNext ? RocksmithChartBinary.noteLinkNext : 0;
+		flags |= unpitchedSlide ? RocksmithChartBinary.noteUnpitchedSlide : 0;
+		flags |= slideTo != null ? RocksmithChartBinary.noteSlide : 0;
+		flags |= bendValues.isEmpty() ? 0 : RocksmithChartBinary.noteBends;
+		return flags;
+	}
+
+	private final ChartDataOutput out;
+
+	private RocksmithChartBinaryWriter(final ChartDataOutput out) {
+		this.out = out;
+	}
+
+	private void writeEnumNames(final Enum<?>[] values) {
+		out.writeVarInt(values.length);
+		for (final Enum<?> value : values) {
+			out.writeString(value.name());
+		}
+	}
+
+	private void writeEnum(final Enum<?> value) {
+		out.writeVarInt(value.ordinal());
+	}
+
+	private void writeNullableEnum(final Enum<?> value) {
+		out.writeVarInt(value == null ? 0 : value.ordinal() + 1);
+	}
+
+	private void writeHeader() {
+		for (final byte b : RocksmithChartBinary.magic) {
+			out.writeByte(b);
+		}
+		out.writeVarInt(RocksmithChartBinary.version);
+
+		writeEnumNames(EditMode.values());
+		writeEnumNames(ArrangementType.values());
+		writeEnumNames(TuningType.values());
+		writeEnumNames(SectionType.values());
+		writeEnumNames(EventType.values());
+		writeEnumNames(Mute.values());
+		writeEnumNames(HOPO.values());
+		writeEnumNames(Harmonic.values());
+		writeEnumNames(BassPickingTechnique.values());
+	}
+
+	private void writeProject(final RocksmithChartProject project) {
+		writeEnum(project.editMode);
+		out.writeVarInt(project.arrangement);
+		out.writeVarInt(project.level);
+		out.writeSignedVarInt(project.time);
+
+		out.writeString(project.musicFileName);
+		out.writeString(project.artistName);
+		out.writeString(project.artistNameSort);
+		out.writeString(project.title);
+		out.writeString(project.albumName);
+		out.writeNullableInt(project.albumYear);
+
+		final ArrayList2<Beat> beats = project.beats;
+		out.writeVarInt(beats.size());
+		out.writePositions(beats);
+		for (final Beat beat : beats) {
+			out.writeVarInt(beat.beatsInMeasure);
+		}
+		for (final Beat beat : beats) {
+			out.writeVarInt(beat.noteDenominator);
+		}
+		for (final Beat beat : beats) {
+			out.writeByte((beat.firstInMeasure ? 1 : 0) | (beat.anchor ? 2 : 0));
+		}
+
+		out.writeVarInt(project.bookmarks.size());
+		for (final Entry<Integer, Integer> bookmark : project.bookmarks.entrySet()) {
+			out.writeSignedVarInt(bookmark.getKey());
+			out.writeSignedVarInt(bookmark.getValue());
+		}
+	}
+
+	private void writeArrangementProperties(final ArrangementProperties arrangementProperties) {
+		out.writeVarInt(arrangementPropertiesFields.length);
+		for (final Field field : arrangementPropertiesFields) {
+			out.writeString(field.getName());
+			try {
+				out.writeSignedVarInt(field.getInt(arrangementProperties));
+			} catch (final IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private void writeEventPoints(final ArrayList2<EventPoint> eventPoints) {
+		out.writeVarInt(eventPoints.size());
+		out.writePositions(eventPoints);
+		for (final EventPoint eventPoint : eventPoints) {
+			writeNullableEnum(eventPoint.section);
+		}
+		for (final EventPoint eventPoint : eventPoints) {
+			out.writeString(eventPoint.phrase);
+		}
+		for (final EventPoint eventPoint : eventPoints) {
+			out.writeVarInt(eventPoint.events.size());
+			for (final EventType event : eventPoint.events) {
+				writeEnum(event);
+			}
+		}
+	}
+
+	private void writeChordTemplates(final ArrayList2<ChordTemplate> chordTemplates) {
+		out.writeVarInt(chordTemplates.size());
+		for (final ChordTemplate chordTemplate : chordTemplates) {
+			out.writeString(chordTemplate.chordName);
+			out.writeBoolean(chordTemplate.arpeggio);
+
+			out.writeVarInt(chordTemplate.fingers.size());
+			for (final Entry<Integer, Integer> finger : chordTemplate.fingers.entrySet()) {
+				out.writeSignedVarInt(finger.getKey());
+				out.writeNullableInt(finger.getValue());
+			}
+
+			out.writeVarInt(chordTemplate.frets.size());
+			for (final Entry<Integer, Integer> fret : chordTemplate.frets.entrySet()) {
+				out.writeSignedVarInt(fret.getKey());
+				out.writeNullableInt(fret.getValue());
+			}
+		}
+	}
+
+	private void writeBendValues(final int soundPosition, final ArrayList2<BendValue> bendValues) {
+		out.writeVarInt(bendValues.size());
+		for (final BendValue bendValue : bendValues) {
+			out.writeSignedVarInt(bendValue.position() - soundPosition);
+			out.writeBigDecimal(bendValue.bendValue);
+		}
+	}
+
+	private void writeChordNotes(final Chord chord) {
+		out.writeVarInt(chord.chordNotes.size());
+		for (final Entry<Integer, ChordNote> entry : chord.chordNotes.entrySet()) {
+			final ChordNote chordNote = entry.getValue();
+			out.writeVarInt(entry.getKey());
+			out.writeVarInt(chordNote.length);
+			writeEnum(chordNote.mute);
+			writeEnum(chordNote.hopo);
+			writeEnum(chordNote.harmonic);
+			out.writeVarInt(noteFlags(chordNote.vibrato, chordNote.tremolo, chordNote.linkNext,
+					chordNote.unpitchedSlide, chordNote.slideTo, chordNote.bendValues));
+			if (chordNote.slideTo != null) {
+				out.writeSignedVarInt(chordNote.slideTo);
+			}
+			if (!chordNote.bendValues.isEmpty()) {
+				writeBendValues(chord.position(), chordNote.bendValues);
+			}
+		}
+	}
+
+	/**
+	 * Every column has values only for sounds that use it, reader knows which ones from the flags column
+	 */
+	private void writeSounds(final ArrayList2<ChordOrNote> sounds) {
+		out.writeVarInt(sounds.size());
+		out.writePositions(sounds);
+
+		final int[] flags = new int[sounds.size()];
+		for (int i = 0; i < flags.length; i++) {
+			flags[i] = soundFlags(sounds.get(i));
+			out.writeVarInt(flags[i]);
+		}
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isChord()) {
+				out.writeVarInt(sound.chord.templateId());
+			}
+		}
+
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isNote()) {
+				out.writeVarInt(sound.note.string);
+			}
+		}
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isNote()) {
+				out.writeSignedVarInt(sound.note.fret);
+			}
+		}
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isNote()) {
+				out.writeVarInt(sound.note.length());
+			}
+		}
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isNote()) {
+				writeEnum(sound.note.mute);
+			}
+		}
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isNote()) {
+				writeEnum(sound.note.hopo);
+			}
+		}
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isNote()) {
+				writeEnum(sound.note.harmonic);
+			}
+		}
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isNote()) {
+				writeEnum(sound.note.bassPicking);
+			}
+		}
+		for (int i = 0; i < flags.length; i++) {
+			if ((flags[i] & RocksmithChartBinary.soundIsChord) == 0
+					&& (flags[i] & RocksmithChartBinary.noteSlide) != 0) {
+				out.writeSignedVarInt(sounds.get(i).note.slideTo);
+			}
+		}
+		for (int i = 0; i < flags.length; i++) {
+			if ((flags[i] & RocksmithChartBinary.soundIsChord) == 0
+					&& (flags[i] & RocksmithChartBinary.noteBends) != 0) {
+				final Note note = sounds.get(i).note;
+				writeBendValues(note.position(), note.bendValues);
+			}
+		}
+
+		for (final ChordOrNote sound : sounds) {
+			if (sound.isChord()) {
+				writeChordNotes(sound.chord);
+			}
+		}
+	}
+
+	private void writeLevel(final Level level) {
+		out.writeVarInt(level.anchors.size());
+		out.writePositions(level.anchors);
+		for (final Anchor anchor : level.anchors) {
+			out.writeSignedVarInt(anchor.fret);
+		}
+		for (final Anchor anchor : level.anchors) {
+			out.writeVarInt(anchor.width);
+		}
+
+		writeSounds(level.chordsAndNotes);
+
+		out.writeVarInt(level.handShapes.size());
+		out.writePositions(level.handShapes);
+		for (final HandShape handShape : level.handShapes) {
+			out.writeVarInt(handShape.length());
+		}
+		for (final HandShape handShape : level.handShapes) {
+			out.writeVarInt(handShape.templateId);
+		}
+	}
+
+	private void writeArrangement(final ArrangementChart arrangement) {
+		writeEnum(arrangement.arrangementType);
+		writeArrangementProperties(arrangement.arrangementProperties);
+
+		writeEnum(arrangement.tuning.tuningType);
+		out.writeVarInt(arrangement.tuning.strings);
+		for (final int tuningValue : arrangement.tuning.getTuning()) {
+			out.writeSignedVarInt(tuningValue);
+		}
+		out.writeSignedVarInt(arrangement.capo);
+		out.writeBigDecimal(arrangement.centOffset);
+		out.writeString(arrangement.baseTone);
+
+		writeEventPoints(arrangement.eventPoints);
+
+		out.writeVarInt(arrangement.phrases.size());
+		for (final Entry<String, Phrase> phrase : arrangement.phrases.entrySet()) {
+			out.writeString(phrase.getKey());
+			out.writeSignedVarInt(phrase.getValue().maxDifficulty);
+			out.writeBoolean(phrase.getValue().solo);
+		}
+
+		out.writeVarInt(arrangement.tones.size());
+		for (final String tone : arrangement.tones) {
+			out.writeString(tone);
+		}
+
+		out.writeVarInt(arrangement.toneChanges.size());
+		out.writePositions(arrangement.toneChanges);
+		for (final ToneChange toneChange : arrangement.toneChanges) {
+			out.writeString(toneChange.toneName);
+		}
+
+		writeChordTemplates(arrangement.chordTemplates);
+		writeChordTemplates(arrangement.fretHandMuteTemplates);
+
+		out.writeVarInt(arrangement.levels.size());
+		for (final Entry<Integer, Level> level : arrangement.levels.entrySet()) {
+			out.writeSignedVarInt(level.getKey());
+			writeLevel(level.getValue());
+		}
+	}
+
+	private void writeVocals(final Vocals vocals) {
+		out.writeVarInt(vocals.vocals.size());
+		out.writePositions(vocals.vocals);
+		for (final Vocal vocal : vocals.vocals) {
+			out.writeVarInt(vocal.length());
+		}
+		for (final Vocal vocal : vocals.vocals) {
+			out.writeString(vocal.lyric);
+		}
+	}
+
+	/**
+	 * Arrangements are written as length prefixed blocks, so they can be read on their own
+	 */
+	static byte[] write(final RocksmithChartProject project, final ArrayList2<ArrangementChart> arrangements,
+			final Vocals vocals) {
+		final ChartDataOutput out = new ChartDataOutput(1 << 16);
+		final RocksmithChartBinaryWriter writer = new RocksmithChartBinaryWriter(out);
+		writer.writeHeader();
+		writer.writeProject(project);
+
+		out.writeVarInt(arrangements.size());
+		for (final ArrangementChart arrangement : arrangements) {
+			final ChartDataOutput block = new ChartDataOutput(1 << 16);
+			new RocksmithChartBinaryWriter(block).writeArrangement(arrangement);
+			out.writeBlock(block);
+		}
+
+		writer.writeVocals(vocals);
+
+		return out.toByteArray();
+	}
+}
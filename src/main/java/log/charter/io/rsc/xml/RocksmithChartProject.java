@@ -34,12 +34,17 @@ public class RocksmithChartProject {
 	public RocksmithChartProject() {
 	}
 
-	public RocksmithChartProject(final ModeManager modeManager, final ChartData data, final SongChart songChart) {
+	/**
+	 * creates project with editor position, song data has to be set with {@link #setSongChart(SongChart)}
+	 */
+	public RocksmithChartProject(final ModeManager modeManager, final ChartData data) {
 		editMode = modeManager.editMode;
 		arrangement = data.currentArrangement;
 		level = data.currentLevel;
 		time = data.time;
+	}
 
+	public void setSongChart(final SongChart songChart) {
 		artistName = songChart.artistName;
 		artistNameSort = songChart.artistNameSort;
 		title = songChart.title;
@@ -48,8 +53,8 @@ public class RocksmithChartProject {
 
 		musicFileName = songChart.musicFileName;
 
-		beats = songChart.beatsMap.beats;
+		beats = songChart.beatsMap.beats.map(Beat::new);
 
-		bookmarks = songChart.bookmarks;
+		bookmarks = new HashMap2<>(songChart.bookmarks);
 	}
 }
@@ -1,5 +1,8 @@
 package log.charter.io.rsc.xml;
 
+import java.io.IOException;
+import java.io.Writer;
+
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.collections.CollectionConverter;
 import com.thoughtworks.xstream.converters.collections.MapConverter;
@@ -46,4 +49,9 @@ public class RocksmithChartProjectXStreamHandler {
 	public static String saveProject(final RocksmithChartProject rocksmithChartProject) {
 		return XMLHandler.generateXML(xstream, rocksmithChartProject);
 	}
+
+	public static void saveProject(final RocksmithChartProject rocksmithChartProject, final Writer writer)
+			throws IOException {
+		XMLHandler.writeXML(xstream, rocksmithChartProject, writer);
+	}
 }
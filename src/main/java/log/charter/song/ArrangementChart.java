@@ -12,6 +12,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import log.charter.data.config.Config;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.io.gp.gp5.GPBar;
 import log.charter.io.gp.gp5.GPBeat;
 import log.charter.io.gp.gp5.GPBend;
@@ -113,12 +114,12 @@ public class ArrangementChart {
 
 	public HashMap2<Integer, Level> levels = new HashMap2<>();
 
-	public ArrayList2<EventPoint> eventPoints = new ArrayList2<>();
+	public ChartList<EventPoint> eventPoints = new ChartList<>();
 	public HashMap2<String, Phrase> phrases = new HashMap2<>();
 	public HashSet2<String> tones = new HashSet2<>();
-	public ArrayList2<ToneChange> toneChanges = new ArrayList2<>();
-	public ArrayList2<ChordTemplate> chordTemplates = new ArrayList2<>();
-	public ArrayList2<ChordTemplate> fretHandMuteTemplates = new ArrayList2<>();
+	public ChartList<ToneChange> toneChanges = new ChartList<>();
+	public ChartList<ChordTemplate> chordTemplates = new ChartList<>();
+	public ChartList<ChordTemplate> fretHandMuteTemplates = new ChartList<>();
 
 	private void addCountEndPhrases(final ArrayList2<Beat> beats) {
 		phrases.put("COUNT", new Phrase(0, false));
@@ -133,6 +134,12 @@ public class ArrangementChart {
 		eventPoints.add(end);
 	}
 
+	/**
+	 * creates arrangement without any data, to be filled by the caller
+	 */
+	public ArrangementChart() {
+	}
+
 	public ArrangementChart(final ArrangementType arrangementType, final ArrayList2<Beat> beats) {
 		this.arrangementType = arrangementType;
 		addCountEndPhrases(beats);
@@ -158,10 +165,10 @@ public class ArrangementChart {
 		centOffset = songArrangement.centOffset;
 
 		baseTone = songArrangement.tonebase == null ? "" : songArrangement.tonebase;
-		toneChanges = songArrangement.tones == null ? new ArrayList2<>()
-				: ToneChange.fromArrangementTones(songArrangement.tones.list);
+		toneChanges = songArrangement.tones == null ? new ChartList<>()
+				: new ChartList<>(ToneChange.fromArrangementTones(songArrangement.tones.list));
 		tones = new HashSet2<>(toneChanges.map(toneChange -> toneChange.toneName));
-		chordTemplates = songArrangement.chordTemplates.list.map(ChordTemplate::new);
+		chordTemplates = new ChartList<>(songArrangement.chordTemplates.list.map(ChordTemplate::new));
 
 		songArrangement.sections.list.forEach(arrangementSection -> {
 			final EventPoint arrangementEventsPoint = findOrCreateArrangementEventsPoint(arrangementSection.startTime);
@@ -191,7 +198,7 @@ public class ArrangementChart {
 		});
 
 		if (songArrangement.fretHandMuteTemplates != null) {
-			fretHandMuteTemplates = songArrangement.fretHandMuteTemplates.list.map(ChordTemplate::new);
+			fretHandMuteTemplates = new ChartList<>(songArrangement.fretHandMuteTemplates.list.map(ChordTemplate::new));
 		}
 
 		levels = Level.fromArrangementLevels(this, songArrangement.levels.list);
@@ -558,7 +565,7 @@ public class ArrangementChart {
 			}
 		}
 
-		chordTemplates.add(chordTemplate);
+		chordTemplates.add(new ChordTemplate(chordTemplate));
 		return chordTemplates.size() - 1;
 	}
 
@@ -569,4 +576,17 @@ public class ArrangementChart {
 	public String getFileName(final int id) {
 		return id + "_" + getTypeName() + "_RS2.xml";
 	}
+
+	/**
+	 * @return sum of modifications of the arrangement lists, see {@link ChartList#getModifications()}
+	 */
+	public int getModifications() {
+		int modifications = eventPoints.getModifications() + toneChanges.getModifications()
+				+ chordTemplates.getModifications() + fretHandMuteTemplates.getModifications();
+		for (final Level level : levels.values()) {
+			modifications += level.getModifications();
+		}
+
+		return modifications;
+	}
 }
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import log.charter.data.undoSystem.ChartList;
 import log.charter.io.rs.xml.song.SongArrangement;
 import log.charter.io.rsc.xml.RocksmithChartProject;
 import log.charter.song.notes.IPosition;
@@ -16,7 +17,7 @@ import log.charter.util.grid.GridPosition;
 public class BeatsMap {
 	public int songLengthMs;
 
-	public ArrayList2<Beat> beats = new ArrayList2<>();
+	public ChartList<Beat> beats = new ChartList<>();
 
 	/**
 	 * creates beats map for new project
@@ -34,7 +35,7 @@ public class BeatsMap {
 	public BeatsMap(final int songLengthMs, final RocksmithChartProject rocksmithChartProject) {
 		this.songLengthMs = songLengthMs;
 
-		beats = rocksmithChartProject.beats;
+		beats = new ChartList<>(rocksmithChartProject.beats);
 	}
 
 	/**
@@ -43,7 +44,7 @@ public class BeatsMap {
 	public BeatsMap(final int songLengthMs, final SongArrangement songArrangement) {
 		this.songLengthMs = songLengthMs;
 
-		beats = Beat.fromEbeats(songArrangement.ebeats.list);
+		beats = new ChartList<>(Beat.fromEbeats(songArrangement.ebeats.list));
 
 		int beatsInMeasure = -1;
 		int beatCount = 0;
@@ -62,9 +63,18 @@ public class BeatsMap {
 		}
 	}
 
+	/**
+	 * creates beats map with given beats
+	 */
+	public BeatsMap(final int songLengthMs, final List<Beat> beats) {
+		this.songLengthMs = songLengthMs;
+
+		this.beats = new ChartList<>(beats);
+	}
+
 	public BeatsMap(final BeatsMap other) {
 		songLengthMs = other.songLengthMs;
-		beats = other.beats.map(Beat::new);
+		beats = new ChartList<>(other.beats.map(Beat::new));
 	}
 
 	public void makeBeatsUntilSongEnd() {
@@ -108,26 +118,37 @@ public class BeatsMap {
 		}
 	}
 
+	private void setFirstInMeasure(final int id, final boolean firstInMeasure) {
+		final Beat beat = beats.get(id);
+		if (beat.firstInMeasure != firstInMeasure) {
+			beats.changing(id);
+			beat.firstInMeasure = firstInMeasure;
+		}
+	}
+
 	public void fixFirstBeatInMeasures() {
-		final List<Beat> beatsFromPreviousMeasure = new ArrayList<>();
+		final List<Integer> beatsFromPreviousMeasure = new ArrayList<>();
 		int previousBIM = -1;
 		for (int i = 0; i < beats.size(); i++) {
 			final Beat beat = beats.get(i);
 			if (beat.beatsInMeasure != previousBIM) {
-				for (final Beat beatFromPreviousMeasure : beatsFromPreviousMeasure) {
-					beatFromPreviousMeasure.beatsInMeasure = beatsFromPreviousMeasure.size();
+				for (final int beatFromPreviousMeasure : beatsFromPreviousMeasure) {
+					if (beats.get(beatFromPreviousMeasure).beatsInMeasure != beatsFromPreviousMeasure.size()) {
+						beats.changing(beatFromPreviousMeasure);
+						beats.get(beatFromPreviousMeasure).beatsInMeasure = beatsFromPreviousMeasure.size();
+					}
 				}
-				beat.firstInMeasure = true;
+				setFirstInMeasure(i, true);
 				previousBIM = beat.beatsInMeasure;
 				beatsFromPreviousMeasure.clear();
 			} else if (beatsFromPreviousMeasure.size() >= previousBIM) {
 				beatsFromPreviousMeasure.clear();
-				beat.firstInMeasure = true;
+				setFirstInMeasure(i, true);
 			} else {
-				beat.firstInMeasure = false;
+				setFirstInMeasure(i, false);
 			}
 
-			beatsFromPreviousMeasure.add(beat);
+			beatsFromPreviousMeasure.add(i);
 		}
 	}
 
@@ -216,20 +237,19 @@ public class BeatsMap {
 	}
 
 	public void setBPM(final int beatId, final int newBPM) {
-		for (int i = beats.size() - 1; i > beatId; i--) {
-			beats.remove(i);
-		}
+		beats.subList(beatId + 1, beats.size()).clear();
 
 		final Beat startBeat = beats.getLast();
 		final int startPosition = startBeat.position();
 		int position = startPosition + 60_000 / newBPM;
 		int createdBeatId = 1;
+		final ArrayList2<Beat> newBeats = new ArrayList2<>();
 		while (position <= songLengthMs) {
-			final Beat newBeat = new Beat(position, startBeat.beatsInMeasure, startBeat.noteDenominator, false);
-			beats.add(newBeat);
+			newBeats.add(new Beat(position, startBeat.beatsInMeasure, startBeat.noteDenominator, false));
 			createdBeatId++;
 			position = startPosition + createdBeatId * 60_000 / newBPM;
 		}
+		beats.addAll(newBeats);
 
 		fixFirstBeatInMeasures();
 	}
@@ -6,6 +6,7 @@ import static log.charter.util.Utils.mapInteger;
 import java.util.List;
 import java.util.Map.Entry;
 
+import log.charter.data.undoSystem.ChartList;
 import log.charter.io.rs.xml.song.ArrangementBendValue;
 import log.charter.io.rs.xml.song.ArrangementChord;
 import log.charter.io.rs.xml.song.ArrangementLevel;
@@ -32,16 +33,16 @@ public class Level {
 		return levels;
 	}
 
-	public ArrayList2<Anchor> anchors = new ArrayList2<>();
-	public ArrayList2<ChordOrNote> chordsAndNotes = new ArrayList2<>();
-	public ArrayList2<HandShape> handShapes = new ArrayList2<>();
+	public ChartList<Anchor> anchors = new ChartList<>();
+	public ChartList<ChordOrNote> chordsAndNotes = new ChartList<>();
+	public ChartList<HandShape> handShapes = new ChartList<>();
 
 	public Level() {
 	}
 
 	private Level(final ArrangementLevel arrangementLevel, final ArrangementChart arrangement) {
-		anchors = arrangementLevel.anchors.list.map(Anchor::new);
-		handShapes = arrangementLevel.handShapes.list.map(HandShape::new);
+		anchors = new ChartList<>(arrangementLevel.anchors.list.map(Anchor::new));
+		handShapes = new ChartList<>(arrangementLevel.handShapes.list.map(HandShape::new));
 
 		for (final ArrangementChord arrangementChord : arrangementLevel.chords.list) {
 			chordsAndNotes.add(new ChordOrNote(
@@ -107,6 +108,13 @@ public class Level {
 		}
 	}
 
+	/**
+	 * @return sum of modifications of the level lists, see {@link ChartList#getModifications()}
+	 */
+	public int getModifications() {
+		return anchors.getModifications() + chordsAndNotes.getModifications() + handShapes.getModifications();
+	}
+
 	public boolean shouldChordShowNotes(final int id) {
 		final Chord chord = chordsAndNotes.get(id).chord;
 		final HandShape handShape = findLastBeforeEqual(handShapes, chord.position());
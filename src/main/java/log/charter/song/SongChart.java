@@ -1,31 +1,22 @@
 package log.charter.song;
 
-import static java.lang.Math.max;
-import static java.lang.Math.min;
-import static log.charter.io.rs.xml.song.SongArrangementXStreamHandler.readSong;
-import static log.charter.io.rs.xml.vocals.VocalsXStreamHandler.readVocals;
+import static log.charter.song.notes.IPosition.shiftPositions;
 
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
 
 import log.charter.data.ArrangementFretHandPositionsCreator;
-import log.charter.data.config.Localization.Label;
-import log.charter.io.Logger;
 import log.charter.io.gp.gp5.GP5File;
 import log.charter.io.gp.gp5.GPBar;
 import log.charter.io.gp.gp5.GPMasterBar;
 import log.charter.io.gp.gp5.GPTrackData;
 import log.charter.io.rs.xml.song.SongArrangement;
 import log.charter.io.rsc.xml.RocksmithChartProject;
-import log.charter.song.notes.IPosition;
 import log.charter.song.notes.Note;
 import log.charter.song.vocals.Vocals;
 import log.charter.util.CollectionUtils.ArrayList2;
 import log.charter.util.CollectionUtils.HashMap2;
-import log.charter.util.RW;
 
 public class SongChart {
 
@@ -68,9 +59,11 @@ public class SongChart {
 	}
 
 	/**
-	 * creates chart from loaded project
+	 * creates chart from loaded project, arrangements have to be created from project beats in order of project files,
+	 * as they can change time signatures of the beats
 	 */
-	public SongChart(final int songLengthMs, final RocksmithChartProject project, final String dir) throws IOException {
+	public SongChart(final int songLengthMs, final RocksmithChartProject project,
+			final ArrayList2<ArrangementChart> arrangements, final Vocals vocals) {
 		musicFileName = project.musicFileName;
 
 		artistName = project.artistName;
@@ -81,20 +74,8 @@ public class SongChart {
 
 		beatsMap = new BeatsMap(songLengthMs, project);
 
-		arrangements = new ArrayList2<>();
-
-		for (final String filename : project.arrangementFiles) {
-			try {
-				final String xml = RW.read(dir + filename);
-				final SongArrangement songArrangement = readSong(xml);
-				arrangements.add(new ArrangementChart(songArrangement, beatsMap.beats));
-			} catch (final Exception e) {
-				Logger.error("Couldn't load arrangement file " + filename, e);
-				throw new IOException(String.format(Label.MISSING_ARRANGEMENT_FILE.label(), filename));
-			}
-		}
-
-		vocals = new Vocals(readVocals(RW.read(dir + "Vocals_RS2.xml")));
+		this.arrangements = arrangements;
+		this.vocals = vocals;
 
 		bookmarks = project.bookmarks;
 		if (bookmarks == null) {
@@ -160,6 +141,7 @@ public class SongChart {
 		}
 
 		beatsMap.setBPM(0, bpm);
+		beatsMap.beats.changingAll();
 
 		int currentBeat = 0;
 		for (final GPMasterBar masterBar : gp5File.masterBars) {
@@ -182,21 +164,17 @@ public class SongChart {
 	}
 
 	public void moveEverything(final int positionDifference) {
-		final List<IPosition> positionsToMove = new LinkedList<>();
-		positionsToMove.addAll(beatsMap.beats);
+		final int songLength = beatsMap.songLengthMs;
+		shiftPositions(beatsMap.beats, positionDifference, 0, songLength);
 		for (final ArrangementChart arrangement : arrangements) {
-			positionsToMove.addAll(arrangement.toneChanges);
+			shiftPositions(arrangement.toneChanges, positionDifference, 0, songLength);
 			for (final Level level : arrangement.levels.values()) {
-				positionsToMove.addAll(level.anchors);
-				positionsToMove.addAll(level.chordsAndNotes);
-				positionsToMove.addAll(level.handShapes);
+				shiftPositions(level.anchors, positionDifference, 0, songLength);
+				shiftPositions(level.chordsAndNotes, positionDifference, 0, songLength);
+				shiftPositions(level.handShapes, positionDifference, 0, songLength);
 			}
 		}
-		positionsToMove.addAll(vocals.vocals);
-
-		for (final IPosition positionToMove : positionsToMove) {
-			positionToMove.position(min(beatsMap.songLengthMs, max(0, positionToMove.position() + positionDifference)));
-		}
+		shiftPositions(vocals.vocals, positionDifference, 0, songLength);
 
 		beatsMap.makeBeatsUntilSongEnd();
 	}
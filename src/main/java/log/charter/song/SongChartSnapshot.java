@@ -0,0 +1,161 @@
+package log.charter.song;
+
+import java.math.BigDecimal;
+import java.util.Map.Entry;
+
+import log.charter.data.undoSystem.ChartList;
+import log.charter.io.rs.xml.song.ArrangementProperties;
+import log.charter.io.rs.xml.song.ArrangementType;
+import log.charter.song.configs.Tuning;
+import log.charter.song.notes.ChordOrNote;
+import log.charter.song.vocals.Vocal;
+import log.charter.song.vocals.Vocals;
+import log.charter.util.CollectionUtils.ArrayList2;
+import log.charter.util.CollectionUtils.HashMap2;
+import log.charter.util.CollectionUtils.HashSet2;
+import log.charter.util.PersistentList;
+
+/**
+ * State of the chart taken on the event dispatch thread, to be saved on other threads while the chart is edited.
+ * Chart lists are kept as their snapshots, see {@link ChartList#snapshot}, so taking it copies only items changed
+ * since the last snapshot, the rest is shared. Chart made from it is made only once, when it is first needed.
+ */
+public class SongChartSnapshot {
+	private static class LevelSnapshot {
+		private final PersistentList<Anchor> anchors;
+		private final PersistentList<ChordOrNote> chordsAndNotes;
+		private final PersistentList<HandShape> handShapes;
+
+		public LevelSnapshot(final Level level) {
+			anchors = level.anchors.snapshot(Anchor::new);
+			chordsAndNotes = level.chordsAndNotes.snapshot(ChordOrNote::new);
+			handShapes = level.handShapes.snapshot(HandShape::new);
+		}
+
+		public Level toLevel() {
+			final Level level = new Level();
+			level.anchors = new ChartList<>(anchors);
+			level.chordsAndNotes = new ChartList<>(chordsAndNotes);
+			level.handShapes = new ChartList<>(handShapes);
+
+			return level;
+		}
+	}
+
+	private static class ArrangementSnapshot {
+		private final ArrangementType arrangementType;
+		private final ArrangementProperties arrangementProperties;
+		private final Tuning tuning;
+		private final int capo;
+		private final BigDecimal centOffset;
+		private final String baseTone;
+
+		private final HashMap2<Integer, LevelSnapshot> levels;
+
+		private final PersistentList<EventPoint> eventPoints;
+		private final HashMap2<String, Phrase> phrases;
+		private final HashSet2<String> tones;
+		private final PersistentList<ToneChange> toneChanges;
+		private final PersistentList<ChordTemplate> chordTemplates;
+		private final PersistentList<ChordTemplate> fretHandMuteTemplates;
+
+		public ArrangementSnapshot(final ArrangementChart arrangement) {
+			arrangementType = arrangement.arrangementType;
+			arrangementProperties = new ArrangementProperties(arrangement.arrangementProperties);
+			tuning = new Tuning(arrangement.tuning);
+			capo = arrangement.capo;
+			centOffset = arrangement.centOffset;
+			baseTone = arrangement.baseTone;
+
+			levels = arrangement.levels.map(id -> id, LevelSnapshot::new);
+
+			eventPoints = arrangement.eventPoints.snapshot(EventPoint::new);
+			phrases = arrangement.phrases.map(name -> name, Phrase::new);
+			tones = new HashSet2<>(arrangement.tones);
+			toneChanges = arrangement.toneChanges.snapshot(ToneChange::new);
+			chordTemplates = arrangement.chordTemplates.snapshot(ChordTemplate::new);
+			fretHandMuteTemplates = arrangement.fretHandMuteTemplates.snapshot(ChordTemplate::new);
+		}
+
+		public ArrangementChart toArrangementChart() {
+			final ArrangementChart arrangement = new ArrangementChart();
+			arrangement.arrangementType = arrangementType;
+			arrangement.arrangementProperties = arrangementProperties;
+			arrangement.tuning = tuning;
+			arrangement.capo = capo;
+			arrangement.centOffset = centOffset;
+			arrangement.baseTone = baseTone;
+
+			for (final Entry<Integer, LevelSnapshot> level : levels.entrySet()) {
+				arrangement.levels.put(level.getKey(), level.getValue().toLevel());
+			}
+
+			arrangement.eventPoints = new ChartList<>(eventPoints);
+			arrangement.phrases = phrases;
+			arrangement.tones = tones;
+			arrangement.toneChanges = new ChartList<>(toneChanges);
+			arrangement.chordTemplates = new ChartList<>(chordTemplates);
+			arrangement.fretHandMuteTemplates = new ChartList<>(fretHandMuteTemplates);
+
+			return arrangement;
+		}
+	}
+
+	private final String musicFileName;
+	private final String artistName;
+	private final String artistNameSort;
+	private final String title;
+	private final String albumName;
+	private final Integer albumYear;
+
+	private final int songLengthMs;
+	private final PersistentList<Beat> beats;
+	private final ArrayList2<ArrangementSnapshot> arrangements;
+	private final PersistentList<Vocal> vocals;
+
+	private final HashMap2<Integer, Integer> bookmarks;
+
+	private SongChart songChart;
+
+	public SongChartSnapshot(final SongChart songChart) {
+		musicFileName = songChart.musicFileName;
+		artistName = songChart.artistName;
+		artistNameSort = songChart.artistNameSort;
+		title = songChart.title;
+		albumName = songChart.albumName;
+		albumYear = songChart.albumYear;
+
+		songLengthMs = songChart.beatsMap.songLengthMs;
+		beats = songChart.beatsMap.beats.snapshot(Beat::new);
+		arrangements = songChart.arrangements.map(ArrangementSnapshot::new);
+		vocals = songChart.vocals.vocals.snapshot(Vocal::new);
+
+		bookmarks = new HashMap2<>(songChart.bookmarks);
+	}
+
+	/**
+	 * @return chart with the state of this snapshot, its items must not be changed, as they are shared with other
+	 *         snapshots and the undo history
+	 */
+	public synchronized SongChart getSongChart() {
+		if (songChart != null) {
+			return songChart;
+		}
+
+		songChart = new SongChart(songLengthMs, musicFileName);
+		songChart.artistName = artistName;
+		songChart.artistNameSort = artistNameSort;
+		songChart.title = title;
+		songChart.albumName = albumName;
+		songChart.albumYear = albumYear;
+
+		songChart.beatsMap = new BeatsMap(songLengthMs, beats);
+		songChart.arrangements = arrangements.map(ArrangementSnapshot::toArrangementChart);
+		songChart.vocals = new Vocals();
+		songChart.vocals.vocals = new ChartList<>(vocals);
+
+		songChart.bookmarks = bookmarks;
+
+		return songChart;
+	}
+}
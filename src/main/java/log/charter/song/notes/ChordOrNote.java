@@ -10,20 +10,26 @@ import log.charter.util.CollectionUtils.ArrayList2;
 
 @XStreamAlias("sound")
 public class ChordOrNote implements IPositionWithLength {
-	public static ChordOrNote findNextSoundOnString(final int string, final int startFromId,
+	public static int findNextSoundIdOnString(final int string, final int startFromId,
 			final ArrayList2<ChordOrNote> sounds) {
 		for (int i = startFromId; i < sounds.size(); i++) {
 			final ChordOrNote sound = sounds.get(i);
 			if (sound.isNote()) {
 				if (sound.note.string == string) {
-					return sound;
+					return i;
 				}
 			} else if (sound.chord.chordNotes.containsKey(string)) {
-				return sound;
+				return i;
 			}
 		}
 
-		return null;
+		return -1;
+	}
+
+	public static ChordOrNote findNextSoundOnString(final int string, final int startFromId,
+			final ArrayList2<ChordOrNote> sounds) {
+		final int id = findNextSoundIdOnString(string, startFromId, sounds);
+		return id == -1 ? null : sounds.get(id);
 	}
 
 	public static ChordOrNote findPreviousSoundOnString(final int string, final int startFromId,
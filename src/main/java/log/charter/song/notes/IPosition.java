@@ -1,9 +1,12 @@
 package log.charter.song.notes;
 
 import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 import java.util.List;
 
+import log.charter.data.undoSystem.ChartList;
 import log.charter.util.CollectionUtils.ArrayList2;
 
 public interface IPosition extends Comparable<IPosition> {
@@ -166,12 +169,41 @@ public interface IPosition extends Comparable<IPosition> {
 		return id < 0 ? null : list.get(id);
 	}
 
-	public static <T extends IPosition> List<T> getFromTo(final ArrayList2<T> list, final int from, final int to) {
+	public static <T extends IPosition> ArrayList2<Integer> getIdsFromTo(final ArrayList2<T> list, final int from,
+			final int to) {
 		int fromId = findFirstIdAfterEqual(list, from);
 		fromId = fromId == -1 ? 0 : fromId;
 		int toId = findLastIdBeforeEqual(list, to);
 		toId = toId == -1 ? list.size() : (toId + 1);
-		return list.subList(fromId, toId);
+
+		final ArrayList2<Integer> ids = new ArrayList2<>(max(0, toId - fromId));
+		for (int id = fromId; id < toId; id++) {
+			ids.add(id);
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Moves positions with ids from fromId to toId (exclusive) by difference, keeping them between minPosition and
+	 * maxPosition. List stays sorted, because the same change is done to every position.
+	 */
+	public static void shiftPositions(final ChartList<? extends IPosition> list, final int fromId, final int toId,
+			final int difference, final int minPosition, final int maxPosition) {
+		if (difference == 0) {
+			return;
+		}
+
+		list.changing(fromId, toId);
+		for (int i = fromId; i < toId; i++) {
+			final IPosition position = list.get(i);
+			position.position(min(maxPosition, max(minPosition, position.position() + difference)));
+		}
+	}
+
+	public static void shiftPositions(final ChartList<? extends IPosition> list, final int difference,
+			final int minPosition, final int maxPosition) {
+		shiftPositions(list, 0, list.size(), difference, minPosition, maxPosition);
 	}
 
 	int position();
@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.List;
 
 import log.charter.data.managers.selection.Selection;
+import log.charter.data.undoSystem.ChartList;
 import log.charter.song.BeatsMap;
 import log.charter.util.CollectionUtils.ArrayList2;
 
@@ -35,7 +36,7 @@ public interface IPositionWithLength extends IPosition {
 	}
 
 	public static <PwL extends IPositionWithLength, P extends IPosition> void changePositionsWithLengthsLength(
-			final BeatsMap beatsMap, final ArrayList2<Selection<PwL>> toChange, final ArrayList2<P> allPositions,
+			final BeatsMap beatsMap, final ArrayList2<Selection<PwL>> toChange, final ChartList<P> allPositions,
 			final int change) {
 		for (final Selection<PwL> selected : toChange) {
 			final IPositionWithLength positionWithLength = selected.selectable;
@@ -51,7 +52,10 @@ public interface IPositionWithLength extends IPosition {
 			}
 
 			final int length = max(0, endPosition - positionWithLength.position());
-			positionWithLength.length(length);
+			if (positionWithLength.length() != length) {
+				allPositions.changing(selected.id);
+				positionWithLength.length(length);
+			}
 		}
 	}
 
@@ -69,7 +73,7 @@ public interface IPositionWithLength extends IPosition {
 		return false;
 	}
 
-	private static void changeNoteLength(final BeatsMap beatsMap, final ArrayList2<ChordOrNote> allPositions,
+	private static void changeNoteLength(final BeatsMap beatsMap, final ChartList<ChordOrNote> allPositions,
 			final CommonNote note, final int id, final int change) {
 		if (note.linkNext()) {
 			fixNoteLength(note, id, allPositions);
@@ -78,13 +82,16 @@ public interface IPositionWithLength extends IPosition {
 
 		final int newEndPosition = change > 0 ? beatsMap.getPositionWithAddedGrid(note.endPosition(), change)
 				: beatsMap.getPositionWithRemovedGrid(note.endPosition(), -change);
-		note.endPosition(newEndPosition);
+		if (note.endPosition() != newEndPosition) {
+			allPositions.changing(id);
+			note.endPosition(newEndPosition);
+		}
 
 		fixNoteLength(note, id, allPositions);
 	}
 
 	public static void changeSoundsLength(final BeatsMap beatsMap, final ArrayList2<Selection<ChordOrNote>> toChange,
-			final ArrayList2<ChordOrNote> allPositions, final int change, final boolean cutBeforeNext,
+			final ChartList<ChordOrNote> allPositions, final int change, final boolean cutBeforeNext,
 			final List<Integer> selectedStrings) {
 		for (final Selection<ChordOrNote> selected : toChange) {
 			final ChordOrNote sound = selected.selectable;
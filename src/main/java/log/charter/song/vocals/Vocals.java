@@ -3,6 +3,7 @@ package log.charter.song.vocals;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamInclude;
 
+import log.charter.data.undoSystem.ChartList;
 import log.charter.io.rs.xml.vocals.ArrangementVocals;
 import log.charter.util.CollectionUtils.ArrayList2;
 
@@ -10,21 +11,21 @@ import log.charter.util.CollectionUtils.ArrayList2;
 @XStreamInclude(value = { Vocal.class })
 public class Vocals {
 
-	public ArrayList2<Vocal> vocals = new ArrayList2<>();
+	public ChartList<Vocal> vocals = new ChartList<>();
 
 	public Vocals() {
 	}
 
 	public Vocals(final ArrayList2<Vocal> vocals) {
-		this.vocals = vocals;
+		this.vocals = new ChartList<>(vocals);
 	}
 
 	public Vocals(final ArrangementVocals arrangementVocals) {
-		vocals = arrangementVocals.vocals.map(Vocal::new);
+		vocals = new ChartList<>(arrangementVocals.vocals.map(Vocal::new));
 	}
 
 	public Vocals(final Vocals other) {
-		vocals = other.vocals.map(Vocal::new);
+		vocals = new ChartList<>(other.vocals.map(Vocal::new));
 	}
 
 	public int insertNote(final int position, final String text, final boolean wordPart, final boolean phraseEnd) {
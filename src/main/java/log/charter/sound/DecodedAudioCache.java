@@ -0,0 +1,129 @@
+package log.charter.sound;
+
+import static java.lang.Math.min;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.DoubleConsumer;
+
+import log.charter.io.Logger;
+
+/**
+ * Keeps decoded audio of the song file as raw 16 bit stereo PCM in the song folder, so that later opens only need to
+ * map the file instead of decoding mp3/ogg again.
+ */
+public class DecodedAudioCache {
+	private static final int magic = 0x52534350;// "RSCP"
+	private static final int version = 1;
+	private static final int headerSize = 32;
+	private static final int writeBufferFrames = 16 * 1024;
+
+	private static File getCacheFile(final File musicFile) {
+		return new File(musicFile.getParentFile(), musicFile.getName() + ".pcmcache");
+	}
+
+	public static MusicData readFile(final File musicFile) {
+		return readFile(musicFile, null);
+	}
+
+	public static MusicData readFile(final File musicFile, final DoubleConsumer progressListener) {
+		final File cacheFile = getCacheFile(musicFile);
+		final MusicData cached = readCache(musicFile, cacheFile);
+		if (cached != null) {
+			return cached;
+		}
+
+		final MusicData musicData = MusicData.readFile(musicFile, progressListener);
+		if (musicData != null) {
+			final long sourceLength = musicFile.length();
+			final long sourceModified = musicFile.lastModified();
+			new Thread(() -> writeCache(musicData, cacheFile, sourceLength, sourceModified), "Audio cache writer")
+					.start();
+		}
+
+		return musicData;
+	}
+
+	private static MusicData readCache(final File musicFile, final File cacheFile) {
+		if (!cacheFile.exists()) {
+			return null;
+		}
+
+		try (RandomAccessFile file = new RandomAccessFile(cacheFile, "r"); FileChannel channel = file.getChannel()) {
+			final ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+			channel.read(header, 0);
+			header.flip();
+
+			if (header.getInt() != magic || header.getInt() != version) {
+				return null;
+			}
+			if (header.getLong() != musicFile.length() || header.getLong() != musicFile.lastModified()) {
+				return null;
+			}
+
+			final float rate = header.getFloat();
+			final int frames = header.getInt();
+			if (channel.size() != headerSize + frames * 4L) {
+				return null;
+			}
+
+			final MappedByteBuffer mapped = channel.map(MapMode.READ_ONLY, headerSize, frames * 4L);
+			return new MusicData(mapped.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer(), rate);
+		} catch (final Exception e) {
+			Logger.error("Couldn't read decoded audio cache " + cacheFile.getAbsolutePath(), e);
+			return null;
+		}
+	}
+
+	private static void writeCache(final MusicData musicData, final File cacheFile, final long sourceLength,
+			final long sourceModified) {
+		musicData.waitUntilDecoded();
+		if (musicData.isDecodingStopped() || !musicData.isDecoded()) {
+			return;
+		}
+
+		final File tmpFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+
+		try {
+			try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				final ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+				header.putInt(magic).putInt(version).putLong(sourceLength).putLong(sourceModified)
+						.putFloat(musicData.outFormat.getFrameRate()).putInt(musicData.frames());
+				header.rewind();
+				channel.write(header);
+
+				final ByteBuffer buffer = ByteBuffer.allocateDirect(writeBufferFrames * 4)
+						.order(ByteOrder.LITTLE_ENDIAN);
+				for (int frame = 0; frame < musicData.frames(); frame += writeBufferFrames) {
+					buffer.clear();
+					final int frames = min(writeBufferFrames, musicData.frames() - frame);
+					for (int i = 0; i < frames; i++) {
+						buffer.putShort((short) musicData.sample(0, frame + i));
+						buffer.putShort((short) musicData.sample(1, frame + i));
+					}
+					buffer.flip();
+
+					while (buffer.hasRemaining()) {
+						channel.write(buffer);
+					}
+				}
+			}
+
+			Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (final IOException e) {
+			Logger.error("Couldn't write decoded audio cache " + cacheFile.getAbsolutePath(), e);
+			tmpFile.delete();
+		}
+	}
+}
@@ -2,4 +2,9 @@ package log.charter.sound;
 
 public interface IPlayer {
 	void play();
+
+	/**
+	 * @return measured time in ms from calling play to the sound starting to play
+	 */
+	int getLatencyMs();
 }
@@ -5,13 +5,14 @@ import static java.lang.Math.min;
 import static java.lang.Math.pow;
 import static java.lang.Math.sin;
 import static log.charter.sound.SoundPlayer.generateBeep;
-import static log.charter.sound.SoundPlayer.slow;
-import static log.charter.sound.SoundPlayer.toBytes;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.DoubleConsumer;
 
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioFormat.Encoding;
@@ -44,6 +45,14 @@ public class MusicData {
 	}
 
 	public static MusicData readFile(final File file) {
+		return readFile(file, null);
+	}
+
+	/**
+	 * @param progressListener receives decoded fraction of the file, only used by formats that can decode in the
+	 *                         background, can be null
+	 */
+	public static MusicData readFile(final File file, final DoubleConsumer progressListener) {
 		try {
 			if (file.getName().endsWith(".mp3")) {
 				if (file.exists()) {
@@ -51,7 +60,7 @@ public class MusicData {
 				}
 			} else if (file.getName().endsWith(".ogg")) {
 				if (file.exists()) {
-					return OggLoader.load(file.getAbsolutePath());
+					return OggLoader.load(file.getAbsolutePath(), progressListener);
 				}
 			}
 		} catch (final Exception e) {
@@ -75,83 +84,211 @@ public class MusicData {
 		return null;
 	}
 
-	private static int[][] splitAudio(final byte[] b) {
-		final int[][] d = new int[2][b.length / 4];
-		for (int i = 0; i < d[0].length; i++) {
-			final byte b0 = b[i * 4];
-			final byte b1 = b[i * 4 + 1];
-			final byte b2 = b[i * 4 + 2];
-			final byte b3 = b[i * 4 + 3];
+	private static ShortBuffer toSamples(int[][] data) {
+		if (data.length == 1) {
+			data = new int[][] { data[0], data[0] };
+		}
 
-			d[0][i] = (b0 & 0xFF) + (b1 << 8);
-			d[1][i] = (b2 & 0xFF) + (b3 << 8);
+		final int frames = min(data[0].length, data[1].length);
+		final short[] samples = new short[frames * 2];
+		for (int i = 0; i < frames; i++) {
+			samples[i * 2] = (short) data[0][i];
+			samples[i * 2 + 1] = (short) data[1][i];
 		}
 
-		return d;
+		return ShortBuffer.wrap(samples);
 	}
 
-	public final int[][] data;
 	public final AudioFormat outFormat;
-	private byte[] preparedData;
-	private int slow = 1;
+	private final ShortBuffer samples;
+	private final int frames;
+	private volatile int decodedFrames;
+	private volatile boolean failed = false;
+	private volatile boolean cancelled = false;
+	private WaveformPyramid waveform;
 
 	public MusicData(final byte[] b) {
 		this(b, DEF_RATE);
 	}
 
 	public MusicData(final byte[] b, final float rate) {
-		preparedData = b;
-		data = splitAudio(b);
-		outFormat = new AudioFormat(Encoding.PCM_SIGNED, rate, 16, 2, 4, rate, false);
+		this(ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer(), rate);
 	}
 
 	public MusicData(final int[][] data) {
 		this(data, DEF_RATE);
 	}
 
-	public MusicData(int[][] data, final float rate) {
-		if (data.length == 1) {
-			data = new int[][] { data[0], data[0] };
-		}
-		preparedData = toBytes(data);
-		this.data = data;
+	public MusicData(final int[][] data, final float rate) {
+		this(toSamples(data), rate);
+	}
+
+	/**
+	 * @param samples interleaved 16 bit stereo samples
+	 */
+	public MusicData(final ShortBuffer samples, final float rate) {
+		this(samples, rate, samples.limit() / 2);
+	}
+
+	/**
+	 * @param samples       interleaved 16 bit stereo samples, can still be filled by decoder after creation
+	 * @param decodedFrames number of frames already filled, the rest is expected to be reported with
+	 *                      {@link #setDecodedFrames(int)}
+	 */
+	public MusicData(final ShortBuffer samples, final float rate, final int decodedFrames) {
+		this.samples = samples;
+		frames = samples.limit() / 2;
+		this.decodedFrames = decodedFrames;
 		outFormat = new AudioFormat(Encoding.PCM_SIGNED, rate, 16, 2, 4, rate, false);
 	}
 
-	public byte[] getData() {
-		return preparedData;
+	public int channels() {
+		return 2;
 	}
 
-	public int msLength() {
-		return (int) ((data[0].length * 1000.0) / outFormat.getFrameRate());
+	public int frames() {
+		return frames;
+	}
+
+	public int decodedFrames() {
+		return decodedFrames;
+	}
+
+	public boolean isDecoded() {
+		return decodedFrames >= frames;
 	}
 
-	public void setSlow(final int newSlow) {
-		if (newSlow == 0) {
-			return;
+	public synchronized void setDecodedFrames(final int decodedFrames) {
+		this.decodedFrames = decodedFrames;
+		notifyAll();
+	}
+
+	/**
+	 * Marks that frames after decoded ones won't be filled because of an error, waiting for them stops
+	 */
+	public synchronized void setFailed() {
+		failed = true;
+		notifyAll();
+	}
+
+	/**
+	 * Marks that frames after decoded ones won't be filled because filling was stopped, waiting for them stops
+	 */
+	public synchronized void setCancelled() {
+		cancelled = true;
+		notifyAll();
+	}
+
+	public boolean isFailed() {
+		return failed;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @return true if frames after decoded ones won't be filled
+	 */
+	public boolean isDecodingStopped() {
+		return failed || cancelled;
+	}
+
+	/**
+	 * Waits until given number of frames is decoded or decoding stops, so check decoded frames after it returns
+	 */
+	public synchronized void waitForFrames(final int frames) {
+		while (decodedFrames < min(frames, this.frames) && !failed && !cancelled) {
+			try {
+				wait();
+			} catch (final InterruptedException e) {
+				Logger.error("Interrupted while waiting for music data to decode", e);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Waits like {@link #waitForFrames(int)}, but at most given time
+	 */
+	public synchronized void waitForFrames(final int frames, final long timeoutMs) {
+		final long end = System.currentTimeMillis() + timeoutMs;
+		long timeLeft = timeoutMs;
+		while (timeLeft > 0 && decodedFrames < min(frames, this.frames) && !failed && !cancelled) {
+			try {
+				wait(timeLeft);
+			} catch (final InterruptedException e) {
+				Logger.error("Interrupted while waiting for music data to decode", e);
+				return;
+			}
+
+			timeLeft = end - System.currentTimeMillis();
 		}
-		if (newSlow != slow) {
-			slow = newSlow;
-			preparedData = toBytes(slow(data, slow));
+	}
+
+	/**
+	 * @return true if frames up to given number can be read without waiting, because they are decoded or decoding
+	 *         stopped and they won't ever be
+	 */
+	public boolean areFramesReady(final int frames) {
+		return decodedFrames >= min(frames, this.frames) || failed || cancelled;
+	}
+
+	/**
+	 * @return number of frames that can be played, all frames unless decoding stopped before the end
+	 */
+	public int playableFrames() {
+		return failed || cancelled ? min(decodedFrames, frames) : frames;
+	}
+
+	public void waitUntilDecoded() {
+		waitForFrames(frames);
+	}
+
+	public int sample(final int channel, final int frame) {
+		return samples.get(frame * 2 + channel);
+	}
+
+	public byte[] toBytes() {
+		waitUntilDecoded();
+		final byte[] bytes = new byte[frames * 4];
+		ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().put(samples.duplicate().clear());
+
+		return bytes;
+	}
+
+	/**
+	 * @return waveform summary, null until the whole music is decoded
+	 */
+	public synchronized WaveformPyramid getWaveform() {
+		if (waveform == null) {
+			if (!isDecoded()) {
+				return null;
+			}
+
+			waveform = new WaveformPyramid(this, 0, (int) (outFormat.getFrameRate() / 1000));
 		}
+
+		return waveform;
 	}
 
-	public double slowMultiplier() {
-		return slow > 0 ? 1.0 / slow : -slow / (-slow + 1.0);
+	public int msLength() {
+		return (int) ((frames * 1000.0) / outFormat.getFrameRate());
 	}
 
 	public List<Double> positionsOfHighs() {
+		waitUntilDecoded();
 		final double rate = outFormat.getSampleRate();
 		final int timeout = (int) (25 * rate / 1000);
 		final List<Double> highs = new ArrayList<>();
 
 		int soundCounter = 0;
-		for (int j = 0; j < data[0].length; j++) {
-			for (int i = 0; i < data.length; i++) {
+		for (int j = 0; j < frames; j++) {
+			for (int i = 0; i < channels(); i++) {
 				if (soundCounter > 0) {
 					soundCounter--;
 				} else {
-					if (data[i][j] > 32_700) {
+					if (sample(i, j) > 32_700) {
 						highs.add(j / rate);
 						soundCounter = timeout;
 					}
@@ -163,111 +300,80 @@ public class MusicData {
 	}
 
 	public MusicData highsToSounds() {
+		waitUntilDecoded();
 		final float rate = outFormat.getSampleRate();
-		final int[][] newData = new int[data.length][];
+		final short[] newSamples = new short[frames * 2];
 		final int[] sound = generateBeep((int) (20 * rate / 1000), 440, 32767, (int) rate);
 
-		for (int i = 0; i < data.length; i++) {
-			final int[] oldChannel = data[i];
-			final int[] newChannel = new int[oldChannel.length];
-
+		for (int i = 0; i < channels(); i++) {
 			int soundCounter = 0;
-			for (int j = 0; j < oldChannel.length; j++) {
+			for (int j = 0; j < frames; j++) {
 				if (soundCounter > 0) {
-					newChannel[j] = sound[sound.length - soundCounter];
+					newSamples[j * 2 + i] = (short) sound[sound.length - soundCounter];
 					soundCounter--;
-				} else {
-					newChannel[j] = 0;
-					if (oldChannel[j] > 32_000) {
-						soundCounter = sound.length;
-					}
+				} else if (sample(i, j) > 32_000) {
+					soundCounter = sound.length;
 				}
 			}
-
-			newData[i] = newChannel;
 		}
 
-		return new MusicData(newData, rate);
+		return new MusicData(ShortBuffer.wrap(newSamples), rate);
 	}
 
 	public MusicData pass(final float frequency, final float resonance, final PassType type) {
+		waitUntilDecoded();
 		final float rate = outFormat.getSampleRate();
-		final int[][] newData = new int[data.length][];
-		for (int i = 0; i < data.length; i++) {
-			final int[] oldChannel = data[i];
-			newData[i] = new int[oldChannel.length];
+		final short[] newSamples = new short[frames * 2];
+		for (int i = 0; i < channels(); i++) {
 			final HighPassFilter filter = new HighPassFilter(frequency, (int) rate, type, resonance);
-			for (int j = 0; j < oldChannel.length; j++) {
-				final float oldVal = (float) ((oldChannel[j] + 32768) / 65536.0);
+			for (int j = 0; j < frames; j++) {
+				final float oldVal = (float) ((sample(i, j) + 32768) / 65536.0);
 				final float newVal = max(0, min(1, filter.update(oldVal) * 1.0f));
-				newData[i][j] = (int) (newVal * 65535 - 32768);
+				newSamples[j * 2 + i] = (short) (newVal * 65535 - 32768);
 			}
 		}
 
-		return new MusicData(newData, rate);
+		return new MusicData(ShortBuffer.wrap(newSamples), rate);
 	}
 
 	public MusicData join(final MusicData other) {
-		int length0 = 0;
-		for (int i = 0; i < data.length; i++) {
-			length0 = max(length0, data[i].length);
-		}
-		int length1 = 0;
-		for (int i = 0; i < other.data.length; i++) {
-			length1 = max(length1, other.data[i].length);
-		}
+		waitUntilDecoded();
+		other.waitUntilDecoded();
+		final short[] newSamples = new short[(frames + other.frames) * 2];
+		samples.duplicate().clear().get(newSamples, 0, frames * 2);
+		other.samples.duplicate().clear().get(newSamples, frames * 2, other.frames * 2);
 
-		final int channels = max(data.length, other.data.length);
-		final int[][] newData = new int[channels][length0 + length1];
-		for (int channel = 0; channel < data.length; channel++) {
-			final int[] targetChannel = newData[channel];
-			System.arraycopy(data[channel], 0, targetChannel, 0, data[channel].length);
-			System.arraycopy(other.data[channel], 0, targetChannel, length0, other.data[channel].length);
-		}
-
-		return new MusicData(newData, outFormat.getSampleRate());
+		return new MusicData(ShortBuffer.wrap(newSamples), outFormat.getSampleRate());
 	}
 
 	public MusicData remove(final double time) {
-		int length = 0;
-		for (int i = 0; i < data.length; i++) {
-			length = max(length, data[i].length);
-		}
+		waitUntilDecoded();
+		final int framesRemoved = min(frames, (int) (time * outFormat.getSampleRate()));
+		final short[] newSamples = new short[(frames - framesRemoved) * 2];
+		samples.duplicate().clear().position(framesRemoved * 2).get(newSamples);
 
-		final int samplesRemoved = (int) (time * outFormat.getSampleRate());
-		length -= samplesRemoved;
-
-		final int channels = data.length;
-		final int[][] newData = new int[channels][length];
-		for (int channel = 0; channel < data.length; channel++) {
-			final int[] src = data[channel];
-			final int[] dest = newData[channel];
-			final int toMove = max(0, data[channel].length - samplesRemoved);
-			System.arraycopy(src, samplesRemoved, dest, 0, toMove);
-		}
-
-		return new MusicData(newData, outFormat.getSampleRate());
+		return new MusicData(ShortBuffer.wrap(newSamples), outFormat.getSampleRate());
 	}
 
 	public MusicData volume(final double volume) {
-		final int[][] newData = new int[data.length][];
-		for (int channel = 0; channel < data.length; channel++) {
-			newData[channel] = Arrays.copyOf(data[channel], data[channel].length);
-			for (int i = 0; i < newData[channel].length; i++) {
-				newData[channel][i] *= volume;
-			}
+		waitUntilDecoded();
+		final short[] newSamples = new short[frames * 2];
+		for (int i = 0; i < newSamples.length; i++) {
+			newSamples[i] = (short) max(Short.MIN_VALUE, min(Short.MAX_VALUE, samples.get(i) * volume));
 		}
 
-		return new MusicData(newData, outFormat.getSampleRate());
+		return new MusicData(ShortBuffer.wrap(newSamples), outFormat.getSampleRate());
 	}
 
 	public int getFirstDifferent(final MusicData other) {
-		for (int i = 0; i < data[0].length; i++) {
-			if (data[0][i] != other.data[0][i]) {
+		waitUntilDecoded();
+		other.waitUntilDecoded();
+		for (int i = 0; i < frames; i++) {
+			if (sample(0, i) != other.sample(0, i)) {
 				return i;
 			}
 		}
 
 		return -1;
 	}
-}
\ No newline at end of file
+}
@@ -11,14 +11,18 @@ import log.charter.io.Logger;
 public class RepeatingPlayer implements IPlayer {
 	private static final int BUFF_SIZE = 1024 * 128;
 
-	private final MusicData musicData;
+	private final byte[] data;
 	private final SourceDataLine line;
 
 	private boolean playAgain = false;
 	private boolean stopped = false;
 
+	private volatile int latencyMs = 0;
+	private long latencyProbeStartTime = -1;
+	private long latencyProbeStartFrame;
+
 	public RepeatingPlayer(final MusicData musicData) {
-		this.musicData = musicData;
+		data = musicData.toBytes();
 		final Info info = new Info(SourceDataLine.class, musicData.outFormat);
 		SourceDataLine sourceDataLine;
 		try {
@@ -37,6 +41,7 @@ public class RepeatingPlayer implements IPlayer {
 					if (playAgain) {
 						playSound();
 					}
+					measureLatency();
 					Thread.sleep(1);
 				}
 			} catch (final InterruptedException e) {
@@ -47,8 +52,14 @@ public class RepeatingPlayer implements IPlayer {
 	}
 
 	private void playSound() {
+		final boolean lineWasEmpty = line.available() == line.getBufferSize();
 		line.flush();
-		final byte[] data = musicData.getData();
+		if (lineWasEmpty) {
+			latencyProbeStartFrame = line.getLongFramePosition();
+			latencyProbeStartTime = System.nanoTime();
+		} else {
+			latencyProbeStartTime = -1;
+		}
 		int startByte = 0;
 
 		while ((data.length - startByte) > BUFF_SIZE) {
@@ -63,11 +74,30 @@ public class RepeatingPlayer implements IPlayer {
 		playAgain = false;
 	}
 
+	/**
+	 * Line position moves only when the written frames are played, so the time it took to move after writing to an
+	 * empty line is the latency of the line, kept as a running average
+	 */
+	private void measureLatency() {
+		if (latencyProbeStartTime == -1 || line.getLongFramePosition() <= latencyProbeStartFrame) {
+			return;
+		}
+
+		final int measuredLatency = (int) ((System.nanoTime() - latencyProbeStartTime) / 1_000_000);
+		latencyMs = latencyMs == 0 ? measuredLatency : (latencyMs * 3 + measuredLatency) / 4;
+		latencyProbeStartTime = -1;
+	}
+
 	@Override
 	public void play() {
 		playAgain = true;
 	}
 
+	@Override
+	public int getLatencyMs() {
+		return latencyMs;
+	}
+
 	public void stop() {
 		stopped = true;
 	}
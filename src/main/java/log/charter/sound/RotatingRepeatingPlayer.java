@@ -17,4 +17,9 @@ public class RotatingRepeatingPlayer implements IPlayer {
 		players[nextPlayer++].play();
 		nextPlayer = nextPlayer % players.length;
 	}
+
+	@Override
+	public int getLatencyMs() {
+		return players[nextPlayer].getLatencyMs();
+	}
 }
@@ -3,82 +3,8 @@ package log.charter.sound;
 import static java.lang.Math.floor;
 import static java.lang.Math.sin;
 import static java.lang.System.arraycopy;
-import static javax.sound.sampled.AudioSystem.getLine;
-
-import javax.sound.sampled.DataLine.Info;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.SourceDataLine;
 
 public class SoundPlayer {
-
-	public static class Player {
-		private static final int BUFF_SIZE = 1024 * 128;
-
-		private final MusicData musicData;
-		private final SourceDataLine line;
-		private boolean stopped;
-		public long startTime = -1;
-
-		private Player(final MusicData musicData) throws LineUnavailableException {
-			this.musicData = musicData;
-			final Info info = new Info(SourceDataLine.class, musicData.outFormat);
-			line = (SourceDataLine) getLine(info);
-		}
-
-		public boolean isStopped() {
-			return stopped;
-		}
-
-		private Player start(final int startMs) {
-			new Thread(() -> {
-				try {
-					int startByte = (int) floor(
-							((musicData.outFormat.getFrameRate() * startMs) / musicData.slowMultiplier()) / 250);
-					startByte -= startByte % 4;
-
-					if (stopped) {
-						return;
-					}
-
-					line.open(musicData.outFormat);
-					line.start();
-					final byte[] data = musicData.getData();
-					startTime = System.nanoTime();
-					if (stopped) {
-						while ((data.length - startByte) > BUFF_SIZE) {
-							if (stopped) {
-								return;
-							}
-							line.write(data, startByte, BUFF_SIZE);
-							startByte += BUFF_SIZE;
-						}
-					}
-
-					if ((data.length - startByte) > 0) {
-						line.write(data, startByte, data.length - startByte);
-					}
-					line.drain();
-					line.stop();
-					stopped = true;
-				} catch (final LineUnavailableException e) {
-					e.printStackTrace();
-				}
-			}).start();
-			return this;
-		}
-
-		public void stop() {
-			if (stopped) {
-				return;
-			}
-
-			stopped = true;
-			line.stop();
-			line.drain();
-			line.flush();
-		}
-	}
-
 	public static int[][] concat(final int[][]... d) {
 		int l = 0;
 		final int[] lengths = new int[d.length];
@@ -121,15 +47,6 @@ public class SoundPlayer {
 		return data;
 	}
 
-	public static Player play(final MusicData md, final int startMs) {
-		try {
-			return new Player(md).start(startMs);
-		} catch (final LineUnavailableException e) {
-			e.printStackTrace();
-		}
-		return null;
-	}
-
 	private static int[] slow(final int[] d, final int s) {
 		final int l = d.length;
 		if (l < 2) {
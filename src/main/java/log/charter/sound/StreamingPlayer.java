@@ -0,0 +1,328 @@
+package log.charter.sound;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static javax.sound.sampled.AudioSystem.getLine;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.DataLine.Info;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import log.charter.io.Logger;
+
+public class StreamingPlayer {
+	private static final int bufferFrames = WsolaStretcher.hop * 4;
+	private static final int lineBufferFrames = bufferFrames * 4;
+	private static final int rememberedChunks = 16;
+	private static final int decodingWaitMs = 20;
+
+	private final byte[] buffer = new byte[bufferFrames * 4];
+	private final float[] stretchedLeft = new float[bufferFrames];
+	private final float[] stretchedRight = new float[bufferFrames];
+	private final Object lock = new Object();
+
+	private final long[] chunkOutputStarts = new long[rememberedChunks];
+	private final double[] chunkSourceStarts = new double[rememberedChunks];
+	private final double[] chunkRates = new double[rememberedChunks];
+	private int chunksWritten = 0;
+	private long outputFramesWritten = 0;
+	private long lineFramesAtStart = 0;
+
+	private SourceDataLine line;
+	private AudioFormat lineFormat;
+
+	private MusicData musicData;
+	private WsolaStretcher stretcher;
+	private double framePosition;
+	private volatile double volume = 1;
+	private volatile double stretchRate = 1;
+	private boolean playing = false;
+	private boolean finished = true;
+	private volatile long generation = 0;
+
+	public StreamingPlayer() {
+		final Thread thread = new Thread(this::run, "Streaming player");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void openLine(final AudioFormat format) throws LineUnavailableException {
+		if (line != null && format.matches(lineFormat)) {
+			return;
+		}
+
+		if (line != null) {
+			line.close();
+		}
+
+		line = (SourceDataLine) getLine(new Info(SourceDataLine.class, format));
+		line.open(format, lineBufferFrames * format.getFrameSize());
+		lineFormat = format;
+	}
+
+	private void resetPlayedFrames() {
+		chunksWritten = 0;
+		outputFramesWritten = 0;
+		lineFramesAtStart = line == null ? 0 : line.getLongFramePosition();
+	}
+
+	private void play(final MusicData musicData, final int startMs, final Integer stretchSpeed) {
+		synchronized (lock) {
+			try {
+				openLine(musicData.outFormat);
+			} catch (final LineUnavailableException e) {
+				Logger.error("Couldn't open line for streaming player", e);
+				return;
+			}
+
+			this.musicData = musicData;
+			framePosition = max(0, startMs * musicData.outFormat.getFrameRate() / 1000.0);
+			if (stretchSpeed == null) {
+				stretcher = null;
+			} else {
+				stretchRate = stretchSpeed / 100.0;
+				stretcher = new WsolaStretcher(musicData, stretchRate, framePosition);
+			}
+
+			line.flush();
+			resetPlayedFrames();
+			line.start();
+			playing = true;
+			finished = false;
+			generation++;
+
+			lock.notifyAll();
+		}
+	}
+
+	public void play(final MusicData musicData, final int startMs) {
+		play(musicData, startMs, null);
+	}
+
+	/**
+	 * Plays music time stretched on the fly, speed can be changed during playback with {@link #setSpeed(int)}
+	 */
+	public void playStretched(final MusicData musicData, final int startMs, final int speed) {
+		play(musicData, startMs, speed);
+	}
+
+	public void stop() {
+		synchronized (lock) {
+			playing = false;
+			finished = true;
+			generation++;
+
+			if (line != null) {
+				line.stop();
+				line.flush();
+			}
+		}
+	}
+
+	public boolean isStopped() {
+		return finished;
+	}
+
+	/**
+	 * @return position in milliseconds of the music data of the frame that the line is playing right now, based on
+	 *         the line frame position instead of wall clock
+	 */
+	public double getPlayedMs() {
+		synchronized (lock) {
+			if (musicData == null) {
+				return 0;
+			}
+
+			if (chunksWritten == 0) {
+				return framePosition * 1000 / musicData.outFormat.getFrameRate();
+			}
+
+			final long linePosition = line.getLongFramePosition() - lineFramesAtStart;
+			final long playedOutputFrames = max(0, min(outputFramesWritten, linePosition));
+
+			final int oldestChunk = max(0, chunksWritten - rememberedChunks);
+			int chunk = chunksWritten - 1;
+			while (chunk > oldestChunk && chunkOutputStarts[chunk % rememberedChunks] > playedOutputFrames) {
+				chunk--;
+			}
+
+			final int id = chunk % rememberedChunks;
+			final double sourceFrame = chunkSourceStarts[id]
+					+ (playedOutputFrames - chunkOutputStarts[id]) * chunkRates[id];
+			return sourceFrame * 1000 / musicData.outFormat.getFrameRate();
+		}
+	}
+
+	public void setVolume(final double volume) {
+		this.volume = volume;
+	}
+
+	/**
+	 * Changes speed of stretched playback, used from the next buffer
+	 */
+	public void setSpeed(final int speed) {
+		stretchRate = speed / 100.0;
+	}
+
+	public boolean isStretching() {
+		return stretcher != null;
+	}
+
+	private static int toSample(final double value) {
+		return (int) max(Short.MIN_VALUE, min(Short.MAX_VALUE, value));
+	}
+
+	private void putFrame(final int frame, final int left, final int right) {
+		final int offset = frame * 4;
+		buffer[offset] = (byte) left;
+		buffer[offset + 1] = (byte) (left >> 8);
+		buffer[offset + 2] = (byte) right;
+		buffer[offset + 3] = (byte) (right >> 8);
+	}
+
+	/**
+	 * @return number of frames of music data that have to be decoded to fill the next buffer
+	 */
+	private int getFramesNeeded() {
+		if (stretcher != null) {
+			return stretcher.getFramesNeeded(bufferFrames / WsolaStretcher.hop);
+		}
+
+		return (int) framePosition + bufferFrames;
+	}
+
+	private int fillStretchedBuffer() {
+		final double currentRate = stretchRate;
+		final double currentVolume = volume;
+		stretcher.setRate(currentRate);
+
+		final int chunk = chunksWritten % rememberedChunks;
+		chunkOutputStarts[chunk] = outputFramesWritten;
+		chunkSourceStarts[chunk] = stretcher.getInputPosition();
+		chunkRates[chunk] = currentRate;
+
+		int frames = 0;
+		while (frames < bufferFrames && !stretcher.isFinished()) {
+			stretcher.nextHop(stretchedLeft, stretchedRight, frames);
+			frames += WsolaStretcher.hop;
+		}
+
+		for (int i = 0; i < frames; i++) {
+			putFrame(i, toSample(stretchedLeft[i] * currentVolume), toSample(stretchedRight[i] * currentVolume));
+		}
+		framePosition = stretcher.getInputPosition();
+
+		if (frames > 0) {
+			chunksWritten++;
+			outputFramesWritten += frames;
+		}
+
+		return frames;
+	}
+
+	private int fillBuffer() {
+		if (stretcher != null) {
+			return fillStretchedBuffer();
+		}
+
+		final int length = musicData.decodedFrames();
+		final double currentVolume = volume;
+
+		final int chunk = chunksWritten % rememberedChunks;
+		chunkOutputStarts[chunk] = outputFramesWritten;
+		chunkSourceStarts[chunk] = framePosition;
+		chunkRates[chunk] = 1;
+
+		final int start = (int) framePosition;
+		final int frames = max(0, min(bufferFrames, length - start));
+		for (int i = 0; i < frames; i++) {
+			putFrame(i, toSample(musicData.sample(0, start + i) * currentVolume),
+					toSample(musicData.sample(1, start + i) * currentVolume));
+		}
+		framePosition = start + frames;
+
+		if (frames > 0) {
+			chunksWritten++;
+			outputFramesWritten += frames;
+		}
+
+		return frames;
+	}
+
+	private void finishPlaying(final SourceDataLine finishedLine, final long finishedGeneration) {
+		finishedLine.drain();
+
+		synchronized (lock) {
+			if (generation == finishedGeneration) {
+				finishedLine.stop();
+				finished = true;
+			}
+		}
+	}
+
+	/**
+	 * Playback can be started again or stopped while the buffer is written, the written frames are then removed from
+	 * the line so old music isn't played and doesn't count as played in the new playback
+	 */
+	private void discardOutdatedWrite(final SourceDataLine writtenLine, final long writtenGeneration) {
+		synchronized (lock) {
+			if (generation == writtenGeneration || writtenLine != line) {
+				return;
+			}
+
+			line.flush();
+			resetPlayedFrames();
+		}
+	}
+
+	private void run() {
+		while (true) {
+			try {
+				final SourceDataLine currentLine;
+				final long currentGeneration;
+				final int frames;
+				final MusicData decodingMusicData;
+				final int framesNeeded;
+
+				synchronized (lock) {
+					while (!playing) {
+						lock.wait();
+					}
+
+					currentLine = line;
+					currentGeneration = generation;
+					framesNeeded = getFramesNeeded();
+					if (!musicData.areFramesReady(framesNeeded)) {
+						decodingMusicData = musicData;
+						frames = 0;
+					} else {
+						decodingMusicData = null;
+						frames = fillBuffer();
+						if (frames == 0) {
+							playing = false;
+						}
+					}
+				}
+
+				if (decodingMusicData != null) {
+					// nothing is written until the music is decoded, so the line and the time it reports wait too
+					decodingMusicData.waitForFrames(framesNeeded, decodingWaitMs);
+					continue;
+				}
+
+				if (frames == 0) {
+					finishPlaying(currentLine, currentGeneration);
+				} else if (currentGeneration == generation) {
+					currentLine.write(buffer, 0, frames * 4);
+					discardOutdatedWrite(currentLine, currentGeneration);
+				}
+			} catch (final InterruptedException e) {
+				Logger.error("Streaming player interrupted", e);
+				return;
+			} catch (final Exception e) {
+				Logger.error("Error in streaming player", e);
+			}
+		}
+	}
+}
@@ -1,12 +1,9 @@
 package log.charter.sound;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.HashSet;
+import java.util.Set;
 
 import log.charter.data.config.Config;
 import log.charter.io.Logger;
@@ -14,29 +11,29 @@ import log.charter.sound.wav.WavLoader;
 import log.charter.sound.wav.WavWriter;
 
 public class StretchedFileLoader {
-	private static final AtomicInteger stopperIdGenerator = new AtomicInteger(0);
-	private static final String tmpFileName = "guitar_tmp.wav";
-
 	private static String getResultFileName(final int speed) {
 		return "guitar_" + speed + ".wav";
 	}
 
-	private static final Map<Integer, Runnable> stoppers = new HashMap<>();
+	private static final Set<TimeStretcher> runningStretchers = new HashSet<>();
 
 	public static void stopAllProcesses() {
-		for (final Runnable stopper : new ArrayList<>(stoppers.values())) {
-			stopper.run();
+		synchronized (runningStretchers) {
+			for (final TimeStretcher stretcher : new ArrayList<>(runningStretchers)) {
+				stretcher.cancel();
+			}
+			runningStretchers.clear();
 		}
 	}
 
 	private final MusicData musicData;
-	private final String dir;
 	private final int speed;
 	private final File targetFile;
+	private volatile TimeStretcher stretcher;
+	private volatile boolean cancelled = false;
 
 	public StretchedFileLoader(final MusicData musicData, final String dir, final int speed) {
 		this.musicData = musicData;
-		this.dir = dir;
 		this.speed = speed;
 		targetFile = new File(dir, getResultFileName(speed));
 	}
@@ -45,7 +42,7 @@ public class StretchedFileLoader {
 		if (targetFile.exists()) {
 			final MusicData result = loadResult();
 
-			if (result != null && result.data.length > 0) {
+			if (result != null && result.frames() > 0) {
 				return result;
 			}
 		}
@@ -53,72 +50,59 @@ public class StretchedFileLoader {
 		return null;
 	}
 
-	public boolean generate() {
-		if (quickLoad() != null) {
-			return true;
+	/**
+	 * @return stretched music, it is rendered in background and can be played right away
+	 */
+	public MusicData generate() {
+		final MusicData cached = quickLoad();
+		if (cached != null) {
+			return cached;
 		}
 
-		createTempFile();
-		runRubberBand();
+		final TimeStretcher stretcher = new TimeStretcher(musicData, speed);
+		synchronized (runningStretchers) {
+			runningStretchers.add(stretcher);
+		}
+		this.stretcher = stretcher;
+		if (cancelled) {
+			stretcher.cancel();
+		}
 
-		return quickLoad() != null;
-	}
+		final MusicData result = stretcher.start();
+		new Thread(() -> finishGenerating(stretcher, result), "Stretch finisher " + speed).start();
 
-	private void createTempFile() {
-		final File file = new File(dir, tmpFileName);
-		if (!file.exists()) {
-			WavWriter.write(musicData, file);
-		}
+		return result;
 	}
 
-	private void runRubberBand(final String[] cmd) throws IOException {
-		final Process process = Runtime.getRuntime().exec(cmd);
-		final int stopperId = stopperIdGenerator.getAndIncrement();
-		stoppers.put(stopperId, () -> {
-			stoppers.remove(stopperId);
-			process.destroyForcibly();
-		});
-		final InputStream in = process.getInputStream();
-		final InputStream err = process.getErrorStream();
-
-		final byte[] buffer = new byte[1024];
-		while (process.isAlive()) {
-			if (in.available() > 0) {
-				in.read(buffer);
-			}
-			if (err.available() > 0) {
-				err.read(buffer);
-			}
-
-			try {
-				Thread.sleep(1);
-			} catch (final InterruptedException e) {
-			}
+	public void cancel() {
+		cancelled = true;
+		final TimeStretcher currentStretcher = stretcher;
+		if (currentStretcher != null) {
+			currentStretcher.cancel();
 		}
 	}
 
-	private void runRubberBandWindows() {
-		final String exe = Config.rubberbandPath;
-		final String source = new File(dir, tmpFileName).getAbsolutePath();
-		final String target = targetFile.getAbsolutePath();
+	public double getProgress() {
+		final TimeStretcher currentStretcher = stretcher;
+		return currentStretcher == null ? 0 : currentStretcher.getProgress();
+	}
 
-		final String[] cmd = { exe, "-3", "-t" + (100.0 / speed), source, target };
+	private void finishGenerating(final TimeStretcher stretcher, final MusicData result) {
+		result.waitUntilDecoded();
+		synchronized (runningStretchers) {
+			runningStretchers.remove(stretcher);
+		}
 
-		try {
-			runRubberBand(cmd);
-		} catch (final IOException e) {
-			Logger.error("Couldn't run rubber band!", e);
+		if (stretcher.isFailed()) {
+			Logger.error("Couldn't stretch music to speed " + speed + "%, result won't be saved");
+			return;
+		}
+		if (!result.isDecoded()) {
+			return;
 		}
-	}
 
-	private void runRubberBand() {
-		final String os = System.getProperty("os.name").toLowerCase();
-		if (os.startsWith("windows")) {
-			runRubberBandWindows();
-		} else if (os.startsWith("mac")) {
-			// TODO run on mac
-		} else {
-			// TODO run on linux
+		if (Config.cacheStretchedMusic) {
+			WavWriter.write(result, targetFile);
 		}
 	}
 
@@ -0,0 +1,198 @@
+package log.charter.sound;
+
+import static java.lang.Math.min;
+
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import log.charter.io.Logger;
+
+/**
+ * Renders stretched music in memory. Output is split into chunks processed on a shared worker pool, each chunk starts
+ * its stretcher a few hops earlier so the window alignment is settled when its own part begins. Returned music data is
+ * filled in the background and reports decoded frames as the continuous beginning gets ready.
+ */
+public class TimeStretcher {
+	private static final int chunkHops = 256;
+	private static final int warmUpHops = 8;
+	private static final long cancelCheckTimeMs = 50;
+
+	private static final ExecutorService workers = Executors
+			.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				final Thread thread = new Thread(runnable, "Time stretcher");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+
+	private final MusicData source;
+	private final int speed;
+	private final double rate;
+	private final List<Future<?>> chunkFutures = new ArrayList<>();
+	private boolean[] chunksDone;
+	private int readyChunks = 0;
+	private volatile boolean cancelled = false;
+	private volatile boolean failed = false;
+
+	private short[] samples;
+	private MusicData result;
+
+	/**
+	 * @param speed speed in percent, 50 plays at half speed
+	 */
+	public TimeStretcher(final MusicData source, final int speed) {
+		this.source = source;
+		this.speed = speed;
+		rate = speed / 100.0;
+	}
+
+	public int getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * Waits for the source outside of the lock, so cancelling doesn't wait for the source to be decoded
+	 */
+	private void waitForSource() {
+		while (!cancelled && !source.areFramesReady(source.frames())) {
+			source.waitForFrames(source.frames(), cancelCheckTimeMs);
+		}
+	}
+
+	public MusicData start() {
+		waitForSource();
+		return startRendering();
+	}
+
+	private synchronized MusicData startRendering() {
+		if (result != null) {
+			return result;
+		}
+
+		if (cancelled) {
+			result = new MusicData(ShortBuffer.allocate(0), source.outFormat.getFrameRate(), 0);
+			result.setCancelled();
+			return result;
+		}
+		if (!source.isDecoded()) {
+			failed = true;
+			result = new MusicData(ShortBuffer.allocate(0), source.outFormat.getFrameRate(), 0);
+			result.setFailed();
+			return result;
+		}
+
+		final int frames = (int) (source.frames() / rate);
+		final int chunkFrames = chunkHops * WsolaStretcher.hop;
+		final int chunks = (frames + chunkFrames - 1) / chunkFrames;
+		samples = new short[frames * 2];
+		chunksDone = new boolean[chunks];
+		result = new MusicData(ShortBuffer.wrap(samples), source.outFormat.getFrameRate(), 0);
+		if (chunks == 0) {
+			result.setDecodedFrames(frames);
+		}
+
+		for (int i = 0; i < chunks; i++) {
+			final int chunk = i;
+			chunkFutures.add(workers.submit(() -> renderChunk(chunk, chunkFrames)));
+		}
+
+		return result;
+	}
+
+	private void renderChunk(final int chunk, final int chunkFrames) {
+		try {
+			final int from = chunk * chunkFrames;
+			final int to = min(result.frames(), from + chunkFrames);
+			final int warmUp = chunk == 0 ? 0 : warmUpHops;
+
+			final WsolaStretcher stretcher = new WsolaStretcher(source, rate,
+					(from - warmUp * WsolaStretcher.hop) * rate);
+			for (int i = 0; i < warmUp && !isStopped(); i++) {
+				stretcher.skipHop();
+			}
+
+			final float[] left = new float[WsolaStretcher.hop];
+			final float[] right = new float[WsolaStretcher.hop];
+			for (int frame = from; frame < to && !isStopped(); frame += WsolaStretcher.hop) {
+				stretcher.nextHop(left, right, 0);
+
+				final int length = min(WsolaStretcher.hop, to - frame);
+				for (int i = 0; i < length; i++) {
+					samples[(frame + i) * 2] = WsolaStretcher.toSample(left[i]);
+					samples[(frame + i) * 2 + 1] = WsolaStretcher.toSample(right[i]);
+				}
+			}
+		} catch (final Exception e) {
+			Logger.error("Couldn't stretch music chunk", e);
+			onChunkFailed();
+			return;
+		}
+
+		if (!isStopped()) {
+			onChunkDone(chunk, chunkFrames);
+		}
+	}
+
+	private boolean isStopped() {
+		return cancelled || failed;
+	}
+
+	private synchronized void onChunkFailed() {
+		if (isStopped()) {
+			return;
+		}
+
+		failed = true;
+		for (final Future<?> future : chunkFutures) {
+			future.cancel(false);
+		}
+
+		result.setFailed();
+	}
+
+	private synchronized void onChunkDone(final int chunk, final int chunkFrames) {
+		chunksDone[chunk] = true;
+		while (readyChunks < chunksDone.length && chunksDone[readyChunks]) {
+			readyChunks++;
+		}
+
+		result.setDecodedFrames(min(result.frames(), readyChunks * chunkFrames));
+	}
+
+	public synchronized double getProgress() {
+		return chunksDone == null || chunksDone.length == 0 ? 0 : (double) readyChunks / chunksDone.length;
+	}
+
+	public boolean isDone() {
+		return result != null && result.isDecoded();
+	}
+
+	/**
+	 * Stops rendering, result keeps frames rendered so far and stops waiting for the rest
+	 */
+	public void cancel() {
+		cancelled = true;
+
+		synchronized (this) {
+			for (final Future<?> future : chunkFutures) {
+				future.cancel(false);
+			}
+
+			if (result != null && !result.isDecoded()) {
+				result.setCancelled();
+			}
+		}
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public boolean isFailed() {
+		return failed;
+	}
+}
@@ -0,0 +1,107 @@
+package log.charter.sound;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WaveformPyramid {
+	public static class Level {
+		public final int bucketSize;
+		public final int buckets;
+		public final short[] min;
+		public final short[] max;
+		public final float[] energy;
+
+		private Level(final int bucketSize, final int buckets) {
+			this.bucketSize = bucketSize;
+			this.buckets = buckets;
+			min = new short[buckets];
+			max = new short[buckets];
+			energy = new float[buckets];
+		}
+	}
+
+	private static final int baseBucketSize = 16;
+
+	private static Level createBaseLevel(final MusicData musicData, final int channel, final int windowLength) {
+		final int length = musicData.frames();
+		final Level level = new Level(baseBucketSize, (length + baseBucketSize - 1) / baseBucketSize);
+
+		long windowEnergy = 0;
+		for (int i = 0; i < windowLength; i++) {
+			final long value = length == 0 ? 0 : musicData.sample(channel, 0);
+			windowEnergy += value * value;
+		}
+
+		for (int bucket = 0; bucket < level.buckets; bucket++) {
+			final int from = bucket * baseBucketSize;
+			final int to = min(length, from + baseBucketSize);
+			int minValue = 0;
+			int maxValue = 0;
+			long maxEnergy = 0;
+
+			for (int i = from; i < to; i++) {
+				final int value = musicData.sample(channel, i);
+				final long removedValue = musicData.sample(channel, max(0, i - windowLength));
+				windowEnergy += (long) value * value - removedValue * removedValue;
+
+				minValue = min(minValue, value);
+				maxValue = max(maxValue, value);
+				maxEnergy = max(maxEnergy, windowEnergy);
+			}
+
+			level.min[bucket] = (short) max(Short.MIN_VALUE, minValue);
+			level.max[bucket] = (short) min(Short.MAX_VALUE, maxValue);
+			level.energy[bucket] = maxEnergy;
+		}
+
+		return level;
+	}
+
+	private static Level createNextLevel(final Level previous) {
+		final Level level = new Level(previous.bucketSize * 2, (previous.buckets + 1) / 2);
+
+		for (int bucket = 0; bucket < level.buckets; bucket++) {
+			final int a = bucket * 2;
+			final int b = min(previous.buckets - 1, a + 1);
+
+			level.min[bucket] = (short) min(previous.min[a], previous.min[b]);
+			level.max[bucket] = (short) max(previous.max[a], previous.max[b]);
+			level.energy[bucket] = max(previous.energy[a], previous.energy[b]);
+		}
+
+		return level;
+	}
+
+	private final List<Level> levels = new ArrayList<>();
+
+	/**
+	 * @param musicData    music to summarize
+	 * @param channel      channel to summarize
+	 * @param windowLength length in samples of the sliding window used for energy
+	 */
+	public WaveformPyramid(final MusicData musicData, final int channel, final int windowLength) {
+		Level level = createBaseLevel(musicData, channel, max(1, windowLength));
+		levels.add(level);
+
+		while (level.buckets > 1) {
+			level = createNextLevel(level);
+			levels.add(level);
+		}
+	}
+
+	public Level getLevel(final double samplesPerPixel) {
+		Level chosen = levels.get(0);
+		for (final Level level : levels) {
+			if (level.bucketSize > samplesPerPixel) {
+				break;
+			}
+
+			chosen = level;
+		}
+
+		return chosen;
+	}
+}
@@ -0,0 +1,164 @@
+package log.charter.sound;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.cos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+
+/**
+ * Waveform similarity overlap-add time stretcher. Produces output one hop at a time, every analysis window is moved
+ * within a small tolerance to the position most similar to the natural continuation of the previous window, which
+ * keeps pitch and avoids phase jumps.
+ */
+public class WsolaStretcher {
+	public static final int hop = 512;
+	private static final int windowLength = hop * 2;
+	private static final int tolerance = 256;
+	private static final int coarseStep = 8;
+	private static final int coarseSampleStep = 4;
+	private static final int fineSampleStep = 2;
+
+	private static final float[] window = new float[windowLength];
+	static {
+		for (int i = 0; i < windowLength; i++) {
+			window[i] = (float) (0.5 - 0.5 * cos(2 * PI * i / windowLength));
+		}
+	}
+
+	private final MusicData musicData;
+	private final float[] tailLeft = new float[hop];
+	private final float[] tailRight = new float[hop];
+
+	private int readableFrames;
+	private double rate;
+	private double inputPosition;
+	private int previousPosition = -1;
+
+	/**
+	 * @param rate input frames used for every output frame, 0.5 plays at half speed
+	 */
+	public WsolaStretcher(final MusicData musicData, final double rate, final double inputPosition) {
+		this.musicData = musicData;
+		readableFrames = musicData.decodedFrames();
+		this.rate = rate;
+		seek(inputPosition);
+	}
+
+	public void setRate(final double rate) {
+		this.rate = rate;
+	}
+
+	public double getRate() {
+		return rate;
+	}
+
+	public void seek(final double inputPosition) {
+		this.inputPosition = inputPosition;
+		previousPosition = -1;
+		for (int i = 0; i < hop; i++) {
+			tailLeft[i] = 0;
+			tailRight[i] = 0;
+		}
+	}
+
+	/**
+	 * @return input position of the next hop, the output already generated lags about half a window behind
+	 */
+	public double getInputPosition() {
+		return inputPosition;
+	}
+
+	public boolean isFinished() {
+		return inputPosition >= musicData.playableFrames();
+	}
+
+	/**
+	 * @return number of input frames that have to be decoded to generate given number of next hops
+	 */
+	public int getFramesNeeded(final int hops) {
+		return (int) (inputPosition + hops * hop * rate) + tolerance + coarseStep + windowLength;
+	}
+
+	private int sample(final int channel, final int frame) {
+		return frame < 0 || frame >= readableFrames ? 0 : musicData.sample(channel, frame);
+	}
+
+	private int mono(final int frame) {
+		return sample(0, frame) + sample(1, frame);
+	}
+
+	private long similarity(final int position, final int natural, final int sampleStep) {
+		long sum = 0;
+		for (int i = 0; i < hop; i += sampleStep) {
+			sum += (long) mono(position + i) * mono(natural + i);
+		}
+
+		return sum;
+	}
+
+	private int findBestPosition(final int nominal, final int natural, final int from, final int to, final int step,
+			final int sampleStep) {
+		int best = nominal;
+		long bestSimilarity = Long.MIN_VALUE;
+		for (int position = max(0, nominal + from); position <= nominal + to; position += step) {
+			final long value = similarity(position, natural, sampleStep);
+			if (value > bestSimilarity) {
+				bestSimilarity = value;
+				best = position;
+			}
+		}
+
+		return best;
+	}
+
+	private int findPosition() {
+		final int nominal = (int) round(inputPosition);
+		if (previousPosition < 0) {
+			return nominal;
+		}
+
+		final int natural = previousPosition + hop;
+		final int coarse = findBestPosition(nominal, natural, -tolerance, tolerance, coarseStep, coarseSampleStep);
+		return findBestPosition(coarse, natural, -coarseStep + 1, coarseStep - 1, 1, fineSampleStep);
+	}
+
+	/**
+	 * Writes next {@link #hop} frames of stretched output
+	 */
+	public void nextHop(final float[] left, final float[] right, final int offset) {
+		readableFrames = musicData.decodedFrames();
+		final int position = findPosition();
+
+		for (int i = 0; i < hop; i++) {
+			left[offset + i] = tailLeft[i] + window[i] * sample(0, position + i);
+			right[offset + i] = tailRight[i] + window[i] * sample(1, position + i);
+		}
+		for (int i = 0; i < hop; i++) {
+			tailLeft[i] = window[hop + i] * sample(0, position + hop + i);
+			tailRight[i] = window[hop + i] * sample(1, position + hop + i);
+		}
+
+		previousPosition = position;
+		inputPosition += hop * rate;
+	}
+
+	/**
+	 * Generates one hop and drops it, used to fill the state before the part that should be written
+	 */
+	public void skipHop() {
+		readableFrames = musicData.decodedFrames();
+		final int position = findPosition();
+		for (int i = 0; i < hop; i++) {
+			tailLeft[i] = window[hop + i] * sample(0, position + hop + i);
+			tailRight[i] = window[hop + i] * sample(1, position + hop + i);
+		}
+
+		previousPosition = position;
+		inputPosition += hop * rate;
+	}
+
+	public static short toSample(final float value) {
+		return (short) max(Short.MIN_VALUE, min(Short.MAX_VALUE, round(value)));
+	}
+}
@@ -1,52 +1,232 @@
 package log.charter.sound.mp3;
 
-import static java.util.Arrays.copyOf;
-import static javax.sound.sampled.AudioSystem.getAudioInputStream;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static log.charter.io.Logger.error;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ShortBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioFormat.Encoding;
-import javax.sound.sampled.AudioInputStream;
-
+import helliker.id3.MPEGAudioFrameHeader;
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.BitstreamException;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.DecoderException;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.SampleBuffer;
 import log.charter.sound.MusicData;
 import log.charter.util.RW;
 
+/**
+ * Splits the mp3 into segments at frame boundaries and decodes them at the same time. Every segment except the first
+ * one starts decoding a few frames earlier and drops their output, so that bit reservoir and filter state are filled
+ * when its own frames are reached.
+ */
 public class Mp3Loader {
+	private static final int minSegmentBytes = 1024 * 1024;
+	private static final int overlapFrames = 16;
+	private static final int checkedFramesAfterSplit = 3;
+	private static final int maxSplitSearchTries = 64;
+
+	private static class Segment {
+		public final int start;
+		public final int skippedFrames;
+		public final int ownStart;
+		public int end;
+
+		private short[] samples = new short[1 << 16];
+		private int length = 0;
+		private int rate;
+		private Exception exception;
+
+		public Segment(final int start, final int skippedFrames, final int ownStart) {
+			this.start = start;
+			this.skippedFrames = skippedFrames;
+			this.ownStart = ownStart;
+		}
+
+		private void addSamples(final SampleBuffer output) {
+			final short[] buffer = output.getBuffer();
+			final int bufferLength = output.getBufferLength();
+			final boolean mono = output.getChannelCount() == 1;
+			final int added = mono ? bufferLength * 2 : bufferLength;
+			if (length + added > samples.length) {
+				samples = Arrays.copyOf(samples, max(length + added, samples.length * 2));
+			}
+
+			if (mono) {
+				for (int i = 0; i < bufferLength; i++) {
+					samples[length++] = buffer[i];
+					samples[length++] = buffer[i];
+				}
+			} else {
+				System.arraycopy(buffer, 0, samples, length, bufferLength);
+				length += bufferLength;
+			}
+		}
+
+		private void decode(final byte[] bytes) throws BitstreamException, DecoderException {
+			final Bitstream bitstream = new Bitstream(new ByteArrayInputStream(bytes, start, end - start));
+			final Decoder decoder = new Decoder();
+
+			int frame = 0;
+			while (true) {
+				final Header header;
+				try {
+					header = bitstream.readFrame();
+				} catch (final BitstreamException e) {
+					break;
+				}
+				if (header == null) {
+					break;
+				}
+
+				rate = header.frequency();
+				final SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+				if (frame >= skippedFrames) {
+					addSamples(output);
+				}
+				frame++;
+
+				bitstream.closeFrame();
+			}
+
+			bitstream.close();
+		}
+
+		public void run(final byte[] bytes) {
+			try {
+				decode(bytes);
+			} catch (final Exception e) {
+				exception = e;
+			}
+		}
+	}
+
+	private static boolean isFrameChain(final File file, final long location) throws Exception {
+		long next = location;
+		for (int i = 0; i <= checkedFramesAfterSplit; i++) {
+			final MPEGAudioFrameHeader header = new MPEGAudioFrameHeader(file, (int) next);
+			if (header.getLocation() != next || header.getFrameLength() <= 0) {
+				return false;
+			}
+
+			next += header.getFrameLength();
+		}
+
+		return true;
+	}
+
+	private static long findFrame(final File file, long from) {
+		try {
+			for (int i = 0; i < maxSplitSearchTries; i++) {
+				final long location = new MPEGAudioFrameHeader(file, (int) from).getLocation();
+				if (isFrameChain(file, location)) {
+					return location;
+				}
+
+				from = location + 1;
+			}
+		} catch (final Exception e) {
+			// end of file or broken data, no split here
+		}
+
+		return -1;
+	}
+
+	private static Segment findSegmentStart(final File file, final long target, final int frameLength) {
+		final long overlapStart = findFrame(file, max(1, target - (long) overlapFrames * frameLength));
+		if (overlapStart < 0 || overlapStart >= target) {
+			return null;
+		}
+
+		try {
+			long location = overlapStart;
+			int frames = 0;
+			while (location < target) {
+				final MPEGAudioFrameHeader header = new MPEGAudioFrameHeader(file, (int) location);
+				if (header.getLocation() != location || header.getFrameLength() <= 0) {
+					return null;
+				}
+
+				location += header.getFrameLength();
+				frames++;
+			}
+
+			return new Segment((int) overlapStart, frames, (int) location);
+		} catch (final Exception e) {
+			return null;
+		}
+	}
+
+	private static List<Segment> splitIntoSegments(final File file, final int length) {
+		final List<Segment> segments = new ArrayList<>();
+		segments.add(new Segment(0, 0, 0));
+
+		final int segmentsCount = max(1,
+				min(Runtime.getRuntime().availableProcessors(), length / minSegmentBytes));
+		if (segmentsCount == 1) {
+			segments.get(0).end = length;
+			return segments;
+		}
+
+		final int frameLength;
+		try {
+			frameLength = new MPEGAudioFrameHeader(file).getFrameLength();
+		} catch (final Exception e) {
+			segments.get(0).end = length;
+			return segments;
+		}
+
+		for (int i = 1; i < segmentsCount; i++) {
+			final long target = (long) length * i / segmentsCount;
+			final Segment previous = segments.get(segments.size() - 1);
+			final Segment segment = findSegmentStart(file, target, frameLength);
+			if (segment != null && segment.start > previous.ownStart) {
+				previous.end = segment.ownStart;
+				segments.add(segment);
+			}
+		}
+		segments.get(segments.size() - 1).end = length;
+
+		return segments;
+	}
+
 	public static MusicData load(final String path) {
 		try {
-			final AudioInputStream in = getAudioInputStream(new BufferedInputStream(new ByteArrayInputStream(RW.readB(
-					path))));
+			final byte[] bytes = RW.readB(path);
+			final List<Segment> segments = splitIntoSegments(new File(path), bytes.length);
 
-			final float rate = in.getFormat().getSampleRate();
-			final AudioFormat outFormat = new AudioFormat(Encoding.PCM_SIGNED, rate, 16, 2, 4, rate, false);
-			final AudioInputStream formattedIn = getAudioInputStream(outFormat, in);
+			final List<Thread> threads = new ArrayList<>();
+			for (final Segment segment : segments) {
+				final Thread thread = new Thread(() -> segment.run(bytes), "Mp3 decoder " + threads.size());
+				thread.start();
+				threads.add(thread);
+			}
+			for (final Thread thread : threads) {
+				thread.join();
+			}
 
-			final List<byte[]> bytesList = new ArrayList<>();
-			int last = 0;
 			int length = 0;
-			while (last >= 0) {
-				final byte[] bytes = new byte[10000];
-				last = formattedIn.read(bytes);
-				if (last > 0) {
-					bytesList.add(copyOf(bytes, last));
-					length += last;
+			for (final Segment segment : segments) {
+				if (segment.exception != null) {
+					throw segment.exception;
 				}
+				length += segment.length;
 			}
-			in.close();
 
-			final byte[] buffer = new byte[length];
-			last = 0;
-			for (final byte[] bytes : bytesList) {
-				System.arraycopy(bytes, 0, buffer, last, bytes.length);
-				last += bytes.length;
+			final short[] samples = new short[length];
+			int position = 0;
+			for (final Segment segment : segments) {
+				System.arraycopy(segment.samples, 0, samples, position, segment.length);
+				position += segment.length;
 			}
 
-			return new MusicData(buffer, rate);
+			return new MusicData(ShortBuffer.wrap(samples), segments.get(0).rate);
 		} catch (final Exception e) {
 			error("Couldnt load mp3 file " + path, e);
 		}
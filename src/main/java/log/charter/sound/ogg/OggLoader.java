@@ -1,15 +1,20 @@
 package log.charter.sound.ogg;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static log.charter.io.Logger.error;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import java.util.Arrays;
-import java.util.List;
-
-import javax.sound.sampled.UnsupportedAudioFileException;
+import java.util.function.DoubleConsumer;
 
 import com.jcraft.jogg.Packet;
 import com.jcraft.jogg.Page;
@@ -20,38 +25,76 @@ import com.jcraft.jorbis.Comment;
 import com.jcraft.jorbis.DspState;
 import com.jcraft.jorbis.Info;
 
-import log.charter.io.Logger;
 import log.charter.sound.MusicData;
-import log.charter.util.RW;
 
 /**
  * Based on ExamplePlayer by Jon Kristensen
  */
 public class OggLoader {
 	private static final int BUF_SIZE = 2048;
+	private static final int lastPageSearchSize = 64 * 1024;
+	private static final int unknownLengthInitialFrames = 1 << 20;
 
 	public static MusicData load(final String path) {
+		return load(path, null);
+	}
+
+	/**
+	 * Decodes the header and allocates whole output using granule position of the last page, the rest is decoded in
+	 * background so that the beginning can be played before the whole file is done.
+	 *
+	 * @param progressListener receives decoded fraction of the file, can be null
+	 */
+	public static MusicData load(final String path, final DoubleConsumer progressListener) {
 		try {
-			return new OggLoader(path).load();
-		} catch (final IOException | UnsupportedAudioFileException e) {
+			return new OggLoader(path, progressListener).load();
+		} catch (final IOException | RuntimeException e) {
 			error("Couldnt load ogg file " + path, e);
 		}
 		return null;
 	}
 
+	private static int findTotalFrames(final String path) throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+			final int size = (int) min(file.length(), lastPageSearchSize);
+			final byte[] bytes = new byte[size];
+			file.seek(file.length() - size);
+			file.readFully(bytes);
+
+			for (int i = size - 27; i >= 0; i--) {
+				if (bytes[i] != 'O' || bytes[i + 1] != 'g' || bytes[i + 2] != 'g' || bytes[i + 3] != 'S'
+						|| bytes[i + 4] != 0) {
+					continue;
+				}
+
+				final long granulePosition = ByteBuffer.wrap(bytes, i + 6, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+				if (granulePosition > 0) {
+					return (int) min(granulePosition, Integer.MAX_VALUE / 2);
+				}
+			}
+		}
+
+		return -1;
+	}
+
 	private byte[] buffer = null;
 	private int count = 0;
 	private int index = 0;
-	private final boolean stopped = false;
-
-	private byte[] convertedBuffer;
-	private int convertedBufferSize;
-
-	private final List<byte[]> bytesList = new ArrayList<>();
 
 	private final float[][][] pcmInfo = new float[1][][];
 	private int[] pcmIndex;
 
+	private final String path;
+	private final long fileLength;
+	private long bytesRead = 0;
+	private final DoubleConsumer progressListener;
+	private int reportedPercent = -1;
+
+	private short[] samples;
+	private int framesWritten = 0;
+	private boolean growable;
+	private MusicData musicData;
+
 	private final InputStream inputStream;
 	private final Packet joggPacket = new Packet();
 	private final Page joggPage = new Page();
@@ -62,10 +105,11 @@ public class OggLoader {
 	private final Comment jorbisComment = new Comment();
 	private final Info jorbisInfo = new Info();
 
-	private OggLoader(final String path) {
-		final byte[] bytes = RW.readB(path);
-		Logger.debug("Loaded " + bytes.length + " bytes of ogg audio from " + path);
-		inputStream = new ByteArrayInputStream(bytes);
+	private OggLoader(final String path, final DoubleConsumer progressListener) throws IOException {
+		this.path = path;
+		this.progressListener = progressListener;
+		fileLength = new File(path).length();
+		inputStream = new BufferedInputStream(new FileInputStream(path));
 	}
 
 	private void cleanUp() throws IOException {
@@ -77,48 +121,56 @@ public class OggLoader {
 		inputStream.close();
 	}
 
+	private static short toSample(final float value) {
+		return (short) max(Short.MIN_VALUE, min(Short.MAX_VALUE, (int) (value * 32767)));
+	}
+
+	private void ensureCapacity(final int frames) {
+		if (growable && frames * 2 > samples.length) {
+			samples = Arrays.copyOf(samples, max(frames, samples.length) * 2);
+		}
+	}
+
 	private void decodeCurrentPacket() {
 		if (jorbisBlock.synthesis(joggPacket) == 0) {
 			jorbisDspState.synthesis_blockin(jorbisBlock);
 		}
 
-		int samples;
-		int range;
-
-		while (((samples = jorbisDspState.synthesis_pcmout(pcmInfo, pcmIndex)) > 0) && !stopped) {
-			if (samples < convertedBufferSize) {
-				range = samples;
-			} else {
-				range = convertedBufferSize;
+		final int rightChannel = jorbisInfo.channels > 1 ? 1 : 0;
+		int decoded;
+		while ((decoded = jorbisDspState.synthesis_pcmout(pcmInfo, pcmIndex)) > 0) {
+			ensureCapacity(framesWritten + decoded);
+
+			final int range = min(decoded, samples.length / 2 - framesWritten);
+			final float[] left = pcmInfo[0][0];
+			final float[] right = pcmInfo[0][rightChannel];
+			final int leftOffset = pcmIndex[0];
+			final int rightOffset = pcmIndex[rightChannel];
+
+			for (int i = 0; i < range; i++) {
+				final int sampleIndex = (framesWritten + i) * 2;
+				samples[sampleIndex] = toSample(left[leftOffset + i]);
+				samples[sampleIndex + 1] = toSample(right[rightOffset + i]);
 			}
+			framesWritten += range;
 
-			for (int i = 0; i < jorbisInfo.channels; i++) {
-				int sampleIndex = i * 2;
-
-				for (int j = 0; j < range; j++) {
-					int value = (int) (pcmInfo[0][i][pcmIndex[i] + j] * 32767);
-
-					if (value > 32767) {
-						value = 32767;
-					}
-					if (value < -32768) {
-						value = -32768;
-					}
-
-					if (value < 0) {
-						value = value | 32768;
-					}
-
-					convertedBuffer[sampleIndex] = (byte) value;
-					convertedBuffer[sampleIndex + 1] = (byte) (value >>> 8);
+			jorbisDspState.synthesis_read(decoded);
+		}
 
-					sampleIndex += 2 * jorbisInfo.channels;
-				}
-			}
+		if (musicData != null) {
+			musicData.setDecodedFrames(framesWritten);
+		}
+	}
 
-			bytesList.add(Arrays.copyOf(convertedBuffer, 2 * jorbisInfo.channels * range));
+	private void reportProgress() {
+		if (progressListener == null || fileLength <= 0) {
+			return;
+		}
 
-			jorbisDspState.synthesis_read(range);
+		final int percent = (int) (bytesRead * 100 / fileLength);
+		if (percent != reportedPercent) {
+			reportedPercent = percent;
+			progressListener.accept(percent / 100.0);
 		}
 	}
 
@@ -129,43 +181,59 @@ public class OggLoader {
 	}
 
 	private void initializeSound() {
-		convertedBufferSize = BUF_SIZE * 2;
-		convertedBuffer = new byte[convertedBufferSize];
-
 		jorbisDspState.synthesis_init(jorbisInfo);
 		jorbisBlock.init(jorbisDspState);
 		pcmIndex = new int[jorbisInfo.channels];
 	}
 
-	private MusicData load() throws UnsupportedAudioFileException, IOException {
+	private MusicData load() throws IOException {
 		initializeJOrbis();
 
 		readHeader();
 		initializeSound();
-		readBody();
-		cleanUp();
 
 		final float rate = jorbisInfo.rate;
+		final int totalFrames = findTotalFrames(path);
+		if (totalFrames <= 0) {
+			growable = true;
+			samples = new short[unknownLengthInitialFrames * 2];
+			if (!readBodyAndCleanUp()) {
+				throw new IOException("Ogg file ended before its last page");
+			}
 
-		int length = 0;
-		for (final byte[] bytes : bytesList) {
-			length += bytes.length;
+			return new MusicData(ShortBuffer.wrap(Arrays.copyOf(samples, framesWritten * 2)), rate);
 		}
 
-		final byte[] buffer = new byte[length];
-		int last = 0;
-		for (final byte[] bytes : bytesList) {
-			System.arraycopy(bytes, 0, buffer, last, bytes.length);
-			last += bytes.length;
-		}
+		samples = new short[totalFrames * 2];
+		musicData = new MusicData(ShortBuffer.wrap(samples), rate, 0);
+
+		final Thread decodingThread = new Thread(this::decodeInBackground, "Ogg decoder");
+		decodingThread.setDaemon(true);
+		decodingThread.start();
 
-		return new MusicData(buffer, rate);
+		return musicData;
 	}
 
-	private void readBody() {
-		boolean needMoreData = true;
+	private void decodeInBackground() {
+		try {
+			if (!readBodyAndCleanUp()) {
+				error("Ogg file " + path + " ended before its last page");
+				musicData.setFailed();
+				return;
+			}
+
+			musicData.setDecodedFrames(musicData.frames());
+		} catch (final Exception e) {
+			error("Couldnt decode ogg file " + path, e);
+			musicData.setFailed();
+		}
+	}
 
-		while (needMoreData && !stopped) {
+	/**
+	 * @return true if the last page of the stream was read, false if the input ended before it
+	 */
+	private boolean readBody() throws IOException {
+		while (true) {
 			switch (joggSyncState.pageout(joggPage)) {
 			case -1:
 			case 0:
@@ -174,11 +242,10 @@ public class OggLoader {
 				joggStreamState.pagein(joggPage);
 
 				if (joggPage.granulepos() == 0) {
-					needMoreData = false;
-					break;
+					return true;
 				}
 
-				processPackets: while (!stopped) {
+				processPackets: while (true) {
 					switch (joggStreamState.packetout(joggPacket)) {
 					case -1:
 					case 0:
@@ -189,34 +256,29 @@ public class OggLoader {
 				}
 
 				if (joggPage.eos() != 0) {
-					needMoreData = false;
-				}
-				if (stopped) {
-					return;
+					return true;
 				}
 			}
 
-			if (needMoreData) {
-				index = joggSyncState.buffer(BUF_SIZE);
-				buffer = joggSyncState.data;
+			index = joggSyncState.buffer(BUF_SIZE);
+			buffer = joggSyncState.data;
 
-				try {
-					if (inputStream.available() > 0) {
-						count = inputStream.read(buffer, index, BUF_SIZE);
-					} else {
-						return;
-					}
-				} catch (final Exception e) {
-					error("Exception when reading ogg file", e);
-					return;
-				}
+			count = inputStream.read(buffer, index, BUF_SIZE);
+			if (count <= 0) {
+				return false;
+			}
 
-				joggSyncState.wrote(count);
+			joggSyncState.wrote(count);
+			bytesRead += count;
+			reportProgress();
+		}
+	}
 
-				if (count == 0) {
-					needMoreData = false;
-				}
-			}
+	private boolean readBodyAndCleanUp() throws IOException {
+		try {
+			return readBody();
+		} finally {
+			cleanUp();
 		}
 	}
 
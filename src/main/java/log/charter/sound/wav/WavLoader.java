@@ -1,22 +1,47 @@
 package log.charter.sound.wav;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
 import java.io.File;
+import java.nio.ShortBuffer;
 
 import log.charter.io.Logger;
 import log.charter.sound.MusicData;
 
 public class WavLoader {
+	private static final int chunkFrames = 4096;
+
+	private static short toShort(final int sample) {
+		return (short) max(Short.MIN_VALUE, min(Short.MAX_VALUE, sample));
+	}
+
 	public static MusicData load(final File file) {
 		try {
 			final WavFile wavFile = WavFile.openWavFile(file);
 			final int channels = wavFile.getNumChannels();
 			final int frames = (int) wavFile.getNumFrames();
 
-			final int[][] sound = new int[channels][(int) wavFile.getNumFrames()];
-			wavFile.readFrames(sound, frames);
+			final short[] samples = new short[frames * 2];
+			final int[] buffer = new int[chunkFrames * channels];
+			int frame = 0;
+			while (frame < frames) {
+				final int framesRead = wavFile.readFrames(buffer, min(chunkFrames, frames - frame));
+				if (framesRead <= 0) {
+					break;
+				}
+
+				for (int i = 0; i < framesRead; i++) {
+					final int left = buffer[i * channels];
+					final int right = buffer[i * channels + min(1, channels - 1)];
+					samples[(frame + i) * 2] = toShort(left);
+					samples[(frame + i) * 2 + 1] = toShort(right);
+				}
+				frame += framesRead;
+			}
 			wavFile.close();
 
-			return new MusicData(sound, wavFile.getSampleRate());
+			return new MusicData(ShortBuffer.wrap(samples, 0, frame * 2).slice(), wavFile.getSampleRate());
 		} catch (final Exception e) {
 			Logger.error("Couldn't load wav " + file.getAbsolutePath() + ", deleting it", e);
 			file.delete();
@@ -1,18 +1,34 @@
 package log.charter.sound.wav;
 
+import static java.lang.Math.min;
+
 import java.io.File;
 
 import log.charter.io.Logger;
 import log.charter.sound.MusicData;
 
 public class WavWriter {
+	private static final int chunkFrames = 4096;
+
 	public static void write(final MusicData musicData, final File file) {
+		musicData.waitUntilDecoded();
+
 		try {
-			final WavFile wavFile = WavFile.newWavFile(file, musicData.outFormat.getChannels(),
-					musicData.data[0].length, musicData.outFormat.getSampleSizeInBits(),
-					(long) musicData.outFormat.getFrameRate());
+			final int channels = musicData.channels();
+			final WavFile wavFile = WavFile.newWavFile(file, channels, musicData.frames(),
+					musicData.outFormat.getSampleSizeInBits(), (long) musicData.outFormat.getFrameRate());
+
+			final int[] buffer = new int[chunkFrames * channels];
+			for (int frame = 0; frame < musicData.frames(); frame += chunkFrames) {
+				final int frames = min(chunkFrames, musicData.frames() - frame);
+				for (int i = 0; i < frames; i++) {
+					for (int channel = 0; channel < channels; channel++) {
+						buffer[i * channels + channel] = musicData.sample(channel, frame + i);
+					}
+				}
 
-			wavFile.writeFrames(musicData.data, musicData.data[0].length);
+				wavFile.writeFrames(buffer, frames);
+			}
 			wavFile.close();
 		} catch (final Exception e) {
 			Logger.error("Couldn't save wav file " + file.getAbsolutePath(), e);
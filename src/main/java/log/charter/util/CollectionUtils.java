@@ -4,6 +4,7 @@ import static java.util.stream.Collectors.toCollection;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -80,6 +81,56 @@ public class CollectionUtils {
 
 			return false;
 		}
+
+		/**
+		 * Removes elements with given ids in one pass over the list.
+		 *
+		 * @param sortedIds ids in ascending order, without repeats
+		 */
+		public void removeIds(final List<Integer> sortedIds) {
+			if (sortedIds.isEmpty()) {
+				return;
+			}
+
+			int writeId = sortedIds.get(0);
+			int removedIdsPosition = 0;
+			for (int readId = writeId; readId < size(); readId++) {
+				if (removedIdsPosition < sortedIds.size() && sortedIds.get(removedIdsPosition) == readId) {
+					removedIdsPosition++;
+					continue;
+				}
+
+				set(writeId++, get(readId));
+			}
+
+			subList(writeId, size()).clear();
+		}
+
+		/**
+		 * Merges sorted elements into this sorted list in one pass, elements equal to ones already in the list are put
+		 * after them.
+		 *
+		 * @param sortedElements elements in order given by comparator
+		 */
+		public void addSorted(final List<? extends T> sortedElements, final Comparator<? super T> comparator) {
+			if (sortedElements.isEmpty()) {
+				return;
+			}
+
+			int readId = size() - 1;
+			int addedId = sortedElements.size() - 1;
+			addAll(sortedElements);
+
+			for (int writeId = size() - 1; addedId >= 0; writeId--) {
+				final T added = sortedElements.get(addedId);
+				if (readId >= 0 && comparator.compare(get(readId), added) > 0) {
+					set(writeId, get(readId--));
+				} else {
+					set(writeId, added);
+					addedId--;
+				}
+			}
+		}
 	}
 
 	public static class HashSet2<T> extends HashSet<T> {
@@ -131,6 +182,10 @@ public class CollectionUtils {
 			super(other);
 		}
 
+		public HashMap2(final int initialCapacity) {
+			super(initialCapacity);
+		}
+
 		public <V> ArrayList2<V> map(final BiFunction<T, U, V> mapper) {
 			return entrySet().stream()//
 					.map(entry -> mapper.apply(entry.getKey(), entry.getValue()))//
@@ -0,0 +1,251 @@
+package log.charter.util;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Immutable list that shares unchanged parts with the list it was made from. Changing an item or a range makes a new
+ * list in O(log n), keeping this one as it was, so a list can be kept as a snapshot of its version at no cost and
+ * given to other threads.
+ *
+ * Items are kept in a treap ordered by position, every node has a random priority not lower than the priorities of
+ * its children, which keeps the tree balanced on average.
+ */
+public class PersistentList<T> extends AbstractList<T> {
+	private static class Node<T> {
+		final T item;
+		final int priority;
+		final Node<T> left;
+		final Node<T> right;
+		final int size;
+
+		Node(final T item, final int priority, final Node<T> left, final Node<T> right) {
+			this.item = item;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+			size = size(left) + 1 + size(right);
+		}
+
+		Node<T> with(final Node<T> left, final Node<T> right) {
+			return new Node<>(item, priority, left, right);
+		}
+	}
+
+	private static final PersistentList<?> empty = new PersistentList<>(null);
+
+	private static int size(final Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentList<T> empty() {
+		return (PersistentList<T>) empty;
+	}
+
+	public static <T> PersistentList<T> of(final List<? extends T> items) {
+		return items.isEmpty() ? empty() : new PersistentList<>(build(items));
+	}
+
+	/**
+	 * Builds balanced tree in O(n), priorities sorted from the highest are given in preorder, so every node gets higher
+	 * priority than its children
+	 */
+	private static <T> Node<T> build(final List<? extends T> items) {
+		final int[] priorities = new int[items.size()];
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < priorities.length; i++) {
+			priorities[i] = random.nextInt();
+		}
+		Arrays.sort(priorities);
+
+		return build(items, 0, items.size(), priorities, new int[] { priorities.length });
+	}
+
+	private static <T> Node<T> build(final List<? extends T> items, final int from, final int to,
+			final int[] priorities, final int[] nextPriority) {
+		if (from >= to) {
+			return null;
+		}
+
+		final int middle = (from + to) / 2;
+		final int priority = priorities[--nextPriority[0]];
+		final Node<T> left = build(items, from, middle, priorities, nextPriority);
+		final Node<T> right = build(items, middle + 1, to, priorities, nextPriority);
+		return new Node<>(items.get(middle), priority, left, right);
+	}
+
+	private static <T> Node<T> merge(final Node<T> left, final Node<T> right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+
+		if (left.priority >= right.priority) {
+			return left.with(left.left, merge(left.right, right));
+		}
+
+		return right.with(merge(left, right.left), right.right);
+	}
+
+	/**
+	 * @return tree of first {@code count} items and tree of the rest
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Node<T>[] split(final Node<T> node, final int count) {
+		if (node == null) {
+			return new Node[] { null, null };
+		}
+
+		final int leftSize = size(node.left);
+		if (count <= leftSize) {
+			final Node<T>[] parts = split(node.left, count);
+			parts[1] = node.with(parts[1], node.right);
+			return parts;
+		}
+
+		final Node<T>[] parts = split(node.right, count - leftSize - 1);
+		parts[0] = node.with(node.left, parts[0]);
+		return parts;
+	}
+
+	private static <T> Node<T> with(final Node<T> node, final int index, final T item) {
+		final int leftSize = size(node.left);
+		if (index < leftSize) {
+			return node.with(with(node.left, index, item), node.right);
+		}
+		if (index > leftSize) {
+			return node.with(node.left, with(node.right, index - leftSize - 1, item));
+		}
+
+		return new Node<>(item, node.priority, node.left, node.right);
+	}
+
+	private final Node<T> root;
+
+	private PersistentList(final Node<T> root) {
+		this.root = root;
+	}
+
+	private void checkIndex(final int index, final int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+		}
+	}
+
+	@Override
+	public T get(final int index) {
+		checkIndex(index, size());
+
+		Node<T> node = root;
+		int position = index;
+		while (true) {
+			final int leftSize = size(node.left);
+			if (position == leftSize) {
+				return node.item;
+			}
+
+			if (position < leftSize) {
+				node = node.left;
+			} else {
+				position -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	/**
+	 * @return list with item at given index replaced
+	 */
+	public PersistentList<T> with(final int index, final T item) {
+		checkIndex(index, size());
+		return new PersistentList<>(with(root, index, item));
+	}
+
+	/**
+	 * @return list with {@code removed} items from {@code start} replaced with inserted items
+	 */
+	public PersistentList<T> withReplacedRange(final int start, final int removed, final List<? extends T> inserted) {
+		if (start < 0 || removed < 0 || start + removed > size()) {
+			throw new IndexOutOfBoundsException("range from " + start + " of " + removed + " items, size " + size());
+		}
+		if (removed == 0 && inserted.isEmpty()) {
+			return this;
+		}
+
+		final Node<T>[] before = split(root, start);
+		final Node<T>[] after = split(before[1], removed);
+		final Node<T> insertedNode = inserted.isEmpty() ? null : build(inserted);
+		return new PersistentList<>(merge(merge(before[0], insertedNode), after[1]));
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private final ArrayDeque<Node<T>> path = new ArrayDeque<>();
+
+			{
+				pushLeft(root);
+			}
+
+			private void pushLeft(Node<T> node) {
+				while (node != null) {
+					path.push(node);
+					node = node.left;
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return !path.isEmpty();
+			}
+
+			@Override
+			public T next() {
+				if (path.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+
+				final Node<T> node = path.pop();
+				pushLeft(node.right);
+				return node.item;
+			}
+		};
+	}
+
+	@Override
+	public void forEach(final Consumer<? super T> action) {
+		forEach(root, action);
+	}
+
+	private static <T> void forEach(final Node<T> node, final Consumer<? super T> action) {
+		if (node == null) {
+			return;
+		}
+
+		forEach(node.left, action);
+		action.accept(node.item);
+		forEach(node.right, action);
+	}
+
+	@Override
+	public Object[] toArray() {
+		final Object[] array = new Object[size()];
+		final int[] index = { 0 };
+		forEach(item -> array[index[0]++] = item);
+		return array;
+	}
+}
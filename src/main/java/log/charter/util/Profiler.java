@@ -0,0 +1,277 @@
+package log.charter.util;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import log.charter.gui.Framer;
+import log.charter.io.Logger;
+import log.charter.util.CollectionUtils.ArrayList2;
+
+/**
+ * Measures time of chosen parts of the program when turned on. Keeps last samples of every section for the on screen
+ * summary, saves them as csv in the logs folder and emits JFR events, so a recording shows them too.
+ */
+public class Profiler {
+	public enum Section {
+		CHART_PANEL("Chart panel"), //
+		BACKGROUND("Background"), //
+		BEATS("Beats"), //
+		LYRIC_LINES("Lyric lines"), //
+		LANES("Lanes"), //
+		AUDIO("Audio"), //
+		GUITAR_NOTES("Guitar notes"), //
+		VOCALS("Vocals"), //
+		HIGHLIGHT("Highlight"), //
+		PREVIEW_3D("3D preview"), //
+		AUDIO_FRAME("Audio frame"), //
+		MIDI_FRAME("Midi frame"), //
+		ADD_UNDO("Add undo");
+
+		public final String label;
+
+		private Section(final String label) {
+			this.label = label;
+		}
+	}
+
+	@Name("log.charter.Section")
+	@Label("Profiled section")
+	@Category("LoG Charter")
+	private static class SectionEvent extends Event {
+		@Label("Section")
+		String section;
+
+		@Label("Time")
+		@Timespan
+		long time;
+	}
+
+	private static class Samples {
+		private final long[] values = new long[sampleCount];
+		private int count = 0;
+
+		public synchronized void add(final long value) {
+			values[count % sampleCount] = value;
+			count++;
+		}
+
+		/**
+		 * @return kept samples from oldest
+		 */
+		public synchronized long[] get() {
+			if (count <= sampleCount) {
+				return Arrays.copyOf(values, count);
+			}
+
+			final long[] result = new long[sampleCount];
+			final int oldest = count % sampleCount;
+			System.arraycopy(values, oldest, result, 0, sampleCount - oldest);
+			System.arraycopy(values, 0, result, sampleCount - oldest, oldest);
+			return result;
+		}
+
+		public synchronized void clear() {
+			count = 0;
+		}
+	}
+
+	private static final int sampleCount = 1000;
+
+	private static volatile boolean enabled = false;
+
+	private static final Map<Section, Samples> samples = new EnumMap<>(Section.class);
+	private static final Samples allocations = new Samples();
+	private static final EventType sectionEventType = EventType.getEventType(SectionEvent.class);
+	private static final com.sun.management.ThreadMXBean allocationBean = findAllocationBean();
+	private static int framesOverBudget = 0;
+	private static long gcCountAtStart = 0;
+	private static long gcTimeAtStart = 0;
+
+	static {
+		for (final Section section : Section.values()) {
+			samples.put(section, new Samples());
+		}
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void toggle() {
+		if (enabled) {
+			enabled = false;
+			return;
+		}
+
+		samples.values().forEach(Samples::clear);
+		allocations.clear();
+		framesOverBudget = 0;
+		gcCountAtStart = getGCCount();
+		gcTimeAtStart = getGCTime();
+		enabled = true;
+	}
+
+	/**
+	 * @return start time to be given to {@link #stop}, 0 when not profiling
+	 */
+	public static long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	public static void stop(final Section section, final long startTime) {
+		if (!enabled || startTime == 0) {
+			return;
+		}
+
+		final long time = System.nanoTime() - startTime;
+		samples.get(section).add(time);
+
+		// event is created only when recorded, so it doesn't count in the allocations of the frame
+		if (sectionEventType.isEnabled()) {
+			final SectionEvent event = new SectionEvent();
+			event.section = section.label;
+			event.time = time;
+			event.commit();
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean findAllocationBean() {
+		final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		return threadBean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) threadBean
+				: null;
+	}
+
+	/**
+	 * @return bytes allocated by current thread so far, -1 if not profiling or not supported
+	 */
+	public static long startAllocations() {
+		return enabled && allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : -1;
+	}
+
+	/**
+	 * Counts the chart panel frame, its memory allocated and if it took longer than a frame should
+	 */
+	public static void stopFrame(final long startTime, final long startAllocations) {
+		if (!enabled || startTime == 0) {
+			return;
+		}
+
+		if (System.nanoTime() - startTime > Framer.frameLength * 1_000_000) {
+			framesOverBudget++;
+		}
+
+		stop(Section.CHART_PANEL, startTime);
+
+		if (startAllocations >= 0 && allocationBean != null) {
+			allocations.add(allocationBean.getCurrentThreadAllocatedBytes() - startAllocations);
+		}
+	}
+
+	private static long getGCCount() {
+		long count = 0;
+		for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += max(0, bean.getCollectionCount());
+		}
+
+		return count;
+	}
+
+	private static long getGCTime() {
+		long time = 0;
+		for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += max(0, bean.getCollectionTime());
+		}
+
+		return time;
+	}
+
+	private static long percentile(final long[] sortedValues, final int percent) {
+		if (sortedValues.length == 0) {
+			return 0;
+		}
+
+		return sortedValues[min(sortedValues.length - 1, sortedValues.length * percent / 100)];
+	}
+
+	private static String formatMs(final long nanos) {
+		return String.format("%.2f", nanos / 1_000_000.0);
+	}
+
+	public static ArrayList2<String> getSummary() {
+		final ArrayList2<String> lines = new ArrayList2<>();
+
+		final long[] frames = samples.get(Section.CHART_PANEL).get();
+		Arrays.sort(frames);
+		lines.add("Frame p50 " + formatMs(percentile(frames, 50)) + " ms, p99 " + formatMs(percentile(frames, 99))
+				+ " ms, over budget " + framesOverBudget);
+
+		final long[] allocated = allocations.get();
+		Arrays.sort(allocated);
+		lines.add("Allocated per frame p50 " + percentile(allocated, 50) / 1024 + " KB, p99 "
+				+ percentile(allocated, 99) / 1024 + " KB");
+		lines.add("GC " + (getGCCount() - gcCountAtStart) + " times, " + (getGCTime() - gcTimeAtStart) + " ms");
+
+		for (final Section section : Section.values()) {
+			if (section == Section.CHART_PANEL) {
+				continue;
+			}
+
+			final long[] values = samples.get(section).get();
+			if (values.length == 0) {
+				continue;
+			}
+
+			Arrays.sort(values);
+			lines.add(section.label + " p50 " + formatMs(percentile(values, 50)) + " ms, p99 "
+					+ formatMs(percentile(values, 99)) + " ms");
+		}
+
+		return lines;
+	}
+
+	/**
+	 * Writes all kept samples to a csv file in logs folder
+	 */
+	public static void saveToFile() {
+		final String name = "timings-" + new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date()) + ".csv";
+		final File file = new File(new File(RW.getProgramDirectory(), "logs"), name);
+		file.getParentFile().mkdirs();
+
+		try (PrintStream out = new PrintStream(new FileOutputStream(file))) {
+			out.println("section,sample,value,unit");
+			for (final Section section : Section.values()) {
+				final long[] values = samples.get(section).get();
+				for (int i = 0; i < values.length; i++) {
+					out.println(section.label + "," + i + "," + values[i] + ",ns");
+				}
+			}
+
+			final long[] allocated = allocations.get();
+			for (int i = 0; i < allocated.length; i++) {
+				out.println("Allocated per frame," + i + "," + allocated[i] + ",bytes");
+			}
+
+			Logger.info("Saved timings to " + file.getAbsolutePath());
+		} catch (final Exception e) {
+			Logger.error("Couldn't save timings", e);
+		}
+	}
+}